@@ -13,6 +13,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.AbstractServerChannel;
 import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelMetadata;
 import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
@@ -32,7 +33,12 @@ class MinaSshNettyChannel extends AbstractServerChannel {
     private static final Logger LOG = LoggerFactory.getLogger(MinaSshNettyChannel.class);
     private static final ChannelMetadata METADATA = new ChannelMetadata(false);
 
-    private final ChannelConfig config = new DefaultChannelConfig(this);
+    private final ChannelConfig config = new DefaultChannelConfig(this) {
+        @Override
+        protected void autoReadCleared() {
+            sshReadHandler.suspend();
+        }
+    };
     private final CallHomeSessionContext context;
     private final ClientSession session;
     private final ClientChannel sshChannel;
@@ -48,9 +54,24 @@ class MinaSshNettyChannel extends AbstractServerChannel {
         this.sshReadHandler = new AsyncSshHandlerReader(new ConnectionClosedDuringRead(), new FireReadMessage(), "netconf",
                 sshChannel.getAsyncOut());
         this.sshWriteAsyncHandler = new AsyncSshHandlerWriter(sshChannel.getAsyncIn());
+        pipeline().addFirst(createWritabilityAdapter());
         pipeline().addFirst(createChannelAdapter());
     }
 
+    private ChannelInboundHandlerAdapter createWritabilityAdapter() {
+        return new ChannelInboundHandlerAdapter() {
+
+            @Override
+            public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+                // Fired by the ssh writer once its pending writes cross the water marks, stop reading from the device
+                // until it catches up with what was written to it
+                ctx.channel().config().setAutoRead(sshWriteAsyncHandler.isWritable());
+                super.channelWritabilityChanged(ctx);
+            }
+
+        };
+    }
+
     private ChannelOutboundHandlerAdapter createChannelAdapter() {
         return new ChannelOutboundHandlerAdapter() {
 
@@ -145,7 +166,8 @@ class MinaSshNettyChannel extends AbstractServerChannel {
 
     @Override
     protected void doBeginRead() throws Exception {
-        // Intentional NOOP - read is started by AsyncSshHandlerReader
+        // Reads are scheduled by AsyncSshHandlerReader, only resume them if auto read was cleared
+        sshReadHandler.resume();
     }
 
     @Override
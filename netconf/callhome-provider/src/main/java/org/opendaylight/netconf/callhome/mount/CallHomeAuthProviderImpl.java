@@ -68,7 +68,23 @@ public class CallHomeAuthProviderImpl implements CallHomeAuthorizationProvider,
         configReg = broker.registerDataTreeChangeListener(GLOBAL, globalConfig);
         deviceReg = broker.registerDataTreeChangeListener(ALLOWED_DEVICES, deviceConfig);
         deviceOpReg = broker.registerDataTreeChangeListener(ALLOWED_OP_DEVICES, deviceOp);
-        statusReporter = new CallhomeStatusReporter(broker);
+        statusReporter = new CallhomeStatusReporter(broker, this::findAllowedDevice);
+    }
+
+    CallhomeStatusReporter getStatusReporter() {
+        return statusReporter;
+    }
+
+    /**
+     * Find device with specified SSH host key, either configured in whitelist or already known from operational
+     * datastore. Lookup uses keys decoded by listeners, so it does not touch the datastore.
+     *
+     * @param serverKey SSH host key of device
+     * @return device or null if no device has the key
+     */
+    Device findAllowedDevice(PublicKey serverKey) {
+        Device device = deviceConfig.get(serverKey);
+        return device != null ? device : deviceOp.get(serverKey);
     }
 
     @Nonnull
@@ -116,6 +132,7 @@ public class CallHomeAuthProviderImpl implements CallHomeAuthorizationProvider,
         configReg.close();
         deviceReg.close();
         deviceOpReg.close();
+        statusReporter.close();
     }
 
     private String fromRemoteAddress(SocketAddress remoteAddress) {
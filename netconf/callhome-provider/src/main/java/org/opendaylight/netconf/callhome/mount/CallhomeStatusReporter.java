@@ -10,19 +10,20 @@ package org.opendaylight.netconf.callhome.mount;
 
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
-import java.security.NoSuchAlgorithmException;
-import java.security.NoSuchProviderException;
 import java.security.PublicKey;
-import java.security.spec.InvalidKeySpecException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.DataChangeListener;
-import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
-import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
@@ -61,10 +62,25 @@ class CallhomeStatusReporter implements DataChangeListener, StatusRecorder, Auto
     private static final Logger LOG = LoggerFactory.getLogger(CallhomeStatusReporter.class);
 
     private final DataBroker dataBroker;
+    private final Function<PublicKey, Device> allowedDevices;
     private final ListenerRegistration<DataChangeListener> reg;
-
-    CallhomeStatusReporter(DataBroker broker) {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("callhome-status-%d").setDaemon(true).build());
+
+    // Updates waiting for the next flush, guarded by pendingDevices
+    private final Map<NodeId, Device> pendingDevices = new LinkedHashMap<>();
+    private final Map<NodeId, Device1.DeviceStatus> pendingStatuses = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+
+    /**
+     * Create reporter.
+     *
+     * @param broker data broker
+     * @param allowedDevices lookup of whitelisted devices by their SSH host key
+     */
+    CallhomeStatusReporter(DataBroker broker, Function<PublicKey, Device> allowedDevices) {
         this.dataBroker = broker;
+        this.allowedDevices = allowedDevices;
         this.reg = dataBroker.registerDataChangeListener(LogicalDatastoreType.OPERATIONAL, NETCONF_TOPO_IID.child(Node.class),
                 this, AsyncDataBroker.DataChangeScope.SUBTREE);
     }
@@ -119,32 +135,12 @@ class CallhomeStatusReporter implements DataChangeListener, StatusRecorder, Auto
         // Fully connected, all services for remote device are
         // available from the MountPointService.
         LOG.debug("NETCONF Node: {} is fully connected", nodeId.getValue());
-
-        Device opDev = readAndGetDevice(nodeId);
-        if (opDev == null) {
-            LOG.warn("No corresponding callhome device found - exiting.");
-        } else {
-            Device modifiedDevice = withConnectedStatus(opDev);
-            if (modifiedDevice == null)
-                return;
-            LOG.info("Setting successful status for callhome device id:{}.", nodeId);
-            writeDevice(nodeId, modifiedDevice);
-        }
+        updateStatus(nodeId, Device1.DeviceStatus.CONNECTED);
     }
 
     private void handleDisconnectedNetconfNode(NodeId nodeId) {
         LOG.debug("NETCONF Node: {} disconnected", nodeId.getValue());
-
-        Device opDev = readAndGetDevice(nodeId);
-        if (opDev == null) {
-            LOG.warn("No corresponding callhome device found - exiting.");
-        } else {
-            Device modifiedDevice = withDisconnectedStatus(opDev);
-            if (modifiedDevice == null)
-                return;
-            LOG.info("Setting disconnected status for callhome device id:{}.", nodeId);
-            writeDevice(nodeId, modifiedDevice);
-        }
+        updateStatus(nodeId, Device1.DeviceStatus.DISCONNECTED);
     }
 
     private void handleUnableToConnectNetconfNode(NodeId nodeId) {
@@ -152,17 +148,7 @@ class CallhomeStatusReporter implements DataChangeListener, StatusRecorder, Auto
         // have been reached. No more reconnects will be
         // attempted by the Netconf Connector.
         LOG.debug("NETCONF Node: {} connection failed", nodeId.getValue());
-
-        Device opDev = readAndGetDevice(nodeId);
-        if (opDev == null) {
-            LOG.warn("No corresponding callhome device found - exiting.");
-        } else {
-            Device modifiedDevice = withFailedStatus(opDev);
-            if (modifiedDevice == null)
-                return;
-            LOG.info("Setting failed status for callhome device id:{}.", nodeId);
-            writeDevice(nodeId, modifiedDevice);
-        }
+        updateStatus(nodeId, Device1.DeviceStatus.FAILED);
     }
 
     void asForceListedDevice(String id, PublicKey serverKey) {
@@ -195,131 +181,132 @@ class CallhomeStatusReporter implements DataChangeListener, StatusRecorder, Auto
         return builder.build();
     }
 
-    private Device readAndGetDevice(NodeId nodeId) {
-        Optional<Device> opDevGet = readDevice(nodeId);
-        if (opDevGet != null) {
-            if (opDevGet.isPresent()) {
-                return opDevGet.get();
+    private void updateStatus(NodeId nodeId, Device1.DeviceStatus status) {
+        synchronized (pendingDevices) {
+            Device pendingDevice = pendingDevices.get(nodeId);
+            if (pendingDevice != null) {
+                // status of a device which is about to be written is known without reading it
+                pendingDevices.put(nodeId, withStatus(pendingDevice, status));
+            } else {
+                pendingStatuses.put(nodeId, status);
             }
+            scheduleFlush();
+        }
+    }
+
+    private void writeDevice(NodeId nodeId, Device modifiedDevice) {
+        synchronized (pendingDevices) {
+            pendingStatuses.remove(nodeId);
+            pendingDevices.put(nodeId, modifiedDevice);
+            scheduleFlush();
         }
+    }
 
-        return null;
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            try {
+                executor.execute(this::flush);
+                flushScheduled = true;
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Reporter closed, status updates are not written", e);
+            }
+        }
     }
 
-    private Optional<Device> readDevice(NodeId nodeId) {
-        ReadOnlyTransaction opTx = dataBroker.newReadOnlyTransaction();
+    /**
+     * Write all updates queued since the last flush in a single transaction. Only the latest update of every device
+     * is written, so a burst of status changes of one device results in single write.
+     */
+    private void flush() {
+        final Map<NodeId, Device> devices;
+        final Map<NodeId, Device1.DeviceStatus> statuses;
+        synchronized (pendingDevices) {
+            devices = new LinkedHashMap<>(pendingDevices);
+            statuses = new LinkedHashMap<>(pendingStatuses);
+            pendingDevices.clear();
+            pendingStatuses.clear();
+            flushScheduled = false;
+        }
 
-        InstanceIdentifier<Device> deviceIID = buildDeviceInstanceIdentifier(nodeId);
-        CheckedFuture<Optional<Device>, ReadFailedException> devFuture =
-                opTx.read(LogicalDatastoreType.OPERATIONAL, deviceIID);
+        ReadWriteTransaction opTx = dataBroker.newReadWriteTransaction();
+        // status updates need unique id and key of the existing device, all of them are read at once
+        Map<NodeId, CheckedFuture<Optional<Device>, ReadFailedException>> reads = new LinkedHashMap<>();
+        for (NodeId nodeId : statuses.keySet()) {
+            reads.put(nodeId, opTx.read(LogicalDatastoreType.OPERATIONAL, buildDeviceInstanceIdentifier(nodeId)));
+        }
+        for (Map.Entry<NodeId, CheckedFuture<Optional<Device>, ReadFailedException>> read : reads.entrySet()) {
+            Device opDev = readAndGetDevice(read.getKey(), read.getValue());
+            if (opDev == null) {
+                LOG.warn("No corresponding callhome device found for {} - exiting.", read.getKey().getValue());
+                continue;
+            }
+            Device1.DeviceStatus status = statuses.get(read.getKey());
+            LOG.info("Setting {} status for callhome device id:{}.", status, read.getKey());
+            devices.put(read.getKey(), withStatus(opDev, status));
+        }
 
+        if (devices.isEmpty()) {
+            opTx.cancel();
+            return;
+        }
+        for (Map.Entry<NodeId, Device> device : devices.entrySet()) {
+            opTx.merge(LogicalDatastoreType.OPERATIONAL, buildDeviceInstanceIdentifier(device.getKey()),
+                    device.getValue());
+        }
+        Futures.addCallback(opTx.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                LOG.debug("Status of {} callhome devices updated", devices.size());
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                LOG.error("Failed to update status of callhome devices {}", devices.keySet(), throwable);
+            }
+        });
+    }
+
+    private Device readAndGetDevice(NodeId nodeId, CheckedFuture<Optional<Device>, ReadFailedException> devFuture) {
         try {
-            return devFuture.checkedGet();
+            Optional<Device> opDevGet = devFuture.checkedGet();
+            return opDevGet.isPresent() ? opDevGet.get() : null;
         } catch (ReadFailedException e) {
+            LOG.error("Error trying to read callhome device {}", nodeId.getValue(), e);
             return null;
         }
     }
 
-    private void writeDevice(NodeId nodeId, Device modifiedDevice) {
-        ReadWriteTransaction opTx = dataBroker.newReadWriteTransaction();
-        opTx.merge(LogicalDatastoreType.OPERATIONAL, buildDeviceInstanceIdentifier(nodeId), modifiedDevice);
-        opTx.submit();
-    }
-
     private InstanceIdentifier<Device> buildDeviceInstanceIdentifier(NodeId nodeId) {
         return InstanceIdentifier.create(NetconfCallhomeServer.class)
                 .child(AllowedDevices.class)
                 .child(Device.class, new DeviceKey(nodeId.getValue()));
     }
 
-    private Device withConnectedStatus(Device opDev) {
-        Device1 status = new Device1Builder().setDeviceStatus(Device1.DeviceStatus.CONNECTED).build();
-        return new DeviceBuilder().addAugmentation(Device1.class, status).setUniqueId(opDev.getUniqueId())
-                .setSshHostKey(opDev.getSshHostKey()).build();
-    }
-
-    private Device withFailedStatus(Device opDev) {
-        Device1 status = new Device1Builder().setDeviceStatus(Device1.DeviceStatus.FAILED).build();
-        return new DeviceBuilder().addAugmentation(Device1.class, status).setUniqueId(opDev.getUniqueId())
-                .setSshHostKey(opDev.getSshHostKey()).build();
-    }
-
-    private Device withDisconnectedStatus(Device opDev) {
-        Device1 status = new Device1Builder().setDeviceStatus(Device1.DeviceStatus.DISCONNECTED).build();
+    private Device withStatus(Device opDev, Device1.DeviceStatus deviceStatus) {
+        Device1 status = new Device1Builder().setDeviceStatus(deviceStatus).build();
         return new DeviceBuilder().addAugmentation(Device1.class, status).setUniqueId(opDev.getUniqueId())
                 .setSshHostKey(opDev.getSshHostKey()).build();
     }
 
-    private Device withFailedAuthStatus(Device opDev) {
-        Device1 status = new Device1Builder().setDeviceStatus(Device1.DeviceStatus.FAILEDAUTHFAILURE).build();
-        return new DeviceBuilder().addAugmentation(Device1.class, status).setUniqueId(opDev.getUniqueId())
-                .setSshHostKey(opDev.getSshHostKey()).build();
-    }
-
-    private void setDeviceStatus(Device device) {
-        WriteTransaction tx = dataBroker.newWriteOnlyTransaction();
-        InstanceIdentifier<Device> Device_IID =
-                InstanceIdentifier.create(NetconfCallhomeServer.class)
-                        .child(AllowedDevices.class)
-                        .child(Device.class, device.getKey());
-
-        tx.merge(LogicalDatastoreType.OPERATIONAL, Device_IID, device);
-        tx.submit();
-    }
-
-
-    private AllowedDevices getDevices() {
-        ReadOnlyTransaction rxTransaction = dataBroker.newReadOnlyTransaction();
-        CheckedFuture<Optional<AllowedDevices>, ReadFailedException> devicesFuture =
-                rxTransaction.read(LogicalDatastoreType.OPERATIONAL, IetfZeroTouchCallHomeServerProvider.ALL_DEVICES);
-
-        try {
-            Optional<AllowedDevices> opt = devicesFuture.checkedGet();
-            if (opt.isPresent()) {
-                AllowedDevices devices = opt.get();
-                return devices;
-            }
-        } catch (ReadFailedException e) {
-            LOG.error("Error trying to read the whitelist devices: {}", e);
-        }
-
-        return null;
-    }
-
-    private List<Device> getDevicesAsList() {
-        AllowedDevices devices = getDevices();
-        return (devices == null) ? new ArrayList<Device>() : devices.getDevice();
-    }
-
     @Override
     public void reportFailedAuth(PublicKey sshKey) {
-        AuthorizedKeysDecoder decoder = new AuthorizedKeysDecoder();
-
-        for (Device device : getDevicesAsList()) {
-            String keyString = device.getSshHostKey();
-
-            try {
-                PublicKey pubKey = decoder.decodePublicKey(keyString);
-                if (sshKey.getAlgorithm().equals(pubKey.getAlgorithm()) && sshKey.equals(pubKey)) {
-                    Device failedDevice = withFailedAuthStatus(device);
-                    if (failedDevice == null)
-                        return;
-                    LOG.info("Setting auth failed status for callhome device id:{}.", failedDevice.getUniqueId());
-                    setDeviceStatus(failedDevice);
-                    return;
-                }
-            } catch (InvalidKeySpecException | NoSuchAlgorithmException | NoSuchProviderException e) {
-                LOG.error("Failed decoding a device key with host key: {} {}", keyString, e);
-                return;
-            }
+        // whitelist is indexed by decoded keys, so there is no need to read and decode keys of all devices
+        Device device = allowedDevices.apply(sshKey);
+        if (device == null) {
+            LOG.error("No match found for the failed auth device (should have been filtered by whitelist). Key: {}",
+                    sshKey);
+            return;
         }
 
-        LOG.error("No match found for the failed auth device (should have been filtered by whitelist). Key: {}",
-                sshKey);
+        LOG.info("Setting auth failed status for callhome device id:{}.", device.getUniqueId());
+        writeDevice(new NodeId(device.getUniqueId()),
+                withStatus(device, Device1.DeviceStatus.FAILEDAUTHFAILURE));
     }
 
     @Override
     public void close() throws Exception {
         reg.close();
+        // updates already queued are still written
+        executor.shutdown();
     }
 }
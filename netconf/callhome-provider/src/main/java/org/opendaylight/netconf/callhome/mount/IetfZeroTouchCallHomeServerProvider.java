@@ -68,7 +68,8 @@ public class IetfZeroTouchCallHomeServerProvider implements AutoCloseable, DataC
         this.dataBroker = dataBroker;
         this.mountDispacher = mountDispacher;
         this.authProvider = new CallHomeAuthProviderImpl(dataBroker);
-        this.statusReporter = new CallhomeStatusReporter(dataBroker);
+        // failed authentications are looked up in whitelist maintained by the auth provider
+        this.statusReporter = authProvider.getStatusReporter();
     }
 
     public void init() {
@@ -95,7 +96,7 @@ public class IetfZeroTouchCallHomeServerProvider implements AutoCloseable, DataC
     }
 
     private CallHomeAuthorizationProvider getCallHomeAuthorization() {
-        return new CallHomeAuthProviderImpl(dataBroker);
+        return authProvider;
     }
 
     private void initializeServer() throws IOException {
@@ -119,8 +120,8 @@ public class IetfZeroTouchCallHomeServerProvider implements AutoCloseable, DataC
 
     @Override
     public void close() throws Exception {
+        // closes status reporter as well
         authProvider.close();
-        statusReporter.close();
 
         // FIXME unbind the server
         if (this.listenerReg != null) {
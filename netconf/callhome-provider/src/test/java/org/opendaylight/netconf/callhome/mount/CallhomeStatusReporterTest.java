@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.callhome.mount;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.Futures;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.callhome.device.status.rev170112.Device1;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionStatus.ConnectionStatus;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.network.topology.topology.topology.types.TopologyNetconf;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.netconf.callhome.server.rev161109.NetconfCallhomeServer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.netconf.callhome.server.rev161109.netconf.callhome.server.AllowedDevices;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.netconf.callhome.server.rev161109.netconf.callhome.server.allowed.devices.Device;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.netconf.callhome.server.rev161109.netconf.callhome.server.allowed.devices.DeviceBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.netconf.callhome.server.rev161109.netconf.callhome.server.allowed.devices.DeviceKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class CallhomeStatusReporterTest {
+    private static final String DEVICE_ID = "device";
+
+    private DataBroker mockBroker;
+    private ReadWriteTransaction mockTx;
+    private PublicKey knownKey;
+    private PublicKey unknownKey;
+    private CallhomeStatusReporter instance;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        mockBroker = mock(DataBroker.class);
+        mockTx = mock(ReadWriteTransaction.class);
+        doReturn(mock(ListenerRegistration.class)).when(mockBroker).registerDataChangeListener(
+                eq(LogicalDatastoreType.OPERATIONAL), any(InstanceIdentifier.class), any(DataChangeListener.class),
+                any(AsyncDataBroker.DataChangeScope.class));
+        doReturn(mockTx).when(mockBroker).newReadWriteTransaction();
+        doReturn(Futures.immediateCheckedFuture(null)).when(mockTx).submit();
+
+        knownKey = mock(PublicKey.class);
+        unknownKey = mock(PublicKey.class);
+        final Device device = new DeviceBuilder().setUniqueId(DEVICE_ID).setSshHostKey("ssh-rsa AAAA").build();
+        final Function<PublicKey, Device> allowedDevices = key -> key == knownKey ? device : null;
+        instance = new CallhomeStatusReporter(mockBroker, allowedDevices);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        instance.close();
+    }
+
+    @Test
+    public void failedAuthOfAllowedDeviceIsWrittenWithoutReadingWhitelist() {
+        instance.reportFailedAuth(knownKey);
+
+        final ArgumentCaptor<Device> written = ArgumentCaptor.forClass(Device.class);
+        verify(mockTx, timeout(5000)).merge(eq(LogicalDatastoreType.OPERATIONAL), eq(deviceIid()),
+                written.capture());
+        verify(mockTx, timeout(5000)).submit();
+        verify(mockTx, never()).read(any(LogicalDatastoreType.class), any(InstanceIdentifier.class));
+        assertEquals(DEVICE_ID, written.getValue().getUniqueId());
+        assertEquals(Device1.DeviceStatus.FAILEDAUTHFAILURE,
+                written.getValue().getAugmentation(Device1.class).getDeviceStatus());
+    }
+
+    @Test
+    public void failedAuthOfUnknownDeviceIsIgnored() {
+        instance.reportFailedAuth(unknownKey);
+
+        verify(mockBroker, never()).newReadWriteTransaction();
+    }
+
+    @Test
+    public void updatesOfOneDeviceQueuedDuringFlushAreMergedOnce() throws Exception {
+        // hold the first flush inside newReadWriteTransaction, so the following updates queue up behind it
+        final CountDownLatch flushStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFlush = new CountDownLatch(1);
+        final ReadWriteTransaction secondTx = mock(ReadWriteTransaction.class);
+        doReturn(Futures.immediateCheckedFuture(null)).when(secondTx).submit();
+        doAnswer(invocation -> {
+            flushStarted.countDown();
+            releaseFlush.await(5, TimeUnit.SECONDS);
+            return mockTx;
+        }).doReturn(secondTx).when(mockBroker).newReadWriteTransaction();
+
+        instance.reportFailedAuth(knownKey);
+        assertTrue(flushStarted.await(5, TimeUnit.SECONDS));
+
+        // status only, waits in pending statuses
+        instance.onDataChanged(netconfNodeChange(ConnectionStatus.Connected));
+        // whole device replaces the pending status
+        instance.reportFailedAuth(knownKey);
+        // status of the pending device is updated without reading it
+        instance.onDataChanged(netconfNodeChange(ConnectionStatus.UnableToConnect));
+        releaseFlush.countDown();
+
+        final ArgumentCaptor<Device> written = ArgumentCaptor.forClass(Device.class);
+        verify(secondTx, timeout(5000)).submit();
+        verify(secondTx).merge(eq(LogicalDatastoreType.OPERATIONAL), eq(deviceIid()), written.capture());
+        verify(secondTx, never()).read(any(LogicalDatastoreType.class), any(InstanceIdentifier.class));
+        verify(mockBroker, times(2)).newReadWriteTransaction();
+        assertEquals(DEVICE_ID, written.getValue().getUniqueId());
+        assertEquals(Device1.DeviceStatus.FAILED, written.getValue().getAugmentation(Device1.class).getDeviceStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> netconfNodeChange(
+            final ConnectionStatus status) {
+        final InstanceIdentifier<NetconfNode> path = InstanceIdentifier.create(NetworkTopology.class)
+                .child(Topology.class, new TopologyKey(new TopologyId(TopologyNetconf.QNAME.getLocalName())))
+                .child(Node.class, new NodeKey(new NodeId(DEVICE_ID))).augmentation(NetconfNode.class);
+        final AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> change = mock(AsyncDataChangeEvent.class);
+        doReturn(Collections.emptySet()).when(change).getRemovedPaths();
+        doReturn(Collections.singletonMap(path, new NetconfNodeBuilder().setConnectionStatus(status).build()))
+                .when(change).getUpdatedData();
+        return change;
+    }
+
+    private static InstanceIdentifier<Device> deviceIid() {
+        return InstanceIdentifier.create(NetconfCallhomeServer.class).child(AllowedDevices.class)
+                .child(Device.class, new DeviceKey(DEVICE_ID));
+    }
+}
@@ -88,6 +88,11 @@ public class RuntimeRpc extends AbstractConfigNetconfOperation {
         throw new UnsupportedOperationException("Runtime rpc does not have a stable name");
     }
 
+    @Override
+    protected boolean requiresDynamicCanHandle() {
+        return true;
+    }
+
     @Override
     protected Element handleWithNoSubsequentOperations(Document document, XmlElement xml) throws DocumentedException {
         // TODO check for namespaces and unknown elements
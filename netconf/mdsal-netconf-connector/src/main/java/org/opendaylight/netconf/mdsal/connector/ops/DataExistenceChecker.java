@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mdsal.connector.ops;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.util.concurrent.CheckedFuture;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.netconf.mdsal.connector.ops.DataTreeChangeTracker.DataTreeChange;
+import org.opendaylight.yangtools.yang.data.api.ModifyAction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks existence of data targeted by CREATE and DELETE changes of one edit-config. Instead of reading every target
+ * separately, targets are grouped by their parent and every parent with more than one target is read once, before
+ * any change is applied. Snapshot of a parent is used only while no change applied since then could have added
+ * or removed the target, otherwise the target is read from the transaction, which reflects all applied changes.
+ */
+final class DataExistenceChecker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataExistenceChecker.class);
+
+    private final DOMDataReadWriteTransaction rwTx;
+    private final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> parents = new HashMap<>();
+    // Paths of applied changes which replaced or removed whole subtree
+    private final Set<YangInstanceIdentifier> replacedPaths = new HashSet<>();
+    private final ListMultimap<YangInstanceIdentifier, NormalizedNode<?, ?>> mergedData = ArrayListMultimap.create();
+    // Paths of applied changes including all their ancestors
+    private final Set<YangInstanceIdentifier> modifiedPaths = new HashSet<>();
+
+    DataExistenceChecker(final DOMDataReadWriteTransaction rwTx, final List<DataTreeChange> changes) {
+        this.rwTx = rwTx;
+
+        final Map<YangInstanceIdentifier, Integer> targetsPerParent = new HashMap<>();
+        for (final DataTreeChange change : changes) {
+            if (change.getAction() == ModifyAction.CREATE || change.getAction() == ModifyAction.DELETE) {
+                final YangInstanceIdentifier parent = YangInstanceIdentifier.create(change.getPath()).getParent();
+                // reading whole datastore to check a single top level node would not pay off
+                if (parent != null && !parent.getPathArguments().isEmpty()) {
+                    targetsPerParent.merge(parent, 1, Integer::sum);
+                }
+            }
+        }
+
+        final Map<YangInstanceIdentifier, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> reads =
+                new HashMap<>();
+        for (final Entry<YangInstanceIdentifier, Integer> entry : targetsPerParent.entrySet()) {
+            if (entry.getValue() > 1) {
+                reads.put(entry.getKey(), rwTx.read(LogicalDatastoreType.CONFIGURATION, entry.getKey()));
+            }
+        }
+        for (final Entry<YangInstanceIdentifier, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>>
+                read : reads.entrySet()) {
+            try {
+                parents.put(read.getKey(), read.getValue().checkedGet());
+            } catch (final ReadFailedException e) {
+                // targets will be read one by one
+                LOG.debug("Failed to read {}, existence of its children will be checked separately", read.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Check if data exist in transaction, including changes applied so far.
+     *
+     * @param path path to data
+     * @return true if data exist
+     * @throws ReadFailedException if data had to be read and the read failed
+     */
+    boolean exists(final YangInstanceIdentifier path) throws ReadFailedException {
+        final YangInstanceIdentifier parentPath = path.getParent();
+        final Optional<NormalizedNode<?, ?>> parent = parentPath == null ? null : parents.get(parentPath);
+        if (parent != null && !isModified(path)) {
+            return parent.isPresent()
+                    && NormalizedNodes.getDirectChild(parent.get(), path.getLastPathArgument()).isPresent();
+        }
+        return rwTx.read(LogicalDatastoreType.CONFIGURATION, path).checkedGet().isPresent();
+    }
+
+    /**
+     * Record change applied to transaction.
+     *
+     * @param path path of change
+     * @param action action of change
+     * @param data data of change
+     */
+    void applied(final YangInstanceIdentifier path, final ModifyAction action, final NormalizedNode<?, ?> data) {
+        if (action == ModifyAction.MERGE) {
+            mergedData.put(path, data);
+        } else {
+            replacedPaths.add(path);
+        }
+        // ancestors of a path in the set are already there, too
+        YangInstanceIdentifier modified = path;
+        while (modified != null && modifiedPaths.add(modified)) {
+            modified = modified.getParent();
+        }
+    }
+
+    private boolean isModified(final YangInstanceIdentifier path) {
+        // path itself or some of its descendants were modified
+        if (modifiedPaths.contains(path)) {
+            return true;
+        }
+        // descendants of modified ancestors are affected by replace and delete, by merge only if merged data
+        // contain them
+        for (YangInstanceIdentifier ancestor = path.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+            if (replacedPaths.contains(ancestor)) {
+                return true;
+            }
+            for (final NormalizedNode<?, ?> data : mergedData.get(ancestor)) {
+                if (NormalizedNodes.findNode(data, path.relativeTo(ancestor).get().getPathArguments()).isPresent()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
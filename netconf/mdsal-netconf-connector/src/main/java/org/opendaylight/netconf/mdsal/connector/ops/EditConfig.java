@@ -10,12 +10,14 @@ package org.opendaylight.netconf.mdsal.connector.ops;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeverity;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorTag;
@@ -97,50 +99,53 @@ public class EditConfig extends AbstractSingletonNetconfOperation {
 
     private void executeOperations(final DataTreeChangeTracker changeTracker) throws DocumentedException {
         final DOMDataReadWriteTransaction rwTx = transactionProvider.getOrCreateTransaction();
-        final List<DataTreeChange> aa = changeTracker.getDataTreeChanges();
-        final ListIterator<DataTreeChange> iterator = aa.listIterator(aa.size());
+        // changes of parents are tracked after changes of their children, but have to be executed first
+        final List<DataTreeChange> changes = Lists.reverse(changeTracker.getDataTreeChanges());
+        final DataExistenceChecker existenceChecker = new DataExistenceChecker(rwTx, changes);
+        final Set<YangInstanceIdentifier> mergedParentMaps = new HashSet<>();
 
-        while (iterator.hasPrevious()) {
-            final DataTreeChange dtc = iterator.previous();
-            executeChange(rwTx, dtc);
+        for (final DataTreeChange change : changes) {
+            executeChange(rwTx, change, existenceChecker, mergedParentMaps);
         }
     }
 
-    private void executeChange(final DOMDataReadWriteTransaction rwtx, final DataTreeChange change) throws DocumentedException {
+    private void executeChange(final DOMDataReadWriteTransaction rwtx, final DataTreeChange change,
+                               final DataExistenceChecker existenceChecker,
+                               final Set<YangInstanceIdentifier> mergedParentMaps) throws DocumentedException {
         final YangInstanceIdentifier path = YangInstanceIdentifier.create(change.getPath());
         final NormalizedNode<?, ?> changeData = change.getChangeRoot();
         switch (change.getAction()) {
         case NONE:
             return;
         case MERGE:
-            mergeParentMap(rwtx, path, changeData);
+            mergeParentMap(rwtx, path, changeData, mergedParentMaps);
             rwtx.merge(LogicalDatastoreType.CONFIGURATION, path, changeData);
             break;
         case CREATE:
             try {
-                final Optional<NormalizedNode<?, ?>> readResult = rwtx.read(LogicalDatastoreType.CONFIGURATION, path).checkedGet();
-                if (readResult.isPresent()) {
+                if (existenceChecker.exists(path)) {
                     throw new DocumentedException("Data already exists, cannot execute CREATE operation", ErrorType.PROTOCOL, ErrorTag.DATA_EXISTS, ErrorSeverity.ERROR);
                 }
-                mergeParentMap(rwtx, path, changeData);
+                mergeParentMap(rwtx, path, changeData, mergedParentMaps);
                 rwtx.put(LogicalDatastoreType.CONFIGURATION, path, changeData);
             } catch (final ReadFailedException e) {
                 LOG.warn("Read from datastore failed when trying to read data for create operation", change, e);
+                return;
             }
             break;
         case REPLACE:
-            mergeParentMap(rwtx, path, changeData);
+            mergeParentMap(rwtx, path, changeData, mergedParentMaps);
             rwtx.put(LogicalDatastoreType.CONFIGURATION, path, changeData);
             break;
         case DELETE:
             try {
-                final Optional<NormalizedNode<?, ?>> readResult = rwtx.read(LogicalDatastoreType.CONFIGURATION, path).checkedGet();
-                if (!readResult.isPresent()) {
+                if (!existenceChecker.exists(path)) {
                     throw new DocumentedException("Data is missing, cannot execute DELETE operation", ErrorType.PROTOCOL, ErrorTag.DATA_MISSING, ErrorSeverity.ERROR);
                 }
                 rwtx.delete(LogicalDatastoreType.CONFIGURATION, path);
             } catch (final ReadFailedException e) {
                 LOG.warn("Read from datastore failed when trying to read data for delete operation", change, e);
+                return;
             }
             break;
         case REMOVE:
@@ -148,12 +153,24 @@ public class EditConfig extends AbstractSingletonNetconfOperation {
             break;
         default:
             LOG.warn("Unknown/not implemented operation, not executing");
+            return;
+        }
+
+        existenceChecker.applied(path, change.getAction(), changeData);
+        if (change.getAction() != ModifyAction.MERGE) {
+            // replaced or removed subtree may have contained parent maps merged before
+            mergedParentMaps.removeIf(path::contains);
+        }
+        if (change.getAction() == ModifyAction.DELETE || change.getAction() == ModifyAction.REMOVE) {
+            // parent map may be gone together with its last entry
+            mergedParentMaps.remove(path.getParent());
         }
     }
 
     private void mergeParentMap(final DOMDataReadWriteTransaction rwtx, final YangInstanceIdentifier path,
-                                final NormalizedNode change) {
-        if (change instanceof MapEntryNode) {
+                                final NormalizedNode change, final Set<YangInstanceIdentifier> mergedParentMaps) {
+        // empty map needs to be merged only once for all its entries
+        if (change instanceof MapEntryNode && mergedParentMaps.add(path.getParent())) {
             final YangInstanceIdentifier mapNodeYid = path.getParent();
             //merge empty map
             final MapNode mixinNode = Builders.mapBuilder()
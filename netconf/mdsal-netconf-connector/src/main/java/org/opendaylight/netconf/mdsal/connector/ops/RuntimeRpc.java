@@ -97,6 +97,11 @@ public class RuntimeRpc extends AbstractSingletonNetconfOperation {
         throw new UnsupportedOperationException("Runtime rpc does not have a stable name");
     }
 
+    @Override
+    protected boolean requiresDynamicCanHandle() {
+        return true;
+    }
+
     private URI createNsUri(final String namespace) {
         final URI namespaceURI;
         try {
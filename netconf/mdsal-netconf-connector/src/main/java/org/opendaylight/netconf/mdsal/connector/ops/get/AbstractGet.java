@@ -11,9 +11,12 @@ package org.opendaylight.netconf.mdsal.connector.ops.get;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.base.Strings;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
@@ -23,6 +26,9 @@ import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeve
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorTag;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorType;
 import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.netconf.api.xml.DeferredElementContent;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.netconf.mdsal.connector.ops.Datastore;
@@ -104,27 +110,108 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
 
     private void writeRootElement(final XMLStreamWriter xmlWriter, final NormalizedNodeWriter nnWriter, final ContainerNode data) {
         try {
-            if (data.getNodeType().equals(SchemaContext.NAME)) {
-                for (final DataContainerChild<? extends PathArgument, ?> child : data.getValue()) {
-                    nnWriter.write(child);
-                }
-            } else {
-                nnWriter.write(data);
-            }
-            nnWriter.flush();
-            xmlWriter.flush();
+            writeRootChildren(xmlWriter, nnWriter, data);
         } catch (XMLStreamException | IOException e) {
             Throwables.propagate(e);
         }
     }
 
+    private static void writeRootChildren(final XMLStreamWriter xmlWriter, final NormalizedNodeWriter nnWriter,
+            final ContainerNode data) throws XMLStreamException, IOException {
+        if (data.getNodeType().equals(SchemaContext.NAME)) {
+            for (final DataContainerChild<? extends PathArgument, ?> child : data.getValue()) {
+                nnWriter.write(child);
+            }
+        } else {
+            nnWriter.write(data);
+        }
+        nnWriter.flush();
+        xmlWriter.flush();
+    }
+
     protected Element serializeNodeWithParentStructure(final Document document, final YangInstanceIdentifier dataRoot, final NormalizedNode node) {
         if (!dataRoot.equals(ROOT)) {
             return (Element) transformNormalizedNode(document,
                     ImmutableNodes.fromInstanceId(schemaContext.getCurrentContext(), dataRoot, node),
                     ROOT);
         }
-        return  (Element) transformNormalizedNode(document, node, ROOT);
+        return streamNormalizedNode(document, (ContainerNode) node);
+    }
+
+    /**
+     * Create a data element whose content is written by the message encoder directly from the normalized node,
+     * so reads of the whole datastore do not build an intermediate DOM tree. The data element is namespaced, so
+     * it is attached to rpc-reply as-is, together with the deferred content.
+     */
+    private Element streamNormalizedNode(final Document document, final ContainerNode data) {
+        final Element element = XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY,
+                Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
+        new NormalizedNodeContent(schemaContext.getCurrentContext(), data).attachTo(element);
+        return element;
+    }
+
+    /**
+     * Read data selected by the filter of an operation and serialize them. Subtree filters are evaluated against
+     * the normalized nodes, so only the selected data is serialized. Without a filter the whole datastore is read.
+     *
+     * @param document document of the reply
+     * @param operationElement operation element
+     * @param reader reader of the datastore
+     * @return data element of the reply
+     * @throws DocumentedException if the filter is not valid
+     * @throws ReadFailedException if the data cannot be read
+     */
+    protected Element readData(final Document document, final XmlElement operationElement, final DataReader reader)
+            throws DocumentedException, ReadFailedException {
+        final Optional<XmlElement> filterElement = operationElement.getOnlyChildElementOptionally(FILTER);
+        if (filterElement.isPresent() && isSubtreeFilter(filterElement.get())
+                && !filterElement.get().getChildElements().isEmpty()) {
+            return readFilteredData(document, filterElement.get(), reader);
+        }
+
+        final Optional<YangInstanceIdentifier> dataRootOptional = getDataRootFromFilter(operationElement);
+        if (!dataRootOptional.isPresent()) {
+            return XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY, Optional.<String>absent());
+        }
+
+        final YangInstanceIdentifier dataRoot = dataRootOptional.get();
+        final Optional<NormalizedNode<?, ?>> normalizedNodeOptional = reader.read(dataRoot);
+        if (!normalizedNodeOptional.isPresent()) {
+            return XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY, Optional.<String>absent());
+        }
+        return serializeNodeWithParentStructure(document, dataRoot, normalizedNodeOptional.get());
+    }
+
+    private Element readFilteredData(final Document document, final XmlElement filterElement,
+            final DataReader reader) throws DocumentedException, ReadFailedException {
+        final NormalizedNodeFilter filter = NormalizedNodeFilter.create(filterElement, validator);
+        final SchemaContext context = schemaContext.getCurrentContext();
+
+        final List<DataContainerChild<? extends PathArgument, ?>> selected = new ArrayList<>();
+        for (final YangInstanceIdentifier readPath : filter.getReadPaths()) {
+            final Optional<NormalizedNode<?, ?>> data = reader.read(readPath);
+            if (data.isPresent()) {
+                final Optional<DataContainerChild<? extends PathArgument, ?>> pruned =
+                        filter.prune(context, readPath, data.get());
+                if (pruned.isPresent()) {
+                    selected.add(pruned.get());
+                }
+            }
+        }
+
+        if (selected.isEmpty()) {
+            return XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY, Optional.<String>absent());
+        }
+        return streamNormalizedNode(document, NormalizedNodeFilter.createRoot(selected));
+    }
+
+    private static boolean isSubtreeFilter(final XmlElement filterElement) {
+        // subtree is the default filter type
+        final String type = filterElement.getAttribute("type");
+        final String namespacedType = filterElement.getAttribute("type",
+                XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0);
+        return Strings.isNullOrEmpty(type) && Strings.isNullOrEmpty(namespacedType) || "subtree".equals(type)
+                || "subtree".equals(namespacedType);
     }
 
     /**
@@ -159,6 +246,34 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
         return validator.validate(element);
     }
 
+    private static final class NormalizedNodeContent extends DeferredElementContent {
+        private final SchemaContext context;
+        private final ContainerNode data;
+
+        NormalizedNodeContent(final SchemaContext context, final ContainerNode data) {
+            this.context = context;
+            this.data = data;
+        }
+
+        @Override
+        public void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+            final NormalizedNodeStreamWriter nnStreamWriter = XMLStreamNormalizedNodeStreamWriter.create(writer,
+                    context, SchemaPath.ROOT);
+            try {
+                writeRootChildren(writer, NormalizedNodeWriter.forStreamWriter(nnStreamWriter, true), data);
+            } catch (final IOException e) {
+                throw new XMLStreamException("Failed to write " + data.getNodeType(), e);
+            }
+        }
+    }
+
+    /**
+     * Reader of a datastore, invoked for each location selected by a filter.
+     */
+    protected interface DataReader {
+        Optional<NormalizedNode<?, ?>> read(YangInstanceIdentifier path) throws ReadFailedException;
+    }
+
     protected static final class GetConfigExecution {
 
         private final Optional<Datastore> datastore;
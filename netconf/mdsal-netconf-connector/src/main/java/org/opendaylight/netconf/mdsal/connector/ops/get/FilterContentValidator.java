@@ -58,9 +58,7 @@ public class FilterContentValidator {
      */
     public YangInstanceIdentifier validate(final XmlElement filterContent) throws DocumentedException {
         try {
-            final URI namespace = new URI(filterContent.getNamespace());
-            final Module module = schemaContext.getCurrentContext().findModuleByNamespaceAndRevision(namespace, null);
-            final DataSchemaNode schema = getRootDataSchemaNode(module, namespace, filterContent.getName());
+            final DataSchemaNode schema = getRootDataSchemaNode(filterContent);
             final FilterTree filterTree = validateNode(filterContent, schema, new FilterTree(schema.getQName(),
                     Type.OTHER, schema));
             return getFilterDataRoot(filterTree, filterContent, YangInstanceIdentifier.builder());
@@ -75,6 +73,20 @@ public class FilterContentValidator {
         }
     }
 
+    /**
+     * Returns schema of the top level data node selected by filter content.
+     * @param filterContent filter content
+     * @return top level data node schema
+     * @throws DocumentedException if no such node is present
+     * @throws URISyntaxException if the filter content namespace is not valid
+     */
+    DataSchemaNode getRootDataSchemaNode(final XmlElement filterContent) throws DocumentedException,
+            URISyntaxException {
+        final URI namespace = new URI(filterContent.getNamespace());
+        final Module module = schemaContext.getCurrentContext().findModuleByNamespaceAndRevision(namespace, null);
+        return getRootDataSchemaNode(module, namespace, filterContent.getName());
+    }
+
     /**
      * Returns module's child data node of given name space and name
      * @param module module
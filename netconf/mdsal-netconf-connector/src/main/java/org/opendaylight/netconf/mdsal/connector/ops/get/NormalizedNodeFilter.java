@@ -0,0 +1,528 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import static org.opendaylight.yangtools.yang.data.util.ParserStreamUtils.findSchemaNodeByNameAndNamespace;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.builder.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.api.schema.builder.ListNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Subtree filter (see <a href="http://tools.ietf.org/html/rfc6241#section-6">rfc6241</a>) compiled against the schema
+ * context. A filter consists of one selection per distinct top level element of the filter. Each selection knows
+ * the location in the datastore to read, which is as deep as the filter allows, including list entry keys. Data
+ * read from that location is then pruned at the normalized node level, so that only the nodes selected by the
+ * filter are ever serialized.
+ *
+ * <p>
+ * Pruning follows the rules applied by {@link org.opendaylight.netconf.util.messages.SubtreeFilter} to DOM replies.
+ * Content match nodes of types which cannot be compared reliably in their normalized form (e.g. bits or
+ * instance-identifier) are considered to match.
+ */
+final class NormalizedNodeFilter {
+
+    private final List<Selection> selections;
+
+    private NormalizedNodeFilter(final List<Selection> selections) {
+        this.selections = selections;
+    }
+
+    /**
+     * Compiles subtree filter.
+     * @param filterElement filter element, which has to have at least one child element
+     * @param validator validator of the filter content
+     * @return compiled filter
+     * @throws DocumentedException if filter content is not valid
+     */
+    static NormalizedNodeFilter create(final XmlElement filterElement, final FilterContentValidator validator)
+            throws DocumentedException {
+        final Map<QName, List<FilterNode>> topLevel = new LinkedHashMap<>();
+        final Map<QName, YangInstanceIdentifier> readPaths = new LinkedHashMap<>();
+        for (final XmlElement element : filterElement.getChildElements()) {
+            final YangInstanceIdentifier readPath = validator.validate(element);
+            final DataSchemaNode schema;
+            try {
+                schema = validator.getRootDataSchemaNode(element);
+            } catch (final URISyntaxException e) {
+                // Cannot occur, the element has already been validated
+                throw new IllegalStateException("Invalid namespace of " + element, e);
+            }
+
+            final FilterNode filterNode = compile(element, schema);
+            List<FilterNode> siblings = topLevel.get(filterNode.getName());
+            if (siblings == null) {
+                siblings = new ArrayList<>(1);
+                topLevel.put(filterNode.getName(), siblings);
+                readPaths.put(filterNode.getName(), readPath);
+            } else {
+                // Multiple elements selecting the same node, read the node as a whole
+                readPaths.put(filterNode.getName(), YangInstanceIdentifier.of(filterNode.getName()));
+            }
+            siblings.add(filterNode);
+        }
+
+        final ImmutableList.Builder<Selection> selections = ImmutableList.builder();
+        for (final Map.Entry<QName, List<FilterNode>> entry : topLevel.entrySet()) {
+            selections.add(new Selection(readPaths.get(entry.getKey()), entry.getValue()));
+        }
+        return new NormalizedNodeFilter(selections.build());
+    }
+
+    private static FilterNode compile(final XmlElement element, final DataSchemaNode schema)
+            throws DocumentedException {
+        final List<XmlElement> childElements = element.getChildElements();
+        if (childElements.isEmpty()) {
+            return new FilterNode(schema.getQName(), ContentMatch.fromElement(element),
+                    ImmutableList.<FilterNode>of());
+        }
+
+        final List<FilterNode> children = new ArrayList<>(childElements.size());
+        for (final XmlElement childElement : childElements) {
+            final Deque<DataSchemaNode> path;
+            try {
+                path = findSchemaNodeByNameAndNamespace(schema, childElement.getName(),
+                        new URI(childElement.getNamespace()));
+            } catch (final URISyntaxException e) {
+                // Cannot occur, the filter has already been validated
+                throw new IllegalStateException("Invalid namespace of " + childElement, e);
+            }
+            children.add(compile(childElement, path.getLast()));
+        }
+        return new FilterNode(schema.getQName(), null, children);
+    }
+
+    /**
+     * @return locations in the datastore to read, one for each top level node selected by the filter
+     */
+    Collection<YangInstanceIdentifier> getReadPaths() {
+        final List<YangInstanceIdentifier> paths = new ArrayList<>(selections.size());
+        for (final Selection selection : selections) {
+            paths.add(selection.readPath);
+        }
+        return paths;
+    }
+
+    /**
+     * Prunes data read from one of the read paths. The data is wrapped in its parent structure up to the top level
+     * node and only the parts selected by the filter are retained.
+     * @param context schema context of the data
+     * @param readPath one of the read paths of this filter
+     * @param data data read from the read path
+     * @return top level node with selected data, or absent if the filter does not select any of the data
+     */
+    Optional<DataContainerChild<? extends PathArgument, ?>> prune(final SchemaContext context,
+            final YangInstanceIdentifier readPath, final NormalizedNode<?, ?> data) {
+        for (final Selection selection : selections) {
+            if (selection.readPath.equals(readPath)) {
+                NormalizedNode<?, ?> topLevel = data;
+                if (readPath.getPathArguments().size() > 1) {
+                    topLevel = ImmutableNodes.fromInstanceId(context, readPath, data);
+                    if (SchemaContext.NAME.equals(topLevel.getNodeType())) {
+                        topLevel = ((ContainerNode) topLevel).getValue().iterator().next();
+                    }
+                }
+                return filterChild((DataContainerChild<? extends PathArgument, ?>) topLevel, selection.filters);
+            }
+        }
+        throw new IllegalArgumentException(readPath + " is not a read path of this filter");
+    }
+
+    /**
+     * Create the root container of a reply.
+     * @param children selected top level nodes
+     * @return root container
+     */
+    static ContainerNode createRoot(final Collection<DataContainerChild<? extends PathArgument, ?>> children) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+                .withValue(children).build();
+    }
+
+    /**
+     * Applies sibling filter nodes of the same name to a data node.
+     */
+    private static Optional<DataContainerChild<? extends PathArgument, ?>> filterChild(
+            final DataContainerChild<? extends PathArgument, ?> child, final List<FilterNode> filters) {
+        if (child instanceof MapNode) {
+            return filterMap((MapNode) child, filters);
+        }
+        if (child instanceof UnkeyedListNode) {
+            return filterUnkeyedList((UnkeyedListNode) child, filters);
+        }
+        if (child instanceof LeafSetNode) {
+            return filterLeafSet((LeafSetNode<?>) child, filters);
+        }
+
+        final Optional<NormalizedNode<?, ?>> filtered = filterNode(child, filters);
+        return filtered.isPresent()
+                ? Optional.<DataContainerChild<? extends PathArgument, ?>>of(
+                        (DataContainerChild<? extends PathArgument, ?>) filtered.get())
+                : Optional.<DataContainerChild<? extends PathArgument, ?>>absent();
+    }
+
+    private static Optional<DataContainerChild<? extends PathArgument, ?>> filterMap(final MapNode map,
+            final List<FilterNode> filters) {
+        final CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder = map instanceof OrderedMapNode
+                ? Builders.orderedMapBuilder() : Builders.mapBuilder();
+        builder.withNodeIdentifier(map.getIdentifier());
+        boolean empty = true;
+        for (final MapEntryNode entry : map.getValue()) {
+            final Optional<NormalizedNode<?, ?>> filtered = filterNode(entry, filters);
+            if (filtered.isPresent()) {
+                builder.withChild((MapEntryNode) filtered.get());
+                empty = false;
+            }
+        }
+        return empty ? Optional.<DataContainerChild<? extends PathArgument, ?>>absent()
+                : Optional.<DataContainerChild<? extends PathArgument, ?>>of(builder.build());
+    }
+
+    private static Optional<DataContainerChild<? extends PathArgument, ?>> filterUnkeyedList(
+            final UnkeyedListNode list, final List<FilterNode> filters) {
+        final CollectionNodeBuilder<UnkeyedListEntryNode, UnkeyedListNode> builder = Builders.unkeyedListBuilder();
+        builder.withNodeIdentifier(list.getIdentifier());
+        boolean empty = true;
+        for (final UnkeyedListEntryNode entry : list.getValue()) {
+            final Optional<NormalizedNode<?, ?>> filtered = filterNode(entry, filters);
+            if (filtered.isPresent()) {
+                builder.withChild((UnkeyedListEntryNode) filtered.get());
+                empty = false;
+            }
+        }
+        return empty ? Optional.<DataContainerChild<? extends PathArgument, ?>>absent()
+                : Optional.<DataContainerChild<? extends PathArgument, ?>>of(builder.build());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Optional<DataContainerChild<? extends PathArgument, ?>> filterLeafSet(final LeafSetNode<?> leafSet,
+            final List<FilterNode> filters) {
+        for (final FilterNode filter : filters) {
+            if (filter.getContentMatch() == null) {
+                // selection node selects all entries
+                return Optional.<DataContainerChild<? extends PathArgument, ?>>of(leafSet);
+            }
+        }
+
+        final ListNodeBuilder builder = leafSet instanceof OrderedLeafSetNode
+                ? Builders.orderedLeafSetBuilder() : Builders.leafSetBuilder();
+        builder.withNodeIdentifier(leafSet.getIdentifier());
+        boolean empty = true;
+        for (final LeafSetEntryNode<?> entry : leafSet.getValue()) {
+            for (final FilterNode filter : filters) {
+                if (filter.getContentMatch().matches(entry.getValue())) {
+                    builder.withChild(entry);
+                    empty = false;
+                    break;
+                }
+            }
+        }
+        return empty ? Optional.<DataContainerChild<? extends PathArgument, ?>>absent()
+                : Optional.<DataContainerChild<? extends PathArgument, ?>>of(
+                        (DataContainerChild<? extends PathArgument, ?>) builder.build());
+    }
+
+    /**
+     * Applies sibling filter nodes of the same name to a single data node, i.e. a leaf, container or list entry.
+     * If several filter nodes select the data node in different ways, the whole data node is selected.
+     */
+    private static Optional<NormalizedNode<?, ?>> filterNode(final NormalizedNode<?, ?> data,
+            final List<FilterNode> filters) {
+        if (filters.size() == 1) {
+            return filters.get(0).apply(data);
+        }
+
+        Optional<NormalizedNode<?, ?>> result = Optional.absent();
+        for (final FilterNode filter : filters) {
+            final Optional<NormalizedNode<?, ?>> filtered = filter.apply(data);
+            if (filtered.isPresent()) {
+                if (result.isPresent()) {
+                    return Optional.<NormalizedNode<?, ?>>of(data);
+                }
+                result = filtered;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retains children of a data container selected by filter nodes. Choice and augmentation nodes are transparent,
+     * their children are matched as if they were children of the data container.
+     * @return pruned container, or absent if none of its children are selected
+     */
+    private static Optional<DataContainerNode<?>> pruneChildren(final DataContainerNode<?> container,
+            final Map<QName, List<FilterNode>> filters) {
+        final List<DataContainerChild<? extends PathArgument, ?>> children = new ArrayList<>();
+        for (final DataContainerChild<? extends PathArgument, ?> child : container.getValue()) {
+            if (child instanceof ChoiceNode || child instanceof AugmentationNode) {
+                final Optional<DataContainerNode<?>> pruned = pruneChildren((DataContainerNode<?>) child, filters);
+                if (pruned.isPresent()) {
+                    children.add((DataContainerChild<? extends PathArgument, ?>) pruned.get());
+                }
+                continue;
+            }
+
+            final List<FilterNode> childFilters = filters.get(child.getNodeType());
+            if (childFilters != null) {
+                final Optional<DataContainerChild<? extends PathArgument, ?>> filtered =
+                        filterChild(child, childFilters);
+                if (filtered.isPresent()) {
+                    children.add(filtered.get());
+                }
+            }
+        }
+
+        if (children.isEmpty()) {
+            return Optional.absent();
+        }
+        return Optional.<DataContainerNode<?>>of(rebuild(container, children));
+    }
+
+    private static DataContainerNode<?> rebuild(final DataContainerNode<?> container,
+            final List<DataContainerChild<? extends PathArgument, ?>> children) {
+        if (container instanceof ContainerNode) {
+            return Builders.containerBuilder().withNodeIdentifier(((ContainerNode) container).getIdentifier())
+                    .withValue(children).build();
+        }
+        if (container instanceof MapEntryNode) {
+            return Builders.mapEntryBuilder().withNodeIdentifier(((MapEntryNode) container).getIdentifier())
+                    .withValue(children).build();
+        }
+        if (container instanceof UnkeyedListEntryNode) {
+            return Builders.unkeyedListEntryBuilder()
+                    .withNodeIdentifier(((UnkeyedListEntryNode) container).getIdentifier())
+                    .withValue(children).build();
+        }
+        if (container instanceof ChoiceNode) {
+            return Builders.choiceBuilder().withNodeIdentifier(((ChoiceNode) container).getIdentifier())
+                    .withValue(children).build();
+        }
+        if (container instanceof AugmentationNode) {
+            return Builders.augmentationBuilder().withNodeIdentifier(((AugmentationNode) container).getIdentifier())
+                    .withValue(children).build();
+        }
+        throw new IllegalArgumentException("Unsupported data container " + container);
+    }
+
+    /**
+     * Collects leaves of a data container, looking through choice and augmentation nodes.
+     */
+    private static void collectLeaves(final DataContainerNode<?> container,
+            final Map<QName, List<NormalizedNode<?, ?>>> leaves) {
+        for (final DataContainerChild<? extends PathArgument, ?> child : container.getValue()) {
+            if (child instanceof ChoiceNode || child instanceof AugmentationNode) {
+                collectLeaves((DataContainerNode<?>) child, leaves);
+            } else if (child instanceof LeafNode || child instanceof LeafSetNode) {
+                final List<NormalizedNode<?, ?>> existing = leaves.get(child.getNodeType());
+                if (existing != null) {
+                    existing.add(child);
+                }
+            }
+        }
+    }
+
+    private static final class Selection {
+        private final YangInstanceIdentifier readPath;
+        private final List<FilterNode> filters;
+
+        Selection(final YangInstanceIdentifier readPath, final List<FilterNode> filters) {
+            this.readPath = readPath;
+            this.filters = filters;
+        }
+    }
+
+    /**
+     * Filter element compiled against its schema node. It is either a selection node, a content match node
+     * or a containment node.
+     */
+    private static final class FilterNode {
+        private final QName name;
+        private final ContentMatch contentMatch;
+        private final List<FilterNode> children;
+        private final Map<QName, List<FilterNode>> childrenByName;
+        private final boolean onlyContentMatches;
+
+        FilterNode(final QName name, final ContentMatch contentMatch, final List<FilterNode> children) {
+            this.name = name;
+            this.contentMatch = contentMatch;
+            this.children = children;
+            this.childrenByName = new LinkedHashMap<>();
+            boolean onlyContent = true;
+            for (final FilterNode child : children) {
+                List<FilterNode> siblings = childrenByName.get(child.name);
+                if (siblings == null) {
+                    siblings = new ArrayList<>(1);
+                    childrenByName.put(child.name, siblings);
+                }
+                siblings.add(child);
+                onlyContent &= child.contentMatch != null;
+            }
+            this.onlyContentMatches = onlyContent;
+        }
+
+        QName getName() {
+            return name;
+        }
+
+        ContentMatch getContentMatch() {
+            return contentMatch;
+        }
+
+        Optional<NormalizedNode<?, ?>> apply(final NormalizedNode<?, ?> data) {
+            if (children.isEmpty()) {
+                if (contentMatch != null && data instanceof LeafNode && !contentMatch.matches(data.getValue())) {
+                    return Optional.absent();
+                }
+                // selection node
+                return Optional.<NormalizedNode<?, ?>>of(data);
+            }
+            if (!(data instanceof DataContainerNode)) {
+                // Containment node over data which cannot contain anything, let the serializer deal with it
+                return Optional.<NormalizedNode<?, ?>>of(data);
+            }
+
+            final DataContainerNode<?> container = (DataContainerNode<?>) data;
+            final Map<QName, List<NormalizedNode<?, ?>>> leaves = new LinkedHashMap<>();
+            for (final FilterNode child : children) {
+                if (child.contentMatch != null) {
+                    leaves.put(child.name, new ArrayList<NormalizedNode<?, ?>>(1));
+                }
+            }
+
+            boolean allContentMatched = onlyContentMatches;
+            if (!leaves.isEmpty()) {
+                collectLeaves(container, leaves);
+                for (final FilterNode child : children) {
+                    if (child.contentMatch == null) {
+                        continue;
+                    }
+                    final List<NormalizedNode<?, ?>> candidates = leaves.get(child.name);
+                    if (candidates.isEmpty()) {
+                        allContentMatched = false;
+                    } else if (!child.contentMatch.matchesAny(candidates)) {
+                        // content mismatch, the whole data node is not selected
+                        return Optional.absent();
+                    }
+                }
+            }
+
+            if (allContentMatched) {
+                // only content match nodes, all of them matching, select the data node with all its children
+                return Optional.<NormalizedNode<?, ?>>of(data);
+            }
+            return Optional.<NormalizedNode<?, ?>>fromNullable(pruneChildren(container, childrenByName).orNull());
+        }
+    }
+
+    /**
+     * Text content of a content match node.
+     */
+    private static final class ContentMatch {
+        private static final Splitter BITS_SPLITTER = Splitter.on(CharMatcher.WHITESPACE).omitEmptyStrings();
+
+        private final String text;
+        private final String localName;
+        private final String namespace;
+
+        private ContentMatch(final String text, final String localName, final String namespace) {
+            this.text = text;
+            this.localName = localName;
+            this.namespace = namespace;
+        }
+
+        static ContentMatch fromElement(final XmlElement element) throws DocumentedException {
+            final Optional<String> content = element.getOnlyTextContentOptionally();
+            if (!content.isPresent() || content.get().trim().isEmpty()) {
+                return null;
+            }
+
+            final String text = content.get().trim();
+            final int colon = text.indexOf(':');
+            if (colon == -1) {
+                return new ContentMatch(text, text, null);
+            }
+            // text content might be a prefixed identity
+            String namespace;
+            try {
+                namespace = element.findNamespaceOfTextContent().getValue();
+            } catch (final IllegalArgumentException e) {
+                // not a prefix, content has to match as a whole
+                namespace = null;
+            }
+            return new ContentMatch(text, text.substring(colon + 1), namespace);
+        }
+
+        boolean matchesAny(final List<NormalizedNode<?, ?>> candidates) {
+            for (final NormalizedNode<?, ?> candidate : candidates) {
+                if (candidate instanceof LeafSetNode) {
+                    for (final LeafSetEntryNode<?> entry : ((LeafSetNode<?>) candidate).getValue()) {
+                        if (matches(entry.getValue())) {
+                            return true;
+                        }
+                    }
+                } else if (matches(candidate.getValue())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean matches(final Object value) {
+            if (value instanceof QName) {
+                final QName qname = (QName) value;
+                return localName.equals(qname.getLocalName())
+                        && (namespace == null || namespace.equals(qname.getNamespace().toString()));
+            }
+            if (value instanceof Set) {
+                // bits, the order of bit names is not significant
+                return ImmutableSet.copyOf(BITS_SPLITTER.split(text)).equals(value);
+            }
+            // Compare string forms like SubtreeFilter compares text content. Values whose string form differs from
+            // their XML form, such as instance identifiers, do not match.
+            return text.equals(String.valueOf(value));
+        }
+    }
+}
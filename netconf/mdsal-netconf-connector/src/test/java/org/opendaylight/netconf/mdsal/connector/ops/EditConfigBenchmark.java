@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mdsal.connector.ops;
+
+import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.Futures;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.databroker.ConcurrentDOMDataBroker;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStoreFactory;
+import org.opendaylight.controller.sal.core.api.model.SchemaService;
+import org.opendaylight.controller.sal.core.spi.data.DOMStore;
+import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
+import org.opendaylight.netconf.mdsal.connector.TransactionProvider;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.util.concurrent.SpecialExecutors;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Measures {@link EditConfig} creating and deleting many list entries in candidate datastore backed by in-memory
+ * datastore, which exercises existence checks of CREATE and DELETE operations. Run its {@link #main(String[])}
+ * method with the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class EditConfigBenchmark {
+    private static final String NETCONF_NS = "urn:ietf:params:xml:ns:netconf:base:1.0";
+    private static final String TEST_NS = "urn:opendaylight:mdsal:mapping:test";
+    private static final String SESSION_ID = "netconf-benchmark-session";
+
+    /**
+     * Number of list entries created or deleted by one edit-config, the same number of entries exists in running
+     * datastore.
+     */
+    @Param({"100", "10000"})
+    public int entries;
+
+    private SchemaContext schemaContext;
+    private CurrentSchemaContext currentSchemaContext;
+    private TransactionProvider transactionProvider;
+    private EditConfig editConfig;
+    private Document createRequest;
+    private Document deleteRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        schemaContext = YangParserTestUtils.parseYangStreams(getYangSchemas());
+        final SchemaService schemaService = createSchemaService();
+
+        final EnumMap<LogicalDatastoreType, DOMStore> datastores = new EnumMap<>(LogicalDatastoreType.class);
+        datastores.put(LogicalDatastoreType.CONFIGURATION, InMemoryDOMDataStoreFactory.create("DOM-CFG", schemaService));
+        datastores.put(LogicalDatastoreType.OPERATIONAL, InMemoryDOMDataStoreFactory.create("DOM-OPER", schemaService));
+        final ExecutorService listenableFutureExecutor = SpecialExecutors.newBlockingBoundedCachedThreadPool(
+                16, 16, "CommitFutures");
+
+        transactionProvider = new TransactionProvider(new ConcurrentDOMDataBroker(datastores,
+                listenableFutureExecutor), SESSION_ID);
+        currentSchemaContext = new CurrentSchemaContext(schemaService, sourceIdentifier -> Futures
+                .immediateCheckedFuture(YangTextSchemaSource.delegateForByteSource(sourceIdentifier,
+                        ByteSource.wrap("module test".getBytes()))));
+        editConfig = new EditConfig(SESSION_ID, currentSchemaContext, transactionProvider);
+
+        // entries to delete are committed to running datastore
+        editConfig.handle(createEditConfig("existing", "create"),
+                NetconfOperationChainedExecution.EXECUTION_TERMINATION_POINT);
+        transactionProvider.commitTransaction();
+
+        createRequest = createEditConfig("new", "create");
+        deleteRequest = createEditConfig("existing", "delete");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        transactionProvider.close();
+        currentSchemaContext.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void abortCandidate() {
+        transactionProvider.abortTransaction();
+    }
+
+    @Benchmark
+    public Document createEntries() throws Exception {
+        return editConfig.handle(createRequest, NetconfOperationChainedExecution.EXECUTION_TERMINATION_POINT);
+    }
+
+    @Benchmark
+    public Document deleteEntries() throws Exception {
+        return editConfig.handle(deleteRequest, NetconfOperationChainedExecution.EXECUTION_TERMINATION_POINT);
+    }
+
+    private Document createEditConfig(final String idPrefix, final String operation) {
+        final Document document = XmlUtil.newDocument();
+        final Element rpc = document.createElementNS(NETCONF_NS, "rpc");
+        rpc.setAttribute("message-id", "m-1");
+        final Element editConfigElement = document.createElementNS(NETCONF_NS, "edit-config");
+        final Element target = document.createElementNS(NETCONF_NS, "target");
+        target.appendChild(document.createElementNS(NETCONF_NS, "candidate"));
+        editConfigElement.appendChild(target);
+        final Element defaultOperation = document.createElementNS(NETCONF_NS, "default-operation");
+        defaultOperation.setTextContent("none");
+        editConfigElement.appendChild(defaultOperation);
+
+        final Element config = document.createElementNS(NETCONF_NS, "config");
+        final Element mappingNodes = document.createElementNS(TEST_NS, "mapping-nodes");
+        for (int i = 0; i < entries; ++i) {
+            final Element mappingNode = document.createElementNS(TEST_NS, "mapping-node");
+            mappingNode.setAttributeNS(NETCONF_NS, "nc:operation", operation);
+            mappingNode.appendChild(leaf(document, "id", idPrefix + i));
+            mappingNode.appendChild(leaf(document, "content", "Benchmark content " + i));
+            mappingNodes.appendChild(mappingNode);
+        }
+        config.appendChild(mappingNodes);
+        editConfigElement.appendChild(config);
+        rpc.appendChild(editConfigElement);
+        document.appendChild(rpc);
+        return document;
+    }
+
+    private static Element leaf(final Document document, final String name, final String value) {
+        final Element leaf = document.createElementNS(TEST_NS, name);
+        leaf.setTextContent(value);
+        return leaf;
+    }
+
+    private List<InputStream> getYangSchemas() {
+        return Arrays.asList(getClass().getResourceAsStream("/META-INF/yang/config.yang"),
+                getClass().getResourceAsStream("/yang/mdsal-netconf-mapping-test.yang"));
+    }
+
+    private SchemaService createSchemaService() {
+        return new SchemaService() {
+            @Override
+            public void addModule(final Module module) {
+            }
+
+            @Override
+            public void removeModule(final Module module) {
+            }
+
+            @Override
+            public SchemaContext getSessionContext() {
+                return schemaContext;
+            }
+
+            @Override
+            public SchemaContext getGlobalContext() {
+                return schemaContext;
+            }
+
+            @Override
+            public ListenerRegistration<SchemaContextListener> registerSchemaContextListener(
+                    final SchemaContextListener listener) {
+                listener.onGlobalContextUpdated(getGlobalContext());
+                return new ListenerRegistration<SchemaContextListener>() {
+                    @Override
+                    public void close() {
+                    }
+
+                    @Override
+                    public SchemaContextListener getInstance() {
+                        return listener;
+                    }
+                };
+            }
+        };
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EditConfigBenchmark.class.getSimpleName()).build()).run();
+    }
+}
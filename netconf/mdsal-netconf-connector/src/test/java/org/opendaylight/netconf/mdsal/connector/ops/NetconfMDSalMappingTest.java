@@ -26,6 +26,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -52,6 +53,7 @@ import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStoreFactory;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.controller.sal.core.spi.data.DOMStore;
+import org.opendaylight.netconf.api.xml.DeferredElementContent;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
@@ -480,6 +482,76 @@ public class NetconfMDSalMappingTest {
         verifyResponse(getConfigRunning(), XmlFileLoader.xmlFileToDocument("messages/mapping/get-config-map-entry.xml"));
     }
 
+    @Test
+    public void testReplaceParentAndCreateChildren() throws Exception {
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_mixed_operations_setup.xml"), RPC_REPLY_OK);
+        verifyResponse(commit(), RPC_REPLY_OK);
+
+        // id1 existed before, but the replace of its parent is applied first
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_mixed_operations_replace_parent_create_children.xml"), RPC_REPLY_OK);
+        verifyResponse(getConfigCandidate(), XmlFileLoader.xmlFileToDocument("messages/mapping/editConfigs/editConfig_mixed_operations_replace_parent_create_children_control.xml"));
+
+        deleteDatastore();
+    }
+
+    @Test
+    public void testMergeParentAndDeleteChildren() throws Exception {
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_mixed_operations_setup.xml"), RPC_REPLY_OK);
+        verifyResponse(commit(), RPC_REPLY_OK);
+
+        // id3 is deleted right after the merge of its parent created it
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_mixed_operations_merge_parent_delete_children.xml"), RPC_REPLY_OK);
+        verifyResponse(getConfigCandidate(), XmlFileLoader.xmlFileToDocument("messages/mapping/editConfigs/editConfig_mixed_operations_merge_parent_delete_children_control.xml"));
+
+        deleteDatastore();
+    }
+
+    @Test
+    public void testDuplicateCreateInOneEdit() throws Exception {
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_mixed_operations_setup.xml"), RPC_REPLY_OK);
+        verifyResponse(commit(), RPC_REPLY_OK);
+
+        try {
+            edit("messages/mapping/editConfigs/editConfig_mixed_operations_duplicate_create.xml");
+            fail("Create should have failed - data were created by the same edit");
+        } catch (final DocumentedException e) {
+            assertTrue(e.getErrorSeverity() == ErrorSeverity.ERROR);
+            assertTrue(e.getErrorTag() == ErrorTag.DATA_EXISTS);
+            assertTrue(e.getErrorType() == ErrorType.PROTOCOL);
+        }
+
+        verifyResponse(discardChanges(), RPC_REPLY_OK);
+        deleteDatastore();
+    }
+
+    @Test
+    public void testDeleteLastMapEntryAndCreate() throws Exception {
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_mixed_operations_setup.xml"), RPC_REPLY_OK);
+        verifyResponse(commit(), RPC_REPLY_OK);
+
+        // changes of siblings are applied in reverse order: id3 is created, then all entries are deleted and id4 is
+        // created in the map, which has to be merged again
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_mixed_operations_delete_last_create.xml"), RPC_REPLY_OK);
+        verifyResponse(getConfigCandidate(), XmlFileLoader.xmlFileToDocument("messages/mapping/editConfigs/editConfig_mixed_operations_delete_last_create_control.xml"));
+
+        verifyResponse(commit(), RPC_REPLY_OK);
+        verifyResponse(getConfigRunning(), XmlFileLoader.xmlFileToDocument("messages/mapping/editConfigs/editConfig_mixed_operations_delete_last_create_control.xml"));
+
+        deleteDatastore();
+    }
+
+    @Test
+    public void testLeafListContentMatch() throws Exception {
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_merge_multiple_operations_4_setup.xml"), RPC_REPLY_OK);
+        verifyResponse(commit(), RPC_REPLY_OK);
+
+        // only the matching entries of the leaf-list are selected, the sibling leaf-list is left out
+        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-leaf-list-content-match.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-leaf-list-content-match.xml"));
+
+        deleteDatastore();
+    }
+
     @Test
     public void testFiltering() throws Exception {
 
@@ -525,6 +597,14 @@ public class NetconfMDSalMappingTest {
 
         verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-augmented-case.xml"),
                 XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-augmented-case.xml"));
+        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-superuser.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-superuser.xml"));
+        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-specific-module-type-and-user.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-specific-module-type-and-user.xml"));
+        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-only-names-types.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-only-names-types.xml"));
+        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-modules-and-admin.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-modules-and-admin.xml"));
 
         /*
          *  RFC6020 requires that at most once case inside a choice is present at any time.
@@ -682,6 +762,12 @@ public class NetconfMDSalMappingTest {
     private Document executeOperation(final NetconfOperation op, final String filename) throws ParserConfigurationException, SAXException, IOException, DocumentedException {
         final Document request = XmlFileLoader.xmlFileToDocument(filename);
         final Document response = op.handle(request, NetconfOperationChainedExecution.EXECUTION_TERMINATION_POINT);
+        // Full datastore reads are streamed by the encoder, make them visible in the DOM
+        try {
+            DeferredElementContent.materialize(response);
+        } catch (final XMLStreamException e) {
+            throw new IOException(e);
+        }
 
         LOG.debug("Got response {}" , response);
         return response;
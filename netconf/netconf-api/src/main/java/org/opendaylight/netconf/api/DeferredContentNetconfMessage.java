@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import javax.xml.stream.XMLStreamException;
+import org.opendaylight.netconf.api.xml.DeferredElementContent;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Message whose document contains an empty placeholder element, content of which is written by the encoder directly
+ * from a {@link DeferredElementContent}. Encoders recognizing this message write the content without building
+ * a DOM tree for it.
+ *
+ * <p>
+ * {@link #getDocument()} returns the complete document, it writes the content into the placeholder on first access.
+ * So loggers, monitoring and other code working with the DOM see the same message as the peer, at the cost
+ * of losing the benefit of deferring the content. Encoders use {@link #getSkeleton()} instead.
+ *
+ * <p>
+ * Deferring the content avoids the DOM copy of the data only, encoders still produce the serialized message as
+ * a whole before it is framed.
+ */
+public final class DeferredContentNetconfMessage extends NetconfMessage {
+    private final Element placeholder;
+    private DeferredElementContent content;
+
+    private DeferredContentNetconfMessage(final Document doc, final Element placeholder,
+            final DeferredElementContent content) {
+        super(doc);
+        this.placeholder = Preconditions.checkNotNull(placeholder);
+        this.content = Preconditions.checkNotNull(content);
+    }
+
+    /**
+     * Create a message from a document, which may have deferred content attached to one of its elements. The content
+     * is moved from the document into the message.
+     *
+     * @param document document created by netconf operations
+     * @return a deferred content message if the document has deferred content attached, absent otherwise
+     */
+    public static Optional<DeferredContentNetconfMessage> fromDocument(final Document document) {
+        final Element placeholder = DeferredElementContent.findPlaceholder(document);
+        if (placeholder == null) {
+            return Optional.absent();
+        }
+        return Optional.of(new DeferredContentNetconfMessage(document, placeholder,
+                DeferredElementContent.detach(placeholder)));
+    }
+
+    /**
+     * Get the complete document, writing the deferred content into the placeholder element if it was not done yet.
+     *
+     * @return complete document
+     */
+    @Override
+    public synchronized Document getDocument() {
+        if (content != null) {
+            try {
+                content.writeInto(placeholder);
+            } catch (final XMLStreamException e) {
+                throw new IllegalStateException("Failed to write content of " + placeholder.getNodeName(), e);
+            }
+            content = null;
+        }
+        return super.getDocument();
+    }
+
+    /**
+     * Get the document without writing the deferred content. The placeholder element stays empty until
+     * {@link #getDocument()} is called.
+     *
+     * @return document with an empty placeholder element
+     */
+    public Document getSkeleton() {
+        return super.getDocument();
+    }
+
+    /**
+     * Get the placeholder element of the deferred content.
+     *
+     * @return placeholder element
+     */
+    public Element getPlaceholder() {
+        return placeholder;
+    }
+
+    /**
+     * Get the deferred content.
+     *
+     * @return content not written into the document yet, absent if {@link #getDocument()} already did so
+     */
+    public synchronized Optional<DeferredElementContent> getContent() {
+        return Optional.fromNullable(content);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api.dom;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBrokerExtension;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Data broker extension of netconf mount points, which reads only selected child nodes of the requested data. The
+ * selection is translated into subtree filter of get or get-config rpc, so the device sends only selected data.
+ *
+ * <p>
+ * Child nodes are selected in the same way as by depth and fields parameters of RESTCONF read requests. The filter
+ * cannot express every selection exactly, so returned data can contain more nodes than selected, but never less.
+ *
+ * <p>
+ * Data brokers of mount points list the extension in {@link
+ * org.opendaylight.controller.md.sal.dom.api.DOMDataBroker#getSupportedExtensions()}, so northbound code can use it
+ * without depending on the connector.
+ */
+public interface NetconfDOMDataBrokerFieldsExtension extends DOMDataBrokerExtension {
+
+    /**
+     * Reads selected child nodes of data under path.
+     *
+     * @param store datastore to read from
+     * @param path path to the read data
+     * @param depth maximal depth of child nodes to read, child nodes of node identified by path are at depth 1,
+     *              {@code null} if depth is not limited
+     * @param fields set of selected child nodes for each level of nodes under path, starting with child nodes of
+     *               node identified by path, deeper levels are limited only by depth, {@code null} if not limited
+     * @return future with read data
+     */
+    CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(LogicalDatastoreType store,
+            YangInstanceIdentifier path, @Nullable Integer depth, @Nullable List<Set<QName>> fields);
+}
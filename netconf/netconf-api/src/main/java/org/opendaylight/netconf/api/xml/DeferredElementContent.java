@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api.xml;
+
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMResult;
+import org.opendaylight.netconf.api.DeferredContentNetconfMessage;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Content of a DOM element which is not materialized in the DOM tree, but written by the message encoder directly
+ * into its output. This allows large replies (e.g. a full datastore read) to skip building the DOM representation.
+ *
+ * <p>
+ * Operations attach the content to an empty placeholder element of their reply document. The attachment is only
+ * a hand-off to the server session, which moves the content into a {@link DeferredContentNetconfMessage}. It is not
+ * carried over when the placeholder is imported or cloned. Code which consumes the reply document of an operation
+ * directly, e.g. tests, has to call {@link #materialize(Document)} first.
+ */
+public abstract class DeferredElementContent {
+    private static final String USER_DATA_KEY = DeferredElementContent.class.getName();
+    private static final XMLOutputFactory REPAIRING_OUTPUT_FACTORY;
+
+    static {
+        final XMLOutputFactory f = XMLOutputFactory.newFactory();
+        f.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, Boolean.TRUE);
+        REPAIRING_OUTPUT_FACTORY = f;
+    }
+
+    /**
+     * Write child nodes of the placeholder element. The writer has namespace repairing enabled and the start
+     * element of the placeholder has already been written.
+     *
+     * @param writer writer to use
+     * @throws XMLStreamException if the content cannot be written
+     */
+    public abstract void writeTo(XMLStreamWriter writer) throws XMLStreamException;
+
+    /**
+     * Attach this content to a placeholder element.
+     *
+     * @param element empty placeholder element
+     */
+    public final void attachTo(final Element element) {
+        if (element.hasChildNodes()) {
+            throw new IllegalArgumentException("Placeholder element " + element.getNodeName() + " is not empty");
+        }
+        element.setUserData(USER_DATA_KEY, this, null);
+    }
+
+    /**
+     * Get content attached to an element.
+     *
+     * @param element element to examine
+     * @return attached content, or null if the element has no deferred content
+     */
+    public static DeferredElementContent get(final Element element) {
+        final Object content = element.getUserData(USER_DATA_KEY);
+        return content instanceof DeferredElementContent ? (DeferredElementContent) content : null;
+    }
+
+    /**
+     * Remove content attached to an element.
+     *
+     * @param element element to examine
+     * @return removed content, or null if the element has no deferred content
+     */
+    public static DeferredElementContent detach(final Element element) {
+        final DeferredElementContent content = get(element);
+        if (content != null) {
+            element.setUserData(USER_DATA_KEY, null, null);
+        }
+        return content;
+    }
+
+    /**
+     * Find the first element of a document which has deferred content attached.
+     *
+     * @param document document to search
+     * @return placeholder element, or null if the document has no deferred content
+     */
+    public static Element findPlaceholder(final Document document) {
+        final Deque<Node> stack = new ArrayDeque<>();
+        stack.push(document);
+        while (!stack.isEmpty()) {
+            final Node node = stack.pop();
+            if (node.getNodeType() == Node.ELEMENT_NODE && get((Element) node) != null) {
+                return (Element) node;
+            }
+            for (Node child = node.getLastChild(); child != null; child = child.getPreviousSibling()) {
+                stack.push(child);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create a namespace repairing writer for the content, writing into an output stream.
+     *
+     * @param os output stream
+     * @param encoding character encoding to use
+     * @return a new writer
+     * @throws XMLStreamException if the writer cannot be created
+     */
+    public static XMLStreamWriter createWriter(final OutputStream os, final String encoding)
+            throws XMLStreamException {
+        return REPAIRING_OUTPUT_FACTORY.createXMLStreamWriter(os, encoding);
+    }
+
+    /**
+     * Write this content into the DOM tree as children of the placeholder element.
+     *
+     * @param placeholder placeholder element
+     * @throws XMLStreamException if the content fails to be written
+     */
+    public final void writeInto(final Element placeholder) throws XMLStreamException {
+        final XMLStreamWriter writer = REPAIRING_OUTPUT_FACTORY.createXMLStreamWriter(new DOMResult(placeholder));
+        try {
+            writeTo(writer);
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Write all deferred content attached to elements of a document into its DOM tree.
+     *
+     * @param document document to materialize
+     * @throws XMLStreamException if any of the content fails to be written
+     */
+    public static void materialize(final Document document) throws XMLStreamException {
+        for (Element placeholder = findPlaceholder(document); placeholder != null;
+                placeholder = findPlaceholder(document)) {
+            detach(placeholder).writeInto(placeholder);
+        }
+    }
+}
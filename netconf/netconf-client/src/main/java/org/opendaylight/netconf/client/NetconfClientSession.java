@@ -14,7 +14,6 @@ import io.netty.handler.codec.MessageToByteEncoder;
 import java.util.Collection;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.nettyutil.AbstractNetconfSession;
-import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +58,6 @@ public class NetconfClientSession extends AbstractNetconfSession<NetconfClientSe
     public void stopExiCommunication() {
         // TODO never used, Netconf client does not support stop-exi
         replaceMessageDecoder(new NetconfXMLToMessageDecoder());
-        replaceMessageEncoder(new NetconfMessageToXMLEncoder());
+        replaceMessageEncoder(createMessageToXMLEncoder());
     }
 }
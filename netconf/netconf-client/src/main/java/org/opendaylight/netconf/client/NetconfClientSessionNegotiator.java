@@ -15,6 +15,7 @@ import com.google.common.collect.Interners;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.util.Timer;
@@ -30,6 +31,7 @@ import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.nettyutil.AbstractChannelInitializer;
 import org.opendaylight.netconf.nettyutil.AbstractNetconfSessionNegotiator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfStreamingChunkDecoder;
 import org.opendaylight.netconf.nettyutil.handler.exi.NetconfStartExiMessage;
 import org.opendaylight.netconf.util.messages.NetconfMessageUtil;
 import org.opendaylight.netconf.util.xml.XMLNetconfUtil;
@@ -54,13 +56,31 @@ public class NetconfClientSessionNegotiator extends
 
     private static final Interner<Set<String>> INTERNER = Interners.newWeakInterner();
 
+    private final boolean streamingChunkDecoder;
+
     protected NetconfClientSessionNegotiator(final NetconfClientSessionPreferences sessionPreferences,
                                              final Promise<NetconfClientSession> promise,
                                              final Channel channel,
                                              final Timer timer,
                                              final NetconfClientSessionListener sessionListener,
                                              final long connectionTimeoutMillis) {
+        this(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis, false);
+    }
+
+    protected NetconfClientSessionNegotiator(final NetconfClientSessionPreferences sessionPreferences,
+                                             final Promise<NetconfClientSession> promise,
+                                             final Channel channel,
+                                             final Timer timer,
+                                             final NetconfClientSessionListener sessionListener,
+                                             final long connectionTimeoutMillis,
+                                             final boolean streamingChunkDecoder) {
         super(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis);
+        this.streamingChunkDecoder = streamingChunkDecoder;
+    }
+
+    @Override
+    protected ChannelHandler createChunkFramingDecoder() {
+        return streamingChunkDecoder ? new NetconfStreamingChunkDecoder() : super.createChunkFramingDecoder();
     }
 
     @Override
@@ -21,6 +21,7 @@ import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.nettyutil.handler.exi.EXISchema;
 import org.opendaylight.netconf.nettyutil.handler.exi.NetconfStartExiMessage;
 import org.opendaylight.protocol.framework.SessionListenerFactory;
 import org.opendaylight.protocol.framework.SessionNegotiator;
@@ -57,6 +58,9 @@ public class NetconfClientSessionNegotiatorFactory implements SessionNegotiatorF
     private final long connectionTimeoutMillis;
     private final Timer timer;
     private final EXIOptions options;
+    private final EXISchema exiSchema;
+    private final boolean streamingChunkDecoder;
+    private final boolean prettyPrint;
 
     static {
         final EXIOptions opts = new EXIOptions();
@@ -96,11 +100,50 @@ public class NetconfClientSessionNegotiatorFactory implements SessionNegotiatorF
     public NetconfClientSessionNegotiatorFactory(final Timer timer,
                                                  final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
                                                  final long connectionTimeoutMillis, final EXIOptions exiOptions, final Set<String> capabilities) {
+        this(timer, additionalHeader, connectionTimeoutMillis, exiOptions, capabilities, false);
+    }
+
+    /**
+     * @param streamingChunkDecoder parse chunk-framed messages as their chunks arrive instead of aggregating them first
+     */
+    public NetconfClientSessionNegotiatorFactory(final Timer timer,
+                                                 final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
+                                                 final long connectionTimeoutMillis, final EXIOptions exiOptions, final Set<String> capabilities,
+                                                 final boolean streamingChunkDecoder) {
+        this(timer, additionalHeader, connectionTimeoutMillis, exiOptions, capabilities, streamingChunkDecoder,
+                EXISchema.NONE);
+    }
+
+    /**
+     * @param streamingChunkDecoder parse chunk-framed messages as their chunks arrive instead of aggregating them first
+     * @param exiSchema schema of EXI grammars requested in start-exi, schema-informed grammars give better compression
+     */
+    public NetconfClientSessionNegotiatorFactory(final Timer timer,
+                                                 final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
+                                                 final long connectionTimeoutMillis, final EXIOptions exiOptions, final Set<String> capabilities,
+                                                 final boolean streamingChunkDecoder, final EXISchema exiSchema) {
+        this(timer, additionalHeader, connectionTimeoutMillis, exiOptions, capabilities, streamingChunkDecoder,
+                exiSchema, false);
+    }
+
+    /**
+     * @param streamingChunkDecoder parse chunk-framed messages as their chunks arrive instead of aggregating them first
+     * @param exiSchema schema of EXI grammars requested in start-exi, schema-informed grammars give better compression
+     * @param prettyPrint if true, messages are sent indented, otherwise in compact form
+     */
+    public NetconfClientSessionNegotiatorFactory(final Timer timer,
+                                                 final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
+                                                 final long connectionTimeoutMillis, final EXIOptions exiOptions, final Set<String> capabilities,
+                                                 final boolean streamingChunkDecoder, final EXISchema exiSchema,
+                                                 final boolean prettyPrint) {
         this.timer = Preconditions.checkNotNull(timer);
         this.additionalHeader = additionalHeader;
         this.connectionTimeoutMillis = connectionTimeoutMillis;
         this.options = exiOptions;
+        this.exiSchema = Preconditions.checkNotNull(exiSchema);
         this.clientCapabilities = capabilities;
+        this.streamingChunkDecoder = streamingChunkDecoder;
+        this.prettyPrint = prettyPrint;
     }
 
     @Override
@@ -108,7 +151,7 @@ public class NetconfClientSessionNegotiatorFactory implements SessionNegotiatorF
                                                                         final Channel channel,
             final Promise<NetconfClientSession> promise) {
 
-        NetconfMessage startExiMessage = NetconfStartExiMessage.create(options, START_EXI_MESSAGE_ID);
+        NetconfMessage startExiMessage = NetconfStartExiMessage.create(options, START_EXI_MESSAGE_ID, exiSchema);
         NetconfHelloMessage helloMessage = null;
         try {
             helloMessage = NetconfHelloMessage.createClientHello(clientCapabilities, additionalHeader);
@@ -118,7 +161,9 @@ public class NetconfClientSessionNegotiatorFactory implements SessionNegotiatorF
         }
 
         NetconfClientSessionPreferences proposal = new NetconfClientSessionPreferences(helloMessage, startExiMessage);
-        return new NetconfClientSessionNegotiator(proposal, promise, channel, timer,
-                sessionListenerFactory.getSessionListener(),connectionTimeoutMillis);
+        final NetconfClientSessionNegotiator negotiator = new NetconfClientSessionNegotiator(proposal, promise, channel,
+                timer, sessionListenerFactory.getSessionListener(), connectionTimeoutMillis, streamingChunkDecoder);
+        negotiator.setPrettyPrint(prettyPrint);
+        return negotiator;
     }
 }
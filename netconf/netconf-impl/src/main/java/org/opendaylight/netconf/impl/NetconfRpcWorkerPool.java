@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.impl;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Worker threads processing incoming RPCs of netconf server sessions, so that a slow operation (e.g. a large
+ * datastore read) does not stall the event loop and with it all other sessions served by the same event loop.
+ * RPCs of a single session are processed one at a time in the order they arrived, replies are therefore sent
+ * in request order as well.
+ *
+ * <p>
+ * The number of RPCs waiting for a worker is bounded, RPCs over the limit are rejected. Rejections are queued
+ * with the other tasks of the session, so they keep the reply order as well. The pool keeps track of
+ * the number of pending RPCs and of the time between an RPC being received and its processing completing.
+ */
+public final class NetconfRpcWorkerPool implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfRpcWorkerPool.class);
+
+    private final ExecutorService executor;
+    private final int maxPendingRpcs;
+
+    private final LongAdder pendingRpcs = new LongAdder();
+    private final LongAdder processedRpcs = new LongAdder();
+    private final LongAdder rejectedRpcs = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public NetconfRpcWorkerPool(final int threads, final int maxPendingRpcs) {
+        Preconditions.checkArgument(threads > 0, "Number of threads has to be positive, was %s", threads);
+        Preconditions.checkArgument(maxPendingRpcs > 0, "Maximum pending RPCs has to be positive, was %s",
+            maxPendingRpcs);
+        this.executor = Executors.newFixedThreadPool(threads,
+            new ThreadFactoryBuilder().setNameFormat("netconf-rpc-worker-%d").setDaemon(true).build());
+        this.maxPendingRpcs = maxPendingRpcs;
+    }
+
+    /**
+     * Create an executor for RPCs of a single session. Tasks submitted to it are run one at a time, in submission
+     * order, on the workers of this pool.
+     *
+     * @return a new session executor
+     */
+    public SessionExecutor newSessionExecutor() {
+        return new SessionExecutor();
+    }
+
+    /**
+     * Get the number of RPCs which were received, but their processing has not completed yet.
+     *
+     * @return number of pending RPCs
+     */
+    public long getPendingRpcs() {
+        return pendingRpcs.sum();
+    }
+
+    /**
+     * Get the number of RPCs whose processing has completed.
+     *
+     * @return number of processed RPCs
+     */
+    public long getProcessedRpcs() {
+        return processedRpcs.sum();
+    }
+
+    /**
+     * Get the number of RPCs rejected because too many RPCs were pending.
+     *
+     * @return number of rejected RPCs
+     */
+    public long getRejectedRpcs() {
+        return rejectedRpcs.sum();
+    }
+
+    /**
+     * Get the average time between an RPC being received and its processing completing.
+     *
+     * @param unit time unit of the result
+     * @return average latency
+     */
+    public long getAverageLatency(final TimeUnit unit) {
+        final long processed = processedRpcs.sum();
+        return processed == 0 ? 0 : unit.convert(totalLatencyNanos.sum() / processed, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the longest time between an RPC being received and its processing completing.
+     *
+     * @param unit time unit of the result
+     * @return maximum latency
+     */
+    public long getMaxLatency(final TimeUnit unit) {
+        return unit.convert(maxLatencyNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("pending", getPendingRpcs())
+                .add("processed", getProcessedRpcs())
+                .add("rejected", getRejectedRpcs())
+                .add("averageLatencyMicros", getAverageLatency(TimeUnit.MICROSECONDS))
+                .add("maxLatencyMicros", getMaxLatency(TimeUnit.MICROSECONDS))
+                .toString();
+    }
+
+    private void recordLatency(final long received) {
+        final long latency = System.nanoTime() - received;
+        processedRpcs.increment();
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Executor running tasks of a single session sequentially. At most one task of a session occupies a worker
+     * at any time. A task failing with an unchecked exception closes the executor.
+     */
+    public final class SessionExecutor implements Executor, AutoCloseable {
+        // All fields are guarded by this
+        private final Queue<TimedTask> tasks = new ArrayDeque<>();
+        private boolean running;
+        private boolean closed;
+
+        SessionExecutor() {
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            if (!execute(command, null)) {
+                throw new RejectedExecutionException("Too many pending RPCs, limit is " + maxPendingRpcs);
+            }
+        }
+
+        /**
+         * Run a task, or a rejection task instead if too many RPCs are pending. Either of them is run in submission
+         * order with the other tasks of this session, so a rejection is never sent before replies to earlier RPCs.
+         * Rejection tasks do not count as pending RPCs.
+         *
+         * @param command task processing an RPC
+         * @param rejection task rejecting the RPC, may be null if the caller handles the rejection itself
+         * @return true if the command was queued, false if the RPC was rejected
+         * @throws RejectedExecutionException if this executor is closed
+         */
+        public boolean execute(final Runnable command, final Runnable rejection) {
+            final boolean accepted;
+            final boolean schedule;
+            synchronized (this) {
+                if (closed) {
+                    throw new RejectedExecutionException("Session executor is closed");
+                }
+
+                accepted = pendingRpcs.sum() < maxPendingRpcs;
+                if (accepted) {
+                    pendingRpcs.increment();
+                    tasks.add(new TimedTask(command, true));
+                } else {
+                    rejectedRpcs.increment();
+                    if (rejection == null) {
+                        return false;
+                    }
+                    tasks.add(new TimedTask(rejection, false));
+                }
+                schedule = !running;
+                running = true;
+            }
+
+            if (schedule) {
+                schedule();
+            }
+            return accepted;
+        }
+
+        /**
+         * Discard tasks which have not started yet. The task currently being run, if any, is allowed to complete.
+         */
+        @Override
+        public void close() {
+            int discarded = 0;
+            synchronized (this) {
+                closed = true;
+                for (final TimedTask task : tasks) {
+                    if (task.counted) {
+                        discarded++;
+                    }
+                }
+                tasks.clear();
+            }
+            pendingRpcs.add(-discarded);
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this::runTask);
+            } catch (final RejectedExecutionException e) {
+                LOG.debug("Worker pool rejected tasks, pool is shut down", e);
+                close();
+                synchronized (this) {
+                    running = false;
+                }
+            }
+        }
+
+        private void runTask() {
+            final TimedTask task;
+            synchronized (this) {
+                task = tasks.poll();
+                if (task == null) {
+                    running = false;
+                    return;
+                }
+            }
+
+            boolean failed = false;
+            try {
+                task.command.run();
+            } catch (final RuntimeException e) {
+                // Tasks are expected to handle their failures, e.g. by closing the session. Later RPCs of a session
+                // which failed unexpectedly must not be processed, replies to them would be out of order.
+                LOG.error("Unexpected failure processing RPC, discarding remaining RPCs of the session", e);
+                failed = true;
+            } finally {
+                if (task.counted) {
+                    pendingRpcs.decrement();
+                    recordLatency(task.received);
+                }
+            }
+            if (failed) {
+                close();
+            }
+
+            // Go to the back of the pool's queue, so busy sessions do not starve the others
+            final boolean more;
+            synchronized (this) {
+                more = !tasks.isEmpty();
+                running = more;
+            }
+            if (more) {
+                schedule();
+            }
+        }
+    }
+
+    private static final class TimedTask {
+        final Runnable command;
+        final boolean counted;
+        final long received = System.nanoTime();
+
+        TimedTask(final Runnable command, final boolean counted) {
+            this.command = command;
+            this.counted = counted;
+        }
+    }
+}
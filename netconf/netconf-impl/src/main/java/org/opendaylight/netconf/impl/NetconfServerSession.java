@@ -21,13 +21,13 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.opendaylight.netconf.api.monitoring.NetconfManagementSession;
 import org.opendaylight.netconf.nettyutil.AbstractNetconfSession;
-import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
@@ -56,7 +56,11 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
     private final NetconfServerSessionListener sessionListener;
 
     private ZonedDateTime loginTime;
-    private long inRpcSuccess, inRpcFail, outRpcError, outNotification;
+    // updated from I/O and notification threads without locking, read when session stats are published
+    private final LongAdder inRpcSuccess = new LongAdder();
+    private final LongAdder inRpcFail = new LongAdder();
+    private final LongAdder outRpcError = new LongAdder();
+    private final LongAdder outNotification = new LongAdder();
     private volatile boolean delayedClose;
 
     public NetconfServerSession(final NetconfServerSessionListener sessionListener, final Channel channel, final long sessionId,
@@ -86,7 +90,7 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
     public ChannelFuture sendMessage(final NetconfMessage netconfMessage) {
         final ChannelFuture channelFuture = super.sendMessage(netconfMessage);
         if (netconfMessage instanceof NetconfNotification) {
-            outNotification++;
+            outNotification.increment();
             sessionListener.onNotification(this, (NetconfNotification) netconfMessage);
         }
         // delayed close was set, close after the message was sent
@@ -102,15 +106,15 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
     }
 
     public void onIncommingRpcSuccess() {
-        inRpcSuccess++;
+        inRpcSuccess.increment();
     }
 
     public void onIncommingRpcFail() {
-        inRpcFail++;
+        inRpcFail.increment();
     }
 
     public void onOutgoingRpcError() {
-        outRpcError++;
+        outRpcError.increment();
     }
 
     private static final String dateTimePatternString = DateAndTime.PATTERN_CONSTANTS.get(0);
@@ -137,14 +141,14 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
         Preconditions.checkState(matcher.matches(), "Formatted datetime %s does not match pattern %s", formattedDateTime, dateTimePattern);
         builder.setLoginTime(new DateAndTime(formattedDateTime));
 
-        builder.setInBadRpcs(new ZeroBasedCounter32(inRpcFail));
-        builder.setInRpcs(new ZeroBasedCounter32(inRpcSuccess));
-        builder.setOutRpcErrors(new ZeroBasedCounter32(outRpcError));
+        builder.setInBadRpcs(new ZeroBasedCounter32(inRpcFail.sum()));
+        builder.setInRpcs(new ZeroBasedCounter32(inRpcSuccess.sum()));
+        builder.setOutRpcErrors(new ZeroBasedCounter32(outRpcError.sum()));
 
         builder.setUsername(header.getUserName());
         builder.setTransport(getTransportForString(header.getTransport()));
 
-        builder.setOutNotifications(new ZeroBasedCounter32(outNotification));
+        builder.setOutNotifications(new ZeroBasedCounter32(outNotification.sum()));
 
         builder.setKey(new SessionKey(getSessionId()));
 
@@ -180,6 +184,6 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
     @Override
     public void stopExiCommunication() {
         replaceMessageDecoder(new NetconfXMLToMessageDecoder());
-        replaceMessageEncoderAfterNextMessage(new NetconfMessageToXMLEncoder());
+        replaceMessageEncoderAfterNextMessage(createMessageToXMLEncoder());
     }
 }
@@ -9,10 +9,13 @@
 package org.opendaylight.netconf.impl;
 
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.RejectedExecutionException;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.DeferredContentNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSessionListener;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
@@ -27,6 +30,7 @@ import org.opendaylight.netconf.util.messages.SubtreeFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
@@ -36,12 +40,24 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
     private final SessionListener monitoringSessionListener;
     private final NetconfOperationRouter operationRouter;
     private final AutoCloseable onSessionDownCloseable;
+    private final NetconfRpcWorkerPool.SessionExecutor rpcExecutor;
 
     public NetconfServerSessionListener(final NetconfOperationRouter operationRouter, final NetconfMonitoringService monitoringService,
                                         final AutoCloseable onSessionDownCloseable) {
+        this(operationRouter, monitoringService, onSessionDownCloseable, null);
+    }
+
+    /**
+     * @param rpcExecutor executor processing incoming RPCs of this session in the order they were received, null to
+     *                    process them on the event loop
+     */
+    public NetconfServerSessionListener(final NetconfOperationRouter operationRouter, final NetconfMonitoringService monitoringService,
+                                        final AutoCloseable onSessionDownCloseable,
+                                        final NetconfRpcWorkerPool.SessionExecutor rpcExecutor) {
         this.operationRouter = operationRouter;
         this.monitoringSessionListener = monitoringService.getSessionListener();
         this.onSessionDownCloseable = onSessionDownCloseable;
+        this.rpcExecutor = rpcExecutor;
     }
 
     @Override
@@ -80,13 +96,70 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
 
     @Override
     public void onMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
+        if (rpcExecutor == null) {
+            processMessage(session, netconfMessage);
+            return;
+        }
+
+        final boolean accepted;
+        try {
+            accepted = rpcExecutor.execute(() -> processQueuedMessage(session, netconfMessage),
+                () -> rejectMessage(session, netconfMessage));
+        } catch (final RejectedExecutionException e) {
+            LOG.debug("Session {} is going down, dropping incoming message", session, e);
+            return;
+        }
+
+        if (!accepted) {
+            // Push back on the client until the rejection is sent, it resumes reading
+            session.suspendReading();
+        }
+    }
+
+    /**
+     * Process a message on a worker thread. An unexpected failure leaves the client without a reply and the worker
+     * has no caller to report it to, so the session is closed.
+     */
+    private void processQueuedMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
+        try {
+            processMessage(session, netconfMessage);
+        } catch (final RuntimeException e) {
+            LOG.warn("Session {} failed to process incoming message, closing the session", session, e);
+            session.close();
+        }
+    }
+
+    /**
+     * Reply to a message which could not be processed because too many RPCs are pending. This runs in order with
+     * the RPCs of the session, after replies to all of the RPCs received earlier were sent.
+     */
+    private void rejectMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
+        LOG.warn("Session {} unable to process incoming message, RPC processing is overloaded", session);
+        try {
+            session.onOutgoingRpcError();
+            session.onIncommingRpcFail();
+            monitoringSessionListener.onSessionEvent(SessionEvent.inRpcFail(session));
+            monitoringSessionListener.onSessionEvent(SessionEvent.outRpcError(session));
+            SendErrorExceptionUtil.sendErrorMessage(session, new DocumentedException(
+                    "Unable to process incoming message, too many RPCs are pending",
+                    DocumentedException.ErrorType.APPLICATION, DocumentedException.ErrorTag.RESOURCE_DENIED,
+                    DocumentedException.ErrorSeverity.ERROR), netconfMessage);
+        } finally {
+            session.resumeReading();
+        }
+    }
+
+    private void processMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
         try {
 
             Preconditions.checkState(operationRouter != null, "Cannot handle message, session up was not yet received");
             // there is no validation since the document may contain yang schemas
             final NetconfMessage message = processDocument(netconfMessage,
                     session);
-            LOG.debug("Responding with message {}", message);
+            if (LOG.isDebugEnabled()) {
+                // Logging the whole reply would materialize streamed content of the reply
+                LOG.debug("Responding to message-id {}", getMessageId(netconfMessage));
+            }
             session.sendMessage(message);
             monitoringSessionListener.onSessionEvent(SessionEvent.inRpcSuccess(session));
         } catch (final RuntimeException e) {
@@ -116,7 +189,6 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
         final Node rootNode = incomingDocument.getDocumentElement();
 
         if (rootNode.getLocalName().equals(XmlNetconfConstants.RPC_KEY)) {
-            final Document responseDocument = XmlUtil.newDocument();
             checkMessageId(rootNode);
 
             Document rpcReply = operationRouter.onNetconfMessage(incomingDocument, session);
@@ -125,6 +197,15 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
 
             session.onIncommingRpcSuccess();
 
+            // Deferred content is attached to the reply document created for this request, it would be lost by
+            // importing the reply
+            final Optional<DeferredContentNetconfMessage> deferred =
+                    DeferredContentNetconfMessage.fromDocument(rpcReply);
+            if (deferred.isPresent()) {
+                return deferred.get();
+            }
+
+            final Document responseDocument = XmlUtil.newDocument();
             responseDocument.appendChild(responseDocument.importNode(rpcReply.getDocumentElement(), true));
             return new NetconfMessage(responseDocument);
         } else {
@@ -141,6 +222,13 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
         }
     }
 
+    private static String getMessageId(final NetconfMessage message) {
+        final Element root = message.getDocument().getDocumentElement();
+        final String messageId = root.getAttributeNS(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0,
+                XmlNetconfConstants.MESSAGE_ID);
+        return messageId.isEmpty() ? root.getAttribute(XmlNetconfConstants.MESSAGE_ID) : messageId;
+    }
+
     private static void checkMessageId(final Node rootNode) throws DocumentedException {
 
         final NamedNodeMap attributes = rootNode.getAttributes();
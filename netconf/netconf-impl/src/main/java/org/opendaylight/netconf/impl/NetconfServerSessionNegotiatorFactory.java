@@ -51,16 +51,43 @@ public class NetconfServerSessionNegotiatorFactory implements SessionNegotiatorF
     private final NetconfMonitoringService monitoringService;
     private static final Logger LOG = LoggerFactory.getLogger(NetconfServerSessionNegotiatorFactory.class);
     private final Set<String> baseCapabilities;
+    private final NetconfRpcWorkerPool rpcWorkerPool;
+    private final boolean prettyPrint;
 
     public NetconfServerSessionNegotiatorFactory(final Timer timer, final NetconfOperationServiceFactory netconfOperationProvider,
                                                  final SessionIdProvider idProvider, final long connectionTimeoutMillis,
                                                  final NetconfMonitoringService monitoringService, final Set<String> baseCapabilities) {
+        this(timer, netconfOperationProvider, idProvider, connectionTimeoutMillis, monitoringService, baseCapabilities,
+                null);
+    }
+
+    /**
+     * @param rpcWorkerPool pool processing incoming RPCs, if null RPCs are processed on the event loop of the session
+     */
+    public NetconfServerSessionNegotiatorFactory(final Timer timer, final NetconfOperationServiceFactory netconfOperationProvider,
+                                                 final SessionIdProvider idProvider, final long connectionTimeoutMillis,
+                                                 final NetconfMonitoringService monitoringService, final Set<String> baseCapabilities,
+                                                 final NetconfRpcWorkerPool rpcWorkerPool) {
+        this(timer, netconfOperationProvider, idProvider, connectionTimeoutMillis, monitoringService, baseCapabilities,
+                rpcWorkerPool, false);
+    }
+
+    /**
+     * @param rpcWorkerPool pool processing incoming RPCs, if null RPCs are processed on the event loop of the session
+     * @param prettyPrint if true, messages are sent indented, otherwise in compact form
+     */
+    public NetconfServerSessionNegotiatorFactory(final Timer timer, final NetconfOperationServiceFactory netconfOperationProvider,
+                                                 final SessionIdProvider idProvider, final long connectionTimeoutMillis,
+                                                 final NetconfMonitoringService monitoringService, final Set<String> baseCapabilities,
+                                                 final NetconfRpcWorkerPool rpcWorkerPool, final boolean prettyPrint) {
         this.timer = timer;
         this.aggregatedOpService = netconfOperationProvider;
         this.idProvider = idProvider;
         this.connectionTimeoutMillis = connectionTimeoutMillis;
         this.monitoringService = monitoringService;
         this.baseCapabilities = validateBaseCapabilities(baseCapabilities == null ? DEFAULT_BASE_CAPABILITIES : baseCapabilities);
+        this.rpcWorkerPool = rpcWorkerPool;
+        this.prettyPrint = prettyPrint;
     }
 
 
@@ -99,15 +126,26 @@ public class NetconfServerSessionNegotiatorFactory implements SessionNegotiatorF
             throw new IllegalStateException(e);
         }
 
-        return new NetconfServerSessionNegotiator(proposal, promise, channel, timer,
-                getListener(Long.toString(sessionId), channel.localAddress()), connectionTimeoutMillis);
+        final NetconfServerSessionNegotiator negotiator = new NetconfServerSessionNegotiator(proposal, promise, channel,
+                timer, getListener(Long.toString(sessionId), channel.localAddress()), connectionTimeoutMillis);
+        negotiator.setPrettyPrint(prettyPrint);
+        return negotiator;
     }
 
     private NetconfServerSessionListener getListener(final String netconfSessionIdForReporting, final SocketAddress socketAddress) {
         final NetconfOperationService service = getOperationServiceForAddress(netconfSessionIdForReporting, socketAddress);
         final NetconfOperationRouter operationRouter =
                 new NetconfOperationRouterImpl(service, monitoringService, netconfSessionIdForReporting);
-        return new NetconfServerSessionListener(operationRouter, monitoringService, service);
+        if (rpcWorkerPool == null) {
+            return new NetconfServerSessionListener(operationRouter, monitoringService, service);
+        }
+
+        final NetconfRpcWorkerPool.SessionExecutor rpcExecutor = rpcWorkerPool.newSessionExecutor();
+        return new NetconfServerSessionListener(operationRouter, monitoringService, () -> {
+            // RPCs not started yet would find the operation service closed
+            rpcExecutor.close();
+            service.close();
+        }, rpcExecutor);
 
     }
 
@@ -21,6 +21,8 @@ public class NetconfServerSessionNegotiatorFactoryBuilder {
     private long connectionTimeoutMillis;
     private NetconfMonitoringService monitoringService;
     private Set<String> baseCapabilities;
+    private NetconfRpcWorkerPool rpcWorkerPool;
+    private boolean prettyPrint;
 
     public NetconfServerSessionNegotiatorFactoryBuilder() {
     }
@@ -55,10 +57,20 @@ public class NetconfServerSessionNegotiatorFactoryBuilder {
         return this;
     }
 
+    public NetconfServerSessionNegotiatorFactoryBuilder setRpcWorkerPool(final NetconfRpcWorkerPool rpcWorkerPool) {
+        this.rpcWorkerPool = rpcWorkerPool;
+        return this;
+    }
+
+    public NetconfServerSessionNegotiatorFactoryBuilder setPrettyPrint(final boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+        return this;
+    }
+
 
     public NetconfServerSessionNegotiatorFactory build() {
         validate();
-        return new NetconfServerSessionNegotiatorFactory(timer, aggregatedOpService, idProvider, connectionTimeoutMillis, monitoringService, baseCapabilities);
+        return new NetconfServerSessionNegotiatorFactory(timer, aggregatedOpService, idProvider, connectionTimeoutMillis, monitoringService, baseCapabilities, rpcWorkerPool, prettyPrint);
     }
 
 
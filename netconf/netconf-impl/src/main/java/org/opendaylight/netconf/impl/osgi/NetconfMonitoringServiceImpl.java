@@ -8,9 +8,11 @@
 package org.opendaylight.netconf.impl.osgi;
 
 import com.google.common.base.Optional;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.monitoring.SessionListener;
+import org.opendaylight.netconf.impl.NetconfRpcWorkerPool;
 import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactory;
 import org.opendaylight.netconf.notifications.BaseNotificationPublisherRegistration;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.Capabilities;
@@ -21,6 +23,7 @@ public class NetconfMonitoringServiceImpl implements NetconfMonitoringService, A
 
     private final NetconfCapabilityMonitoringService capabilityMonitoring;
     private final NetconfSessionMonitoringService sessionMonitoring;
+    private final NetconfRpcWorkerPool rpcWorkerPool;
 
     public NetconfMonitoringServiceImpl(NetconfOperationServiceFactory opProvider) {
         this(opProvider, Optional.absent(), 0);
@@ -32,12 +35,26 @@ public class NetconfMonitoringServiceImpl implements NetconfMonitoringService, A
         this(opProvider, Optional.fromNullable(threadPool), updateInterval);
     }
 
+    public NetconfMonitoringServiceImpl(NetconfOperationServiceFactory opProvider,
+                                        ScheduledThreadPool threadPool,
+                                        long updateInterval,
+                                        NetconfRpcWorkerPool rpcWorkerPool) {
+        this(opProvider, Optional.fromNullable(threadPool), updateInterval, rpcWorkerPool);
+    }
+
     public NetconfMonitoringServiceImpl(NetconfOperationServiceFactory opProvider,
                                         Optional<ScheduledThreadPool> threadPool,
                                         long updateInterval) {
+        this(opProvider, threadPool, updateInterval, null);
+    }
+
+    private NetconfMonitoringServiceImpl(NetconfOperationServiceFactory opProvider,
+                                         Optional<ScheduledThreadPool> threadPool,
+                                         long updateInterval,
+                                         NetconfRpcWorkerPool rpcWorkerPool) {
         this.capabilityMonitoring = new NetconfCapabilityMonitoringService(opProvider);
         this.sessionMonitoring = new NetconfSessionMonitoringService(threadPool, updateInterval);
-
+        this.rpcWorkerPool = rpcWorkerPool;
     }
 
     @Override
@@ -75,6 +92,44 @@ public class NetconfMonitoringServiceImpl implements NetconfMonitoringService, A
         return sessionMonitoring.registerListener(listener);
     }
 
+    /**
+     * Get the number of incoming RPCs waiting for or being processed by RPC workers.
+     *
+     * @return number of pending RPCs, 0 if RPCs are processed on the event loops
+     */
+    public long getPendingRpcs() {
+        return rpcWorkerPool == null ? 0 : rpcWorkerPool.getPendingRpcs();
+    }
+
+    /**
+     * Get the number of incoming RPCs rejected because too many RPCs were pending.
+     *
+     * @return number of rejected RPCs, 0 if RPCs are processed on the event loops
+     */
+    public long getRejectedRpcs() {
+        return rpcWorkerPool == null ? 0 : rpcWorkerPool.getRejectedRpcs();
+    }
+
+    /**
+     * Get the average time between an RPC being received and its processing completing.
+     *
+     * @param unit time unit of the result
+     * @return average RPC latency, 0 if RPCs are processed on the event loops
+     */
+    public long getAverageRpcLatency(TimeUnit unit) {
+        return rpcWorkerPool == null ? 0 : rpcWorkerPool.getAverageLatency(unit);
+    }
+
+    /**
+     * Get the longest time between an RPC being received and its processing completing.
+     *
+     * @param unit time unit of the result
+     * @return maximum RPC latency, 0 if RPCs are processed on the event loops
+     */
+    public long getMaxRpcLatency(TimeUnit unit) {
+        return rpcWorkerPool == null ? 0 : rpcWorkerPool.getMaxLatency(unit);
+    }
+
     public void setNotificationPublisher(BaseNotificationPublisherRegistration notificationPublisher) {
         this.capabilityMonitoring.setNotificationPublisher(notificationPublisher);
     }
@@ -7,7 +7,10 @@
  */
 package org.opendaylight.netconf.impl.osgi;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import java.util.Collection;
@@ -25,10 +28,13 @@ import org.opendaylight.netconf.impl.mapping.operations.DefaultNetconfOperation;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultStartExi;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultStopExi;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.netconf.mapping.api.NetconfOperationKey;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.opendaylight.netconf.mapping.api.SessionAwareNetconfOperation;
+import org.opendaylight.netconf.util.mapping.AbstractNetconfOperation.OperationNameAndNamespace;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -39,6 +45,11 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
     private final NetconfOperationService netconfOperationServiceSnapshot;
     private final Collection<NetconfOperation> allNetconfOperations;
 
+    // Operations looked up by the operation element of a request, without asking them
+    private final ImmutableListMultimap<NetconfOperationKey, IndexableNetconfOperation> indexedNetconfOperations;
+    // Operations which have to be asked whether they can handle a request
+    private final Collection<NetconfOperation> dynamicNetconfOperations;
+
     public NetconfOperationRouterImpl(final NetconfOperationService netconfOperationServiceSnapshot,
                                       final NetconfMonitoringService netconfMonitoringService, final String sessionId) {
         this.netconfOperationServiceSnapshot = Preconditions.checkNotNull(netconfOperationServiceSnapshot);
@@ -51,6 +62,23 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
         ops.addAll(netconfOperationServiceSnapshot.getNetconfOperations());
 
         allNetconfOperations = ImmutableSet.copyOf(ops);
+
+        final ImmutableListMultimap.Builder<NetconfOperationKey, IndexableNetconfOperation> indexed =
+                ImmutableListMultimap.builder();
+        final ImmutableList.Builder<NetconfOperation> dynamic = ImmutableList.builder();
+        for (final NetconfOperation netconfOperation : allNetconfOperations) {
+            final Optional<NetconfOperationKey> key = netconfOperation instanceof IndexableNetconfOperation
+                    ? ((IndexableNetconfOperation) netconfOperation).getOperationKey() : Optional.absent();
+            if (key.isPresent()) {
+                indexed.put(key.get(), (IndexableNetconfOperation) netconfOperation);
+            } else {
+                dynamic.add(netconfOperation);
+            }
+        }
+        indexedNetconfOperations = indexed.build();
+        dynamicNetconfOperations = dynamic.build();
+        LOG.trace("Indexed netconf operations {}, dynamic netconf operations {}", indexedNetconfOperations,
+            dynamicNetconfOperations);
     }
 
     @Override
@@ -129,25 +157,38 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
             final NetconfServerSession session) throws DocumentedException {
         final TreeMap<HandlingPriority, NetconfOperation> sortedPriority = Maps.newTreeMap();
 
-        for (final NetconfOperation netconfOperation : allNetconfOperations) {
-            final HandlingPriority handlingPriority = netconfOperation.canHandle(message);
-            if (netconfOperation instanceof DefaultNetconfOperation) {
-                ((DefaultNetconfOperation) netconfOperation).setNetconfSession(session);
-            }
-            if(netconfOperation instanceof SessionAwareNetconfOperation) {
-                ((SessionAwareNetconfOperation) netconfOperation).setSession(session);
-            }
-            if (!handlingPriority.equals(HandlingPriority.CANNOT_HANDLE)) {
+        final OperationNameAndNamespace operation = new OperationNameAndNamespace(message);
+        final NetconfOperationKey key = new NetconfOperationKey(operation.getNamespace(), operation.getOperationName());
+        for (final IndexableNetconfOperation netconfOperation : indexedNetconfOperations.get(key)) {
+            addNetconfOperation(sortedPriority, message, session, netconfOperation,
+                netconfOperation.getIndexedHandlingPriority());
+        }
 
-                Preconditions.checkState(!sortedPriority.containsKey(handlingPriority),
-                        "Multiple %s available to handle message %s with priority %s, %s and %s",
-                        NetconfOperation.class.getName(), message, handlingPriority, netconfOperation, sortedPriority.get(handlingPriority));
-                sortedPriority.put(handlingPriority, netconfOperation);
-            }
+        for (final NetconfOperation netconfOperation : dynamicNetconfOperations) {
+            addNetconfOperation(sortedPriority, message, session, netconfOperation,
+                netconfOperation.canHandle(message));
         }
         return sortedPriority;
     }
 
+    private static void addNetconfOperation(final TreeMap<HandlingPriority, NetconfOperation> sortedPriority,
+            final Document message, final NetconfServerSession session, final NetconfOperation netconfOperation,
+            final HandlingPriority handlingPriority) {
+        if (netconfOperation instanceof DefaultNetconfOperation) {
+            ((DefaultNetconfOperation) netconfOperation).setNetconfSession(session);
+        }
+        if(netconfOperation instanceof SessionAwareNetconfOperation) {
+            ((SessionAwareNetconfOperation) netconfOperation).setSession(session);
+        }
+        if (!handlingPriority.equals(HandlingPriority.CANNOT_HANDLE)) {
+
+            Preconditions.checkState(!sortedPriority.containsKey(handlingPriority),
+                    "Multiple %s available to handle message %s with priority %s, %s and %s",
+                    NetconfOperation.class.getName(), message, handlingPriority, netconfOperation, sortedPriority.get(handlingPriority));
+            sortedPriority.put(handlingPriority, netconfOperation);
+        }
+    }
+
     private static class NetconfOperationExecution implements NetconfOperationChainedExecution {
         private final NetconfOperation netconfOperation;
         private final NetconfOperationChainedExecution subsequentExecution;
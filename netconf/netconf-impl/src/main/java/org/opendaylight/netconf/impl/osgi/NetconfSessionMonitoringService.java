@@ -13,11 +13,11 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import java.util.Collection;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
 import org.opendaylight.netconf.api.monitoring.NetconfManagementSession;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
@@ -32,14 +32,16 @@ import org.slf4j.LoggerFactory;
 /**
  * This class implements {@link SessionListener} to receive updates about Netconf sessions. Instance notifies its listeners
  * about session start and end. It also publishes on regular interval list of sessions,
- * where events like rpc or notification happened.
+ * where events like rpc or notification happened since the previous update. Session events
+ * are recorded without locking.
  */
 class NetconfSessionMonitoringService implements SessionListener, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfSessionMonitoringService.class);
 
     private final Set<NetconfManagementSession> sessions = Sets.newHashSet();
-    private final Set<NetconfManagementSession> changedSessions = Sets.newHashSet();
+    // written on every rpc and notification of all sessions, so it is concurrent instead of guarded by this
+    private final Set<NetconfManagementSession> changedSessions = ConcurrentHashMap.newKeySet();
     private final Set<NetconfMonitoringService.SessionsListener> listeners = Sets.newHashSet();
     private final ScheduledExecutorService executor;
     private final long updateInterval;
@@ -84,8 +86,12 @@ class NetconfSessionMonitoringService implements SessionListener, AutoCloseable
     }
 
     @Override
-    public synchronized void onSessionEvent(SessionEvent event) {
-        changedSessions.add(event.getSession());
+    public void onSessionEvent(SessionEvent event) {
+        final NetconfManagementSession session = event.getSession();
+        // lookup does not lock, session is usually already marked as changed since the last update
+        if (!changedSessions.contains(session)) {
+            changedSessions.add(session);
+        }
     }
 
     synchronized AutoCloseable registerListener(final NetconfMonitoringService.SessionsListener listener) {
@@ -112,14 +118,24 @@ class NetconfSessionMonitoringService implements SessionListener, AutoCloseable
         if (changedSessions.isEmpty()) {
             return;
         }
-        final List<Session> changed = changedSessions.stream()
-                .map(NetconfManagementSession::toManagementSession)
-                .collect(Collectors.toList());
-        final ImmutableList<Session> sessionImmutableList = ImmutableList.copyOf(changed);
+        // sessions are removed one by one, so that events arriving meanwhile are published by the next update
+        final ImmutableList.Builder<Session> changed = ImmutableList.builder();
+        final Iterator<NetconfManagementSession> it = changedSessions.iterator();
+        while (it.hasNext()) {
+            final NetconfManagementSession session = it.next();
+            it.remove();
+            // events can race with session down, ended sessions must not be published again
+            if (sessions.contains(session)) {
+                changed.add(session.toManagementSession());
+            }
+        }
+        final ImmutableList<Session> sessionImmutableList = changed.build();
+        if (sessionImmutableList.isEmpty()) {
+            return;
+        }
         for (NetconfMonitoringService.SessionsListener listener : listeners) {
             listener.onSessionsUpdated(sessionImmutableList);
         }
-        changedSessions.clear();
     }
 
     private void notifySessionUp(NetconfManagementSession managementSession) {
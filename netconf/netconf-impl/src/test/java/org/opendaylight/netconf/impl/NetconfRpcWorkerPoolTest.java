@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NetconfRpcWorkerPoolTest {
+
+    private NetconfRpcWorkerPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new NetconfRpcWorkerPool(4, 3);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.close();
+    }
+
+    @Test
+    public void testSessionOrder() throws Exception {
+        final NetconfRpcWorkerPool largePool = new NetconfRpcWorkerPool(4, 1000);
+        try {
+            final NetconfRpcWorkerPool.SessionExecutor executor = largePool.newSessionExecutor();
+            final List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+            final CountDownLatch done = new CountDownLatch(100);
+            for (int i = 0; i < 100; i++) {
+                final int rpc = i;
+                executor.execute(() -> {
+                    processed.add(rpc);
+                    done.countDown();
+                });
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, processed.get(i).intValue());
+            }
+            waitForPending(largePool, 0);
+            assertEquals(100, largePool.getProcessedRpcs());
+        } finally {
+            largePool.close();
+        }
+    }
+
+    @Test
+    public void testRejectOverLimit() throws Exception {
+        final NetconfRpcWorkerPool.SessionExecutor executor = pool.newSessionExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> awaitUninterruptibly(release));
+        }
+        assertEquals(3, pool.getPendingRpcs());
+
+        try {
+            pool.newSessionExecutor().execute(() -> { });
+            fail("RPC over the limit should have been rejected");
+        } catch (final RejectedExecutionException e) {
+            assertEquals(1, pool.getRejectedRpcs());
+        }
+
+        release.countDown();
+        waitForPending(pool, 0);
+        assertEquals(3, pool.getProcessedRpcs());
+        assertTrue(pool.getMaxLatency(TimeUnit.NANOSECONDS) >= pool.getAverageLatency(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testRejectionKeepsSessionOrder() throws Exception {
+        final NetconfRpcWorkerPool.SessionExecutor executor = pool.newSessionExecutor();
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            final int rpc = i;
+            assertTrue(executor.execute(() -> {
+                awaitUninterruptibly(release);
+                processed.add("rpc-" + rpc);
+            }, () -> fail("RPC under the limit should not have been rejected")));
+        }
+
+        assertFalse(executor.execute(() -> fail("RPC over the limit should have been rejected"), () -> {
+            processed.add("rejected");
+            done.countDown();
+        }));
+        assertEquals(1, pool.getRejectedRpcs());
+        // Rejection waits for its turn, but is not a pending RPC
+        assertEquals(3, pool.getPendingRpcs());
+        assertTrue(processed.isEmpty());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("rpc-0", "rpc-1", "rpc-2", "rejected"), processed);
+        waitForPending(pool, 0);
+        assertEquals(3, pool.getProcessedRpcs());
+    }
+
+    @Test
+    public void testCloseDiscardsQueued() throws Exception {
+        final NetconfRpcWorkerPool.SessionExecutor executor = pool.newSessionExecutor();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitUninterruptibly(release);
+        });
+        executor.execute(() -> fail("Queued RPC should have been discarded"));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        executor.close();
+        release.countDown();
+        waitForPending(pool, 0);
+        assertEquals(1, pool.getProcessedRpcs());
+
+        try {
+            executor.execute(() -> { });
+            fail("Closed executor should reject RPCs");
+        } catch (final RejectedExecutionException e) {
+            assertEquals(0, pool.getRejectedRpcs());
+        }
+    }
+
+    @Test
+    public void testFailureDiscardsQueued() throws Exception {
+        final NetconfRpcWorkerPool.SessionExecutor executor = pool.newSessionExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            awaitUninterruptibly(release);
+            throw new IllegalStateException("RPC failed");
+        });
+        executor.execute(() -> fail("RPC queued after a failed one should have been discarded"));
+
+        release.countDown();
+        waitForPending(pool, 0);
+        assertEquals(1, pool.getProcessedRpcs());
+
+        try {
+            executor.execute(() -> { });
+            fail("Executor of a failed session should reject RPCs");
+        } catch (final RejectedExecutionException e) {
+            assertEquals(0, pool.getRejectedRpcs());
+        }
+    }
+
+    private static void waitForPending(final NetconfRpcWorkerPool pool, final long expected) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getPendingRpcs() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, pool.getPendingRpcs());
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
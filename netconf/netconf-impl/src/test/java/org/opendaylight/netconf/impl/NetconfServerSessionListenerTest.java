@@ -10,12 +10,17 @@ package org.opendaylight.netconf.impl;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 
 import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.XMLUnit;
 import org.hamcrest.CustomMatcher;
@@ -26,14 +31,18 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.DeferredContentNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.monitoring.SessionEvent;
 import org.opendaylight.netconf.api.monitoring.SessionListener;
+import org.opendaylight.netconf.api.xml.DeferredElementContent;
 import org.opendaylight.netconf.impl.osgi.NetconfOperationRouter;
 import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.opendaylight.netconf.util.messages.NetconfMessageUtil;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 public class NetconfServerSessionListenerTest {
 
@@ -104,6 +113,34 @@ public class NetconfServerSessionListenerTest {
         Assert.assertTrue(diff.toString(), diff.similar());
     }
 
+    @Test
+    public void testOnMessageDeferredContent() throws Exception {
+        final Document reply = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"101\" " +
+                "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><data/></rpc-reply>");
+        new DeferredElementContent() {
+            @Override
+            public void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+                writer.writeStartElement("urn:a", "top");
+                writer.writeCharacters("value");
+                writer.writeEndElement();
+            }
+        }.attachTo((Element) reply.getDocumentElement().getFirstChild());
+        doReturn(reply).when(router).onNetconfMessage(any(), any());
+        final NetconfMessage msg = new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"101\" " +
+                "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><get/></rpc>"));
+        listener.onMessage(session, msg);
+        channel.runPendingTasks();
+
+        final NetconfMessage sentMsg = (NetconfMessage) channel.readOutbound();
+        Assert.assertTrue(sentMsg instanceof DeferredContentNetconfMessage);
+        // Content is moved into the message, DOM consumers of the message see all of it
+        Assert.assertNull(DeferredElementContent.findPlaceholder(reply));
+        final Diff diff = XMLUnit.compareXML("<rpc-reply message-id=\"101\" " +
+                "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><data><top xmlns=\"urn:a\">value</top></data>" +
+                "</rpc-reply>", XmlUtil.toString(sentMsg.getDocument()));
+        Assert.assertTrue(diff.toString(), diff.similar());
+    }
+
     @Test
     public void testOnMessageRuntimeFail() throws Exception {
         doThrow(new RuntimeException("runtime fail")).when(router).onNetconfMessage(any(), any());
@@ -147,6 +184,77 @@ public class NetconfServerSessionListenerTest {
         Assert.assertTrue(diff.toString(), diff.similar());
     }
 
+    @Test
+    public void testOnMessageOverloaded() throws Exception {
+        final NetconfRpcWorkerPool pool = new NetconfRpcWorkerPool(1, 1);
+        try {
+            final NetconfRpcWorkerPool.SessionExecutor executor = pool.newSessionExecutor();
+            listener = new NetconfServerSessionListener(router, monitoring, closeable, executor);
+            final Document reply = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"101\" " +
+                    "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>");
+            final CountDownLatch release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                release.await(10, TimeUnit.SECONDS);
+                return reply;
+            }).when(router).onNetconfMessage(any(), any());
+
+            listener.onMessage(session, rpc("101"));
+            listener.onMessage(session, rpc("102"));
+            // The client is not read until the rejection is sent
+            Assert.assertFalse(channel.config().isAutoRead());
+
+            release.countDown();
+            final CountDownLatch done = new CountDownLatch(1);
+            executor.execute(done::countDown, done::countDown);
+            Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+            channel.runPendingTasks();
+
+            // Rejection of the second RPC follows the reply to the first one
+            final NetconfMessage first = (NetconfMessage) channel.readOutbound();
+            Assert.assertEquals("101", first.getDocument().getDocumentElement().getAttribute("message-id"));
+            Assert.assertFalse(NetconfMessageUtil.isErrorMessage(first));
+            final NetconfMessage second = (NetconfMessage) channel.readOutbound();
+            Assert.assertEquals("102", second.getDocument().getDocumentElement().getAttribute("message-id"));
+            Assert.assertTrue(NetconfMessageUtil.isErrorMessage(second));
+            Assert.assertTrue(channel.config().isAutoRead());
+            Assert.assertEquals(1, pool.getRejectedRpcs());
+            verify(monitoringListener).onSessionEvent(argThat(sessionEventIs(SessionEvent.Type.OUT_RPC_ERROR)));
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testOnMessageRuntimeFailClosesSession() throws Exception {
+        final NetconfRpcWorkerPool pool = new NetconfRpcWorkerPool(1, 10);
+        try {
+            final NetconfRpcWorkerPool.SessionExecutor executor = pool.newSessionExecutor();
+            listener = new NetconfServerSessionListener(router, monitoring, closeable, executor);
+            session = new NetconfServerSession(listener, channel, 0L, null);
+            doThrow(new RuntimeException("runtime fail")).when(router).onNetconfMessage(any(), any());
+
+            final CountDownLatch closed = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                closed.countDown();
+                return null;
+            }).when(closeable).close();
+            listener.onMessage(session, rpc("101"));
+
+            Assert.assertTrue(closed.await(10, TimeUnit.SECONDS));
+            channel.runPendingTasks();
+            Assert.assertFalse(channel.isOpen());
+            verify(monitoringListener).onSessionEvent(argThat(sessionEventIs(SessionEvent.Type.IN_RPC_FAIL)));
+            verify(monitoringListener).onSessionDown(session);
+        } finally {
+            pool.close();
+        }
+    }
+
+    private static NetconfMessage rpc(final String messageId) throws Exception {
+        return new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"" + messageId + "\" " +
+                "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><get/></rpc>"));
+    }
+
     @Test
     public void testOnNotification() throws Exception {
         listener.onNotification(session, new NetconfNotification(XmlUtil.readXmlToDocument("<notification/>")));
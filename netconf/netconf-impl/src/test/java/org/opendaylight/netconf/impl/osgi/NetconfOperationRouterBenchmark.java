@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.impl.osgi;
+
+import com.google.common.base.Optional;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.mapping.api.HandlingPriority;
+import org.opendaylight.netconf.mapping.api.NetconfOperation;
+import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.netconf.mapping.api.NetconfOperationService;
+import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Measures throughput of {@link NetconfOperationRouterImpl} dispatching a small RPC among a number of registered
+ * operations. With indexed set to false, the operations hide their operation key, so the router has to ask each of
+ * them whether it can handle the RPC. Run its {@link #main(String[])} method with the test classpath. No reference
+ * results are kept in the tree, compare indexed and non-indexed dispatch on the same machine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NetconfOperationRouterBenchmark {
+    private static final String NAMESPACE = "urn:opendaylight:netconf:benchmark";
+
+    /**
+     * Number of operations registered in the router.
+     */
+    @Param({"10", "50"})
+    public int operations;
+
+    /**
+     * Whether the operations can be looked up by their operation key.
+     */
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private NetconfOperationRouterImpl router;
+    private Document request;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Set<NetconfOperation> ops = new HashSet<>();
+        for (int i = 0; i < operations; i++) {
+            final NetconfOperation operation = new BenchmarkOperation("operation-" + i);
+            ops.add(indexed ? operation : new DynamicOperation(operation));
+        }
+
+        router = new NetconfOperationRouterImpl(new NetconfOperationService() {
+            @Override
+            public Set<NetconfOperation> getNetconfOperations() {
+                return ops;
+            }
+
+            @Override
+            public void close() {
+                // Nothing to close
+            }
+        }, null, "benchmark");
+        request = XmlUtil.readXmlToDocument("<rpc message-id=\"m-1\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">"
+                + "<operation-" + operations / 2 + " xmlns=\"" + NAMESPACE + "\"/></rpc>");
+    }
+
+    @Benchmark
+    public Document dispatch() throws DocumentedException {
+        return router.onNetconfMessage(request, null);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NetconfOperationRouterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static final class BenchmarkOperation extends AbstractSingletonNetconfOperation {
+        private final String operationName;
+
+        BenchmarkOperation(final String operationName) {
+            super("benchmark");
+            this.operationName = operationName;
+        }
+
+        @Override
+        protected String getOperationName() {
+            return operationName;
+        }
+
+        @Override
+        protected String getOperationNamespace() {
+            return NAMESPACE;
+        }
+
+        @Override
+        protected Element handleWithNoSubsequentOperations(final Document document,
+                final XmlElement operationElement) throws DocumentedException {
+            return XmlUtil.createElement(document, XmlNetconfConstants.OK, Optional.<String>absent());
+        }
+    }
+
+    private static final class DynamicOperation implements NetconfOperation {
+        private final NetconfOperation delegate;
+
+        DynamicOperation(final NetconfOperation delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HandlingPriority canHandle(final Document message) throws DocumentedException {
+            return delegate.canHandle(message);
+        }
+
+        @Override
+        public Document handle(final Document requestMessage,
+                final NetconfOperationChainedExecution subsequentOperation) throws DocumentedException {
+            return delegate.handle(requestMessage, subsequentOperation);
+        }
+    }
+}
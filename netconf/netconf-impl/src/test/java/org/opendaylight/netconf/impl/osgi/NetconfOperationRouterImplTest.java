@@ -10,8 +10,10 @@ package org.opendaylight.netconf.impl.osgi;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.base.Optional;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
@@ -25,9 +27,12 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.netconf.mapping.api.NetconfOperationKey;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
@@ -48,6 +53,12 @@ public class NetconfOperationRouterImplTest {
     private NetconfOperation maxPrioMock;
     @Mock
     private NetconfOperation defaultPrioMock;
+    @Mock
+    private NetconfOperationService indexedOperationService;
+    @Mock
+    private IndexableNetconfOperation indexedMock;
+    @Mock
+    private IndexableNetconfOperation otherIndexedMock;
 
     private NetconfOperationRouterImpl operationRouter;
     private NetconfOperationRouterImpl emptyOperationRouter;
@@ -101,6 +112,39 @@ public class NetconfOperationRouterImplTest {
         Assert.assertEquals(MAX_PRIORITY_REPLY, XmlUtil.toString(document).trim());
     }
 
+    @Test
+    public void testOnNetconfMessageIndexed() throws Exception {
+        doReturn(Optional.of(new NetconfOperationKey(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0,
+            "test"))).when(indexedMock).getOperationKey();
+        doReturn(HandlingPriority.HANDLE_WITH_DEFAULT_PRIORITY).when(indexedMock).getIndexedHandlingPriority();
+        doReturn(XmlUtil.readXmlToDocument(DEFAULT_PRIORITY_REPLY)).when(indexedMock).handle(any(Document.class), any(NetconfOperationChainedExecution.class));
+        doReturn(Optional.of(new NetconfOperationKey(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0,
+            "other"))).when(otherIndexedMock).getOperationKey();
+        doReturn(HandlingPriority.HANDLE_WITH_MAX_PRIORITY).when(otherIndexedMock).getIndexedHandlingPriority();
+
+        final Set<NetconfOperation> operations = new HashSet<>();
+        operations.add(maxPrioMock);
+        operations.add(indexedMock);
+        operations.add(otherIndexedMock);
+        doReturn(operations).when(indexedOperationService).getNetconfOperations();
+        final NetconfOperationRouterImpl router = new NetconfOperationRouterImpl(indexedOperationService, null,
+            "session-1");
+
+        final ArgumentCaptor<NetconfOperationChainedExecution> highPriorityChainEx = ArgumentCaptor.forClass(NetconfOperationChainedExecution.class);
+        final Document document = router.onNetconfMessage(TEST_RPC_DOC, null);
+        Assert.assertEquals(MAX_PRIORITY_REPLY, XmlUtil.toString(document).trim());
+
+        //indexed operation is next in chain, without being asked
+        verify(maxPrioMock).handle(any(Document.class), highPriorityChainEx.capture());
+        final Document execute = highPriorityChainEx.getValue().execute(XmlUtil.newDocument());
+        Assert.assertEquals(DEFAULT_PRIORITY_REPLY, XmlUtil.toString(execute).trim());
+        verify(indexedMock, never()).canHandle(any(Document.class));
+
+        //operation indexed under a different key is not involved at all
+        verify(otherIndexedMock, never()).canHandle(any(Document.class));
+        verify(otherIndexedMock, never()).handle(any(Document.class), any(NetconfOperationChainedExecution.class));
+    }
+
     @Test
     public void testOnNetconfMessageFail() throws Exception {
         try{
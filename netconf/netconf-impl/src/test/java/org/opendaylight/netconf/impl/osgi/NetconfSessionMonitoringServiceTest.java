@@ -135,4 +135,28 @@ public class NetconfSessionMonitoringServiceTest {
         Assert.assertFalse(value.contains(SESSION_2));
         monitoringService.close();
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListenerUpdateSessionAfterSessionDown() throws Exception {
+        ScheduledThreadPool threadPool = mock(ScheduledThreadPool.class);
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+        doReturn(executor).when(threadPool).getExecutor();
+        monitoringService = new NetconfSessionMonitoringService(Optional.of(threadPool), 1);
+        monitoringService.registerListener(listener);
+        monitoringService.onSessionUp(sessionMock1);
+        monitoringService.onSessionUp(sessionMock2);
+        monitoringService.onSessionEvent(SessionEvent.inRpcSuccess(sessionMock1));
+        monitoringService.onSessionDown(sessionMock1);
+        // event racing with session down
+        monitoringService.onSessionEvent(SessionEvent.outRpcError(sessionMock1));
+        monitoringService.onSessionEvent(SessionEvent.notification(sessionMock2));
+        ArgumentCaptor<Collection> captor =
+                ArgumentCaptor.forClass(Collection.class);
+        verify(listener, timeout(2000)).onSessionsUpdated(captor.capture());
+        final Collection<Session> value = captor.getValue();
+        Assert.assertFalse(value.contains(SESSION_1));
+        Assert.assertTrue(value.contains(SESSION_2));
+        monitoringService.close();
+    }
 }
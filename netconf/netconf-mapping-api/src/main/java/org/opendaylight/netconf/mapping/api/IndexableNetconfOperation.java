@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mapping.api;
+
+import com.google.common.base.Optional;
+
+/**
+ * NetconfOperation able to tell which requests it handles without examining them. Operation routers index
+ * such operations by their {@link NetconfOperationKey} and do not invoke {@link #canHandle(org.w3c.dom.Document)}
+ * for each request.
+ *
+ * Operations which need to examine the request, e.g. to check the operation against a schema, return
+ * Optional.absent from {@link #getOperationKey()}. canHandle is then invoked for each request as usual.
+ */
+public interface IndexableNetconfOperation extends NetconfOperation {
+
+    /**
+     * For requests whose operation element matches the returned key, canHandle has to return
+     * {@link #getIndexedHandlingPriority()}, for any other request it has to return HandlingPriority.CANNOT_HANDLE.
+     *
+     * @return key of handled requests or Optional.absent if the operation has to be asked for each request
+     */
+    Optional<NetconfOperationKey> getOperationKey();
+
+    /**
+     * @return priority for requests matching the operation key
+     */
+    HandlingPriority getIndexedHandlingPriority();
+}
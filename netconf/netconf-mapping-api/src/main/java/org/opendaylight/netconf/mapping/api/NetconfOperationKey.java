@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mapping.api;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Name and namespace of the operation element of a netconf request, i.e. the only child of the rpc element.
+ */
+public final class NetconfOperationKey {
+
+    private final String namespace;
+    private final String name;
+
+    public NetconfOperationKey(final String namespace, final String name) {
+        this.namespace = Preconditions.checkNotNull(namespace);
+        this.name = Preconditions.checkNotNull(name);
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NetconfOperationKey)) {
+            return false;
+        }
+
+        final NetconfOperationKey that = (NetconfOperationKey) o;
+        return name.equals(that.name) && namespace.equals(that.namespace);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * namespace.hashCode() + name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("namespace", namespace)
+                .add("name", name)
+                .toString();
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.netconf.nettyutil;
 
+import com.google.common.base.Optional;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
@@ -25,6 +26,7 @@ import org.opendaylight.netconf.api.NetconfTerminationReason;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXICodec;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXIToMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToEXIEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.exi.EXIParameters;
 import org.opendaylight.protocol.framework.AbstractProtocolSession;
 import org.openexi.proc.common.EXIOptionsException;
@@ -37,6 +39,7 @@ public abstract class AbstractNetconfSession<S extends NetconfSession, L extends
     private final L sessionListener;
     private final long sessionId;
     private boolean up = false;
+    private boolean prettyPrint = false;
 
     private ChannelHandler delayedEncoder;
 
@@ -124,6 +127,34 @@ public abstract class AbstractNetconfSession<S extends NetconfSession, L extends
         return sb.toString();
     }
 
+    /**
+     * Stop reading incoming messages. Messages which were already read are still delivered to the listener. Has to be
+     * called from the event loop of the session, e.g. while a message is being handled.
+     */
+    public final void suspendReading() {
+        channel.config().setAutoRead(false);
+    }
+
+    /**
+     * Resume reading incoming messages. Reading is resumed by the event loop of the session once it completes
+     * its current task, so this may be called from any thread, even right after a message handler called
+     * {@link #suspendReading()}.
+     */
+    public final void resumeReading() {
+        channel.eventLoop().execute(() -> channel.config().setAutoRead(true));
+    }
+
+    final void setPrettyPrint(final boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+
+    /**
+     * Create XML message encoder producing the wire format negotiated for this session.
+     */
+    protected final NetconfMessageToXMLEncoder createMessageToXMLEncoder() {
+        return new NetconfMessageToXMLEncoder(Optional.<String>absent(), prettyPrint);
+    }
+
     protected final void replaceMessageDecoder(final ChannelHandler handler) {
         replaceChannelHandler(AbstractChannelInitializer.NETCONF_MESSAGE_DECODER, handler);
     }
@@ -150,7 +181,13 @@ public abstract class AbstractNetconfSession<S extends NetconfSession, L extends
             throw new IllegalArgumentException("Cannot parse options", e);
         }
 
-        final NetconfEXICodec exiCodec = new NetconfEXICodec(exiParams.getOptions());
+        final NetconfEXICodec exiCodec;
+        try {
+            exiCodec = new NetconfEXICodec(exiParams.getOptions(), exiParams.getSchema());
+        } catch (final IllegalStateException e) {
+            LOG.warn("Failed to create EXI grammars for schema {} on session {}", exiParams.getSchema(), this, e);
+            throw e;
+        }
         final NetconfMessageToEXIEncoder exiEncoder;
         try {
             exiEncoder = NetconfMessageToEXIEncoder.create(exiCodec);
@@ -32,6 +32,7 @@ import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.nettyutil.handler.FramingMechanismHandlerFactory;
 import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfStreamingChunkDecoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToHelloMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.opendaylight.netconf.util.messages.FramingMechanism;
@@ -64,6 +65,7 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
     private final Promise<S> promise;
     private final Timer timer;
     private final long connectionTimeoutMillis;
+    private boolean prettyPrint;
 
     protected AbstractNetconfSessionNegotiator(final P sessionPreferences, final Promise<S> promise, final Channel channel, final Timer timer,
             final L sessionListener, final long connectionTimeoutMillis) {
@@ -102,6 +104,15 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
         return sessionPreferences;
     }
 
+    /**
+     * Select wire format of XML messages sent after hello, has to be set before negotiation starts.
+     *
+     * @param prettyPrint if true, messages are indented, otherwise they are written in compact form
+     */
+    public final void setPrettyPrint(final boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+
     private void start() {
         final NetconfHelloMessage helloMessage = this.sessionPreferences.getHelloMessage();
         LOG.debug("Session negotiation started with hello message {} on channel {}", helloMessage, channel);
@@ -167,7 +178,9 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
         }
 
         changeState(State.ESTABLISHED);
-        return getSession(sessionListener, channel, netconfMessage);
+        final S session = getSession(sessionListener, channel, netconfMessage);
+        session.setPrettyPrint(prettyPrint);
+        return session;
     }
 
     /**
@@ -177,7 +190,17 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
         replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_FRAME_ENCODER,
                 FramingMechanismHandlerFactory.createHandler(FramingMechanism.CHUNK));
         replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_AGGREGATOR,
-                new NetconfChunkAggregator());
+                createChunkFramingDecoder());
+    }
+
+    /**
+     * Create the inbound handler taking care of chunked framing once it has been negotiated. Subclasses can override
+     * this method to use {@link NetconfStreamingChunkDecoder} instead of the default aggregating decoder.
+     *
+     * @return Chunked framing decoder
+     */
+    protected ChannelHandler createChunkFramingDecoder() {
+        return new NetconfChunkAggregator();
     }
 
     private boolean shouldUseChunkFraming(final Document doc) {
@@ -211,7 +234,8 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
      * Remove special outbound handler for hello message. Insert regular netconf xml message (en|de)coders.
      */
     private void replaceHelloMessageOutboundHandler() {
-        replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER, new NetconfMessageToXMLEncoder());
+        replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER,
+                new NetconfMessageToXMLEncoder(Optional.<String>absent(), prettyPrint));
     }
 
     private static ChannelHandler replaceChannelHandler(final Channel channel, final String handlerKey, final ChannelHandler decoder) {
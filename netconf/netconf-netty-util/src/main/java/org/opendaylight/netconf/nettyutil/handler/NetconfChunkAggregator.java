@@ -109,20 +109,19 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                 break;
             }
             case DATA:
-                /*
-                 * FIXME: this gathers all data into one big chunk before passing
-                 *        it on. Make sure the pipeline can work with partial data
-                 *        and then change this piece to pass the data on as it
-                 *        comes through.
-                 */
-                if (in.readableBytes() < chunkSize) {
-                    LOG.debug("Buffer has {} bytes, need {} to complete chunk", in.readableBytes(), chunkSize);
+            {
+                final int consumed = consumeChunkData(in, chunkSize);
+                if (consumed == 0) {
                     in.discardReadBytes();
                     return;
                 }
-                aggregateChunks(in.readBytes((int) chunkSize));
-                state = State.FOOTER_ONE;
+
+                chunkSize -= consumed;
+                if (chunkSize == 0) {
+                    state = State.FOOTER_ONE;
+                }
                 break;
+            }
             case FOOTER_ONE:
             {
                 final byte b = in.readByte();
@@ -154,8 +153,7 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                 final byte b = in.readByte();
                 checkNewLine(b,"Malformed chunk footer encountered (byte 3)");
                 state = State.HEADER_ONE;
-                out.add(chunk);
-                chunk = null;
+                finishMessage(out);
                 break;
             }
             }
@@ -178,11 +176,47 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
         }
     }
 
-    private void initChunk() {
+    /**
+     * Invoked when the header of the first chunk of a new message is encountered.
+     */
+    protected void initChunk() {
         chunk = Unpooled.compositeBuffer();
     }
 
-    private void aggregateChunks(final ByteBuf newChunk) {
+    /**
+     * Consume payload bytes of the current chunk. This implementation waits until the entire chunk is available
+     * and then appends it to the message being aggregated.
+     *
+     * @param in buffer holding the chunk payload at its reader index
+     * @param remaining number of payload bytes remaining in the current chunk
+     * @return number of bytes consumed, 0 if more data is needed before any can be consumed
+     */
+    protected int consumeChunkData(final ByteBuf in, final long remaining) {
+        if (in.readableBytes() < remaining) {
+            LOG.debug("Buffer has {} bytes, need {} to complete chunk", in.readableBytes(), remaining);
+            return 0;
+        }
+
+        aggregateChunks(in.readBytes((int) remaining));
+        return (int) remaining;
+    }
+
+    /**
+     * Invoked when the end-of-chunks marker of a message has been encountered.
+     *
+     * @param out decoder output to which the completed message should be added
+     */
+    protected void finishMessage(final List<Object> out) {
+        out.add(chunk);
+        chunk = null;
+    }
+
+    /**
+     * Append payload bytes to the message being aggregated.
+     *
+     * @param newChunk payload bytes
+     */
+    protected final void aggregateChunks(final ByteBuf newChunk) {
         chunk.addComponent(chunk.numComponents(), newChunk);
 
         // Update writer index, addComponent does not update it
@@ -12,6 +12,9 @@ import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Objects;
+import org.opendaylight.netconf.nettyutil.handler.exi.EXISchema;
 import org.openexi.proc.HeaderOptionsOutputType;
 import org.openexi.proc.common.EXIOptions;
 import org.openexi.proc.common.EXIOptionsException;
@@ -42,13 +45,13 @@ public final class NetconfEXICodec {
     };
 
     /**
-     * Since we have a limited number of options we can have, instantiating a weak cache
+     * Since we have a limited number of options and schemas we can have, instantiating a weak cache
      * will allow us to reuse instances where possible.
      */
-    private static final LoadingCache<Short, GrammarCache> GRAMMAR_CACHES = CacheBuilder.newBuilder().weakValues().build(new CacheLoader<Short, GrammarCache>() {
+    private static final LoadingCache<GrammarKey, GrammarCache> GRAMMAR_CACHES = CacheBuilder.newBuilder().weakValues().build(new CacheLoader<GrammarKey, GrammarCache>() {
         @Override
-        public GrammarCache load(final Short key) {
-            return new GrammarCache(key);
+        public GrammarCache load(final GrammarKey key) {
+            return key.schema.createGrammarCache(key.options);
         }
     });
 
@@ -60,11 +63,19 @@ public final class NetconfEXICodec {
     private final EXIOptions exiOptions;
 
     public NetconfEXICodec(final EXIOptions exiOptions) {
+        this(exiOptions, EXISchema.NONE);
+    }
+
+    /**
+     * @param exiSchema schema of grammars, the same schema has to be used by the other side of the session
+     * @throws IllegalStateException if schema cannot be compiled
+     */
+    public NetconfEXICodec(final EXIOptions exiOptions, final EXISchema exiSchema) {
         this.exiOptions = Preconditions.checkNotNull(exiOptions);
-        this.exiGrammarCache = createGrammarCache(exiOptions);
+        this.exiGrammarCache = createGrammarCache(exiOptions, Preconditions.checkNotNull(exiSchema));
     }
 
-    private static GrammarCache createGrammarCache(final EXIOptions exiOptions) {
+    private static GrammarCache createGrammarCache(final EXIOptions exiOptions, final EXISchema exiSchema) {
         short go = GrammarOptions.DEFAULT_OPTIONS;
         if (exiOptions.getPreserveComments()) {
             go = GrammarOptions.addCM(go);
@@ -79,7 +90,11 @@ public final class NetconfEXICodec {
             go = GrammarOptions.addPI(go);
         }
 
-        return GRAMMAR_CACHES.getUnchecked(go);
+        try {
+            return GRAMMAR_CACHES.getUnchecked(new GrammarKey(exiSchema, go));
+        } catch (final UncheckedExecutionException e) {
+            throw new IllegalStateException("Failed to create EXI grammars for schema " + exiSchema, e.getCause());
+        }
     }
 
     EXIReader getReader() throws EXIOptionsException {
@@ -100,4 +115,31 @@ public final class NetconfEXICodec {
         transmogrifier.setResolveExternalGeneralEntities(false);
         return transmogrifier;
     }
+
+    private static final class GrammarKey {
+        private final EXISchema schema;
+        private final short options;
+
+        GrammarKey(final EXISchema schema, final short options) {
+            this.schema = schema;
+            this.options = options;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(schema, options);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof GrammarKey)) {
+                return false;
+            }
+            final GrammarKey other = (GrammarKey) obj;
+            return schema == other.schema && options == other.options;
+        }
+    }
 }
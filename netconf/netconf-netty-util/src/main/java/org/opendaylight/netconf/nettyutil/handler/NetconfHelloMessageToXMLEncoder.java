@@ -14,6 +14,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
@@ -43,7 +44,8 @@ import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader
 public final class NetconfHelloMessageToXMLEncoder extends NetconfMessageToXMLEncoder {
     @Override
     @VisibleForTesting
-    public void encode(ChannelHandlerContext ctx, NetconfMessage msg, ByteBuf out) throws IOException, TransformerException {
+    public void encode(ChannelHandlerContext ctx, NetconfMessage msg, ByteBuf out)
+            throws IOException, TransformerException, XMLStreamException {
         Preconditions.checkState(msg instanceof NetconfHelloMessage, "Netconf message of type %s expected, was %s",
                 NetconfHelloMessage.class, msg.getClass());
         Optional<NetconfHelloMessageAdditionalHeader> headerOptional = ((NetconfHelloMessage) msg)
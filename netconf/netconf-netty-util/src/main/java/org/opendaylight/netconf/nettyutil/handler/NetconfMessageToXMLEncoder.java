@@ -17,38 +17,64 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.netconf.api.DeferredContentNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Comment;
+import org.w3c.dom.Document;
 
 public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMessage> {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageToXMLEncoder.class);
 
     private final Optional<String> clientId;
+    private final boolean prettyPrint;
 
     public NetconfMessageToXMLEncoder() {
         this(Optional.<String>absent());
     }
 
     public NetconfMessageToXMLEncoder(final Optional<String> clientId) {
+        this(clientId, false);
+    }
+
+    /**
+     * Sessions select the wire format through the prettyPrint setting of their negotiator factory, compact output
+     * is used by default.
+     *
+     * @param clientId client identifier to be appended to each message as a comment
+     * @param prettyPrint if true, messages are indented using a {@link javax.xml.transform.Transformer}, otherwise
+     *                    they are written in compact form directly from the DOM
+     */
+    public NetconfMessageToXMLEncoder(final Optional<String> clientId, final boolean prettyPrint) {
         this.clientId = clientId;
+        this.prettyPrint = prettyPrint;
     }
 
     @Override
     @VisibleForTesting
-    public void encode(final ChannelHandlerContext ctx, final NetconfMessage msg, final ByteBuf out) throws IOException, TransformerException {
+    public void encode(final ChannelHandlerContext ctx, final NetconfMessage msg, final ByteBuf out)
+            throws IOException, TransformerException, XMLStreamException {
         LOG.trace("Sent to encode : {}", msg);
 
         if (clientId.isPresent()) {
-            Comment comment = msg.getDocument().createComment("clientId:" + clientId.get());
-            msg.getDocument().appendChild(comment);
+            // Do not make deferred content materialize just to append a comment
+            final Document document = msg instanceof DeferredContentNetconfMessage
+                    ? ((DeferredContentNetconfMessage) msg).getSkeleton() : msg.getDocument();
+            Comment comment = document.createComment("clientId:" + clientId.get());
+            document.appendChild(comment);
         }
 
         try (OutputStream os = new ByteBufOutputStream(out)) {
+            if (!prettyPrint) {
+                XmlStreamDocumentWriter.writeMessage(msg, os);
+                return;
+            }
+
             // Wrap OutputStreamWriter with BufferedWriter as suggested in javadoc for OutputStreamWriter
 
             // Using custom BufferedWriter that does not provide newLine method as performance improvement
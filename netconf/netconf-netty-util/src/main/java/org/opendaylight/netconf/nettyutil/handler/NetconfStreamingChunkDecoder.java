@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import com.fasterxml.aalto.AsyncByteBufferFeeder;
+import com.fasterxml.aalto.AsyncXMLInputFactory;
+import com.fasterxml.aalto.AsyncXMLStreamReader;
+import com.fasterxml.aalto.stax.InputFactoryImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Chunked framing decoder which does not aggregate XML messages. Payload of each chunk is fed into a non-blocking
+ * XML parser as soon as it arrives and the resulting {@link NetconfMessage} is emitted once the end-of-chunks marker
+ * is seen, hence the amount of buffered raw data is bounded by the chunk size rather than the message size.
+ *
+ * <p>
+ * Messages which do not start with an XML element (e.g. after EXI has been negotiated) are aggregated just like
+ * {@link NetconfChunkAggregator} does and passed on as a {@link ByteBuf}. Message decoders extending
+ * {@link io.netty.handler.codec.ByteToMessageDecoder} pass already-decoded {@link NetconfMessage}s through.
+ */
+public class NetconfStreamingChunkDecoder extends NetconfChunkAggregator {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfStreamingChunkDecoder.class);
+    private static final AsyncXMLInputFactory XML_INPUT_FACTORY;
+
+    static {
+        final AsyncXMLInputFactory factory = new InputFactoryImpl();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        XML_INPUT_FACTORY = factory;
+    }
+
+    private enum Mode {
+        /**
+         * Skipping leading whitespace, message content not seen yet.
+         */
+        DETECT,
+        /**
+         * Feeding XML content into the parser.
+         */
+        STREAM,
+        /**
+         * Aggregating non-XML content.
+         */
+        AGGREGATE,
+        /**
+         * Parsing failed, discarding the rest of the message.
+         */
+        FAILED,
+    }
+
+    private Mode mode = Mode.DETECT;
+    private AsyncXMLStreamReader<AsyncByteBufferFeeder> reader;
+    private XmlStreamDocumentBuilder builder;
+    private XMLStreamException failure;
+    private int skippedBytes;
+
+    @Override
+    protected void initChunk() {
+        mode = Mode.DETECT;
+        skippedBytes = 0;
+        failure = null;
+    }
+
+    @Override
+    protected int consumeChunkData(final ByteBuf in, final long remaining) {
+        final int length = (int) Math.min(in.readableBytes(), remaining);
+
+        switch (mode) {
+            case DETECT:
+                return detectContent(in, length);
+            case STREAM:
+                return feedParser(in, length);
+            case AGGREGATE:
+                aggregateChunks(in.readBytes(length));
+                return length;
+            case FAILED:
+                in.skipBytes(length);
+                return length;
+            default:
+                throw new IllegalStateException("Unhandled mode " + mode);
+        }
+    }
+
+    @Override
+    protected void finishMessage(final List<Object> out) {
+        switch (mode) {
+            case DETECT:
+                LOG.debug("No content in incoming message.");
+                break;
+            case STREAM:
+                try {
+                    reader.getInputFeeder().endOfInput();
+                    drainParser();
+                    out.add(new NetconfMessage(builder.build()));
+                } catch (final XMLStreamException e) {
+                    throw new IllegalStateException("Failed to parse incoming message", e);
+                } finally {
+                    closeParser();
+                }
+                break;
+            case AGGREGATE:
+                super.finishMessage(out);
+                break;
+            case FAILED:
+                throw new IllegalStateException("Failed to parse incoming message", failure);
+            default:
+                throw new IllegalStateException("Unhandled mode " + mode);
+        }
+
+        mode = Mode.DETECT;
+    }
+
+    @Override
+    protected void handlerRemoved0(final ChannelHandlerContext ctx) throws Exception {
+        closeParser();
+        super.handlerRemoved0(ctx);
+    }
+
+    private int detectContent(final ByteBuf in, final int length) {
+        // Strip leading whitespace for the same reasons NetconfXMLToMessageDecoder does
+        int skipped = 0;
+        while (skipped < length && isWhitespace(in.getByte(in.readerIndex() + skipped))) {
+            skipped++;
+        }
+        in.skipBytes(skipped);
+        skippedBytes += skipped;
+        if (skipped == length) {
+            return skipped;
+        }
+
+        if (skippedBytes != 0) {
+            LOG.warn("XML message with unwanted leading bytes detected. Discarded the {} leading whitespace byte(s)",
+                skippedBytes);
+        }
+
+        if (in.getByte(in.readerIndex()) == '<') {
+            reader = XML_INPUT_FACTORY.createAsyncForByteBuffer();
+            builder = new XmlStreamDocumentBuilder();
+            mode = Mode.STREAM;
+        } else {
+            LOG.debug("Incoming message does not start with an XML element, aggregating it");
+            super.initChunk();
+            mode = Mode.AGGREGATE;
+        }
+
+        return skipped + consumeChunkData(in, length - skipped);
+    }
+
+    private int feedParser(final ByteBuf in, final int length) {
+        try {
+            // The parser does not retain the buffer once it reports incomplete input, hence a view is sufficient
+            reader.getInputFeeder().feedInput(in.nioBuffer(in.readerIndex(), length));
+            drainParser();
+        } catch (final XMLStreamException e) {
+            LOG.debug("Failed to parse incoming message, discarding the rest of it", e);
+            closeParser();
+            failure = e;
+            mode = Mode.FAILED;
+        }
+
+        in.skipBytes(length);
+        return length;
+    }
+
+    private void drainParser() throws XMLStreamException {
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == AsyncXMLStreamReader.EVENT_INCOMPLETE) {
+                return;
+            }
+            if (event != XMLStreamConstants.END_DOCUMENT) {
+                builder.onEvent(reader);
+            }
+        }
+    }
+
+    private void closeParser() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (final XMLStreamException e) {
+                LOG.debug("Failed to close parser", e);
+            }
+            reader = null;
+        }
+        builder = null;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b <= 0x0d && b >= 0x09 || b == 0x20;
+    }
+}
@@ -10,20 +10,29 @@ package org.opendaylight.netconf.nettyutil.handler;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.ByteProcessor;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.List;
-import org.opendaylight.controller.config.util.xml.XmlUtil;
+import javax.xml.parsers.DocumentBuilder;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 public final class NetconfXMLToMessageDecoder extends ByteToMessageDecoder {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfXMLToMessageDecoder.class);
 
+    private static final ByteProcessor WHITESPACE_SKIPPER = NetconfXMLToMessageDecoder::isWhitespace;
+
+    // Creating a DocumentBuilder is costly compared to parsing a small message, keep one per (event loop) thread
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER =
+            ThreadLocal.withInitial(UntrustedXML::newDocumentBuilder);
+
     @Override
     public void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) throws IOException, SAXException {
         if (in.isReadable()) {
@@ -50,29 +59,41 @@ public final class NetconfXMLToMessageDecoder extends ByteToMessageDecoder {
              */
 
             // Skip all leading whitespaces by moving the reader index to the first non whitespace character
-            while (in.isReadable()) {
-                if (!isWhitespace(in.readByte())) {
-                    // return reader index to the first non whitespace character
-                    in.readerIndex(in.readerIndex() - 1);
-                    break;
-                }
-            }
+            final int start = in.readerIndex();
+            final int firstNonWhitespace = in.forEachByte(WHITESPACE_SKIPPER);
+            in.readerIndex(firstNonWhitespace == -1 ? in.writerIndex() : firstNonWhitespace);
 
             // Warn about leading whitespaces
-            if (in.readerIndex() != 0 && LOG.isWarnEnabled()) {
-                final byte[] strippedBytes = new byte[in.readerIndex()];
-                in.getBytes(0, strippedBytes, 0, in.readerIndex());
+            if (in.readerIndex() != start && LOG.isWarnEnabled()) {
                 LOG.warn("XML message with unwanted leading bytes detected. Discarded the {} leading byte(s): '{}'",
-                        in.readerIndex(), ByteBufUtil.hexDump(Unpooled.wrappedBuffer(strippedBytes)));
+                        in.readerIndex() - start, ByteBufUtil.hexDump(in, start, in.readerIndex() - start));
             }
         }
         if (in.isReadable()) {
-            out.add(new NetconfMessage(XmlUtil.readXmlToDocument(new ByteBufInputStream(in))));
+            out.add(new NetconfMessage(parse(in)));
         } else {
             LOG.debug("No more content in incoming buffer.");
         }
     }
 
+    private static Document parse(final ByteBuf in) throws IOException, SAXException {
+        final DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        builder.reset();
+
+        final Document doc;
+        if (in.hasArray()) {
+            // Parse straight from the backing array, without going through the ByteBuf abstraction
+            doc = builder.parse(new ByteArrayInputStream(in.array(), in.arrayOffset() + in.readerIndex(),
+                in.readableBytes()));
+            in.skipBytes(in.readableBytes());
+        } else {
+            doc = builder.parse(new ByteBufInputStream(in));
+        }
+
+        doc.getDocumentElement().normalize();
+        return doc;
+    }
+
     /**
      * Check whether a byte is whitespace/control character. Considered whitespace characters: <br/>
      * SPACE, \t, \n, \v, \r, \f
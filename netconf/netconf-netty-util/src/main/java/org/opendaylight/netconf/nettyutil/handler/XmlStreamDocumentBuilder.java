@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+
+/**
+ * Incrementally builds a namespace-aware DOM {@link Document} from StAX events, as they are produced by a parser
+ * which is fed with partial input.
+ */
+final class XmlStreamDocumentBuilder {
+    private final Document document = XmlUtil.newDocument();
+    private Node current = document;
+
+    /**
+     * Process the event the reader is currently positioned at.
+     *
+     * @param reader StAX reader
+     */
+    void onEvent(final XMLStreamReader reader) {
+        switch (reader.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT:
+                startElement(reader);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                current = current.getParentNode();
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                characters(reader.getText());
+                break;
+            case XMLStreamConstants.COMMENT:
+                current.appendChild(document.createComment(reader.getText()));
+                break;
+            case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                current.appendChild(document.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+                break;
+            default:
+                // START_DOCUMENT, END_DOCUMENT and DTD carry nothing we need to retain
+                break;
+        }
+    }
+
+    /**
+     * Return the completed document.
+     *
+     * @return Completed document
+     * @throws IllegalStateException if the document is not complete
+     */
+    Document build() {
+        Preconditions.checkState(current == document, "Document is incomplete, %s is not closed", current);
+        Preconditions.checkState(document.getDocumentElement() != null, "Document does not have a root element");
+        return document;
+    }
+
+    private void startElement(final XMLStreamReader reader) {
+        final Element element = document.createElementNS(Strings.emptyToNull(reader.getNamespaceURI()),
+            qualifiedName(reader.getPrefix(), reader.getLocalName()));
+
+        for (int i = 0; i < reader.getNamespaceCount(); ++i) {
+            final String prefix = reader.getNamespacePrefix(i);
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+                Strings.isNullOrEmpty(prefix) ? XMLConstants.XMLNS_ATTRIBUTE
+                        : XMLConstants.XMLNS_ATTRIBUTE + ':' + prefix,
+                Strings.nullToEmpty(reader.getNamespaceURI(i)));
+        }
+
+        for (int i = 0; i < reader.getAttributeCount(); ++i) {
+            element.setAttributeNS(Strings.emptyToNull(reader.getAttributeNamespace(i)),
+                qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                reader.getAttributeValue(i));
+        }
+
+        current.appendChild(element);
+        current = element;
+    }
+
+    private void characters(final String text) {
+        if (current == document) {
+            // Whitespace outside of the root element is not representable in DOM
+            return;
+        }
+
+        // The parser may report a single text node in multiple pieces, keep them together
+        final Node last = current.getLastChild();
+        if (last instanceof Text) {
+            ((Text) last).appendData(text);
+        } else {
+            current.appendChild(document.createTextNode(text));
+        }
+    }
+
+    private static String qualifiedName(final String prefix, final String localName) {
+        return Strings.isNullOrEmpty(prefix) ? localName : prefix + ':' + localName;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.opendaylight.netconf.api.DeferredContentNetconfMessage;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.DeferredElementContent;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+import org.xml.sax.helpers.NamespaceSupport;
+
+/**
+ * Serializes a DOM {@link Document} as compact UTF-8 XML directly through a {@link XMLStreamWriter}, without going
+ * through the JAXP identity transformer. Namespace declarations missing from the DOM are added the same way
+ * a transformer would do it. Content of a {@link DeferredContentNetconfMessage} is written directly into the output
+ * stream.
+ */
+final class XmlStreamDocumentWriter {
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final String UTF_8 = StandardCharsets.UTF_8.name();
+
+    private final NamespaceSupport namespaces = new NamespaceSupport();
+    private final XMLStreamWriter writer;
+    private final OutputStream os;
+    private final Element placeholder;
+    private final DeferredElementContent deferred;
+    private int generatedPrefixes;
+
+    private XmlStreamDocumentWriter(final XMLStreamWriter writer, final OutputStream os, final Element placeholder,
+            final DeferredElementContent deferred) {
+        this.writer = writer;
+        this.os = os;
+        this.placeholder = placeholder;
+        this.deferred = deferred;
+    }
+
+    /**
+     * Write a document into an output stream.
+     *
+     * @param document Document to write
+     * @param os Output stream, UTF-8 encoded bytes are written into it
+     * @throws XMLStreamException if the document cannot be written
+     */
+    static void writeDocument(final Document document, final OutputStream os) throws XMLStreamException {
+        writeDocument(document, null, null, os);
+    }
+
+    /**
+     * Write a message into an output stream. Deferred content of the message is written without materializing it
+     * in the DOM, unless it has been materialized already.
+     *
+     * @param message Message to write
+     * @param os Output stream, UTF-8 encoded bytes are written into it
+     * @throws XMLStreamException if the message cannot be written
+     */
+    static void writeMessage(final NetconfMessage message, final OutputStream os) throws XMLStreamException {
+        if (message instanceof DeferredContentNetconfMessage) {
+            final DeferredContentNetconfMessage deferredMessage = (DeferredContentNetconfMessage) message;
+            final Optional<DeferredElementContent> content = deferredMessage.getContent();
+            if (content.isPresent()) {
+                writeDocument(deferredMessage.getSkeleton(), deferredMessage.getPlaceholder(), content.get(), os);
+                return;
+            }
+        }
+        writeDocument(message.getDocument(), os);
+    }
+
+    private static void writeDocument(final Document document, final Element placeholder,
+            final DeferredElementContent deferred, final OutputStream os) throws XMLStreamException {
+        final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(os, UTF_8);
+        try {
+            new XmlStreamDocumentWriter(writer, os, placeholder, deferred).write(document);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void write(final Document document) throws XMLStreamException {
+        writer.writeStartDocument(UTF_8, "1.0");
+        writeChildren(document);
+        writer.writeEndDocument();
+        writer.flush();
+    }
+
+    private void writeChildren(final Node parent) throws XMLStreamException {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    writeElement((Element) child);
+                    break;
+                case Node.TEXT_NODE:
+                    writer.writeCharacters(child.getNodeValue());
+                    break;
+                case Node.CDATA_SECTION_NODE:
+                    writer.writeCData(child.getNodeValue());
+                    break;
+                case Node.COMMENT_NODE:
+                    writer.writeComment(child.getNodeValue());
+                    break;
+                case Node.PROCESSING_INSTRUCTION_NODE:
+                    final ProcessingInstruction pi = (ProcessingInstruction) child;
+                    writer.writeProcessingInstruction(pi.getTarget(), pi.getData());
+                    break;
+                default:
+                    // Document types, entity references and similar are not used in NETCONF messages
+                    break;
+            }
+        }
+    }
+
+    private void writeElement(final Element element) throws XMLStreamException {
+        namespaces.pushContext();
+
+        final String prefix = Strings.nullToEmpty(element.getPrefix());
+        final String namespace = Strings.nullToEmpty(element.getNamespaceURI());
+        final String localName = element.getLocalName() != null ? element.getLocalName() : element.getNodeName();
+        final boolean isPlaceholder = element == placeholder;
+        final boolean empty = !isPlaceholder && !element.hasChildNodes();
+        if (empty) {
+            writer.writeEmptyElement(prefix, localName, namespace);
+        } else {
+            writer.writeStartElement(prefix, localName, namespace);
+        }
+
+        // Explicit declarations first, so we do not emit them twice. Remaining namespaces are declared as needed.
+        final NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); ++i) {
+            final Attr attr = (Attr) attributes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                final String declared = attr.getPrefix() == null ? XMLConstants.DEFAULT_NS_PREFIX : attr.getLocalName();
+                declareNamespace(declared, attr.getValue());
+            }
+        }
+
+        // Only elements created with a namespace-aware DOM method carry a namespace
+        if (element.getLocalName() != null) {
+            declareNamespace(prefix, namespace);
+        }
+
+        for (int i = 0; i < attributes.getLength(); ++i) {
+            final Attr attr = (Attr) attributes.item(i);
+            final String attrNamespace = attr.getNamespaceURI();
+            if (Strings.isNullOrEmpty(attrNamespace)) {
+                writer.writeAttribute(attr.getName(), attr.getValue());
+            } else if (!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attrNamespace)) {
+                writer.writeAttribute(attributePrefix(attr), attrNamespace, attr.getLocalName(), attr.getValue());
+            }
+        }
+
+        if (isPlaceholder) {
+            // Children appended to the placeholder precede the deferred content, as they do in the materialized DOM
+            writeChildren(element);
+            writeDeferredContent();
+            writer.writeEndElement();
+        } else if (!empty) {
+            writeChildren(element);
+            writer.writeEndElement();
+        }
+
+        namespaces.popContext();
+    }
+
+    private void writeDeferredContent() throws XMLStreamException {
+        // Terminate the start tag and hand the stream over to a writer with namespace repairing. It does not know
+        // about namespaces declared so far, at worst it declares some of them again.
+        writer.writeCharacters("");
+        writer.flush();
+
+        final XMLStreamWriter contentWriter = DeferredElementContent.createWriter(os, UTF_8);
+        try {
+            deferred.writeTo(contentWriter);
+            contentWriter.flush();
+        } finally {
+            contentWriter.close();
+        }
+    }
+
+    private String attributePrefix(final Attr attr) throws XMLStreamException {
+        final String namespace = attr.getNamespaceURI();
+        String prefix = attr.getPrefix();
+        if (Strings.isNullOrEmpty(prefix)) {
+            // Unprefixed attributes are not in the default namespace, we need to come up with a prefix
+            prefix = namespaces.getPrefix(namespace);
+            if (prefix == null) {
+                do {
+                    prefix = "ns" + generatedPrefixes++;
+                } while (namespaces.getURI(prefix) != null);
+            }
+        }
+
+        declareNamespace(prefix, namespace);
+        return prefix;
+    }
+
+    private void declareNamespace(final String prefix, final String namespace) throws XMLStreamException {
+        // Skip declarations which are already in scope
+        if (namespace.equals(Strings.nullToEmpty(namespaces.getURI(prefix)))) {
+            return;
+        }
+
+        namespaces.declarePrefix(prefix, namespace);
+        if (prefix.isEmpty()) {
+            writer.writeDefaultNamespace(namespace);
+        } else {
+            writer.writeNamespace(prefix, namespace);
+        }
+    }
+}
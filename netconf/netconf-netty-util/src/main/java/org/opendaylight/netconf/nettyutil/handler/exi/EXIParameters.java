@@ -31,11 +31,15 @@ public final class EXIParameters {
     private static final String EXI_FIDELITY_PIS = "pis";
     private static final String EXI_FIDELITY_PREFIXES = "prefixes";
 
+    static final String EXI_PARAMETER_SCHEMAS = "schemas";
+
     private final EXIOptions options;
+    private final EXISchema schema;
     private static final Logger LOG = LoggerFactory.getLogger(EXIParameters.class);
 
-    private EXIParameters(final EXIOptions options) {
+    private EXIParameters(final EXIOptions options, final EXISchema schema) {
         this.options = Preconditions.checkNotNull(options);
+        this.schema = Preconditions.checkNotNull(schema);
     }
 
 
@@ -85,10 +89,27 @@ public final class EXIParameters {
                 options.setPreserveNS(true);
             }
         }
-        return new EXIParameters(options);
+
+        final NodeList schemasElements = root.getElementsByTagName(EXI_PARAMETER_SCHEMAS);
+        final EXISchema schema;
+        if (schemasElements.getLength() > 0) {
+            final String schemasTextContent = schemasElements.item(0).getTextContent().trim();
+            try {
+                schema = EXISchema.forOption(schemasTextContent);
+            } catch (final IllegalArgumentException e) {
+                throw new EXIOptionsException("Unsupported schemas value " + schemasTextContent);
+            }
+        } else {
+            schema = EXISchema.NONE;
+        }
+        return new EXIParameters(options, schema);
     }
 
     public EXIOptions getOptions() {
         return options;
     }
+
+    public EXISchema getSchema() {
+        return schema;
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler.exi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import java.io.IOException;
+import java.io.InputStream;
+import org.opendaylight.netconf.util.NetconfUtil;
+import org.openexi.proc.grammars.GrammarCache;
+import org.openexi.scomp.EXISchemaFactory;
+import org.openexi.scomp.EXISchemaFactoryException;
+import org.openexi.scomp.EntityResolverEx;
+import org.xml.sax.InputSource;
+
+/**
+ * Schemas which can be used to build EXI grammars, as negotiated by the schemas parameter of start-exi.
+ * Schema-informed grammars encode element and attribute names known from the schema as small event codes instead
+ * of string literals, which makes messages considerably smaller than with built-in grammars.
+ */
+public enum EXISchema {
+    /**
+     * Schemaless built-in grammars.
+     */
+    NONE("builtin", null),
+    /**
+     * Grammars informed by base NETCONF 1.0 schema.
+     */
+    BASE_1_0("base:1.0", "/rfc4741.xsd");
+
+    private static final String XML_SCHEMA_LOCATION = "http://www.w3.org/2001/xml.xsd";
+    private static final String XML_SCHEMA_RESOURCE = "/xml.xsd";
+
+    /**
+     * Schema files are packaged with netconf-util, so they are loaded through its class.
+     */
+    private static final EntityResolverEx ENTITY_RESOLVER = new EntityResolverEx() {
+        @Override
+        public InputSource resolveEntity(final String publicId, final String systemId, final String namespaceURI) {
+            return resolveEntity(publicId, systemId);
+        }
+
+        @Override
+        public InputSource resolveEntity(final String publicId, final String systemId) {
+            // Do not fetch anything from network, only the imported xml namespace schema is known
+            if (XML_SCHEMA_LOCATION.equals(systemId)) {
+                return new InputSource(NetconfUtil.class.getResourceAsStream(XML_SCHEMA_RESOURCE));
+            }
+            return new InputSource();
+        }
+    };
+
+    private final String option;
+    private final Supplier<org.openexi.schema.EXISchema> schema;
+
+    EXISchema(final String option, final String resource) {
+        this.option = option;
+        // Compilation is expensive, so schema is compiled once on first use and shared by all sessions
+        this.schema = resource == null ? null : Suppliers.memoize(() -> compile(resource));
+    }
+
+    /**
+     * Get value of schemas parameter of start-exi selecting this schema.
+     *
+     * @return option value
+     */
+    public String getOption() {
+        return option;
+    }
+
+    /**
+     * Create grammar cache for this schema.
+     *
+     * @param grammarOptions options of grammars
+     * @return grammar cache
+     * @throws IllegalStateException if schema cannot be compiled
+     */
+    public GrammarCache createGrammarCache(final short grammarOptions) {
+        return schema == null ? new GrammarCache(grammarOptions) : new GrammarCache(schema.get(), grammarOptions);
+    }
+
+    /**
+     * Get schema selected by value of schemas parameter of start-exi.
+     *
+     * @param option option value
+     * @return schema
+     * @throws IllegalArgumentException if value is not supported
+     */
+    public static EXISchema forOption(final String option) {
+        for (final EXISchema exiSchema : values()) {
+            if (exiSchema.option.equals(option)) {
+                return exiSchema;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported EXI schemas option " + option);
+    }
+
+    private static org.openexi.schema.EXISchema compile(final String resource) {
+        final InputStream is = NetconfUtil.class.getResourceAsStream(resource);
+        Preconditions.checkState(is != null, "Schema %s not found", resource);
+
+        final EXISchemaFactory factory = new EXISchemaFactory();
+        factory.setEntityResolver(ENTITY_RESOLVER);
+        try (InputStream schemaStream = is) {
+            return factory.compile(new InputSource(schemaStream));
+        } catch (IOException | EXISchemaFactoryException e) {
+            throw new IllegalStateException("Failed to compile EXI schema " + resource, e);
+        }
+    }
+}
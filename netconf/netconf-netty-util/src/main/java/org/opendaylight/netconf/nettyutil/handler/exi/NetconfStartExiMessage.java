@@ -32,12 +32,18 @@ public final class NetconfStartExiMessage extends NetconfMessage {
     public static final String LEXICAL_VALUES_KEY = "lexical-values";
     public static final String PIS_KEY = "pis";
     public static final String PREFIXES_KEY = "prefixes";
+    public static final String SCHEMAS_KEY = EXIParameters.EXI_PARAMETER_SCHEMAS;
     private static final Logger LOG = LoggerFactory.getLogger(NetconfStartExiMessage.class);
     private NetconfStartExiMessage(final Document doc) {
         super(doc);
     }
 
     public static NetconfStartExiMessage create(final EXIOptions exiOptions, final String messageId) {
+        return create(exiOptions, messageId, EXISchema.NONE);
+    }
+
+    public static NetconfStartExiMessage create(final EXIOptions exiOptions, final String messageId,
+            final EXISchema exiSchema) {
         final Document doc = XmlUtil.newDocument();
         final Element rpcElement = doc.createElementNS(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0,
                 XmlNetconfConstants.RPC_KEY);
@@ -50,6 +56,7 @@ public final class NetconfStartExiMessage extends NetconfMessage {
 
         addAlignment(exiOptions, doc, startExiElement);
         addFidelity(exiOptions, doc, startExiElement);
+        addSchemas(exiSchema, doc, startExiElement);
 
         rpcElement.appendChild(startExiElement);
 
@@ -75,6 +82,16 @@ public final class NetconfStartExiMessage extends NetconfMessage {
         }
     }
 
+    private static void addSchemas(final EXISchema exiSchema, final Document doc, final Element startExiElement) {
+        // builtin grammars are the default, keep the message compatible with peers not aware of schemas
+        if (exiSchema != EXISchema.NONE) {
+            final Element schemasElement = doc.createElementNS(
+                    XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_EXI_1_0, SCHEMAS_KEY);
+            schemasElement.setTextContent(exiSchema.getOption());
+            startExiElement.appendChild(schemasElement);
+        }
+    }
+
     private static void addAlignment(final EXIOptions exiOptions, final Document doc, final Element startExiElement) {
         final Element alignmentElement = doc.createElementNS(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_EXI_1_0,
                 ALIGNMENT_KEY);
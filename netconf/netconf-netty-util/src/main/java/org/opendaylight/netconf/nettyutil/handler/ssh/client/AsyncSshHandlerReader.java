@@ -19,7 +19,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Listener on async input stream from SSH session.
- * This listeners schedules reads in a loop until the session is closed or read fails.
+ * This listeners schedules reads in a loop until the session is closed or read fails. The loop can be suspended
+ * and resumed, e.g. to stop reading while the receiving side is not able to keep up.
  */
 public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFuture>, AutoCloseable {
 
@@ -34,14 +35,14 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
     private IoInputStream asyncOut;
     private Buffer buf;
     private IoReadFuture currentReadFuture;
+    private boolean suspended;
 
     public AsyncSshHandlerReader(final AutoCloseable connectionClosedCallback, final ReadMsgHandler readHandler, final String channelId, final IoInputStream asyncOut) {
         this.connectionClosedCallback = connectionClosedCallback;
         this.readHandler = readHandler;
         this.channelId = channelId;
         this.asyncOut = asyncOut;
-        buf = new Buffer(BUFFER_SIZE);
-        asyncOut.read(buf).addListener(this);
+        scheduleRead();
     }
 
     @Override
@@ -70,10 +71,38 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
             }
             readHandler.onMessageRead(msg);
 
-            // Schedule next read
-            buf = new Buffer(BUFFER_SIZE);
-            currentReadFuture = asyncOut.read(buf);
-            currentReadFuture.addListener(this);
+            // Schedule next read, unless reading was suspended meanwhile, resume schedules it then
+            if (suspended) {
+                currentReadFuture = null;
+            } else if (asyncOut != null) {
+                scheduleRead();
+            }
+        }
+    }
+
+    private void scheduleRead() {
+        buf = new Buffer(BUFFER_SIZE);
+        currentReadFuture = asyncOut.read(buf);
+        currentReadFuture.addListener(this);
+    }
+
+    /**
+     * Stop reading. A read which is already in progress still completes and its data is delivered.
+     */
+    public synchronized void suspend() {
+        suspended = true;
+    }
+
+    /**
+     * Resume reading suspended by {@link #suspend()}.
+     */
+    public synchronized void resume() {
+        if (!suspended) {
+            return;
+        }
+        suspended = false;
+        if (asyncOut != null && currentReadFuture == null) {
+            scheduleRead();
         }
     }
 
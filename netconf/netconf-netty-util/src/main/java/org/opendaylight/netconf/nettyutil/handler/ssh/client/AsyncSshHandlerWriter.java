@@ -8,14 +8,18 @@
 
 package org.opendaylight.netconf.nettyutil.handler.ssh.client;
 
-import com.google.common.base.Preconditions;
+import com.google.common.annotations.VisibleForTesting;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.List;
+import java.util.ListIterator;
 import org.apache.sshd.common.future.SshFutureListener;
 import org.apache.sshd.common.io.IoOutputStream;
 import org.apache.sshd.common.io.IoWriteFuture;
@@ -26,24 +30,48 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Async Ssh writer. Takes messages(byte arrays) and sends them encrypted to remote server.
- * Also handles pending writes by caching requests until pending state is over.
+ * Also handles pending writes by caching requests until pending state is over. Requests cached while a write
+ * is in progress are merged into a single ssh write once it completes.
+ *
+ * <p>
+ * The cache is bounded. When it holds more than {@link #HIGH_WATER_MARK} bytes, the netty channel is marked as not
+ * writable until it drops below {@link #LOW_WATER_MARK}, so producers checking {@link Channel#isWritable()} or
+ * reacting to channel writability changes can stop. If producers keep writing regardless and the cache exceeds
+ * {@link #MAX_PENDING_BYTES}, the session is closed.
  */
 public final class AsyncSshHandlerWriter implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory
             .getLogger(AsyncSshHandlerWriter.class);
 
-    // public static final int MAX_PENDING_WRITES = 1000;
-    // TODO implement Limiting mechanism for pending writes
-    // But there is a possible issue with limiting:
-    // 1. What to do when queue is full ? Immediate Fail for every request ?
-    // 2. At this level we might be dealing with Chunks of messages(not whole messages) and unexpected behavior might occur
-    // when we send/queue 1 chunk and fail the other chunks
+    // Last resort, reached only if remote side stops reading and producers ignore channel writability. At this level
+    // we might be dealing with chunks of messages, so failing a single request would break the framing of
+    // the session. The whole session is closed instead. The limit is checked before a request is queued, so a single
+    // message is never refused on its own, however large.
+    @VisibleForTesting
+    static final int MAX_PENDING_BYTES = 64 * 1024 * 1024;
+
+    @VisibleForTesting
+    static final int HIGH_WATER_MARK = 1024 * 1024;
+    @VisibleForTesting
+    static final int LOW_WATER_MARK = HIGH_WATER_MARK / 2;
+
+    // Upper bound for the size of merged pending writes, larger requests are written on their own
+    private static final int MAX_MERGED_WRITE_SIZE = 64 * 1024;
+
+    // Index of the user defined writability flag of the channel outbound buffer used by this writer
+    private static final int WRITABILITY_INDEX = 1;
 
     private volatile IoOutputStream asyncIn;
 
     // Order has to be preserved for queued writes
-    private final Deque<PendingWriteRequest> pending = new LinkedList<>();
+    private final Deque<PendingWriteRequest> pending = new ArrayDeque<>();
+
+    // Guarded by asyncIn
+    private long pendingBytes;
+    private boolean writeInProgress;
+    // Written under asyncIn lock, read by producers without locking
+    private volatile boolean writable = true;
 
     public AsyncSshHandlerWriter(final IoOutputStream asyncIn) {
         this.asyncIn = asyncIn;
@@ -51,7 +79,8 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
 
     public void write(final ChannelHandlerContext ctx,
             final Object msg, final ChannelPromise promise) {
-        if (asyncIn == null) {
+        final IoOutputStream out = asyncIn;
+        if (out == null) {
             promise.setFailure(new IllegalStateException("Channel closed"));
             return;
         }
@@ -59,91 +88,129 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
         // writes and pending writes would lock the underlyinch channel session
         // window resize write would try to write the message on an already locked channelSession
         // while the pending write was in progress from the write callback
-        synchronized (asyncIn) {
+        synchronized (out) {
             // TODO check for isClosed, isClosing might be performed by mina SSH internally and is not required here
             // If we are closed/closing, set immediate fail
-            if (asyncIn.isClosed() || asyncIn.isClosing()) {
+            if (asyncIn == null || out.isClosed() || out.isClosing()) {
                 promise.setFailure(new IllegalStateException("Channel closed"));
-            } else {
-                final ByteBuf byteBufMsg = (ByteBuf) msg;
-                if (pending.isEmpty() == false) {
-                    queueRequest(ctx, byteBufMsg, promise);
-                    return;
-                }
+                return;
+            }
 
-                writeWithPendingDetection(ctx, promise, byteBufMsg, false);
+            final ByteBuf byteBufMsg = (ByteBuf) msg;
+            final boolean overflow = pendingBytes > MAX_PENDING_BYTES;
+            queueRequest(ctx, byteBufMsg, promise);
+            if (!overflow) {
+                if (!writeInProgress) {
+                    writePendingIfAny();
+                }
+                updateWritability(ctx);
+                return;
             }
+
+            LOG.warn("Pending writes on channel: {} reached {} bytes, remote window is not getting read or is too "
+                    + "small, closing the session", ctx.channel(), pendingBytes);
+            asyncIn = null;
+            failPending(new IllegalStateException("Too much pending data (" + pendingBytes + " bytes) on channel: "
+                    + ctx.channel()));
         }
+
+        // Outside of the lock, closing the whole pipeline reaches AsyncSshHandler, which disconnects the ssh session
+        ctx.channel().close();
     }
 
-    //sending message with pending
-    //if resending message not succesfull, then attribute wasPending is true
-    private void writeWithPendingDetection(final ChannelHandlerContext ctx, final ChannelPromise promise, final ByteBuf byteBufMsg, final boolean wasPending) {
-        try {
+    // Merges requests from the head of the queue into a single ssh write. If the write is rejected because
+    // the previous one is still pending, the requests are returned to the queue.
+    private void writePendingIfAny() {
+        final List<PendingWriteRequest> requests = new ArrayList<>();
+        int size = 0;
+        for (PendingWriteRequest request = pending.peek(); request != null; request = pending.peek()) {
+            final int msgSize = request.msg.readableBytes();
+            if (!requests.isEmpty() && size + msgSize > MAX_MERGED_WRITE_SIZE) {
+                break;
+            }
+            requests.add(pending.remove());
+            size += msgSize;
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
 
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("Writing request on channel: {}, message: {}", ctx.channel(), byteBufToString(byteBufMsg));
+        final ChannelHandlerContext ctx = requests.get(0).ctx;
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Writing {} request(s) on channel: {}, message: {}", requests.size(), ctx.channel(),
+                    requestsToString(requests));
+        }
+
+        final IoOutputStream out = asyncIn;
+        final IoWriteFuture writeFuture;
+        try {
+            writeFuture = out.write(toBuffer(requests, size));
+        } catch (final WritePendingException e) {
+            LOG.debug("Write pending on channel: {}, queueing, current queue size: {}", ctx.channel(),
+                    pending.size());
+            for (final ListIterator<PendingWriteRequest> it = requests.listIterator(requests.size());
+                    it.hasPrevious();) {
+                pending.addFirst(it.previous());
             }
-            asyncIn.write(toBuffer(byteBufMsg)).addListener(new SshFutureListener<IoWriteFuture>() {
-
-                @Override
-                public void operationComplete(final IoWriteFuture future) {
-                    // synchronized block due to deadlock that happens on ssh window resize
-                    // writes and pending writes would lock the underlyinch channel session
-                    // window resize write would try to write the message on an already locked channelSession,
-                    // while the pending write was in progress from the write callback
-                    synchronized (asyncIn) {
-                        if (LOG.isTraceEnabled()) {
-                            LOG.trace("Ssh write request finished on channel: {} with result: {}: and ex:{}, message: {}",
-                                    ctx.channel(), future.isWritten(), future.getException(), byteBufToString(byteBufMsg));
-                        }
+            return;
+        }
 
-                        // Notify success or failure
+        writeInProgress = true;
+        final int writeSize = size;
+        writeFuture.addListener(new SshFutureListener<IoWriteFuture>() {
+
+            @Override
+            public void operationComplete(final IoWriteFuture future) {
+                // synchronized block due to deadlock that happens on ssh window resize
+                // writes and pending writes would lock the underlyinch channel session
+                // window resize write would try to write the message on an already locked channelSession,
+                // while the pending write was in progress from the write callback
+                synchronized (out) {
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Ssh write request finished on channel: {} with result: {}: and ex:{}, message: {}",
+                                ctx.channel(), future.isWritten(), future.getException(), requestsToString(requests));
+                    }
+                    if (!future.isWritten()) {
+                        LOG.warn("Ssh write request failed on channel: {} for message: {}", ctx.channel(),
+                                requestsToString(requests), future.getException());
+                    }
+
+                    // Notify success or failure
+                    for (final PendingWriteRequest request : requests) {
                         if (future.isWritten()) {
-                            promise.setSuccess();
+                            request.promise.setSuccess();
                         } else {
-                            LOG.warn("Ssh write request failed on channel: {} for message: {}", ctx.channel(), byteBufToString(byteBufMsg), future.getException());
-                            promise.setFailure(future.getException());
+                            request.promise.setFailure(future.getException());
                         }
 
                         // Not needed anymore, release
-                        byteBufMsg.release();
-
-                        //rescheduling message from queue after successfully sent
-                        if (wasPending) {
-                            byteBufMsg.resetReaderIndex();
-                            pending.remove();
-                        }
+                        request.msg.release();
                     }
 
+                    writeInProgress = false;
+                    pendingBytes -= writeSize;
+
                     // Check pending queue and schedule next
-                    // At this time we are guaranteed that we are not in pending state anymore so the next request should succeed
-                    writePendingIfAny();
+                    // At this time we are guaranteed that we are not in pending state anymore so the next request
+                    // should succeed
+                    if (asyncIn != null) {
+                        writePendingIfAny();
+                    }
+                    updateWritability(ctx);
                 }
-            });
-
-        } catch (final WritePendingException e) {
-
-            if(wasPending == false){
-                queueRequest(ctx, byteBufMsg, promise);
             }
-        }
+        });
     }
 
-    private void writePendingIfAny() {
-        synchronized (asyncIn) {
-            if (pending.peek() == null) {
-                return;
-            }
-
-            final PendingWriteRequest pendingWrite = pending.peek();
-            final ByteBuf msg = pendingWrite.msg;
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("Writing pending request on channel: {}, message: {}", pendingWrite.ctx.channel(), byteBufToString(msg));
-            }
-
-            writeWithPendingDetection(pendingWrite.ctx, pendingWrite.promise, msg, true);
-        }
+    /**
+     * Check whether requests written to the ssh session are kept below the high water mark. This reflects only
+     * the ssh side, unlike {@link Channel#isWritable()} of the netty channel the requests come from.
+     *
+     * @return false if there is more than {@link #HIGH_WATER_MARK} bytes waiting to be written, until it drops below
+     *         {@link #LOW_WATER_MARK}
+     */
+    public boolean isWritable() {
+        return writable;
     }
 
     public static String byteBufToString(final ByteBuf msg) {
@@ -152,30 +219,87 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
         return s;
     }
 
+    private static String requestsToString(final List<PendingWriteRequest> requests) {
+        final StringBuilder sb = new StringBuilder();
+        for (final PendingWriteRequest request : requests) {
+            sb.append(byteBufToString(request.msg));
+        }
+        return sb.toString();
+    }
+
     private void queueRequest(final ChannelHandlerContext ctx, final ByteBuf msg, final ChannelPromise promise) {
-//        try {
-        LOG.debug("Write pending on channel: {}, queueing, current queue size: {}", ctx.channel(), pending.size());
+        if (writeInProgress) {
+            LOG.debug("Write pending on channel: {}, queueing, current queue size: {}", ctx.channel(),
+                    pending.size());
+        }
         if (LOG.isTraceEnabled()) {
-            LOG.trace("Queueing request due to pending: {}", byteBufToString(msg));
-        }
-        new PendingWriteRequest(ctx, msg, promise).pend(pending);
-//        } catch (final Exception ex) {
-//            LOG.warn("Unable to queue write request on channel: {}. Setting fail for the request: {}", ctx.channel(), ex, byteBufToString(msg));
-//            msg.release();
-//            promise.setFailure(ex);
-//        }
+            LOG.trace("Queueing request: {}", byteBufToString(msg));
+        }
+        pending.add(new PendingWriteRequest(ctx, msg, promise));
+        pendingBytes += msg.readableBytes();
+    }
+
+    private void updateWritability(final ChannelHandlerContext ctx) {
+        if (writable && pendingBytes > HIGH_WATER_MARK) {
+            LOG.debug("Pending writes on channel: {} reached {} bytes, channel is not writable", ctx.channel(),
+                    pendingBytes);
+            setWritable(ctx, false);
+        } else if (!writable && pendingBytes < LOW_WATER_MARK) {
+            LOG.debug("Pending writes on channel: {} dropped to {} bytes, channel is writable", ctx.channel(),
+                    pendingBytes);
+            setWritable(ctx, true);
+        }
+    }
+
+    private void setWritable(final ChannelHandlerContext ctx, final boolean writable) {
+        this.writable = writable;
+        // Outbound buffer is not available once the channel is closed. Changing the flag fires
+        // channelWritabilityChanged on the event loop of the channel.
+        final Channel.Unsafe unsafe = ctx.channel().unsafe();
+        final ChannelOutboundBuffer outboundBuffer = unsafe == null ? null : unsafe.outboundBuffer();
+        if (outboundBuffer != null) {
+            outboundBuffer.setUserDefinedWritability(WRITABILITY_INDEX, writable);
+        }
+    }
+
+    // Requests which were not written yet would never complete
+    private void failPending(final Throwable cause) {
+        for (PendingWriteRequest request = pending.poll(); request != null; request = pending.poll()) {
+            pendingBytes -= request.msg.readableBytes();
+            request.msg.release();
+            request.promise.setFailure(cause);
+        }
     }
 
     @Override
     public void close() {
-        asyncIn = null;
+        final IoOutputStream out = asyncIn;
+        if (out == null) {
+            return;
+        }
+        synchronized (out) {
+            asyncIn = null;
+            failPending(new IllegalStateException("Channel closed"));
+        }
     }
 
-    private static Buffer toBuffer(final ByteBuf msg) {
-        // TODO Buffer vs ByteBuf translate, Can we handle that better ?
-        msg.resetReaderIndex();
-        final byte[] temp = new byte[msg.readableBytes()];
-        msg.readBytes(temp, 0, msg.readableBytes());
+    private static Buffer toBuffer(final List<PendingWriteRequest> requests, final int size) {
+        if (requests.size() == 1) {
+            final ByteBuf msg = requests.get(0).msg;
+            if (msg.hasArray()) {
+                // Wrap the backing array, the message is released only after the write completes
+                return new Buffer(msg.array(), msg.arrayOffset() + msg.readerIndex(), size);
+            }
+        }
+
+        final byte[] temp = new byte[size];
+        int offset = 0;
+        for (final PendingWriteRequest request : requests) {
+            final ByteBuf msg = request.msg;
+            final int length = msg.readableBytes();
+            msg.getBytes(msg.readerIndex(), temp, offset, length);
+            offset += length;
+        }
         return new Buffer(temp);
     }
 
@@ -191,13 +315,5 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
             this.msg = msg;
             this.promise = promise;
         }
-
-        public void pend(final Queue<PendingWriteRequest> pending) {
-            // Preconditions.checkState(pending.size() < MAX_PENDING_WRITES,
-            // "Too much pending writes(%s) on channel: %s, remote window is not getting read or is too small",
-            // pending.size(), ctx.channel());
-            Preconditions.checkState(pending.offer(this), "Cannot pend another request write (pending count: %s) on channel: %s",
-                    pending.size(), ctx.channel());
-        }
     }
 }
@@ -32,6 +32,7 @@ import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timer;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.Promise;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -43,6 +44,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
+import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSessionListener;
 import org.opendaylight.netconf.api.NetconfSessionPreferences;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
@@ -162,6 +164,31 @@ public class AbstractNetconfSessionNegotiatorTest {
         verify(promise).setFailure(cause);
     }
 
+    @Test
+    public void testCompactMessagesAfterHello() throws Exception {
+        negotiator.startNegotiation();
+        Assert.assertEquals(helloBase11, channel.readOutbound());
+        Assert.assertTrue(sendAfterHello().contains("<rpc><get/></rpc>"));
+    }
+
+    @Test
+    public void testPrettyPrintedMessagesAfterHello() throws Exception {
+        negotiator.setPrettyPrint(true);
+        negotiator.startNegotiation();
+        Assert.assertEquals(helloBase11, channel.readOutbound());
+        Assert.assertTrue(sendAfterHello().matches("(?s).*<rpc>\\s+<get/>\\s+</rpc>.*"));
+    }
+
+    private String sendAfterHello() throws Exception {
+        channel.writeOutbound(new NetconfMessage(XmlUtil.readXmlToDocument("<rpc><get/></rpc>")));
+        final ByteBuf out = (ByteBuf) channel.readOutbound();
+        try {
+            return out.toString(StandardCharsets.UTF_8);
+        } finally {
+            out.release();
+        }
+    }
+
     private static class TestSessionNegotiator extends
             AbstractNetconfSessionNegotiator<NetconfSessionPreferences,
                     TestingNetconfSession, NetconfSessionListener<TestingNetconfSession>> {
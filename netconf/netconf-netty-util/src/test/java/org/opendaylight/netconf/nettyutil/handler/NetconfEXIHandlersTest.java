@@ -10,6 +10,7 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import com.google.common.collect.Lists;
 import io.netty.buffer.ByteBuf;
@@ -19,11 +20,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.XMLUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.nettyutil.handler.exi.EXISchema;
 import org.openexi.proc.common.EXIOptions;
 import org.openexi.proc.common.EXIOptionsException;
 import org.openexi.sax.Transmogrifier;
@@ -74,4 +77,29 @@ public class NetconfEXIHandlersTest {
 
         XMLUnit.compareXML(msg.getDocument(), ((NetconfMessage) out.get(0)).getDocument());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEncodeDecodeWithBaseSchema() throws Exception {
+        final NetconfMessage rpc = new NetconfMessage(XmlUtil.readXmlToDocument(
+                "<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"101\">"
+                + "<get-config><source><running/></source></get-config></rpc>"));
+
+        final ByteBuf builtin = encode(rpc, new NetconfEXICodec(new EXIOptions()));
+        final NetconfEXICodec codec = new NetconfEXICodec(new EXIOptions(), EXISchema.BASE_1_0);
+        final ByteBuf schemaInformed = encode(rpc, codec);
+        assertTrue(schemaInformed.readableBytes() < builtin.readableBytes());
+
+        final List<Object> out = Lists.newArrayList();
+        NetconfEXIToMessageDecoder.create(codec).decode(null, schemaInformed, out);
+
+        XMLUnit.setIgnoreWhitespace(true);
+        final Diff diff = XMLUnit.compareXML(rpc.getDocument(), ((NetconfMessage) out.get(0)).getDocument());
+        assertTrue(diff.toString(), diff.similar());
+    }
+
+    private static ByteBuf encode(final NetconfMessage msg, final NetconfEXICodec codec) throws Exception {
+        final ByteBuf buffer = Unpooled.buffer();
+        NetconfMessageToEXIEncoder.create(codec).encode(null, msg, buffer);
+        return buffer;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Compares the cost of serializing an edit-config RPC with the indenting transformer, the non-indenting transformer
+ * and the direct StAX writer used by {@link NetconfMessageToXMLEncoder}. Run its {@link #main(String[])} method
+ * with the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NetconfMessageToXMLEncoderBenchmark {
+    private static final String NETCONF_NS = "urn:ietf:params:xml:ns:netconf:base:1.0";
+    private static final String TEST_NS = "urn:opendaylight:netconf:benchmark";
+
+    /**
+     * Number of list entries in the edit-config payload.
+     */
+    @Param({"10", "1000"})
+    public int entries;
+
+    private Document document;
+    private ByteBuf out;
+
+    @Setup
+    public void setUp() {
+        document = XmlUtil.newDocument();
+        final Element rpc = document.createElementNS(NETCONF_NS, "rpc");
+        rpc.setAttribute("message-id", "m-1");
+        final Element editConfig = document.createElementNS(NETCONF_NS, "edit-config");
+        final Element target = document.createElementNS(NETCONF_NS, "target");
+        target.appendChild(document.createElementNS(NETCONF_NS, "candidate"));
+        editConfig.appendChild(target);
+
+        final Element config = document.createElementNS(NETCONF_NS, "config");
+        final Element interfaces = document.createElementNS(TEST_NS, "interfaces");
+        for (int i = 0; i < entries; ++i) {
+            final Element iface = document.createElementNS(TEST_NS, "interface");
+            iface.appendChild(leaf("name", "eth" + i));
+            iface.appendChild(leaf("description", "Benchmark interface number " + i));
+            iface.appendChild(leaf("mtu", "1500"));
+            iface.appendChild(leaf("enabled", "true"));
+            interfaces.appendChild(iface);
+        }
+        config.appendChild(interfaces);
+        editConfig.appendChild(config);
+        rpc.appendChild(editConfig);
+        document.appendChild(rpc);
+
+        out = PooledByteBufAllocator.DEFAULT.heapBuffer();
+    }
+
+    @TearDown
+    public void tearDown() {
+        out.release();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearBuffer() {
+        out.clear();
+    }
+
+    @Benchmark
+    public ByteBuf prettyTransformer() throws Exception {
+        return transform(ThreadLocalTransformers.getPrettyTransformer());
+    }
+
+    @Benchmark
+    public ByteBuf compactTransformer() throws Exception {
+        return transform(ThreadLocalTransformers.getDefaultTransformer());
+    }
+
+    @Benchmark
+    public ByteBuf directWriter() throws Exception {
+        try (ByteBufOutputStream os = new ByteBufOutputStream(out)) {
+            XmlStreamDocumentWriter.writeDocument(document, os);
+        }
+        return out;
+    }
+
+    private ByteBuf transform(final Transformer transformer) throws Exception {
+        try (ByteBufOutputStream os = new ByteBufOutputStream(out)) {
+            transformer.transform(new DOMSource(document), new StreamResult(
+                new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8))));
+        }
+        return out;
+    }
+
+    private Element leaf(final String name, final String value) {
+        final Element leaf = document.createElementNS(TEST_NS, name);
+        leaf.setTextContent(value);
+        return leaf;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NetconfMessageToXMLEncoderBenchmark.class.getSimpleName()).build())
+            .run();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.DeferredContentNetconfMessage;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.DeferredElementContent;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class NetconfMessageToXMLEncoderTest {
+
+    private static final String NETCONF_NS = "urn:ietf:params:xml:ns:netconf:base:1.0";
+
+    @Test
+    public void testCompactEncode() throws Exception {
+        final String encoded = encode(new NetconfMessageToXMLEncoder(), XmlUtil.readXmlToDocument(
+            "<rpc-reply message-id=\"101\" xmlns=\"" + NETCONF_NS + "\">\n  <ok/>\n</rpc-reply>"));
+
+        assertTrue(encoded.startsWith("<?xml "));
+        assertTrue(encoded, encoded.endsWith("?><rpc-reply xmlns=\"" + NETCONF_NS
+                + "\" message-id=\"101\">\n  <ok/>\n</rpc-reply>"));
+    }
+
+    @Test
+    public void testCompactEncodeAddsNamespaces() throws Exception {
+        final Document doc = XmlUtil.newDocument();
+        final Element rpc = doc.createElementNS(NETCONF_NS, "rpc");
+        rpc.setAttributeNS(NETCONF_NS, "message-id", "102");
+        final Element data = doc.createElementNS("urn:test", "t:data");
+        data.appendChild(doc.createTextNode("a < b"));
+        rpc.appendChild(data);
+        rpc.appendChild(doc.createElementNS(null, "plain"));
+        doc.appendChild(rpc);
+
+        final String encoded = encode(new NetconfMessageToXMLEncoder(), doc);
+
+        final Document parsed = XmlUtil.readXmlToDocument(encoded);
+        final Element root = parsed.getDocumentElement();
+        assertEquals(NETCONF_NS, root.getNamespaceURI());
+        assertEquals("102", root.getAttributeNS(NETCONF_NS, "message-id"));
+        final Element parsedData = (Element) root.getFirstChild();
+        assertEquals("urn:test", parsedData.getNamespaceURI());
+        assertEquals("a < b", parsedData.getTextContent());
+        assertEquals(null, parsedData.getNextSibling().getNamespaceURI());
+    }
+
+    @Test
+    public void testClientIdComment() throws Exception {
+        final String encoded = encode(new NetconfMessageToXMLEncoder(Optional.of("client")),
+            XmlUtil.readXmlToDocument("<rpc xmlns=\"" + NETCONF_NS + "\"/>"));
+
+        assertTrue(encoded.endsWith("<rpc xmlns=\"" + NETCONF_NS + "\"/><!--clientId:client-->"));
+    }
+
+    @Test
+    public void testCompactAndPrettyEquivalent() throws Exception {
+        final String xml = "<rpc message-id=\"103\" xmlns=\"" + NETCONF_NS + "\"><get-config><source><running/>"
+                + "</source><filter xmlns:a=\"urn:a\" type=\"subtree\"><a:top a:attr=\"x\"/></filter></get-config></rpc>";
+
+        final String compact = encode(new NetconfMessageToXMLEncoder(), XmlUtil.readXmlToDocument(xml));
+        final String pretty = encode(new NetconfMessageToXMLEncoder(Optional.absent(), true),
+            XmlUtil.readXmlToDocument(xml));
+
+        XMLUnit.setIgnoreWhitespace(true);
+        final Diff diff = XMLUnit.compareXML(pretty, compact);
+        assertTrue(diff.toString(), diff.identical());
+    }
+
+    @Test
+    public void testDeferredContent() throws Exception {
+        final Document doc = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"104\" xmlns=\"" + NETCONF_NS
+                + "\"><data/></rpc-reply>");
+        final Element data = (Element) doc.getDocumentElement().getFirstChild();
+        new DeferredElementContent() {
+            @Override
+            public void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+                writer.writeStartElement("urn:a", "top");
+                writer.writeCharacters("value");
+                writer.writeEndElement();
+            }
+        }.attachTo(data);
+        final DeferredContentNetconfMessage msg = DeferredContentNetconfMessage.fromDocument(doc).get();
+
+        final String compact = encode(new NetconfMessageToXMLEncoder(), msg);
+        final Element parsed = (Element) XmlUtil.readXmlToDocument(compact).getDocumentElement().getFirstChild();
+        assertEquals("data", parsed.getLocalName());
+        final Element top = (Element) parsed.getFirstChild();
+        assertEquals("urn:a", top.getNamespaceURI());
+        assertEquals("value", top.getTextContent());
+        // Compact encoder streams the content, the DOM is untouched
+        assertTrue(msg.getContent().isPresent());
+        assertFalse(data.hasChildNodes());
+
+        // The pretty printer works on the complete document, which is materialized on access
+        final String pretty = encode(new NetconfMessageToXMLEncoder(Optional.absent(), true), msg);
+        assertFalse(msg.getContent().isPresent());
+        XMLUnit.setIgnoreWhitespace(true);
+        final Diff diff = XMLUnit.compareXML(pretty, compact);
+        assertTrue(diff.toString(), diff.similar());
+
+        // Once materialized, the compact encoder writes the DOM
+        final Diff materialized = XMLUnit.compareXML(encode(new NetconfMessageToXMLEncoder(), msg), compact);
+        assertTrue(materialized.toString(), materialized.similar());
+    }
+
+    @Test
+    public void testDeferredContentWithAppendedChildren() throws Exception {
+        final Document doc = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"106\" xmlns=\"" + NETCONF_NS
+                + "\"><data/></rpc-reply>");
+        final Element data = (Element) doc.getDocumentElement().getFirstChild();
+        new DeferredElementContent() {
+            @Override
+            public void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+                writer.writeStartElement("urn:a", "top");
+                writer.writeEndElement();
+            }
+        }.attachTo(data);
+        final DeferredContentNetconfMessage msg = DeferredContentNetconfMessage.fromDocument(doc).get();
+        data.appendChild(doc.createElementNS("urn:b", "appended"));
+
+        final String compact = encode(new NetconfMessageToXMLEncoder(), msg);
+        final Element parsed = (Element) XmlUtil.readXmlToDocument(compact).getDocumentElement().getFirstChild();
+        assertEquals("appended", parsed.getFirstChild().getLocalName());
+        assertEquals("urn:b", parsed.getFirstChild().getNamespaceURI());
+        assertEquals("top", parsed.getLastChild().getLocalName());
+
+        // Same order as in the materialized document
+        XMLUnit.setIgnoreWhitespace(true);
+        final Diff diff = XMLUnit.compareXML(XmlUtil.toString(msg.getDocument()), compact);
+        assertTrue(diff.toString(), diff.similar());
+    }
+
+    @Test
+    public void testPlainMessageIsNotDeferred() throws Exception {
+        final Document doc = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"105\" xmlns=\"" + NETCONF_NS
+                + "\"><data/></rpc-reply>");
+        assertFalse(DeferredContentNetconfMessage.fromDocument(doc).isPresent());
+    }
+
+    private static String encode(final NetconfMessageToXMLEncoder encoder, final Document doc) throws Exception {
+        return encode(encoder, new NetconfMessage(doc));
+    }
+
+    private static String encode(final NetconfMessageToXMLEncoder encoder, final NetconfMessage msg)
+            throws Exception {
+        final ByteBuf out = Unpooled.buffer();
+        encoder.encode(null, msg, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.NetconfMessage;
+
+public class NetconfStreamingChunkDecoderTest {
+
+    private static final String CHUNKED_MESSAGE = "\n#4\n" +
+            "<rpc" +
+            "\n#18\n" +
+            " message-id=\"102\"\n" +
+            "\n#79\n" +
+            "     xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n" +
+            "  <close-session/>\n" +
+            "</rpc>" +
+            "\n##\n";
+
+    private static final String CHUNKED_MESSAGE_WITH_DECLARATION = "\n#40\n" +
+            "\r\n<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "\n#101\n" + NetconfChunkAggregatorTest.EXPECTED_MESSAGE +
+            "\n##\n";
+
+    private NetconfStreamingChunkDecoder decoder;
+
+    @Before
+    public void setUp() throws Exception {
+        decoder = new NetconfStreamingChunkDecoder();
+        XMLUnit.setIgnoreWhitespace(true);
+    }
+
+    @Test
+    public void testMultipleChunks() throws Exception {
+        final List<Object> output = decode(CHUNKED_MESSAGE);
+
+        assertEquals(1, output.size());
+        assertExpectedMessage(output.get(0));
+    }
+
+    @Test
+    public void testLeadingWhitespaceAndDeclaration() throws Exception {
+        final List<Object> output = decode(CHUNKED_MESSAGE_WITH_DECLARATION);
+
+        assertEquals(1, output.size());
+        assertExpectedMessage(output.get(0));
+    }
+
+    @Test
+    public void testPartialChunks() throws Exception {
+        final byte[] bytes = CHUNKED_MESSAGE.getBytes(StandardCharsets.UTF_8);
+        final ByteBuf input = Unpooled.buffer();
+        final List<Object> output = Lists.newArrayList();
+
+        // Feed the message in tiny pieces, splitting both headers and payload
+        for (int i = 0; i < bytes.length; i += 3) {
+            input.writeBytes(bytes, i, Math.min(3, bytes.length - i));
+            decoder.decode(null, input, output);
+        }
+
+        assertEquals(1, output.size());
+        assertExpectedMessage(output.get(0));
+    }
+
+    @Test
+    public void testConsecutiveMessages() throws Exception {
+        final List<Object> output = decode(CHUNKED_MESSAGE + CHUNKED_MESSAGE);
+
+        assertEquals(2, output.size());
+        assertExpectedMessage(output.get(0));
+        assertExpectedMessage(output.get(1));
+    }
+
+    @Test
+    public void testNonXmlMessageAggregated() throws Exception {
+        final List<Object> output = decode("\n#4\n$EXI\n#3\nabc\n##\n");
+
+        assertEquals(1, output.size());
+        assertEquals("$EXIabc", ((ByteBuf) output.get(0)).toString(StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMalformedXml() throws Exception {
+        decode("\n#7\n<a></b>\n##\n");
+    }
+
+    @Test
+    public void testMalformedXmlKeepsFraming() throws Exception {
+        try {
+            decode("\n#7\n<a></b>\n##\n");
+        } catch (final IllegalStateException e) {
+            // Expected
+        }
+
+        final List<Object> output = decode(CHUNKED_MESSAGE);
+        assertEquals(1, output.size());
+        assertExpectedMessage(output.get(0));
+    }
+
+    private List<Object> decode(final String message) throws Exception {
+        final List<Object> output = Lists.newArrayList();
+        decoder.decode(null, Unpooled.copiedBuffer(message.getBytes(StandardCharsets.UTF_8)), output);
+        return output;
+    }
+
+    private static void assertExpectedMessage(final Object decoded) throws Exception {
+        assertTrue(decoded instanceof NetconfMessage);
+        final Diff diff = XMLUnit.compareXML(XmlUtil.readXmlToDocument(NetconfChunkAggregatorTest.EXPECTED_MESSAGE),
+            ((NetconfMessage) decoded).getDocument());
+        assertTrue(diff.toString(), diff.similar());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.w3c.dom.Document;
+
+/**
+ * Compares decoding of rpc-reply messages of various sizes by {@link NetconfXMLToMessageDecoder} with the plain
+ * {@link XmlUtil#readXmlToDocument(java.io.InputStream)} over a {@link ByteBufInputStream}, both for heap and direct
+ * buffers. Run its {@link #main(String[])} method with the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NetconfXMLToMessageDecoderBenchmark {
+    private static final String REPLY_START = "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" "
+            + "message-id=\"m-1\"><data><interfaces xmlns=\"urn:opendaylight:netconf:benchmark\">";
+    private static final String REPLY_END = "</interfaces></data></rpc-reply>";
+
+    /**
+     * Approximate size of the message in bytes.
+     */
+    @Param({"1024", "102400", "10485760"})
+    public int size;
+
+    /**
+     * Whether the message is held in a direct buffer.
+     */
+    @Param({"false", "true"})
+    public boolean direct;
+
+    private final NetconfXMLToMessageDecoder decoder = new NetconfXMLToMessageDecoder();
+    private final List<Object> out = new ArrayList<>(1);
+    private ByteBuf message;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder sb = new StringBuilder(size + 256).append(REPLY_START);
+        for (int i = 0; sb.length() < size - REPLY_END.length(); ++i) {
+            sb.append("<interface><name>eth").append(i).append("</name><description>Benchmark interface number ")
+                .append(i).append("</description><mtu>1500</mtu><enabled>true</enabled></interface>");
+        }
+        final byte[] bytes = sb.append(REPLY_END).toString().getBytes(StandardCharsets.UTF_8);
+
+        message = direct ? PooledByteBufAllocator.DEFAULT.directBuffer(bytes.length)
+                : PooledByteBufAllocator.DEFAULT.heapBuffer(bytes.length);
+        message.writeBytes(bytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        message.release();
+    }
+
+    @Setup(Level.Invocation)
+    public void rewind() {
+        message.readerIndex(0);
+        out.clear();
+    }
+
+    @Benchmark
+    public Document inputStream() throws Exception {
+        return XmlUtil.readXmlToDocument(new ByteBufInputStream(message));
+    }
+
+    @Benchmark
+    public List<Object> decoder() throws Exception {
+        decoder.decode(null, message, out);
+        return out;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NetconfXMLToMessageDecoderBenchmark.class.getSimpleName()).build())
+            .run();
+    }
+}
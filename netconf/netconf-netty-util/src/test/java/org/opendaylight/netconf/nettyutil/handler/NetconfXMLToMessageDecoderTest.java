@@ -9,11 +9,15 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import org.junit.Test;
+import org.opendaylight.netconf.api.NetconfMessage;
 import org.xml.sax.SAXParseException;
 
 public class NetconfXMLToMessageDecoderTest {
@@ -87,5 +91,32 @@ public class NetconfXMLToMessageDecoderTest {
                 out);
         assertEquals(1, out.size());
     }
-}
 
+    @Test
+    public void testDecodeDirectBuffer() throws Exception {
+        final ByteBuf in = Unpooled.directBuffer();
+        in.writeBytes(" \n<msg xmlns=\"urn:test\">text</msg>".getBytes(StandardCharsets.UTF_8));
+
+        final ArrayList<Object> out = Lists.newArrayList();
+        new NetconfXMLToMessageDecoder().decode(null, in, out);
+        assertEquals(1, out.size());
+        assertEquals("urn:test", ((NetconfMessage) out.get(0)).getDocument().getDocumentElement().getNamespaceURI());
+        assertFalse(in.isReadable());
+        in.release();
+    }
+
+    @Test
+    public void testDecodeSlicedHeapBuffer() throws Exception {
+        /* Test that a buffer which does not start at its backing array's beginning is parsed from the right offset
+         * and is fully consumed.
+         */
+        final ByteBuf in = Unpooled.wrappedBuffer("<ignored/>\r\n<msg>text</msg>".getBytes(StandardCharsets.UTF_8))
+                .slice(10, 17);
+
+        final ArrayList<Object> out = Lists.newArrayList();
+        new NetconfXMLToMessageDecoder().decode(null, in, out);
+        assertEquals(1, out.size());
+        assertEquals("text", ((NetconfMessage) out.get(0)).getDocument().getDocumentElement().getTextContent());
+        assertFalse(in.isReadable());
+    }
+}
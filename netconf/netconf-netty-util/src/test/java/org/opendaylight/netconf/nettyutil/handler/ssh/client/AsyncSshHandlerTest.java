@@ -18,7 +18,6 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
@@ -53,7 +52,6 @@ import org.apache.sshd.common.io.IoWriteFuture;
 import org.apache.sshd.common.util.Buffer;
 import org.junit.After;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.Matchers;
 import org.mockito.Mock;
@@ -367,7 +365,6 @@ public class AsyncSshHandlerTest {
         verify(secondWritePromise).setSuccess();
     }
 
-    @Ignore("Pending queue is not limited")
     @Test
     public void testWritePendingMax() throws Exception {
         asyncSshHandler.connect(ctx, remoteAddress, localAddress, promise);
@@ -390,14 +387,26 @@ public class AsyncSshHandlerTest {
         final ListenableFuture<SshFutureListener<IoWriteFuture>> firstWriteListenerFuture = stubAddListener(ioWriteFuture);
         asyncSshHandler.write(ctx, Unpooled.copiedBuffer(new byte[]{0,1,2,3,4,5}), firstWritePromise);
 
-        final ChannelPromise secondWritePromise = getMockedPromise();
         // now make write throw pending exception
         doThrow(org.apache.sshd.common.io.WritePendingException.class).when(asyncIn).write(any(Buffer.class));
-        for (int i = 0; i < 1001; i++) {
-            asyncSshHandler.write(ctx, Unpooled.copiedBuffer(new byte[]{0, 1, 2, 3, 4, 5}), secondWritePromise);
+        final byte[] chunk = new byte[AsyncSshHandlerWriter.MAX_PENDING_BYTES / 4];
+        final ChannelPromise[] pendingWritePromises = new ChannelPromise[5];
+        for (int i = 0; i < pendingWritePromises.length; i++) {
+            pendingWritePromises[i] = getMockedPromise();
+            asyncSshHandler.write(ctx, Unpooled.wrappedBuffer(chunk), pendingWritePromises[i]);
+        }
+
+        // limit is exceeded by the fourth write, the next one closes the session instead of failing only some chunks
+        // of a message
+        for (final ChannelPromise pendingWritePromise : pendingWritePromises) {
+            verify(pendingWritePromise).setFailure(any(Throwable.class));
         }
+        verify(channel).close();
+        verifyZeroInteractions(firstWritePromise);
 
-        verify(secondWritePromise, times(1)).setFailure(any(Throwable.class));
+        final ChannelPromise afterCloseWritePromise = getMockedPromise();
+        asyncSshHandler.write(ctx, Unpooled.copiedBuffer(new byte[]{0, 1, 2, 3, 4, 5}), afterCloseWritePromise);
+        verify(afterCloseWritePromise).setFailure(any(Throwable.class));
     }
 
     @Test
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.nettyutil.handler.ssh.client;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.sshd.common.future.SshFutureListener;
+import org.apache.sshd.common.io.IoOutputStream;
+import org.apache.sshd.common.io.IoWriteFuture;
+import org.apache.sshd.common.util.Buffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncSshHandlerWriterTest {
+
+    private final List<Buffer> written = new ArrayList<>();
+    private final List<SshFutureListener<IoWriteFuture>> writeListeners = new ArrayList<>();
+
+    private IoOutputStream asyncIn;
+    private IoWriteFuture writeFuture;
+    private Channel channel;
+    private ChannelHandlerContext ctx;
+    private AsyncSshHandlerWriter writer;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        // Every write stays in progress until its listener is invoked by the test
+        writeFuture = mock(IoWriteFuture.class);
+        doReturn(true).when(writeFuture).isWritten();
+        doAnswer(invocation -> {
+            writeListeners.add((SshFutureListener<IoWriteFuture>) invocation.getArguments()[0]);
+            return writeFuture;
+        }).when(writeFuture).addListener(any(SshFutureListener.class));
+
+        asyncIn = mock(IoOutputStream.class);
+        doReturn(false).when(asyncIn).isClosed();
+        doReturn(false).when(asyncIn).isClosing();
+        doAnswer(invocation -> {
+            written.add((Buffer) invocation.getArguments()[0]);
+            return writeFuture;
+        }).when(asyncIn).write(any(Buffer.class));
+
+        channel = new EmbeddedChannel();
+        ctx = mock(ChannelHandlerContext.class);
+        doReturn(channel).when(ctx).channel();
+
+        writer = new AsyncSshHandlerWriter(asyncIn);
+    }
+
+    @Test
+    public void testWritesQueuedWhileWritingAreMerged() throws Exception {
+        final ChannelPromise firstPromise = channel.newPromise();
+        writer.write(ctx, message(0, 1, 2), firstPromise);
+        assertEquals(1, written.size());
+
+        final ChannelPromise secondPromise = channel.newPromise();
+        final ChannelPromise thirdPromise = channel.newPromise();
+        final ByteBuf second = message(3, 4);
+        final ByteBuf third = message(5);
+        writer.write(ctx, second, secondPromise);
+        writer.write(ctx, third, thirdPromise);
+
+        // first write is still in progress
+        assertEquals(1, written.size());
+        assertFalse(secondPromise.isDone());
+        assertFalse(thirdPromise.isDone());
+
+        writeListeners.get(0).operationComplete(writeFuture);
+        assertTrue(firstPromise.isSuccess());
+
+        // both queued messages go out in a single ssh write
+        assertEquals(2, written.size());
+        assertArrayEquals(new byte[]{3, 4, 5}, written.get(1).getCompactData());
+        assertFalse(secondPromise.isDone());
+
+        writeListeners.get(1).operationComplete(writeFuture);
+        assertTrue(secondPromise.isSuccess());
+        assertTrue(thirdPromise.isSuccess());
+        assertEquals(0, second.refCnt());
+        assertEquals(0, third.refCnt());
+    }
+
+    @Test
+    public void testMergedWriteFailureFailsAllRequests() throws Exception {
+        writer.write(ctx, message(0), channel.newPromise());
+
+        final ChannelPromise secondPromise = channel.newPromise();
+        final ChannelPromise thirdPromise = channel.newPromise();
+        writer.write(ctx, message(1), secondPromise);
+        writer.write(ctx, message(2), thirdPromise);
+        writeListeners.get(0).operationComplete(writeFuture);
+
+        doReturn(false).when(writeFuture).isWritten();
+        doReturn(new IllegalStateException("Write failed")).when(writeFuture).getException();
+        writeListeners.get(1).operationComplete(writeFuture);
+
+        assertFalse(secondPromise.isSuccess());
+        assertFalse(thirdPromise.isSuccess());
+        assertTrue(secondPromise.cause() instanceof IllegalStateException);
+        assertTrue(thirdPromise.cause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testMessageOverHighWaterMarkIsDelivered() throws Exception {
+        final ChannelPromise firstPromise = channel.newPromise();
+        writer.write(ctx, message(0), firstPromise);
+
+        final byte[] content = new byte[AsyncSshHandlerWriter.HIGH_WATER_MARK * 2];
+        content[content.length - 1] = 1;
+        final ChannelPromise largePromise = channel.newPromise();
+        writer.write(ctx, Unpooled.wrappedBuffer(content), largePromise);
+
+        // producers are asked to stop, the message itself is kept
+        assertFalse(channel.isWritable());
+        assertFalse(writer.isWritable());
+        assertTrue(channel.isOpen());
+        assertFalse(largePromise.isDone());
+
+        writeListeners.get(0).operationComplete(writeFuture);
+        assertTrue(firstPromise.isSuccess());
+        assertEquals(2, written.size());
+        assertArrayEquals(content, written.get(1).getCompactData());
+        assertFalse(channel.isWritable());
+
+        writeListeners.get(1).operationComplete(writeFuture);
+        assertTrue(largePromise.isSuccess());
+        assertTrue(channel.isWritable());
+        assertTrue(writer.isWritable());
+    }
+
+    @Test
+    public void testPendingLimitClosesSession() throws Exception {
+        final ChannelPromise firstPromise = channel.newPromise();
+        writer.write(ctx, message(0), firstPromise);
+
+        // the limit is checked before queueing, the write following the one exceeding it closes the session
+        final byte[] chunk = new byte[AsyncSshHandlerWriter.MAX_PENDING_BYTES / 2];
+        final List<ChannelPromise> pendingPromises = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final ChannelPromise pendingPromise = channel.newPromise();
+            writer.write(ctx, Unpooled.wrappedBuffer(chunk), pendingPromise);
+            assertFalse(pendingPromise.isDone());
+            pendingPromises.add(pendingPromise);
+        }
+        assertTrue(channel.isOpen());
+        assertFalse(channel.isWritable());
+
+        final ChannelPromise lastPromise = channel.newPromise();
+        final ByteBuf last = Unpooled.wrappedBuffer(chunk);
+        writer.write(ctx, last, lastPromise);
+
+        // all queued requests fail at once and the session goes down, no message is sent with chunks missing
+        for (final ChannelPromise pendingPromise : pendingPromises) {
+            assertFalse(pendingPromise.isSuccess());
+        }
+        assertFalse(lastPromise.isSuccess());
+        assertEquals(0, last.refCnt());
+        assertFalse(channel.isOpen());
+
+        writeListeners.get(0).operationComplete(writeFuture);
+        assertTrue(firstPromise.isSuccess());
+        verify(asyncIn, times(1)).write(any(Buffer.class));
+
+        final ChannelPromise afterClosePromise = channel.newPromise();
+        writer.write(ctx, message(1), afterClosePromise);
+        assertFalse(afterClosePromise.isSuccess());
+    }
+
+    private static ByteBuf message(final int... bytes) {
+        final ByteBuf msg = Unpooled.buffer(bytes.length);
+        for (final int b : bytes) {
+            msg.writeByte(b);
+        }
+        return msg;
+    }
+}
@@ -9,15 +9,30 @@
 package org.opendaylight.netconf.notifications.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import org.opendaylight.netconf.notifications.BaseNotificationPublisherRegistration;
@@ -43,6 +58,11 @@ import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Notification manager which fans out notifications from publishers to registered listeners. Publishing does not
+ * take any lock: each listener has its own bounded queue, which is drained on an executor, so a slow listener
+ * delays only its own notifications. Notifications which do not fit into a full queue are dropped and counted.
+ */
 @ThreadSafe
 public class NetconfNotificationManager implements NetconfNotificationCollector, NetconfNotificationRegistry, NetconfNotificationListener, AutoCloseable {
 
@@ -60,11 +80,19 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfNotificationManager.class);
 
-    // TODO excessive synchronization provides thread safety but is most likely not optimal (combination of concurrent collections might improve performance)
-    // And also calling callbacks from a synchronized block is dangerous since the listeners/publishers can block the whole notification processing
+    // Number of notifications which can be waiting for delivery to a single listener
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
 
-    @GuardedBy("this")
-    private final Multimap<StreamNameType, GenericNotificationListenerReg> notificationListeners = HashMultimap.create();
+    // Number of threads delivering notifications, a listener occupies at most one of them at a time
+    private static final int DEFAULT_DELIVERY_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final ConcurrentMap<StreamNameType, Set<GenericNotificationListenerReg>> notificationListeners =
+            new ConcurrentHashMap<>();
+
+    private final Executor deliveryExecutor;
+    private final ExecutorService ownedExecutor;
+    private final int queueCapacity;
+    private final LongAdder droppedNotifications = new LongAdder();
 
     @GuardedBy("this")
     private final Set<NetconfNotificationStreamListener> streamListeners = Sets.newHashSet();
@@ -78,20 +106,48 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     @GuardedBy("this")
     private final Set<GenericNotificationPublisherReg> notificationPublishers = Sets.newHashSet();
 
+    /*
+     * Stream (un)registrations queued in the order they happened under the monitor. Stream listeners are invoked
+     * without holding the monitor, by one thread at a time, so that they see the events in the same order.
+     */
+    private final Queue<Runnable> streamEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean deliveringStreamEvents = new AtomicBoolean();
+
+    public NetconfNotificationManager() {
+        this.ownedExecutor = Executors.newFixedThreadPool(DEFAULT_DELIVERY_THREADS, new ThreadFactoryBuilder()
+                .setNameFormat("netconf-notification-%d").setDaemon(true).build());
+        this.deliveryExecutor = ownedExecutor;
+        this.queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    }
+
+    /**
+     * Create a manager delivering notifications on an external executor.
+     *
+     * @param deliveryExecutor executor used to deliver notifications to listeners
+     * @param queueCapacity maximum number of notifications waiting for delivery to a single listener
+     */
+    public NetconfNotificationManager(final Executor deliveryExecutor, final int queueCapacity) {
+        Preconditions.checkArgument(queueCapacity > 0, "Queue capacity must be positive, was %s", queueCapacity);
+        this.deliveryExecutor = Preconditions.checkNotNull(deliveryExecutor);
+        this.ownedExecutor = null;
+        this.queueCapacity = queueCapacity;
+    }
+
     @Override
-    public synchronized void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+    public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
         LOG.debug("Notification of type {} detected", stream);
         if (LOG.isTraceEnabled()) {
             LOG.debug("Notification of type {} detected: {}", stream, notification);
         }
 
-        for (final GenericNotificationListenerReg listenerReg : notificationListeners.get(BASE_STREAM_NAME)) {
-            listenerReg.getListener().onNotification(BASE_STREAM_NAME, notification);
+        for (final GenericNotificationListenerReg listenerReg :
+                notificationListeners.getOrDefault(BASE_STREAM_NAME, Collections.emptySet())) {
+            listenerReg.enqueue(notification);
         }
     }
 
     @Override
-    public synchronized NotificationListenerRegistration registerNotificationListener(final StreamNameType stream, final NetconfNotificationListener listener) {
+    public NotificationListenerRegistration registerNotificationListener(final StreamNameType stream, final NetconfNotificationListener listener) {
         Preconditions.checkNotNull(stream);
         Preconditions.checkNotNull(listener);
 
@@ -100,17 +156,25 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         final GenericNotificationListenerReg genericNotificationListenerReg = new GenericNotificationListenerReg(listener) {
             @Override
             public void close() {
-                synchronized (NetconfNotificationManager.this) {
-                    LOG.trace("Notification listener unregistered for stream: {}", stream);
-                    super.close();
-                }
+                LOG.trace("Notification listener unregistered for stream: {}", stream);
+                super.close();
             }
         };
 
-        notificationListeners.put(BASE_STREAM_NAME, genericNotificationListenerReg);
+        notificationListeners.computeIfAbsent(BASE_STREAM_NAME, k -> new CopyOnWriteArraySet<>())
+                .add(genericNotificationListenerReg);
         return genericNotificationListenerReg;
     }
 
+    /**
+     * Get the number of notifications which were not delivered because the queue of a listener was full.
+     *
+     * @return number of dropped notifications
+     */
+    public long getDroppedNotifications() {
+        return droppedNotifications.sum();
+    }
+
     @Override
     public synchronized Streams getNotificationPublishers() {
         return new StreamsBuilder().setStream(Lists.newArrayList(streamMetadata.values())).build();
@@ -122,13 +186,19 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     }
 
     @Override
-    public synchronized NotificationRegistration registerStreamListener(final NetconfNotificationStreamListener listener) {
-        streamListeners.add(listener);
-
-        // Notify about all already available
-        for (final Stream availableStream : streamMetadata.values()) {
-            listener.onStreamRegistered(availableStream);
+    public NotificationRegistration registerStreamListener(final NetconfNotificationStreamListener listener) {
+        synchronized (this) {
+            streamListeners.add(listener);
+
+            // Notify about all already available
+            final List<Stream> availableStreams = new ArrayList<>(streamMetadata.values());
+            streamEvents.add(() -> {
+                for (final Stream availableStream : availableStreams) {
+                    listener.onStreamRegistered(availableStream);
+                }
+            });
         }
+        deliverStreamEvents();
 
         return new NotificationRegistration() {
             @Override
@@ -141,10 +211,20 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     }
 
     @Override
-    public synchronized void close() {
+    public void close() {
+        synchronized (this) {
+            doClose();
+        }
+        deliverStreamEvents();
+    }
+
+    @GuardedBy("this")
+    private void doClose() {
         // Unregister all listeners
-        for (final GenericNotificationListenerReg genericNotificationListenerReg : notificationListeners.values()) {
-            genericNotificationListenerReg.close();
+        for (final Set<GenericNotificationListenerReg> listenerRegs : notificationListeners.values()) {
+            for (final GenericNotificationListenerReg genericNotificationListenerReg : listenerRegs) {
+                genericNotificationListenerReg.close();
+            }
         }
         notificationListeners.clear();
 
@@ -156,10 +236,24 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
 
         // Clear stream Listeners
         streamListeners.clear();
+
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
     }
 
     @Override
-    public synchronized NotificationPublisherRegistration registerNotificationPublisher(final Stream stream) {
+    public NotificationPublisherRegistration registerNotificationPublisher(final Stream stream) {
+        final NotificationPublisherRegistration registration;
+        synchronized (this) {
+            registration = doRegisterNotificationPublisher(stream);
+        }
+        deliverStreamEvents();
+        return registration;
+    }
+
+    @GuardedBy("this")
+    private NotificationPublisherRegistration doRegisterNotificationPublisher(final Stream stream) {
         Preconditions.checkNotNull(stream);
         final StreamNameType streamName = stream.getName();
 
@@ -182,6 +276,7 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
                 synchronized (NetconfNotificationManager.this) {
                     super.close();
                 }
+                deliverStreamEvents();
             }
         };
 
@@ -205,15 +300,48 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         }
     }
 
-    private synchronized void notifyStreamAdded(final Stream stream) {
-        for (final NetconfNotificationStreamListener streamListener : streamListeners) {
-            streamListener.onStreamRegistered(stream);
-        }
+    @GuardedBy("this")
+    private void notifyStreamAdded(final Stream stream) {
+        final List<NetconfNotificationStreamListener> listeners = new ArrayList<>(streamListeners);
+        streamEvents.add(() -> {
+            for (final NetconfNotificationStreamListener streamListener : listeners) {
+                streamListener.onStreamRegistered(stream);
+            }
+        });
+    }
+
+    @GuardedBy("this")
+    private void notifyStreamRemoved(final StreamNameType stream) {
+        final List<NetconfNotificationStreamListener> listeners = new ArrayList<>(streamListeners);
+        streamEvents.add(() -> {
+            for (final NetconfNotificationStreamListener streamListener : listeners) {
+                streamListener.onStreamUnregistered(stream);
+            }
+        });
     }
 
-    private synchronized void notifyStreamRemoved(final StreamNameType stream) {
-        for (final NetconfNotificationStreamListener streamListener : streamListeners) {
-            streamListener.onStreamUnregistered(stream);
+    /**
+     * Invoke stream listeners for queued stream events. If another thread is already delivering, it picks up
+     * the events queued by this one.
+     */
+    private void deliverStreamEvents() {
+        if (Thread.holdsLock(this)) {
+            // nested in a synchronized block, events are delivered once the outermost caller releases the monitor
+            return;
+        }
+        while (!streamEvents.isEmpty() && deliveringStreamEvents.compareAndSet(false, true)) {
+            try {
+                Runnable event;
+                while ((event = streamEvents.poll()) != null) {
+                    try {
+                        event.run();
+                    } catch (final RuntimeException e) {
+                        LOG.warn("Stream listener failed to process stream event", e);
+                    }
+                }
+            } finally {
+                deliveringStreamEvents.set(false);
+            }
         }
     }
 
@@ -283,20 +411,79 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         }
     }
 
-    private class GenericNotificationListenerReg implements NotificationListenerRegistration {
+    /**
+     * Listener registration with its own delivery queue. At most one task drains the queue at any time, so
+     * the listener sees notifications in the order they were published.
+     */
+    private class GenericNotificationListenerReg implements NotificationListenerRegistration, Runnable {
         private final NetconfNotificationListener listener;
+        private final Queue<NetconfNotification> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean closed;
 
         public GenericNotificationListenerReg(final NetconfNotificationListener listener) {
             this.listener = listener;
         }
 
-        public NetconfNotificationListener getListener() {
-            return listener;
+        void enqueue(final NetconfNotification notification) {
+            if (closed) {
+                return;
+            }
+
+            if (!queue.offer(notification)) {
+                droppedNotifications.increment();
+                final long droppedSoFar = dropped.incrementAndGet();
+                if (droppedSoFar == 1) {
+                    LOG.warn("Notification queue of listener {} is full, dropping notifications", listener);
+                } else {
+                    LOG.debug("Notification queue of listener {} is full, {} notifications dropped so far", listener,
+                            droppedSoFar);
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    deliveryExecutor.execute(this);
+                } catch (final RejectedExecutionException e) {
+                    LOG.warn("Failed to schedule notification delivery to listener {}", listener, e);
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                NetconfNotification notification;
+                while (!closed && (notification = queue.poll()) != null) {
+                    try {
+                        listener.onNotification(BASE_STREAM_NAME, notification);
+                    } catch (final RuntimeException e) {
+                        LOG.warn("Listener {} failed to process notification {}", listener, notification, e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+
+            // A notification may have been queued after we found the queue empty, but before we cleared the flag
+            if (!closed && !queue.isEmpty()) {
+                schedule();
+            }
         }
 
         @Override
         public void close() {
-            notificationListeners.remove(BASE_STREAM_NAME, this);
+            closed = true;
+            queue.clear();
+            final Set<GenericNotificationListenerReg> listenerRegs = notificationListeners.get(BASE_STREAM_NAME);
+            if (listenerRegs != null) {
+                listenerRegs.remove(this);
+            }
         }
     }
 }
@@ -9,20 +9,26 @@
 package org.opendaylight.netconf.notifications.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -139,7 +145,8 @@ public class NetconfNotificationManagerTest {
 
     @Test
     public void testNotificationListeners() throws Exception {
-        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager();
+        final NetconfNotificationManager netconfNotificationManager =
+                new NetconfNotificationManager(MoreExecutors.directExecutor(), 16);
         final BaseNotificationPublisherRegistration baseNotificationPublisherRegistration =
                 netconfNotificationManager.registerBaseNotificationPublisher();
 
@@ -159,6 +166,57 @@ public class NetconfNotificationManagerTest {
         verifyNoMoreInteractions(listener);
     }
 
+    @Test
+    public void testAsynchronousDelivery() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager();
+        final BaseNotificationPublisherRegistration baseNotificationPublisherRegistration =
+                netconfNotificationManager.registerBaseNotificationPublisher();
+
+        final NetconfNotificationListener listener = mock(NetconfNotificationListener.class);
+        doNothing().when(listener).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
+        netconfNotificationManager.registerNotificationListener(NetconfNotificationManager.BASE_NETCONF_STREAM.getName(), listener);
+
+        final NetconfCapabilityChange notification = new NetconfCapabilityChangeBuilder().build();
+        baseNotificationPublisherRegistration.onCapabilityChanged(notification);
+        baseNotificationPublisherRegistration.onCapabilityChanged(notification);
+
+        verify(listener, timeout(5000).times(2)).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
+        netconfNotificationManager.close();
+    }
+
+    @Test
+    public void testSlowListenerOverflow() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(tasks::add, 2);
+        final BaseNotificationPublisherRegistration baseNotificationPublisherRegistration =
+                netconfNotificationManager.registerBaseNotificationPublisher();
+
+        final NetconfNotificationListener slowListener = mock(NetconfNotificationListener.class);
+        final NetconfNotificationListener otherListener = mock(NetconfNotificationListener.class);
+        netconfNotificationManager.registerNotificationListener(NetconfNotificationManager.BASE_NETCONF_STREAM.getName(), slowListener);
+
+        final NetconfCapabilityChange notification = new NetconfCapabilityChangeBuilder().build();
+        for (int i = 0; i < 3; ++i) {
+            baseNotificationPublisherRegistration.onCapabilityChanged(notification);
+        }
+
+        // Nothing was delivered yet, the queue holds 2 notifications and the third one was dropped
+        assertEquals(1, tasks.size());
+        assertEquals(1, netconfNotificationManager.getDroppedNotifications());
+        verifyNoMoreInteractions(slowListener);
+
+        netconfNotificationManager.registerNotificationListener(NetconfNotificationManager.BASE_NETCONF_STREAM.getName(), otherListener);
+        baseNotificationPublisherRegistration.onCapabilityChanged(notification);
+        assertEquals(2, tasks.size());
+        assertEquals(2, netconfNotificationManager.getDroppedNotifications());
+
+        for (final Runnable task : tasks) {
+            task.run();
+        }
+        verify(slowListener, times(2)).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
+        verify(otherListener).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
+    }
+
     @Test
     public void testClose() throws Exception {
         final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager();
@@ -212,4 +270,29 @@ public class NetconfNotificationManagerTest {
 
         verify(streamListener).onStreamUnregistered(NetconfNotificationManager.BASE_STREAM_NAME);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStreamListenersInvokedWithoutLock() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager();
+
+        final NetconfNotificationCollector.NetconfNotificationStreamListener streamListener = mock(NetconfNotificationCollector.NetconfNotificationStreamListener.class);
+        doAnswer(invocation -> {
+            assertFalse(Thread.holdsLock(netconfNotificationManager));
+            return null;
+        }).when(streamListener).onStreamRegistered(any(Stream.class));
+        doAnswer(invocation -> {
+            assertFalse(Thread.holdsLock(netconfNotificationManager));
+            return null;
+        }).when(streamListener).onStreamUnregistered(any(StreamNameType.class));
+
+        final BaseNotificationPublisherRegistration baseNotificationPublisherRegistration =
+                netconfNotificationManager.registerBaseNotificationPublisher();
+        netconfNotificationManager.registerStreamListener(streamListener);
+        baseNotificationPublisherRegistration.close();
+        netconfNotificationManager.registerBaseNotificationPublisher();
+        netconfNotificationManager.close();
+
+        verify(streamListener, times(2)).onStreamRegistered(NetconfNotificationManager.BASE_NETCONF_STREAM);
+        verify(streamListener, times(2)).onStreamUnregistered(NetconfNotificationManager.BASE_STREAM_NAME);
+    }
+}
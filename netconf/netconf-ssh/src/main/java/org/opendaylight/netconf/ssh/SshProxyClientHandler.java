@@ -84,6 +84,18 @@ final class SshProxyClientHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
         asyncSshHandlerWriter.write(ctx, msg, ctx.newPromise());
+        if (!asyncSshHandlerWriter.isWritable()) {
+            // Remote client does not keep up, stop reading from the delegate server until it catches up
+            ctx.channel().config().setAutoRead(false);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        // Fired by the ssh writer once its pending writes cross the water marks. Writability of the channel reflects
+        // writes to the delegate server as well, only the ssh side is relevant for reading from the delegate.
+        ctx.channel().config().setAutoRead(asyncSshHandlerWriter.isWritable());
+        super.channelWritabilityChanged(ctx);
     }
 
     @Override
@@ -9,8 +9,10 @@
 package org.opendaylight.netconf.topology.singleton.api;
 
 import akka.actor.ActorRef;
+import java.util.List;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.TransactionRequest;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
 /**
@@ -38,6 +40,14 @@ public interface RemoteOperationTxProcessor {
      */
     void doSubmit(ActorRef recipient, ActorRef sender);
 
+    /**
+     * Apply write operations of a transaction and commit it. Fails if another transaction is opened.
+     * @param writes put, merge and delete requests of the transaction in the order they were issued
+     * @param recipient recipient of submit result
+     * @param sender sender of submit result
+     */
+    void doSubmitBatch(List<TransactionRequest> writes, ActorRef recipient, ActorRef sender);
+
     /**
      * Cancel operation
      * @param recipient recipient of cancel result
@@ -145,7 +145,9 @@ class MasterSalFacade implements AutoCloseable, RemoteDeviceHandler<NetconfSessi
         // on leader node would be same as on follower node
         final NetconfDOMTransaction proxyDOMTransation =
                 new NetconfProxyDOMTransaction(id, actorSystem, masterActorRef, actorResponseWaitTime);
-        final NetconfDOMDataBroker proxyDataBroker = new NetconfDOMDataBroker(actorSystem, id, proxyDOMTransation);
+        // Proxy buffers writes of a single transaction, each write transaction gets its own
+        final NetconfDOMDataBroker proxyDataBroker = new NetconfDOMDataBroker(actorSystem, id, proxyDOMTransation,
+                () -> new NetconfProxyDOMTransaction(id, actorSystem, masterActorRef, actorResponseWaitTime));
         salProvider.getMountInstance()
                 .onTopologyDeviceConnected(remoteSchemaContext, proxyDataBroker, deviceRpc, notificationService);
     }
@@ -11,6 +11,7 @@ package org.opendaylight.netconf.topology.singleton.impl;
 import akka.actor.ActorSystem;
 import java.util.Collections;
 import java.util.Map;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
@@ -33,12 +34,28 @@ public class NetconfDOMDataBroker implements DOMDataBroker {
 
     private final RemoteDeviceId id;
     private final NetconfDOMTransaction masterDataBroker;
+    private final Supplier<NetconfDOMTransaction> writeDelegates;
     private final ActorSystem actorSystem;
 
     public NetconfDOMDataBroker(final ActorSystem actorSystem, final RemoteDeviceId id,
                          final NetconfDOMTransaction masterDataBroker) {
+        this(actorSystem, id, masterDataBroker, () -> masterDataBroker);
+    }
+
+    /**
+     * Create a data broker which uses a separate delegate for each write transaction.
+     *
+     * @param actorSystem actor system
+     * @param id device id
+     * @param masterDataBroker delegate of read transactions
+     * @param writeDelegates supplier of delegates of write transactions, invoked once per transaction
+     */
+    public NetconfDOMDataBroker(final ActorSystem actorSystem, final RemoteDeviceId id,
+                         final NetconfDOMTransaction masterDataBroker,
+                         final Supplier<NetconfDOMTransaction> writeDelegates) {
         this.id = id;
         this.masterDataBroker = masterDataBroker;
+        this.writeDelegates = writeDelegates;
         this.actorSystem = actorSystem;
     }
 
@@ -50,12 +67,12 @@ public class NetconfDOMDataBroker implements DOMDataBroker {
     @Override
     public DOMDataReadWriteTransaction newReadWriteTransaction() {
         return new ReadWriteTx(new NetconfReadOnlyTransaction(id, actorSystem, masterDataBroker),
-                new NetconfWriteOnlyTransaction(id, actorSystem, masterDataBroker));
+                new NetconfWriteOnlyTransaction(id, actorSystem, writeDelegates.get()));
     }
 
     @Override
     public DOMDataWriteTransaction newWriteOnlyTransaction() {
-        return new NetconfWriteOnlyTransaction(id, actorSystem, masterDataBroker);
+        return new NetconfWriteOnlyTransaction(id, actorSystem, writeDelegates.get());
     }
 
     @Override
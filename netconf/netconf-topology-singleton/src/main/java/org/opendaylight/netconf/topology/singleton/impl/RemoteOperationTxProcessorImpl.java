@@ -14,6 +14,7 @@ import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import java.util.List;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
@@ -24,9 +25,13 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.api.RemoteOperationTxProcessor;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitFailedReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitReply;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.TransactionRequest;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
@@ -76,6 +81,7 @@ public class RemoteOperationTxProcessorImpl implements RemoteOperationTxProcesso
         currentUser = null;
         if (writeTx != null) {
             CheckedFuture<Void, TransactionCommitFailedException> submitFuture = writeTx.submit();
+            writeTx = null;
             Futures.addCallback(submitFuture, new FutureCallback<Void>() {
                 @Override
                 public void onSuccess(Void result) {
@@ -93,12 +99,41 @@ public class RemoteOperationTxProcessorImpl implements RemoteOperationTxProcesso
         }
     }
 
+    @Override
+    public void doSubmitBatch(final List<TransactionRequest> writes, final ActorRef recipient,
+                              final ActorRef sender) {
+        if (currentUser != null) {
+            LOG.error("{}: Submitting a transaction of {} failed.", id, recipient);
+            recipient.tell(new Status.Failure(
+                    new IllegalStateException("Transaction is already opened for another user")), sender);
+            return;
+        }
+
+        LOG.debug("{}: Submitting a transaction of {} with {} operations", id, recipient, writes.size());
+        for (final TransactionRequest write : writes) {
+            if (write instanceof PutRequest) {
+                final PutRequest putRequest = (PutRequest) write;
+                doPut(putRequest.getStore(), putRequest.getNormalizedNodeMessage());
+            } else if (write instanceof MergeRequest) {
+                final MergeRequest mergeRequest = (MergeRequest) write;
+                doMerge(mergeRequest.getStore(), mergeRequest.getNormalizedNodeMessage());
+            } else if (write instanceof DeleteRequest) {
+                final DeleteRequest deleteRequest = (DeleteRequest) write;
+                doDelete(deleteRequest.getStore(), deleteRequest.getPath());
+            } else {
+                LOG.warn("{}: Ignoring unexpected operation {} in a submitted transaction", id, write);
+            }
+        }
+        doSubmit(recipient, sender);
+    }
+
     @Override
     public void doCancel(final ActorRef recipient, final ActorRef sender) {
         currentUser = null;
         boolean cancel = false;
         if (writeTx != null) {
             cancel = writeTx.cancel();
+            writeTx = null;
         }
         recipient.tell(cancel, sender);
 
@@ -56,8 +56,10 @@ public class SlaveSalFacade {
         final NetconfDOMTransaction proxyDOMTransactions =
                 new NetconfProxyDOMTransaction(id, actorSystem, masterActorRef, actorResponseWaitTime);
 
-        final NetconfDOMDataBroker netconfDeviceDataBroker =
-                new NetconfDOMDataBroker(actorSystem, id, proxyDOMTransactions);
+        // Proxy buffers writes of a single transaction, each write transaction gets its own
+        final NetconfDOMDataBroker netconfDeviceDataBroker = new NetconfDOMDataBroker(actorSystem, id,
+                proxyDOMTransactions,
+                () -> new NetconfProxyDOMTransaction(id, actorSystem, masterActorRef, actorResponseWaitTime));
 
         salProvider.getMountInstance().onTopologyDeviceConnected(remoteSchemaContext, netconfDeviceDataBroker,
                 deviceRpc, notificationService);
@@ -50,6 +50,7 @@ import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRe
 import org.opendaylight.netconf.topology.singleton.messages.transactions.OpenTransaction;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitBatchRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.TransactionRequest;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -186,6 +187,11 @@ public class NetconfNodeActor extends UntypedActor {
         } else if (message instanceof SubmitRequest) {
 
             operationsProcessor.doSubmit(recipient, futureSender);
+
+        } else if (message instanceof SubmitBatchRequest) {
+
+            final SubmitBatchRequest submitRequest = (SubmitBatchRequest) message;
+            operationsProcessor.doSubmitBatch(submitRequest.getWrites(), recipient, futureSender);
         }
     }
 
@@ -11,33 +11,40 @@ package org.opendaylight.netconf.topology.singleton.impl.tx;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.dispatch.OnComplete;
+import akka.pattern.AskTimeoutException;
 import akka.pattern.Patterns;
 import akka.util.Timeout;
 import com.google.common.base.Optional;
-import com.google.common.base.Throwables;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.api.NetconfDOMTransaction;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
-import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ExistsRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRequest;
-import org.opendaylight.netconf.topology.singleton.messages.transactions.OpenTransaction;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitFailedReply;
-import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitBatchRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.TransactionRequest;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import scala.concurrent.Await;
 import scala.concurrent.Future;
 import scala.concurrent.impl.Promise.DefaultPromise;
 
 
+/**
+ * Proxy of transactions opened on the master node of a mount point. None of the operations blocks the caller.
+ * Reads are sent to the master right away, writes are collected locally and sent to the master on submit, in one
+ * message together with the submit request. A transaction which was cancelled therefore never reaches the master.
+ * An instance holds the writes of a single transaction at a time, so each write transaction needs its own instance.
+ */
 public class NetconfProxyDOMTransaction implements NetconfDOMTransaction {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfProxyDOMTransaction.class);
@@ -47,6 +54,9 @@ public class NetconfProxyDOMTransaction implements NetconfDOMTransaction {
     private final ActorRef masterContextRef;
     private final Timeout actorResponseWaitTime;
 
+    // Write operations of the currently opened transaction, null if there is none, guarded by this
+    private List<TransactionRequest> pendingWrites;
+
     public NetconfProxyDOMTransaction(final RemoteDeviceId id,
                                       final ActorSystem actorSystem,
                                       final ActorRef masterContextRef,
@@ -58,21 +68,12 @@ public class NetconfProxyDOMTransaction implements NetconfDOMTransaction {
     }
 
     @Override
-    public void openTransaction() {
-        // TODO we can do some checking for already opened transaction also
-        // here in this class. We can track open transaction at least for this
-        // node.
-        LOG.debug("{}: Requesting leader {} to open new transaction", id, masterContextRef);
-        final Future<Object> openTxFuture =
-                Patterns.ask(masterContextRef, new OpenTransaction(), actorResponseWaitTime);
-        try {
-            // we have to wait here so we can see if tx can be opened
-            Await.result(openTxFuture, actorResponseWaitTime.duration());
-            LOG.debug("{}: New transaction opened successfully", id);
-        } catch (final Exception e) {
-            LOG.error("{}: Failed to open new transaction", id, e);
-            Throwables.propagate(e);
-        }
+    public synchronized void openTransaction() {
+        // The transaction is opened on the master only once it is submitted
+        Preconditions.checkState(pendingWrites == null, "%s: Previous transaction was not submitted or cancelled",
+                id);
+        LOG.debug("{}: New transaction opened", id);
+        pendingWrites = new ArrayList<>();
     }
 
     @Override
@@ -90,12 +91,7 @@ public class NetconfProxyDOMTransaction implements NetconfDOMTransaction {
             @Override
             public void onComplete(final Throwable failure, final Object success) throws Throwable {
                 if (failure != null) { // ask timeout
-                    final Exception exception = new DocumentedException(
-                            id + ":Master is down. Please try again.",
-                            DocumentedException.ErrorType.TRANSPORT,
-                            DocumentedException.ErrorTag.RESOURCE_DENIED,
-                            DocumentedException.ErrorSeverity.ERROR);
-                    promise.failure(exception);
+                    promise.failure(masterIsDown());
                     return;
                 }
                 if (success instanceof Throwable) { // Error sended by master
@@ -125,12 +121,7 @@ public class NetconfProxyDOMTransaction implements NetconfDOMTransaction {
             @Override
             public void onComplete(final Throwable failure, final Object success) throws Throwable {
                 if (failure != null) { // ask timeout
-                    final Exception exception = new DocumentedException(
-                            id + ":Master is down. Please try again.",
-                            DocumentedException.ErrorType.TRANSPORT,
-                            DocumentedException.ErrorTag.RESOURCE_DENIED,
-                            DocumentedException.ErrorSeverity.ERROR);
-                    promise.failure(exception);
+                    promise.failure(masterIsDown());
                     return;
                 }
                 if (success instanceof Throwable) {
@@ -147,57 +138,65 @@ public class NetconfProxyDOMTransaction implements NetconfDOMTransaction {
     public void put(final LogicalDatastoreType store, final NormalizedNodeMessage data) {
         LOG.trace("{}: Write {} via NETCONF: {} with payload {}", id, store, data.getIdentifier(), data.getNode());
 
-        masterContextRef.tell(new PutRequest(store, data), ActorRef.noSender());
+        addWrite(new PutRequest(store, data));
     }
 
     @Override
     public void merge(final LogicalDatastoreType store, final NormalizedNodeMessage data) {
         LOG.trace("{}: Merge {} via NETCONF: {} with payload {}", id, store, data.getIdentifier(), data.getNode());
 
-        masterContextRef.tell(new MergeRequest(store, data), ActorRef.noSender());
+        addWrite(new MergeRequest(store, data));
     }
 
     @Override
     public void delete(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         LOG.trace("{}: Delete {} via NETCONF: {}", id, store, path);
 
-        masterContextRef.tell(new DeleteRequest(store, path), ActorRef.noSender());
+        addWrite(new DeleteRequest(store, path));
     }
 
+    /**
+     * Discard write operations of the opened transaction. Nothing was sent to the master yet, so this does not
+     * involve the master at all.
+     *
+     * @return true if the transaction was cancelled, false if it was already submitted or cancelled
+     */
     @Override
     public boolean cancel() {
-        final Future<Object> cancelScalaFuture =
-                Patterns.ask(masterContextRef, new CancelRequest(), actorResponseWaitTime);
+        final List<TransactionRequest> writes = takePendingWrites();
 
-        LOG.trace("{}: Cancel {} via NETCONF", id);
+        LOG.trace("{}: Cancel via NETCONF", id);
 
-        try {
-            // here must be Await because AsyncWriteTransaction do not return future
-            return (boolean) Await.result(cancelScalaFuture, actorResponseWaitTime.duration());
-        } catch (Exception e) {
-            return false;
-        }
+        return writes != null;
     }
 
     @Override
     public Future<Void> submit() {
-        final Future<Object> submitScalaFuture =
-                Patterns.ask(masterContextRef, new SubmitRequest(), actorResponseWaitTime);
+        final List<TransactionRequest> writes = takePendingWrites();
 
-        LOG.trace("{}: Submit {} via NETCONF", id);
+        LOG.trace("{}: Submit via NETCONF", id);
 
         final DefaultPromise<Void> promise = new DefaultPromise<>();
+        if (writes == null || writes.isEmpty()) {
+            // Nothing to write, do not bother the master
+            LOG.debug("{}: Transaction without write operations submitted", id);
+            promise.success(null);
+            return promise.future();
+        }
+
+        LOG.debug("{}: Submitting transaction with {} operations to leader {}", id, writes.size(),
+                masterContextRef);
+        // All writes travel in a single message, so the master applies them atomically and before the submit
+        final Future<Object> submitScalaFuture =
+                Patterns.ask(masterContextRef, new SubmitBatchRequest(writes), actorResponseWaitTime);
 
         submitScalaFuture.onComplete(new OnComplete<Object>() {
             @Override
             public void onComplete(final Throwable failure, final Object success) throws Throwable {
-                if (failure != null) { // ask timeout
-                    final Exception exception = new DocumentedException(
-                            id + ":Master is down. Please try again.",
-                            DocumentedException.ErrorType.TRANSPORT,
-                            DocumentedException.ErrorTag.RESOURCE_DENIED,
-                            DocumentedException.ErrorSeverity.ERROR);
-                    promise.failure(exception);
+                if (failure != null) {
+                    LOG.error("{}: Failed to submit transaction", id, failure);
+                    promise.failure(failure instanceof AskTimeoutException
+                            ? masterIsDown() : failure);
                     return;
                 }
                 if (success instanceof Throwable) {
@@ -214,4 +213,21 @@ public class NetconfProxyDOMTransaction implements NetconfDOMTransaction {
         return promise.future();
     }
 
+    private synchronized void addWrite(final TransactionRequest write) {
+        Preconditions.checkState(pendingWrites != null, "%s: Transaction is not opened", id);
+        pendingWrites.add(write);
+    }
+
+    private synchronized List<TransactionRequest> takePendingWrites() {
+        final List<TransactionRequest> writes = pendingWrites;
+        pendingWrites = null;
+        return writes;
+    }
+
+    private DocumentedException masterIsDown() {
+        return new DocumentedException(id + ":Master is down. Please try again.",
+                DocumentedException.ErrorType.TRANSPORT,
+                DocumentedException.ErrorTag.RESOURCE_DENIED,
+                DocumentedException.ErrorSeverity.ERROR);
+    }
 }
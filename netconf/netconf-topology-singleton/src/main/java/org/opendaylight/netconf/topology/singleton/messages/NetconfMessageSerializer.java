@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import akka.serialization.JSerializer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessage;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessageReply;
+import org.opendaylight.yangtools.yang.common.RpcError;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+
+/**
+ * Akka serializer of messages carrying normalized nodes between the master and slave mount points, i.e.
+ * {@link NormalizedNodeMessage}, {@link InvokeRpcMessage} and {@link InvokeRpcMessageReply}. Unlike Java
+ * serialization, it does not write class descriptors and writes each QName in full only once per message.
+ *
+ * <p>
+ * To be used, the serializer has to be bound to the message classes in the akka configuration of all cluster
+ * members:
+ * <pre>
+ * akka.actor {
+ *   serializers {
+ *     netconf-message = "org.opendaylight.netconf.topology.singleton.messages.NetconfMessageSerializer"
+ *   }
+ *   serialization-bindings {
+ *     "org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage" = netconf-message
+ *     "org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessage" = netconf-message
+ *     "org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessageReply" = netconf-message
+ *   }
+ * }
+ * </pre>
+ */
+public class NetconfMessageSerializer extends JSerializer {
+    private static final int IDENTIFIER = 1740;
+
+    private static final byte NORMALIZED_NODE_MESSAGE = 1;
+    private static final byte INVOKE_RPC_MESSAGE = 2;
+    private static final byte INVOKE_RPC_MESSAGE_REPLY = 3;
+
+    @Override
+    public int identifier() {
+        return IDENTIFIER;
+    }
+
+    @Override
+    public boolean includeManifest() {
+        return false;
+    }
+
+    @Override
+    public byte[] toBinary(final Object message) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream dataOutput = new DataOutputStream(bytes)) {
+            final NormalizedNodeMessageOutput output = new NormalizedNodeMessageOutput(dataOutput);
+            output.writeHeader();
+            if (message instanceof NormalizedNodeMessage) {
+                dataOutput.writeByte(NORMALIZED_NODE_MESSAGE);
+                output.writeNormalizedNodeMessage((NormalizedNodeMessage) message);
+            } else if (message instanceof InvokeRpcMessage) {
+                dataOutput.writeByte(INVOKE_RPC_MESSAGE);
+                writeInvokeRpcMessage(output, dataOutput, (InvokeRpcMessage) message);
+            } else if (message instanceof InvokeRpcMessageReply) {
+                dataOutput.writeByte(INVOKE_RPC_MESSAGE_REPLY);
+                writeInvokeRpcMessageReply(output, dataOutput, (InvokeRpcMessageReply) message);
+            } else {
+                throw new IllegalArgumentException("Unsupported message " + message);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to serialize " + message, e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object fromBinaryJava(final byte[] bytes, final Class<?> manifest) {
+        try (DataInputStream dataInput = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final NormalizedNodeMessageInput input = new NormalizedNodeMessageInput(dataInput);
+            input.readHeader();
+            final byte type = dataInput.readByte();
+            switch (type) {
+                case NORMALIZED_NODE_MESSAGE:
+                    return input.readNormalizedNodeMessage();
+                case INVOKE_RPC_MESSAGE:
+                    return readInvokeRpcMessage(input, dataInput);
+                case INVOKE_RPC_MESSAGE_REPLY:
+                    return readInvokeRpcMessageReply(input, dataInput);
+                default:
+                    throw new IllegalArgumentException("Unknown message type " + type);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to deserialize message", e);
+        }
+    }
+
+    private static void writeInvokeRpcMessage(final NormalizedNodeMessageOutput output,
+            final DataOutputStream dataOutput, final InvokeRpcMessage message) throws IOException {
+        output.writeSchemaPath(message.getSchemaPath());
+        writeNullableMessage(output, dataOutput, message.getNormalizedNodeMessage());
+    }
+
+    private static InvokeRpcMessage readInvokeRpcMessage(final NormalizedNodeMessageInput input,
+            final DataInputStream dataInput) throws IOException {
+        final SchemaPathMessage schemaPath = new SchemaPathMessage(input.readSchemaPath());
+        return new InvokeRpcMessage(schemaPath, readNullableMessage(input, dataInput));
+    }
+
+    private static void writeInvokeRpcMessageReply(final NormalizedNodeMessageOutput output,
+            final DataOutputStream dataOutput, final InvokeRpcMessageReply message) throws IOException {
+        final Collection<RpcError> errors = message.getRpcErrors();
+        output.writeVarInt(errors.size());
+        for (final RpcError error : errors) {
+            dataOutput.writeBoolean(error.getSeverity() == RpcError.ErrorSeverity.ERROR);
+            output.writeString(error.getErrorType().name());
+            output.writeNullableString(error.getTag());
+            output.writeNullableString(error.getApplicationTag());
+            output.writeNullableString(error.getMessage());
+            output.writeNullableString(error.getInfo());
+            dataOutput.writeBoolean(error.getCause() != null);
+            if (error.getCause() != null) {
+                output.writeSerializable(error.getCause());
+            }
+        }
+        writeNullableMessage(output, dataOutput, message.getNormalizedNodeMessage());
+    }
+
+    private static InvokeRpcMessageReply readInvokeRpcMessageReply(final NormalizedNodeMessageInput input,
+            final DataInputStream dataInput) throws IOException {
+        final int size = input.readVarInt();
+        final List<RpcError> errors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final boolean error = dataInput.readBoolean();
+            final RpcError.ErrorType errorType = RpcError.ErrorType.valueOf(input.readString());
+            final String tag = input.readNullableString();
+            final String applicationTag = input.readNullableString();
+            final String message = input.readNullableString();
+            final String info = input.readNullableString();
+            final Throwable cause = dataInput.readBoolean() ? (Throwable) input.readSerializable() : null;
+            errors.add(error ? RpcResultBuilder.newError(errorType, tag, message, applicationTag, info, cause)
+                    : RpcResultBuilder.newWarning(errorType, tag, message, applicationTag, info, cause));
+        }
+        return new InvokeRpcMessageReply(readNullableMessage(input, dataInput), errors);
+    }
+
+    private static void writeNullableMessage(final NormalizedNodeMessageOutput output,
+            final DataOutputStream dataOutput, final NormalizedNodeMessage message) throws IOException {
+        dataOutput.writeBoolean(message != null);
+        if (message != null) {
+            output.writeNormalizedNodeMessage(message);
+        }
+    }
+
+    private static NormalizedNodeMessage readNullableMessage(final NormalizedNodeMessageInput input,
+            final DataInputStream dataInput) throws IOException {
+        return dataInput.readBoolean() ? input.readNormalizedNodeMessage() : null;
+    }
+}
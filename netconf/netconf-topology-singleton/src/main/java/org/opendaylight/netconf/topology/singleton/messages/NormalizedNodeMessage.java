@@ -12,15 +12,16 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
-import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
- * Message which holds node data, prepared to sending between remote hosts with serialization.
+ * Message which holds node data, prepared to sending between remote hosts with serialization. Both Java
+ * serialization and {@link NetconfMessageSerializer} write it in the format of {@link NormalizedNodeMessageOutput}.
  */
 public class NormalizedNodeMessage implements Externalizable {
-    private static final long serialVersionUID = 1L;
+    // Bumped with the NormalizedNodeMessageOutput format, so members on the old format fail instead of misreading it
+    private static final long serialVersionUID = 2L;
 
     private YangInstanceIdentifier identifier = null;
     private NormalizedNode<?, ?> node = null;
@@ -44,16 +45,17 @@ public class NormalizedNodeMessage implements Externalizable {
 
     @Override
     public void writeExternal(final ObjectOutput out) throws IOException {
-        SerializationUtils.serializePathAndNode(getIdentifier(), node, out);
+        final NormalizedNodeMessageOutput output = new NormalizedNodeMessageOutput(out);
+        output.writeHeader();
+        output.writeNormalizedNodeMessage(this);
     }
 
     @Override
     public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
-        SerializationUtils.deserializePathAndNode(in, this, APPLIER);
+        final NormalizedNodeMessageInput input = new NormalizedNodeMessageInput(in);
+        input.readHeader();
+        final NormalizedNodeMessage message = input.readNormalizedNodeMessage();
+        identifier = message.identifier;
+        node = message.node;
     }
-
-    private static final SerializationUtils.Applier<NormalizedNodeMessage> APPLIER = (instance, path, node) -> {
-        instance.identifier = path;
-        instance.node = node;
-    };
 }
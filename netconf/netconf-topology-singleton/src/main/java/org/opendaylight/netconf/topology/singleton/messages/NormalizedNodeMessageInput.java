@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.ANYXML;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.AUGMENTATION;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.AUGMENTATION_IDENTIFIER;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.BIG_DECIMAL_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.BIG_INTEGER_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.BINARY_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.BITS_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.BYTE_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.CHOICE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.CONTAINER;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.FALSE_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.INT_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.LEAF;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.LEAF_SET;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.LEAF_SET_ENTRY;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.LONG_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.MAP;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.MAP_ENTRY;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.NEW_ENTRY;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.NODE_IDENTIFIER;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.NODE_IDENTIFIER_WITH_PREDICATES;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.NODE_WITH_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.NULL_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.ORDERED_LEAF_SET;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.ORDERED_MAP;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.QNAME_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.SERIALIZABLE_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.SHORT_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.STRING_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.TRUE_VALUE;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.UNKEYED_LIST;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.UNKEYED_LIST_ENTRY;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.VERSION;
+import static org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessageOutput.YANG_IDENTIFIER_VALUE;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.builder.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.api.schema.builder.ListNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads paths and normalized nodes written by {@link NormalizedNodeMessageOutput}.
+ */
+final class NormalizedNodeMessageInput {
+    private final List<QNameModule> modules = new ArrayList<>();
+    private final List<QName> qnames = new ArrayList<>();
+    private final DataInput input;
+
+    NormalizedNodeMessageInput(final DataInput input) {
+        this.input = input;
+    }
+
+    /**
+     * Read and check format version, has to be called before reading anything else.
+     */
+    void readHeader() throws IOException {
+        final byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version);
+        }
+    }
+
+    NormalizedNodeMessage readNormalizedNodeMessage() throws IOException {
+        final YangInstanceIdentifier identifier = readYangInstanceIdentifier();
+        final NormalizedNode<?, ?> node = input.readBoolean() ? readNode() : null;
+        return new NormalizedNodeMessage(identifier, node);
+    }
+
+    SchemaPath readSchemaPath() throws IOException {
+        final int size = readVarInt();
+        final List<QName> path = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            path.add(readQName());
+        }
+        return SchemaPath.create(path, input.readBoolean());
+    }
+
+    String readString() throws IOException {
+        final byte[] bytes = new byte[readVarInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    String readNullableString() throws IOException {
+        return input.readBoolean() ? readString() : null;
+    }
+
+    Object readSerializable() throws IOException {
+        final byte[] bytes = new byte[readVarInt()];
+        input.readFully(bytes);
+        try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return objectInput.readObject();
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Unable to read serialized object", e);
+        }
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = input.readByte();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    private long readVarLong() throws IOException {
+        long encoded = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = input.readByte();
+            encoded |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return encoded >>> 1 ^ -(encoded & 1);
+    }
+
+    private QName readQName() throws IOException {
+        final int code = readVarInt();
+        if (code != NEW_ENTRY) {
+            return qnames.get(code - 1);
+        }
+
+        final QNameModule module = readModule();
+        final QName qname = QName.create(module, readString());
+        qnames.add(qname);
+        return qname;
+    }
+
+    private QNameModule readModule() throws IOException {
+        final int code = readVarInt();
+        if (code != NEW_ENTRY) {
+            return modules.get(code - 1);
+        }
+
+        final URI namespace = URI.create(readString());
+        final Date revision = input.readBoolean() ? new Date(input.readLong()) : null;
+        final QNameModule module = QNameModule.create(namespace, revision);
+        modules.add(module);
+        return module;
+    }
+
+    private YangInstanceIdentifier readYangInstanceIdentifier() throws IOException {
+        final int size = readVarInt();
+        final List<PathArgument> arguments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            arguments.add(readPathArgument());
+        }
+        return YangInstanceIdentifier.create(arguments);
+    }
+
+    private PathArgument readPathArgument() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case NODE_IDENTIFIER:
+                return new NodeIdentifier(readQName());
+            case NODE_IDENTIFIER_WITH_PREDICATES:
+                return readNodeIdentifierWithPredicates();
+            case NODE_WITH_VALUE:
+                return new NodeWithValue<>(readQName(), readValue());
+            case AUGMENTATION_IDENTIFIER:
+                return readAugmentationIdentifier();
+            default:
+                throw new IOException("Unknown path argument type " + type);
+        }
+    }
+
+    private NodeIdentifierWithPredicates readNodeIdentifierWithPredicates() throws IOException {
+        final QName qname = readQName();
+        final int size = readVarInt();
+        final Map<QName, Object> keys = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.put(readQName(), readValue());
+        }
+        return new NodeIdentifierWithPredicates(qname, keys);
+    }
+
+    private AugmentationIdentifier readAugmentationIdentifier() throws IOException {
+        final int size = readVarInt();
+        final ImmutableSet.Builder<QName> names = ImmutableSet.builder();
+        for (int i = 0; i < size; i++) {
+            names.add(readQName());
+        }
+        return new AugmentationIdentifier(names.build());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private NormalizedNode<?, ?> readNode() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case LEAF:
+                return ImmutableNodes.leafNode(readQName(), readValue());
+            case LEAF_SET_ENTRY: {
+                final QName qname = readQName();
+                final Object value = readValue();
+                return Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue(qname, value))
+                        .withValue(value).build();
+            }
+            case CONTAINER:
+                return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(readQName()))
+                        .withValue(readChildren()).build();
+            case MAP_ENTRY:
+                return Builders.mapEntryBuilder().withNodeIdentifier(readNodeIdentifierWithPredicates())
+                        .withValue(readChildren()).build();
+            case UNKEYED_LIST_ENTRY:
+                return Builders.unkeyedListEntryBuilder().withNodeIdentifier(new NodeIdentifier(readQName()))
+                        .withValue(readChildren()).build();
+            case CHOICE:
+                return Builders.choiceBuilder().withNodeIdentifier(new NodeIdentifier(readQName()))
+                        .withValue(readChildren()).build();
+            case AUGMENTATION:
+                return Builders.augmentationBuilder().withNodeIdentifier(readAugmentationIdentifier())
+                        .withValue(readChildren()).build();
+            case MAP:
+            case ORDERED_MAP: {
+                final CollectionNodeBuilder builder = type == ORDERED_MAP ? Builders.orderedMapBuilder()
+                        : Builders.mapBuilder();
+                builder.withNodeIdentifier(new NodeIdentifier(readQName()));
+                final int size = readVarInt();
+                for (int i = 0; i < size; i++) {
+                    builder.withChild((MapEntryNode) readNode());
+                }
+                return builder.build();
+            }
+            case LEAF_SET:
+            case ORDERED_LEAF_SET: {
+                final ListNodeBuilder builder = type == ORDERED_LEAF_SET ? Builders.orderedLeafSetBuilder()
+                        : Builders.leafSetBuilder();
+                builder.withNodeIdentifier(new NodeIdentifier(readQName()));
+                final int size = readVarInt();
+                for (int i = 0; i < size; i++) {
+                    builder.withChild((LeafSetEntryNode) readNode());
+                }
+                return builder.build();
+            }
+            case UNKEYED_LIST: {
+                final CollectionNodeBuilder builder = Builders.unkeyedListBuilder();
+                builder.withNodeIdentifier(new NodeIdentifier(readQName()));
+                final int size = readVarInt();
+                for (int i = 0; i < size; i++) {
+                    builder.withChild((UnkeyedListEntryNode) readNode());
+                }
+                return builder.build();
+            }
+            case ANYXML:
+                return Builders.anyXmlBuilder().withNodeIdentifier(new NodeIdentifier(readQName()))
+                        .withValue(toDomSource(readString())).build();
+            default:
+                throw new IOException("Unknown node type " + type);
+        }
+    }
+
+    private List<DataContainerChild<? extends PathArgument, ?>> readChildren() throws IOException {
+        final int size = readVarInt();
+        final List<DataContainerChild<? extends PathArgument, ?>> children = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            children.add((DataContainerChild<? extends PathArgument, ?>) readNode());
+        }
+        return children;
+    }
+
+    private Object readValue() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return readString();
+            case TRUE_VALUE:
+                return Boolean.TRUE;
+            case FALSE_VALUE:
+                return Boolean.FALSE;
+            case BYTE_VALUE:
+                return input.readByte();
+            case SHORT_VALUE:
+                return (short) readVarLong();
+            case INT_VALUE:
+                return (int) readVarLong();
+            case LONG_VALUE:
+                return readVarLong();
+            case BIG_INTEGER_VALUE:
+                return new BigInteger(readString());
+            case BIG_DECIMAL_VALUE:
+                return new BigDecimal(readString());
+            case BINARY_VALUE: {
+                final byte[] bytes = new byte[readVarInt()];
+                input.readFully(bytes);
+                return bytes;
+            }
+            case QNAME_VALUE:
+                return readQName();
+            case BITS_VALUE: {
+                final int size = readVarInt();
+                final ImmutableSet.Builder<String> bits = ImmutableSet.builder();
+                for (int i = 0; i < size; i++) {
+                    bits.add(readString());
+                }
+                return bits.build();
+            }
+            case YANG_IDENTIFIER_VALUE:
+                return readYangInstanceIdentifier();
+            case SERIALIZABLE_VALUE:
+                return readSerializable();
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private static DOMSource toDomSource(final String xml) throws IOException {
+        try {
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return new DOMSource(factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)))
+                    .getDocumentElement());
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Unable to parse anyxml node", e);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * Writes paths and normalized nodes in a compact binary form read by {@link NormalizedNodeMessageInput}. QNames
+ * and their modules are written in full only once per output, later occurrences are written as a code assigned
+ * on first use. Integers are written as variable length numbers.
+ */
+final class NormalizedNodeMessageOutput {
+    static final byte VERSION = 1;
+
+    // Node tokens
+    static final byte CONTAINER = 1;
+    static final byte LEAF = 2;
+    static final byte LEAF_SET = 3;
+    static final byte ORDERED_LEAF_SET = 4;
+    static final byte LEAF_SET_ENTRY = 5;
+    static final byte MAP = 6;
+    static final byte ORDERED_MAP = 7;
+    static final byte MAP_ENTRY = 8;
+    static final byte UNKEYED_LIST = 9;
+    static final byte UNKEYED_LIST_ENTRY = 10;
+    static final byte CHOICE = 11;
+    static final byte AUGMENTATION = 12;
+    static final byte ANYXML = 13;
+
+    // Path argument tokens
+    static final byte NODE_IDENTIFIER = 1;
+    static final byte NODE_IDENTIFIER_WITH_PREDICATES = 2;
+    static final byte NODE_WITH_VALUE = 3;
+    static final byte AUGMENTATION_IDENTIFIER = 4;
+
+    // Value tokens
+    static final byte NULL_VALUE = 0;
+    static final byte STRING_VALUE = 1;
+    static final byte TRUE_VALUE = 2;
+    static final byte FALSE_VALUE = 3;
+    static final byte BYTE_VALUE = 4;
+    static final byte SHORT_VALUE = 5;
+    static final byte INT_VALUE = 6;
+    static final byte LONG_VALUE = 7;
+    static final byte BIG_INTEGER_VALUE = 8;
+    static final byte BIG_DECIMAL_VALUE = 9;
+    static final byte BINARY_VALUE = 10;
+    static final byte QNAME_VALUE = 11;
+    static final byte BITS_VALUE = 12;
+    static final byte YANG_IDENTIFIER_VALUE = 13;
+    static final byte SERIALIZABLE_VALUE = 14;
+
+    // Dictionary reference of a value written for the first time
+    static final int NEW_ENTRY = 0;
+
+    private final Map<QNameModule, Integer> modules = new HashMap<>();
+    private final Map<QName, Integer> qnames = new HashMap<>();
+    private final DataOutput output;
+
+    NormalizedNodeMessageOutput(final DataOutput output) {
+        this.output = output;
+    }
+
+    /**
+     * Write format version, has to be called before writing anything else.
+     */
+    void writeHeader() throws IOException {
+        output.writeByte(VERSION);
+    }
+
+    void writeNormalizedNodeMessage(final NormalizedNodeMessage message) throws IOException {
+        writeYangInstanceIdentifier(message.getIdentifier());
+        final NormalizedNode<?, ?> node = message.getNode();
+        output.writeBoolean(node != null);
+        if (node != null) {
+            writeNode(node);
+        }
+    }
+
+    void writeSchemaPath(final SchemaPath path) throws IOException {
+        final List<QName> qnames = ImmutableList.copyOf(path.getPathFromRoot());
+        writeVarInt(qnames.size());
+        for (final QName qname : qnames) {
+            writeQName(qname);
+        }
+        output.writeBoolean(path.isAbsolute());
+    }
+
+    void writeString(final String string) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        output.write(bytes);
+    }
+
+    void writeNullableString(final String string) throws IOException {
+        output.writeBoolean(string != null);
+        if (string != null) {
+            writeString(string);
+        }
+    }
+
+    void writeSerializable(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutput = new ObjectOutputStream(bytes)) {
+            objectOutput.writeObject(object);
+        }
+        writeVarInt(bytes.size());
+        output.write(bytes.toByteArray());
+    }
+
+    void writeVarInt(final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte(remaining & 0x7F | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    private void writeVarLong(final long value) throws IOException {
+        // zig-zag, so that small negative numbers stay small
+        long remaining = value << 1 ^ value >> 63;
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeByte((int) (remaining & 0x7F | 0x80));
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+
+    private void writeQName(final QName qname) throws IOException {
+        final Integer code = qnames.get(qname);
+        if (code != null) {
+            writeVarInt(code);
+            return;
+        }
+
+        writeVarInt(NEW_ENTRY);
+        writeModule(qname.getModule());
+        writeString(qname.getLocalName());
+        qnames.put(qname, qnames.size() + 1);
+    }
+
+    private void writeModule(final QNameModule module) throws IOException {
+        final Integer code = modules.get(module);
+        if (code != null) {
+            writeVarInt(code);
+            return;
+        }
+
+        writeVarInt(NEW_ENTRY);
+        writeString(module.getNamespace().toString());
+        final Date revision = module.getRevision();
+        output.writeBoolean(revision != null);
+        if (revision != null) {
+            output.writeLong(revision.getTime());
+        }
+        modules.put(module, modules.size() + 1);
+    }
+
+    private void writeYangInstanceIdentifier(final YangInstanceIdentifier identifier) throws IOException {
+        final List<PathArgument> arguments = identifier.getPathArguments();
+        writeVarInt(arguments.size());
+        for (final PathArgument argument : arguments) {
+            writePathArgument(argument);
+        }
+    }
+
+    private void writePathArgument(final PathArgument argument) throws IOException {
+        if (argument instanceof NodeIdentifierWithPredicates) {
+            output.writeByte(NODE_IDENTIFIER_WITH_PREDICATES);
+            writeQName(argument.getNodeType());
+            writeKeys((NodeIdentifierWithPredicates) argument);
+        } else if (argument instanceof NodeWithValue) {
+            output.writeByte(NODE_WITH_VALUE);
+            writeQName(argument.getNodeType());
+            writeValue(((NodeWithValue<?>) argument).getValue());
+        } else if (argument instanceof AugmentationIdentifier) {
+            output.writeByte(AUGMENTATION_IDENTIFIER);
+            writeQNames(((AugmentationIdentifier) argument).getPossibleChildNames());
+        } else {
+            output.writeByte(NODE_IDENTIFIER);
+            writeQName(argument.getNodeType());
+        }
+    }
+
+    private void writeKeys(final NodeIdentifierWithPredicates identifier) throws IOException {
+        final Map<QName, Object> keys = identifier.getKeyValues();
+        writeVarInt(keys.size());
+        for (final Map.Entry<QName, Object> key : keys.entrySet()) {
+            writeQName(key.getKey());
+            writeValue(key.getValue());
+        }
+    }
+
+    private void writeQNames(final Set<QName> names) throws IOException {
+        writeVarInt(names.size());
+        for (final QName name : names) {
+            writeQName(name);
+        }
+    }
+
+    private void writeNode(final NormalizedNode<?, ?> node) throws IOException {
+        if (node instanceof LeafNode) {
+            output.writeByte(LEAF);
+            writeQName(node.getNodeType());
+            writeValue(node.getValue());
+        } else if (node instanceof LeafSetEntryNode) {
+            output.writeByte(LEAF_SET_ENTRY);
+            writeQName(node.getNodeType());
+            writeValue(node.getValue());
+        } else if (node instanceof ContainerNode) {
+            output.writeByte(CONTAINER);
+            writeQName(node.getNodeType());
+            writeChildren(((ContainerNode) node).getValue());
+        } else if (node instanceof MapEntryNode) {
+            output.writeByte(MAP_ENTRY);
+            final NodeIdentifierWithPredicates identifier = ((MapEntryNode) node).getIdentifier();
+            writeQName(identifier.getNodeType());
+            writeKeys(identifier);
+            writeChildren(((MapEntryNode) node).getValue());
+        } else if (node instanceof UnkeyedListEntryNode) {
+            output.writeByte(UNKEYED_LIST_ENTRY);
+            writeQName(node.getNodeType());
+            writeChildren(((UnkeyedListEntryNode) node).getValue());
+        } else if (node instanceof ChoiceNode) {
+            output.writeByte(CHOICE);
+            writeQName(node.getNodeType());
+            writeChildren(((ChoiceNode) node).getValue());
+        } else if (node instanceof AugmentationNode) {
+            output.writeByte(AUGMENTATION);
+            writeQNames(((AugmentationNode) node).getIdentifier().getPossibleChildNames());
+            writeChildren(((AugmentationNode) node).getValue());
+        } else if (node instanceof MapNode) {
+            output.writeByte(node instanceof OrderedMapNode ? ORDERED_MAP : MAP);
+            writeQName(node.getNodeType());
+            writeChildren(((MapNode) node).getValue());
+        } else if (node instanceof LeafSetNode) {
+            output.writeByte(node instanceof OrderedLeafSetNode ? ORDERED_LEAF_SET : LEAF_SET);
+            writeQName(node.getNodeType());
+            writeChildren(((LeafSetNode<?>) node).getValue());
+        } else if (node instanceof UnkeyedListNode) {
+            output.writeByte(UNKEYED_LIST);
+            writeQName(node.getNodeType());
+            writeChildren(((UnkeyedListNode) node).getValue());
+        } else if (node instanceof AnyXmlNode) {
+            output.writeByte(ANYXML);
+            writeQName(node.getNodeType());
+            writeString(toXmlString((AnyXmlNode) node));
+        } else {
+            throw new IOException("Unsupported node " + node);
+        }
+    }
+
+    private void writeChildren(final Collection<? extends NormalizedNode<?, ?>> children) throws IOException {
+        writeVarInt(children.size());
+        for (final NormalizedNode<?, ?> child : children) {
+            writeNode(child);
+        }
+    }
+
+    private void writeValue(final Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL_VALUE);
+        } else if (value instanceof String) {
+            output.writeByte(STRING_VALUE);
+            writeString((String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? TRUE_VALUE : FALSE_VALUE);
+        } else if (value instanceof Byte) {
+            output.writeByte(BYTE_VALUE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeByte(SHORT_VALUE);
+            writeVarLong((Short) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INT_VALUE);
+            writeVarLong((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG_VALUE);
+            writeVarLong((Long) value);
+        } else if (value instanceof BigInteger) {
+            output.writeByte(BIG_INTEGER_VALUE);
+            writeString(value.toString());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(BIG_DECIMAL_VALUE);
+            writeString(value.toString());
+        } else if (value instanceof byte[]) {
+            output.writeByte(BINARY_VALUE);
+            writeVarInt(((byte[]) value).length);
+            output.write((byte[]) value);
+        } else if (value instanceof QName) {
+            output.writeByte(QNAME_VALUE);
+            writeQName((QName) value);
+        } else if (value instanceof Set) {
+            output.writeByte(BITS_VALUE);
+            writeVarInt(((Set<?>) value).size());
+            for (final Object bit : (Set<?>) value) {
+                writeString(bit.toString());
+            }
+        } else if (value instanceof YangInstanceIdentifier) {
+            output.writeByte(YANG_IDENTIFIER_VALUE);
+            writeYangInstanceIdentifier((YangInstanceIdentifier) value);
+        } else if (value instanceof Serializable) {
+            output.writeByte(SERIALIZABLE_VALUE);
+            writeSerializable(value);
+        } else {
+            throw new IOException("Unsupported value " + value + " of " + value.getClass());
+        }
+    }
+
+    private static String toXmlString(final AnyXmlNode node) throws IOException {
+        try {
+            final Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            final StringWriter writer = new StringWriter();
+            transformer.transform(node.getValue(), new StreamResult(writer));
+            return writer.toString();
+        } catch (final TransformerException e) {
+            throw new IOException("Unable to serialize anyxml node " + node, e);
+        }
+    }
+}
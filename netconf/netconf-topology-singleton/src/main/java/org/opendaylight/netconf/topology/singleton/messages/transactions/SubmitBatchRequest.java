@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages.transactions;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+
+/**
+ * Write operations of a transaction together with the request to submit it. The master applies all of them while
+ * processing this single message, so they cannot be interleaved with operations of other transactions, nor
+ * reordered with respect to the submit.
+ */
+public class SubmitBatchRequest implements TransactionRequest {
+    private static final long serialVersionUID = 1L;
+
+    private final List<TransactionRequest> writes;
+
+    public SubmitBatchRequest(final List<TransactionRequest> writes) {
+        this.writes = ImmutableList.copyOf(writes);
+    }
+
+    public List<TransactionRequest> getWrites() {
+        return writes;
+    }
+}
@@ -14,7 +14,9 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -40,6 +42,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
@@ -120,8 +123,8 @@ public class WriteOnlyTransactionTest {
         final NetconfDOMTransaction proxyDOMTransactions =
                 new NetconfProxyDOMTransaction(remoteDeviceId, system, masterRef, TIMEOUT);
 
-        slaveDataBroker = new NetconfDOMDataBroker(system, remoteDeviceId, proxyDOMTransactions);
-
+        slaveDataBroker = new NetconfDOMDataBroker(system, remoteDeviceId, proxyDOMTransactions,
+            () -> new NetconfProxyDOMTransaction(remoteDeviceId, system, masterRef, TIMEOUT));
 
     }
 
@@ -144,6 +147,9 @@ public class WriteOnlyTransactionTest {
                 .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(QName.create("TestQname")))
                 .withChild(ImmutableNodes.leafNode(QName.create("NodeQname"), "foo")).build();
 
+        final CheckedFuture<Void,TransactionCommitFailedException> resultSubmit = Futures.immediateCheckedFuture(null);
+        doReturn(resultSubmit).when(writeTx).submit();
+
         // Test of invoking put on master through slave proxy
 
         doNothing().when(writeTx).put(storeType, instanceIdentifier, testNode);
@@ -151,26 +157,41 @@ public class WriteOnlyTransactionTest {
         DOMDataWriteTransaction wTx = slaveDataBroker.newWriteOnlyTransaction();
         wTx.put(storeType, instanceIdentifier, testNode);
 
+        // writes are sent to master on submit
+        verify(writeTx, never()).put(storeType, instanceIdentifier, testNode);
+        wTx.submit().checkedGet(TIMEOUT_SEC, TimeUnit.SECONDS);
         verify(writeTx, times(1)).put(storeType, instanceIdentifier, testNode);
 
-        wTx.cancel();
         // Test of invoking merge on master through slave proxy
 
         doNothing().when(writeTx).merge(storeType, instanceIdentifier, testNode);
         wTx = slaveDataBroker.newWriteOnlyTransaction();
         wTx.merge(storeType, instanceIdentifier, testNode);
+        wTx.submit().checkedGet(TIMEOUT_SEC, TimeUnit.SECONDS);
 
         verify(writeTx, times(1)).merge(storeType, instanceIdentifier, testNode);
 
-        wTx.cancel();
         // Test of invoking delete on master through slave proxy
 
         doNothing().when(writeTx).delete(storeType, instanceIdentifier);
         wTx = slaveDataBroker.newWriteOnlyTransaction();
         wTx.delete(storeType, instanceIdentifier);
+        wTx.submit().checkedGet(TIMEOUT_SEC, TimeUnit.SECONDS);
+
+        verify(writeTx, times(1)).delete(storeType, instanceIdentifier);
+
+        // Cancelled writes never reach master
+
+        wTx = slaveDataBroker.newWriteOnlyTransaction();
+        wTx.put(storeType, instanceIdentifier, testNode);
+        wTx.merge(storeType, instanceIdentifier, testNode);
+        wTx.delete(storeType, instanceIdentifier);
         wTx.cancel();
 
+        verify(writeTx, times(1)).put(storeType, instanceIdentifier, testNode);
+        verify(writeTx, times(1)).merge(storeType, instanceIdentifier, testNode);
         verify(writeTx, times(1)).delete(storeType, instanceIdentifier);
+        verify(writeTx, times(3)).submit();
 
     }
 
@@ -225,6 +246,43 @@ public class WriteOnlyTransactionTest {
         resultThrowableResponse.checkedGet(TIMEOUT_SEC, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testConcurrentTransactions() throws Exception {
+
+        /* Initialize data on master */
+
+        initializeDataTest();
+
+        final LogicalDatastoreType storeType = LogicalDatastoreType.CONFIGURATION;
+        final YangInstanceIdentifier firstPath = YangInstanceIdentifier.of(QName.create("FirstQname"));
+        final YangInstanceIdentifier secondPath = YangInstanceIdentifier.of(QName.create("SecondQname"));
+        final NormalizedNode<?, ?> testNode = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(QName.create("TestQname")))
+                .withChild(ImmutableNodes.leafNode(QName.create("NodeQname"), "foo")).build();
+
+        doReturn(Futures.immediateCheckedFuture(null)).when(writeTx).submit();
+
+        // Two transactions opened at the same time on the same mount point do not interfere
+        final DOMDataWriteTransaction firstTx = slaveDataBroker.newWriteOnlyTransaction();
+        final DOMDataWriteTransaction secondTx = slaveDataBroker.newWriteOnlyTransaction();
+        firstTx.put(storeType, firstPath, testNode);
+        secondTx.put(storeType, secondPath, testNode);
+        firstTx.merge(storeType, firstPath, testNode);
+
+        final CheckedFuture<Void, TransactionCommitFailedException> secondSubmit = secondTx.submit();
+        final CheckedFuture<Void, TransactionCommitFailedException> firstSubmit = firstTx.submit();
+        assertNull(secondSubmit.checkedGet(TIMEOUT_SEC, TimeUnit.SECONDS));
+        assertNull(firstSubmit.checkedGet(TIMEOUT_SEC, TimeUnit.SECONDS));
+
+        // Writes of each transaction are applied on master before its submit
+        final InOrder inOrder = inOrder(writeTx);
+        inOrder.verify(writeTx).put(storeType, secondPath, testNode);
+        inOrder.verify(writeTx).submit();
+        inOrder.verify(writeTx).put(storeType, firstPath, testNode);
+        inOrder.verify(writeTx).merge(storeType, firstPath, testNode);
+        inOrder.verify(writeTx).submit();
+    }
+
     @Test
     public void testCancel() throws Exception {
 
@@ -232,11 +290,13 @@ public class WriteOnlyTransactionTest {
 
         initializeDataTest();
 
-        // Without Tx
+        // Without writes, the open transaction is still cancelled, but only once
 
         DOMDataWriteTransaction wTx = slaveDataBroker.newWriteOnlyTransaction();
-        final Boolean resultFalseNoTx = wTx.cancel();
-        assertEquals(false, resultFalseNoTx);
+        final Boolean resultTrueNoWrites = wTx.cancel();
+        assertEquals(true, resultTrueNoWrites);
+        final Boolean resultFalseCancelled = wTx.cancel();
+        assertEquals(false, resultFalseCancelled);
 
         // With Tx, readWriteTx test
 
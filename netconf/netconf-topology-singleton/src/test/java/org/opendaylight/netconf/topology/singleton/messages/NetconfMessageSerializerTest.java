@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import org.junit.Test;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessage;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessageReply;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.RpcError;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class NetconfMessageSerializerTest {
+    private static final String NAMESPACE = "urn:opendaylight:netconf:serializer:test";
+    private static final String REVISION = "2017-02-01";
+
+    private static final QName TOP = QName.create(NAMESPACE, REVISION, "top");
+    private static final QName NAME = QName.create(NAMESPACE, REVISION, "name");
+    private static final QName NUMBER = QName.create(NAMESPACE, REVISION, "number");
+    private static final QName ENTRY = QName.create(NAMESPACE, REVISION, "entry");
+    private static final QName FLAG = QName.create(NAMESPACE, REVISION, "flag");
+    private static final QName TAGS = QName.create(NAMESPACE, REVISION, "tags");
+    private static final QName CHOICE = QName.create(NAMESPACE, REVISION, "choice");
+    private static final QName ITEMS = QName.create(NAMESPACE, REVISION, "items");
+    private static final QName IDENTITY = QName.create(NAMESPACE, REVISION, "identity");
+    private static final QName AUGMENTED = QName.create("urn:opendaylight:netconf:serializer:augment", REVISION,
+            "augmented");
+
+    private final NetconfMessageSerializer serializer = new NetconfMessageSerializer();
+
+    @Test
+    public void testNormalizedNodeMessage() throws Exception {
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder().node(TOP).node(ENTRY)
+                .nodeWithKey(ENTRY, NAME, "entry-1").build();
+        final NormalizedNodeMessage message = new NormalizedNodeMessage(path, createData());
+
+        final NormalizedNodeMessage result = (NormalizedNodeMessage) serializer.fromBinaryJava(
+                serializer.toBinary(message), null);
+
+        assertEquals(path, result.getIdentifier());
+        assertEquals(message.getNode(), result.getNode());
+    }
+
+    @Test
+    public void testJavaSerialization() throws Exception {
+        final NormalizedNodeMessage message = new NormalizedNodeMessage(YangInstanceIdentifier.of(TOP), createData());
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(message);
+        }
+        final NormalizedNodeMessage result;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            result = (NormalizedNodeMessage) input.readObject();
+        }
+
+        assertEquals(message.getIdentifier(), result.getIdentifier());
+        assertEquals(message.getNode(), result.getNode());
+    }
+
+    @Test
+    public void testValues() throws Exception {
+        final Object[] values = {
+            "value", true, (byte) -3, (short) 300, -70000, Long.MAX_VALUE, Long.MIN_VALUE,
+            new BigInteger("18446744073709551615"), new BigDecimal("-12.345"), IDENTITY,
+            ImmutableSet.of("bit1", "bit2"), YangInstanceIdentifier.of(TOP)
+        };
+        for (final Object value : values) {
+            final NormalizedNodeMessage message = new NormalizedNodeMessage(YangInstanceIdentifier.EMPTY,
+                    ImmutableNodes.leafNode(NAME, value));
+            final NormalizedNodeMessage result = (NormalizedNodeMessage) serializer.fromBinaryJava(
+                    serializer.toBinary(message), null);
+            assertEquals(value, result.getNode().getValue());
+        }
+
+        final byte[] binary = {1, 2, 3};
+        final NormalizedNodeMessage result = (NormalizedNodeMessage) serializer.fromBinaryJava(
+                serializer.toBinary(new NormalizedNodeMessage(YangInstanceIdentifier.EMPTY,
+                        ImmutableNodes.leafNode(NAME, binary))), null);
+        assertArrayEquals(binary, (byte[]) result.getNode().getValue());
+    }
+
+    @Test
+    public void testInvokeRpcMessage() throws Exception {
+        final SchemaPath type = SchemaPath.create(true, TOP);
+        final InvokeRpcMessage message = new InvokeRpcMessage(new SchemaPathMessage(type),
+                new NormalizedNodeMessage(YangInstanceIdentifier.EMPTY, createData()));
+
+        final InvokeRpcMessage result = (InvokeRpcMessage) serializer.fromBinaryJava(serializer.toBinary(message),
+                null);
+
+        assertEquals(type, result.getSchemaPath());
+        assertEquals(message.getNormalizedNodeMessage().getNode(), result.getNormalizedNodeMessage().getNode());
+    }
+
+    @Test
+    public void testInvokeRpcMessageReply() throws Exception {
+        final RpcError error = RpcResultBuilder.newError(RpcError.ErrorType.RPC, "tag", "message", "app-tag",
+                "info", new IllegalStateException("cause"));
+        final RpcError warning = RpcResultBuilder.newWarning(RpcError.ErrorType.APPLICATION, "tag", "warning");
+        final InvokeRpcMessageReply message = new InvokeRpcMessageReply(null, ImmutableSet.of(error, warning));
+
+        final InvokeRpcMessageReply result = (InvokeRpcMessageReply) serializer.fromBinaryJava(
+                serializer.toBinary(message), null);
+
+        assertNull(result.getNormalizedNodeMessage());
+        final Collection<RpcError> errors = result.getRpcErrors();
+        assertEquals(2, errors.size());
+        final Iterator<RpcError> iterator = errors.iterator();
+        final RpcError resultError = iterator.next();
+        assertEquals(RpcError.ErrorSeverity.ERROR, resultError.getSeverity());
+        assertEquals(RpcError.ErrorType.RPC, resultError.getErrorType());
+        assertEquals("tag", resultError.getTag());
+        assertEquals("message", resultError.getMessage());
+        assertEquals("app-tag", resultError.getApplicationTag());
+        assertEquals("info", resultError.getInfo());
+        assertTrue(resultError.getCause() instanceof IllegalStateException);
+        final RpcError resultWarning = iterator.next();
+        assertEquals(RpcError.ErrorSeverity.WARNING, resultWarning.getSeverity());
+        assertEquals("warning", resultWarning.getMessage());
+        assertNull(resultWarning.getCause());
+    }
+
+    private static ContainerNode createData() {
+        return Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TOP))
+                .withChild(Builders.mapBuilder()
+                        .withNodeIdentifier(new NodeIdentifier(ENTRY))
+                        .withChild(Builders.mapEntryBuilder()
+                                .withNodeIdentifier(new NodeIdentifierWithPredicates(ENTRY, NAME, "entry-1"))
+                                .withChild(ImmutableNodes.leafNode(NAME, "entry-1"))
+                                .withChild(ImmutableNodes.leafNode(NUMBER, 1))
+                                .build())
+                        .withChild(Builders.mapEntryBuilder()
+                                .withNodeIdentifier(new NodeIdentifierWithPredicates(ENTRY, NAME, "entry-2"))
+                                .withChild(ImmutableNodes.leafNode(NAME, "entry-2"))
+                                .withChild(ImmutableNodes.leafNode(NUMBER, 2))
+                                .build())
+                        .build())
+                .withChild(Builders.orderedLeafSetBuilder()
+                        .withNodeIdentifier(new NodeIdentifier(TAGS))
+                        .withChild(Builders.leafSetEntryBuilder()
+                                .withNodeIdentifier(new NodeWithValue<>(TAGS, "tag-1"))
+                                .withValue("tag-1").build())
+                        .build())
+                .withChild(Builders.choiceBuilder()
+                        .withNodeIdentifier(new NodeIdentifier(CHOICE))
+                        .withChild(ImmutableNodes.leafNode(FLAG, true))
+                        .build())
+                .withChild(Builders.augmentationBuilder()
+                        .withNodeIdentifier(new AugmentationIdentifier(Collections.singleton(AUGMENTED)))
+                        .withChild(ImmutableNodes.leafNode(AUGMENTED, IDENTITY))
+                        .build())
+                .withChild(Builders.unkeyedListBuilder()
+                        .withNodeIdentifier(new NodeIdentifier(ITEMS))
+                        .withChild(Builders.unkeyedListEntryBuilder()
+                                .withNodeIdentifier(new NodeIdentifier(ITEMS))
+                                .withChild(ImmutableNodes.leafNode(NAME, "item"))
+                                .build())
+                        .build())
+                .build();
+    }
+}
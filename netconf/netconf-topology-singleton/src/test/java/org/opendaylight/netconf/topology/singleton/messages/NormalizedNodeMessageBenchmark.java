@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.builder.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link NetconfMessageSerializer} with {@link SerializationUtils}, which was used to serialize
+ * {@link NormalizedNodeMessage} before, on a list of interfaces similar to a large get reply. Run its
+ * {@link #main(String[])} method with the test classpath, it prints the serialized sizes before running
+ * the benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NormalizedNodeMessageBenchmark {
+    private static final String NAMESPACE = "urn:ietf:params:xml:ns:yang:ietf-interfaces";
+    private static final String REVISION = "2014-05-08";
+
+    private static final QName INTERFACES = QName.create(NAMESPACE, REVISION, "interfaces");
+    private static final QName INTERFACE = QName.create(NAMESPACE, REVISION, "interface");
+    private static final QName NAME = QName.create(NAMESPACE, REVISION, "name");
+    private static final QName DESCRIPTION = QName.create(NAMESPACE, REVISION, "description");
+    private static final QName TYPE = QName.create(NAMESPACE, REVISION, "type");
+    private static final QName ENABLED = QName.create(NAMESPACE, REVISION, "enabled");
+    private static final QName MTU = QName.create(NAMESPACE, REVISION, "mtu");
+    private static final QName ETHERNET_CSMACD = QName.create("urn:ietf:params:xml:ns:yang:iana-if-type",
+            "2014-05-08", "ethernetCsmacd");
+
+    /**
+     * Number of list entries in the message.
+     */
+    @Param({"10", "1000"})
+    public int entries;
+
+    private final NetconfMessageSerializer serializer = new NetconfMessageSerializer();
+    private NormalizedNodeMessage message;
+    private byte[] currentBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        message = createMessage(entries);
+        currentBytes = serializeCurrent(message);
+        binaryBytes = serializer.toBinary(message);
+    }
+
+    @Benchmark
+    public byte[] serializeCurrent() throws IOException {
+        return serializeCurrent(message);
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> deserializeCurrent() throws IOException {
+        final NormalizedNode<?, ?>[] result = new NormalizedNode<?, ?>[1];
+        SerializationUtils.deserializePathAndNode(new DataInputStream(new ByteArrayInputStream(currentBytes)),
+                result, (instance, path, node) -> instance[0] = node);
+        return result[0];
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return serializer.toBinary(message);
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return serializer.fromBinaryJava(binaryBytes, null);
+    }
+
+    public static void main(final String[] args) throws IOException, RunnerException {
+        final NetconfMessageSerializer serializer = new NetconfMessageSerializer();
+        for (final int size : new int[] {10, 1000}) {
+            final NormalizedNodeMessage message = createMessage(size);
+            System.out.printf("%d entries: current %d bytes, binary %d bytes%n", size,
+                    serializeCurrent(message).length, serializer.toBinary(message).length);
+        }
+        new Runner(new OptionsBuilder().include(NormalizedNodeMessageBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static byte[] serializeCurrent(final NormalizedNodeMessage message) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            SerializationUtils.serializePathAndNode(message.getIdentifier(), message.getNode(), output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static NormalizedNodeMessage createMessage(final int entries) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> list = Builders.mapBuilder()
+                .withNodeIdentifier(new NodeIdentifier(INTERFACE));
+        for (int i = 0; i < entries; i++) {
+            final String name = "GigabitEthernet0/0/" + i;
+            list.withChild(Builders.mapEntryBuilder()
+                    .withNodeIdentifier(new NodeIdentifierWithPredicates(INTERFACE, NAME, name))
+                    .withChild(ImmutableNodes.leafNode(NAME, name))
+                    .withChild(ImmutableNodes.leafNode(DESCRIPTION, "Interface " + name))
+                    .withChild(ImmutableNodes.leafNode(TYPE, ETHERNET_CSMACD))
+                    .withChild(ImmutableNodes.leafNode(ENABLED, i % 2 == 0))
+                    .withChild(ImmutableNodes.leafNode(MTU, 1500L))
+                    .build());
+        }
+        return new NormalizedNodeMessage(YangInstanceIdentifier.of(INTERFACES), Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(INTERFACES))
+                .withChild(list.build())
+                .build());
+    }
+}
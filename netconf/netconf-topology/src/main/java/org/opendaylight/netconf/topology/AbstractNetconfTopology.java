@@ -349,8 +349,16 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         }
 
         if (schemaResourcesDTO == null) {
-            schemaResourcesDTO = new NetconfDevice.SchemaResourcesDTO(schemaRegistry, schemaRepository, schemaContextFactory,
-                    new NetconfStateSchemasResolverImpl());
+            if (schemaRegistry == DEFAULT_SCHEMA_REPOSITORY && schemaRepository == DEFAULT_SCHEMA_REPOSITORY
+                    && schemaContextFactory == DEFAULT_SCHEMA_CONTEXT_FACTORY) {
+                // Share the default DTO, so that devices with identical module sets reuse the same schema context
+                synchronized (schemaResourcesDTOs) {
+                    schemaResourcesDTO = schemaResourcesDTOs.get(DEFAULT_CACHE_DIRECTORY);
+                }
+            } else {
+                schemaResourcesDTO = new NetconfDevice.SchemaResourcesDTO(schemaRegistry, schemaRepository,
+                        schemaContextFactory, new NetconfStateSchemasResolverImpl());
+            }
         }
 
         return schemaResourcesDTO;
@@ -16,14 +16,15 @@ import org.opendaylight.controller.config.util.xml.XmlMappingConstants;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
-import org.opendaylight.netconf.mapping.api.NetconfOperation;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.netconf.mapping.api.NetconfOperationKey;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
-public abstract class AbstractNetconfOperation implements NetconfOperation {
+public abstract class AbstractNetconfOperation implements IndexableNetconfOperation {
     private final String netconfSessionIdForReporting;
 
     protected AbstractNetconfOperation(final String netconfSessionIdForReporting) {
@@ -81,6 +82,29 @@ public abstract class AbstractNetconfOperation implements NetconfOperation {
         return HandlingPriority.HANDLE_WITH_DEFAULT_PRIORITY;
     }
 
+    /**
+     * Subclasses overriding canHandle have to return true, so that canHandle is invoked for each request instead of
+     * looking the operation up by its name and namespace.
+     *
+     * @return true if the operation has to examine each request
+     */
+    protected boolean requiresDynamicCanHandle() {
+        return false;
+    }
+
+    @Override
+    public Optional<NetconfOperationKey> getOperationKey() {
+        if (requiresDynamicCanHandle()) {
+            return Optional.absent();
+        }
+        return Optional.of(new NetconfOperationKey(getOperationNamespace(), getOperationName()));
+    }
+
+    @Override
+    public HandlingPriority getIndexedHandlingPriority() {
+        return getHandlingPriority();
+    }
+
     protected String getOperationNamespace() {
         return XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0;
     }
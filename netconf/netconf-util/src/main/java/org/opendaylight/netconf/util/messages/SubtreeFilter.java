@@ -13,6 +13,7 @@ import java.util.Map;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.xml.DeferredElementContent;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.util.mapping.AbstractNetconfOperation.OperationNameAndNamespace;
 import org.slf4j.Logger;
@@ -41,7 +42,7 @@ public class SubtreeFilter {
                 return rpcReply;
             }
             XmlElement filter = maybeFilter.get();
-            if (isSupported(filter)) {
+            if (isSupported(filter) && !hasDeferredData(rpcReply)) {
 
                 // do
                 return filtered(maybeFilter.get(), rpcReply);
@@ -73,6 +74,16 @@ public class SubtreeFilter {
         document.getDocumentElement().removeChild(eventTimeNode);
     }
 
+    /**
+     * Deferred data is not visible in the DOM, operations producing it have already applied the filter.
+     */
+    private static boolean hasDeferredData(Document rpcReply) throws DocumentedException {
+        final Optional<XmlElement> data = XmlElement.fromDomElement(rpcReply.getDocumentElement())
+                .getOnlyChildElementOptionally(XmlNetconfConstants.DATA_KEY,
+                        XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0);
+        return data.isPresent() && DeferredElementContent.get(data.get().getDomElement()) != null;
+    }
+
     private static boolean isSupported(XmlElement filter) {
         return "subtree".equals(filter.getAttribute("type"))||
                 "subtree".equals(filter.getAttribute("type", XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
@@ -44,6 +44,7 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommun
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceRpc;
 import org.opendaylight.netconf.sal.connect.netconf.schema.NetconfRemoteSchemaYangSourceProvider;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SchemaContextCache;
 import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYangSourceProvider;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseSchema;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessageTransformer;
@@ -86,6 +87,7 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
     private final boolean reconnectOnSchemasChange;
 
     protected final SchemaContextFactory schemaContextFactory;
+    private final SchemaContextCache schemaContextCache;
     private final RemoteDeviceHandler<NetconfSessionPreferences> salFacade;
     private final ListeningExecutorService processingExecutor;
     protected final SchemaSourceRegistry schemaRegistry;
@@ -115,6 +117,7 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
         this.schemaRegistry = schemaResourcesDTO.getSchemaRegistry();
         this.schemaRepository = schemaResourcesDTO.getSchemaRepository();
         this.schemaContextFactory = schemaResourcesDTO.getSchemaContextFactory();
+        this.schemaContextCache = schemaResourcesDTO.getSchemaContextCache();
         this.salFacade = salFacade;
         this.stateSchemasResolver = schemaResourcesDTO.getStateSchemasResolver();
         this.processingExecutor = MoreExecutors.listeningDecorator(globalProcessingExecutor);
@@ -206,7 +209,7 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
                 remoteSessionCapabilities.isNotificationsSupported() ?
                 BaseSchema.BASE_NETCONF_CTX_WITH_NOTIFICATIONS :
                 BaseSchema.BASE_NETCONF_CTX;
-        messageTransformer = new NetconfMessageTransformer(result, true, baseSchema);
+        messageTransformer = schemaContextCache.getMessageTransformer(result, true, baseSchema);
 
         updateTransformer(messageTransformer);
         // salFacade.onDeviceConnected has to be called before the notification handler is initialized
@@ -270,6 +273,7 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
         private final SchemaSourceRegistry schemaRegistry;
         private final SchemaRepository schemaRepository;
         private final SchemaContextFactory schemaContextFactory;
+        private final SchemaContextCache schemaContextCache;
         private final NetconfDeviceSchemasResolver stateSchemasResolver;
 
         public SchemaResourcesDTO(final SchemaSourceRegistry schemaRegistry,
@@ -279,6 +283,7 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
             this.schemaRegistry = Preconditions.checkNotNull(schemaRegistry);
             this.schemaRepository = Preconditions.checkNotNull(schemaRepository);
             this.schemaContextFactory = Preconditions.checkNotNull(schemaContextFactory);
+            this.schemaContextCache = new SchemaContextCache(schemaContextFactory);
             this.stateSchemasResolver = Preconditions.checkNotNull(deviceSchemasResolver);
         }
 
@@ -294,6 +299,14 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
             return schemaContextFactory;
         }
 
+        /**
+         * Get the cache of schema contexts built by {@link #getSchemaContextFactory()}. It is shared by all devices
+         * using these resources.
+         */
+        public SchemaContextCache getSchemaContextCache() {
+            return schemaContextCache;
+        }
+
         public NetconfDeviceSchemasResolver getStateSchemasResolver() {
             return stateSchemasResolver;
         }
@@ -446,7 +459,7 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
             while (!requiredSources.isEmpty()) {
                 LOG.trace("{}: Trying to build schema context from {}", id, requiredSources);
                 try {
-                    final CheckedFuture<SchemaContext, SchemaResolutionException> schemaBuilderFuture = schemaContextFactory.createSchemaContext(requiredSources);
+                    final CheckedFuture<SchemaContext, SchemaResolutionException> schemaBuilderFuture = schemaContextCache.createSchemaContext(requiredSources);
                     final SchemaContext result = schemaBuilderFuture.checkedGet();
                     LOG.debug("{}: Schema context built successfully from {}", id, requiredSources);
                     final Collection<QName> filteredQNames = Sets.difference(deviceSources.getRequiredSourcesQName(), capabilities.getUnresolvedCapabilites().keySet());
@@ -519,7 +532,8 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
         }
 
         protected NetconfDeviceRpc getDeviceSpecificRpc(final SchemaContext result) {
-            return new NetconfDeviceRpc(result, listener, new NetconfMessageTransformer(result, true));
+            return new NetconfDeviceRpc(result, listener,
+                    schemaContextCache.getMessageTransformer(result, true, BaseSchema.BASE_NETCONF_CTX));
         }
 
         private Collection<SourceIdentifier> stripUnavailableSource(final Collection<SourceIdentifier> requiredSources, final SourceIdentifier sIdToRemove) {
@@ -14,12 +14,13 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.util.concurrent.Future;
-import java.util.ArrayDeque;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.opendaylight.controller.config.util.xml.XmlElement;
@@ -43,6 +44,7 @@ import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
 
 public class NetconfDeviceCommunicator implements NetconfClientSessionListener, RemoteDeviceCommunicator<NetconfMessage> {
 
@@ -56,8 +58,10 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
     private final Semaphore semaphore;
     private final int concurentRpcMsgs;
 
-    private final Queue<Request> requests = new ArrayDeque<>();
-    private NetconfClientSession session;
+    // Outstanding requests indexed by their message-id, replies are correlated without holding sessionLock
+    private final ConcurrentMap<String, Request> requests = new ConcurrentHashMap<>();
+    private final AtomicLong requestSequence = new AtomicLong();
+    private volatile NetconfClientSession session;
 
     private Future<?> initFuture;
     private final SettableFuture<NetconfDeviceCapabilities> firstConnectionFuture;
@@ -176,18 +180,15 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
                 session = null;
 
                 /*
-                 * Walk all requests, check if they have been executing
-                 * or cancelled and remove them from the queue.
+                 * Walk all requests and remove them from the map, they will not be answered anymore.
                  */
-                final Iterator<Request> it = requests.iterator();
+                final Iterator<Request> it = requests.values().iterator();
                 while (it.hasNext()) {
                     final Request r = it.next();
+                    it.remove();
+                    releasePermit();
                     if (r.future.isUncancellable()) {
                         futuresToCancel.add( r.future );
-                        it.remove();
-                    } else if (r.future.isCancelled()) {
-                        // This just does some house-cleaning
-                        it.remove();
                     }
                 }
 
@@ -252,8 +253,8 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
     @Override
     public void onMessage(final NetconfClientSession session, final NetconfMessage message) {
         /*
-         * Dispatch between notifications and messages. Messages need to be processed
-         * with lock held, notifications do not.
+         * Dispatch between notifications and messages. Messages are correlated to their requests
+         * by message-id, notifications are passed on directly.
          */
         if (isNotification(message)) {
             processNotification(message);
@@ -263,65 +264,89 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
     }
 
     private void processMessage(final NetconfMessage message) {
-        Request request = null;
-        sessionLock.lock();
-
-        try {
-            request = requests.peek();
-            if (request != null && request.future.isUncancellable()) {
-                requests.poll();
-                // we have just removed one request from the queue
-                // we can also release one permit
-                if(semaphore != null) {
-                    semaphore.release();
-                }
-            } else {
-                request = null;
-                LOG.warn("{}: Ignoring unsolicited message {}", id,
-                        msgToS(message));
+        final String messageId = getMessageId(message);
+        Request request = removeRequest(messageId);
+        if (request == null) {
+            /*
+             * The reply does not match any outstanding request. Some devices do not echo message-id correctly,
+             * so attribute it to the oldest outstanding request, which will be failed by checkValidReply() below.
+             */
+            request = removeOldestRequest();
+            if (request == null) {
+                LOG.warn("{}: Ignoring unsolicited message {}", id, msgToS(message));
+                return;
             }
         }
-        finally {
-            sessionLock.unlock();
-        }
 
-        if( request != null ) {
+        LOG.debug("{}: Message received {}", id, message);
 
-            LOG.debug("{}: Message received {}", id, message);
+        if(LOG.isTraceEnabled()) {
+            LOG.trace( "{}: Matched request: {} to response: {}", id, msgToS( request.request ), msgToS( message ) );
+        }
 
-            if(LOG.isTraceEnabled()) {
-                LOG.trace( "{}: Matched request: {} to response: {}", id, msgToS( request.request ), msgToS( message ) );
-            }
+        try {
+            NetconfMessageTransformUtil.checkValidReply( request.request, message );
+        } catch (final NetconfDocumentedException e) {
+            LOG.warn(
+                    "{}: Invalid request-reply match, reply message contains different message-id, request: {}, response: {}",
+                    id, msgToS(request.request), msgToS(message), e);
+
+            request.future.set( RpcResultBuilder.<NetconfMessage>failed()
+                    .withRpcError( NetconfMessageTransformUtil.toRpcError( e ) ).build() );
+            return;
+        }
 
-            try {
-                NetconfMessageTransformUtil.checkValidReply( request.request, message );
-            } catch (final NetconfDocumentedException e) {
-                LOG.warn(
-                        "{}: Invalid request-reply match, reply message contains different message-id, request: {}, response: {}",
-                        id, msgToS(request.request), msgToS(message), e);
+        try {
+            NetconfMessageTransformUtil.checkSuccessReply(message);
+        } catch(final NetconfDocumentedException e) {
+            LOG.warn(
+                    "{}: Error reply from remote device, request: {}, response: {}",
+                    id, msgToS(request.request), msgToS(message), e);
+
+            request.future.set( RpcResultBuilder.<NetconfMessage>failed()
+                    .withRpcError( NetconfMessageTransformUtil.toRpcError( e ) ).build() );
+            return;
+        }
 
-                request.future.set( RpcResultBuilder.<NetconfMessage>failed()
-                        .withRpcError( NetconfMessageTransformUtil.toRpcError( e ) ).build() );
+        request.future.set( RpcResultBuilder.success( message ).build() );
+    }
 
-                //recursively processing message to eventually find matching request
-                processMessage(message);
+    private Request removeRequest(final String messageId) {
+        final Request request = requests.remove(messageId);
+        if (request != null) {
+            // we have just removed one request, we can also release one permit
+            releasePermit();
+        }
+        return request;
+    }
 
-                return;
+    private Request removeOldestRequest() {
+        // Slow path, only taken when a device sends replies with unknown message-ids
+        while (true) {
+            Request oldest = null;
+            for (final Request r : requests.values()) {
+                if (oldest == null || r.sequence < oldest.sequence) {
+                    oldest = r;
+                }
             }
-
-            try {
-                NetconfMessageTransformUtil.checkSuccessReply(message);
-            } catch(final NetconfDocumentedException e) {
-                LOG.warn(
-                        "{}: Error reply from remote device, request: {}, response: {}",
-                        id, msgToS(request.request), msgToS(message), e);
-
-                request.future.set( RpcResultBuilder.<NetconfMessage>failed()
-                        .withRpcError( NetconfMessageTransformUtil.toRpcError( e ) ).build() );
-                return;
+            if (oldest == null) {
+                return null;
+            }
+            if (requests.remove(oldest.messageId, oldest)) {
+                releasePermit();
+                return oldest;
             }
+        }
+    }
 
-            request.future.set( RpcResultBuilder.success( message ).build() );
+    private static String getMessageId(final NetconfMessage message) {
+        final Element element = message.getDocument().getDocumentElement();
+        return element == null ? "" : element.getAttribute(NetconfMessageTransformUtil.MESSAGE_ID_ATTR);
+    }
+
+    private void releasePermit() {
+        if (semaphore != null) {
+            semaphore.release();
         }
     }
 
@@ -331,45 +356,59 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
 
     @Override
     public ListenableFuture<RpcResult<NetconfMessage>> sendRequest(final NetconfMessage message, final QName rpc) {
-        sessionLock.lock();
-
         if (semaphore != null && !semaphore.tryAcquire()) {
             LOG.warn("Limit of concurrent rpc messages was reached (limit :" +
                     concurentRpcMsgs + "). Rpc reply message is needed. Discarding request of Netconf device with id" + id.getName());
-            sessionLock.unlock();
             return Futures.immediateFailedFuture(new NetconfDocumentedException("Limit of rpc messages was reached (Limit :" +
                     concurentRpcMsgs + ") waiting for emptying the queue of Netconf device with id" + id.getName()));
         }
 
-        try {
-            return sendRequestWithLock(message, rpc);
-        } finally {
-            sessionLock.unlock();
-        }
-    }
-
-    private ListenableFuture<RpcResult<NetconfMessage>> sendRequestWithLock(
-                                               final NetconfMessage message, final QName rpc) {
         if(LOG.isTraceEnabled()) {
             LOG.trace("{}: Sending message {}", id, msgToS(message));
         }
 
-        if (session == null) {
+        final NetconfClientSession currentSession = session;
+        if (currentSession == null) {
             LOG.warn("{}: Session is disconnected, failing RPC request {}",
                     id, message);
+            releasePermit();
             return Futures.immediateFuture( createSessionDownRpcResult() );
         }
 
-        final Request req = new Request(new UncancellableFuture<>(true), message);
-        requests.add(req);
+        final String messageId = getMessageId(message);
+        final Request req = new Request(new UncancellableFuture<>(true), message, messageId,
+            requestSequence.getAndIncrement());
+        if (requests.putIfAbsent(messageId, req) != null) {
+            LOG.warn("{}: Request with message-id {} is already outstanding, failing RPC request {}", id, messageId,
+                    message);
+            releasePermit();
+            return Futures.immediateFuture( createErrorRpcResult( RpcError.ErrorType.PROTOCOL,
+                    String.format( "Request with message-id %s is already outstanding", messageId ) ) );
+        }
+
+        // tearDown may have walked the requests before this one was added, it would never be failed then
+        if (isSessionClosing() || session != currentSession) {
+            if (requests.remove(messageId, req)) {
+                LOG.warn("{}: Session is closing, failing RPC request {}", id, message);
+                releasePermit();
+                return Futures.immediateFuture( createSessionDownRpcResult() );
+            }
+            // already removed and failed by tearDown
+            return req.future;
+        }
 
-        session.sendMessage(req.request).addListener(future -> {
+        currentSession.sendMessage(req.request).addListener(future -> {
             if( !future.isSuccess() ) {
                 // We expect that a session down will occur at this point
                 LOG.debug("{}: Failed to send request {}", id,
                         XmlUtil.toString(req.request.getDocument()),
                         future.cause());
 
+                // The request will not be answered, do not wait for tear down to clean it up
+                if (requests.remove(messageId, req)) {
+                    releasePermit();
+                }
+
                 if( future.cause() != null ) {
                     req.future.set( createErrorRpcResult( RpcError.ErrorType.TRANSPORT,
                                                           future.cause().getLocalizedMessage() ) );
@@ -402,11 +441,15 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
     private static final class Request {
         final UncancellableFuture<RpcResult<NetconfMessage>> future;
         final NetconfMessage request;
+        final String messageId;
+        final long sequence;
 
         private Request(final UncancellableFuture<RpcResult<NetconfMessage>> future,
-                        final NetconfMessage request) {
+                        final NetconfMessage request, final String messageId, final long sequence) {
             this.future = future;
             this.request = request;
+            this.messageId = messageId;
+            this.sequence = sequence;
         }
     }
 }
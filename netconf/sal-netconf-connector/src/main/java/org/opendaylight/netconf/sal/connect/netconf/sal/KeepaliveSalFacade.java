@@ -16,8 +16,9 @@ import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.util.Timeout;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -30,6 +31,7 @@ import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.netconf.sal.connect.util.NetconfTimer;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
@@ -43,6 +45,10 @@ import org.slf4j.LoggerFactory;
  * SalFacade proxy that invokes keepalive RPCs to prevent session shutdown from remote device
  * and to detect incorrect session drops (netconf session is inactive, but TCP/SSH connection is still present).
  * The keepalive RPC is a get-config with empty filter.
+ *
+ * <p>
+ * Keepalives and request timeouts are scheduled on a {@link NetconfTimer}, which is shared by all devices unless
+ * specified otherwise. Expired tasks are run on the supplied executor.
  */
 public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSessionPreferences> {
 
@@ -57,24 +63,32 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     private final RemoteDeviceId id;
     private final RemoteDeviceHandler<NetconfSessionPreferences> salFacade;
     private final ScheduledExecutorService executor;
+    private final NetconfTimer timer;
     private final long keepaliveDelaySeconds;
     private final ResetKeepalive resetKeepaliveTask;
     private final long defaultRequestTimeoutMillis;
 
     private volatile NetconfDeviceCommunicator listener;
-    private volatile ScheduledFuture<?> currentKeepalive;
+    private volatile Timeout currentKeepalive;
     private volatile DOMRpcService currentDeviceRpc;
 
     public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
-                              final ScheduledExecutorService executor, final long keepaliveDelaySeconds, final long defaultRequestTimeoutMillis) {
+                              final ScheduledExecutorService executor, final NetconfTimer timer,
+                              final long keepaliveDelaySeconds, final long defaultRequestTimeoutMillis) {
         this.id = id;
         this.salFacade = salFacade;
         this.executor = executor;
+        this.timer = timer;
         this.keepaliveDelaySeconds = keepaliveDelaySeconds;
         this.defaultRequestTimeoutMillis = defaultRequestTimeoutMillis;
         this.resetKeepaliveTask = new ResetKeepalive();
     }
 
+    public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                              final ScheduledExecutorService executor, final long keepaliveDelaySeconds, final long defaultRequestTimeoutMillis) {
+        this(id, salFacade, executor, NetconfTimer.getShared(), keepaliveDelaySeconds, defaultRequestTimeoutMillis);
+    }
+
     public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
                               final ScheduledExecutorService executor) {
         this(id, salFacade, executor, DEFAULT_DELAY, DEFAULT_TRANSACTION_TIMEOUT_MILLI);
@@ -98,7 +112,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     private void resetKeepalive() {
         LOG.trace("{}: Resetting netconf keepalive timer", id);
         if(currentKeepalive != null) {
-            currentKeepalive.cancel(false);
+            currentKeepalive.cancel();
         }
         scheduleKeepalive();
     }
@@ -108,7 +122,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
      */
     private void stopKeepalives() {
         if(currentKeepalive != null) {
-            currentKeepalive.cancel(false);
+            currentKeepalive.cancel();
         }
         currentDeviceRpc = null;
     }
@@ -123,7 +137,8 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     @Override
     public void onDeviceConnected(final SchemaContext remoteSchemaContext, final NetconfSessionPreferences netconfSessionPreferences, final DOMRpcService deviceRpc) {
         this.currentDeviceRpc = deviceRpc;
-        final DOMRpcService deviceRpc1 = new KeepaliveDOMRpcService(deviceRpc, resetKeepaliveTask, defaultRequestTimeoutMillis, executor);
+        final DOMRpcService deviceRpc1 = new KeepaliveDOMRpcService(deviceRpc, resetKeepaliveTask, defaultRequestTimeoutMillis, executor,
+                timer);
         salFacade.onDeviceConnected(remoteSchemaContext, netconfSessionPreferences, deviceRpc1);
 
         LOG.debug("{}: Netconf session initiated, starting keepalives", id);
@@ -133,7 +148,8 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     private void scheduleKeepalive() {
         Preconditions.checkState(currentDeviceRpc != null);
         LOG.trace("{}: Scheduling next keepalive in {} {}", id, keepaliveDelaySeconds, TimeUnit.SECONDS);
-        currentKeepalive = executor.schedule(new Keepalive(currentKeepalive), keepaliveDelaySeconds, TimeUnit.SECONDS);
+        currentKeepalive = timer.newTimeout(new Keepalive(currentKeepalive), keepaliveDelaySeconds, TimeUnit.SECONDS,
+                executor);
     }
 
     @Override
@@ -157,6 +173,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     @Override
     public void close() {
         stopKeepalives();
+        LOG.debug("{}: Keepalives stopped, timer statistics: {}", id, timer);
         salFacade.close();
     }
 
@@ -173,9 +190,9 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
      */
     private class Keepalive implements Runnable, FutureCallback<DOMRpcResult> {
 
-        private final ScheduledFuture<?> previousKeepalive;
+        private final Timeout previousKeepalive;
 
-        public Keepalive(final ScheduledFuture<?> previousKeepalive) {
+        public Keepalive(final Timeout previousKeepalive) {
             this.previousKeepalive = previousKeepalive;
         }
 
@@ -184,7 +201,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
             LOG.trace("{}: Invoking keepalive RPC", id);
 
             try {
-                if(previousKeepalive != null && !previousKeepalive.isDone()) {
+                if(previousKeepalive != null && !previousKeepalive.isExpired() && !previousKeepalive.isCancelled()) {
                     onFailure(new IllegalStateException("Previous keepalive timed out"));
                 } else {
                     Futures.addCallback(currentDeviceRpc.invokeRpc(PATH, KEEPALIVE_PAYLOAD), this);
@@ -266,13 +283,16 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
         private ResetKeepalive resetKeepaliveTask;
         private final long defaultRequestTimeoutMillis;
         private final ScheduledExecutorService executor;
+        private final NetconfTimer timer;
 
         public KeepaliveDOMRpcService(final DOMRpcService deviceRpc, final ResetKeepalive resetKeepaliveTask,
-                final long defaultRequestTimeoutMillis, final ScheduledExecutorService executor) {
+                final long defaultRequestTimeoutMillis, final ScheduledExecutorService executor,
+                final NetconfTimer timer) {
             this.deviceRpc = deviceRpc;
             this.resetKeepaliveTask = resetKeepaliveTask;
             this.defaultRequestTimeoutMillis = defaultRequestTimeoutMillis;
             this.executor = executor;
+            this.timer = timer;
         }
 
         @Nonnull
@@ -282,7 +302,10 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
             Futures.addCallback(domRpcResultDOMRpcExceptionCheckedFuture, resetKeepaliveTask);
 
             final RequestTimeoutTask timeoutTask = new RequestTimeoutTask(domRpcResultDOMRpcExceptionCheckedFuture);
-            executor.schedule(timeoutTask, defaultRequestTimeoutMillis, TimeUnit.MILLISECONDS);
+            final Timeout timeout = timer.newTimeout(timeoutTask, defaultRequestTimeoutMillis, TimeUnit.MILLISECONDS,
+                    executor);
+            // Do not keep completed requests in the timer until their deadline
+            domRpcResultDOMRpcExceptionCheckedFuture.addListener(timeout::cancel, MoreExecutors.directExecutor());
 
             return domRpcResultDOMRpcExceptionCheckedFuture;
         }
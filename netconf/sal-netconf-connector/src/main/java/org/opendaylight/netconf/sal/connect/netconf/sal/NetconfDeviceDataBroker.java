@@ -21,6 +21,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
+import org.opendaylight.netconf.api.dom.NetconfDOMDataBrokerFieldsExtension;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.tx.ReadOnlyTx;
 import org.opendaylight.netconf.sal.connect.netconf.sal.tx.ReadWriteTx;
@@ -41,10 +42,13 @@ public final class NetconfDeviceDataBroker implements DOMDataBroker {
     private final boolean rollbackSupport;
     private final boolean candidateSupported;
     private final boolean runningWritable;
+    private final NetconfDOMDataBrokerFieldsExtension fieldsExtension;
 
     public NetconfDeviceDataBroker(final RemoteDeviceId id, final SchemaContext schemaContext, final DOMRpcService rpc, final NetconfSessionPreferences netconfSessionPreferences) {
         this.id = id;
         this.netconfOps = new NetconfBaseOps(rpc, schemaContext);
+        this.fieldsExtension = (store, path, depth, fields) -> new ReadOnlyTx(netconfOps, id).read(store, path,
+            depth, fields);
         // get specific attributes from netconf preferences and get rid of it
         // no need to keep the entire preferences object, its quite big with all the capability QNames
         candidateSupported = netconfSessionPreferences.isCandidateSupported();
@@ -89,7 +93,7 @@ public final class NetconfDeviceDataBroker implements DOMDataBroker {
 
     @Override
     public Map<Class<? extends DOMDataBrokerExtension>, DOMDataBrokerExtension> getSupportedExtensions() {
-        return Collections.emptyMap();
+        return Collections.singletonMap(NetconfDOMDataBrokerFieldsExtension.class, fieldsExtension);
     }
 
 }
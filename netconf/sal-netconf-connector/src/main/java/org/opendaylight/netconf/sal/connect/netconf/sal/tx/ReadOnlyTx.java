@@ -12,6 +12,9 @@ import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
@@ -19,6 +22,7 @@ import org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfRpcFutureCallback;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.util.concurrent.MappingCheckedFuture;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
@@ -38,17 +42,17 @@ public final class ReadOnlyTx implements DOMDataReadOnlyTransaction {
     }
 
     private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> readConfigurationData(
-            final YangInstanceIdentifier path) {
+            final YangInstanceIdentifier path, final Integer depth, final List<Set<QName>> fields) {
         final ListenableFuture<Optional<NormalizedNode<?, ?>>> configRunning = netconfOps.getConfigRunningData(
-                new NetconfRpcFutureCallback("Data read", id), Optional.fromNullable(path));
+                new NetconfRpcFutureCallback("Data read", id), Optional.fromNullable(path), depth, fields);
 
         return MappingCheckedFuture.create(configRunning, ReadFailedException.MAPPER);
     }
 
     private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> readOperationalData(
-            final YangInstanceIdentifier path) {
+            final YangInstanceIdentifier path, final Integer depth, final List<Set<QName>> fields) {
         final ListenableFuture<Optional<NormalizedNode<?, ?>>> configCandidate = netconfOps.getData(
-                new NetconfRpcFutureCallback("Data read", id), Optional.fromNullable(path));
+                new NetconfRpcFutureCallback("Data read", id), Optional.fromNullable(path), depth, fields);
 
         return MappingCheckedFuture.create(configCandidate, ReadFailedException.MAPPER);
     }
@@ -61,12 +65,23 @@ public final class ReadOnlyTx implements DOMDataReadOnlyTransaction {
     @Override
     public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
             final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+        return read(store, path, null, null);
+    }
+
+    /**
+     * Reads only child nodes of data under path selected by depth and fields.
+     *
+     * @see org.opendaylight.netconf.api.dom.NetconfDOMDataBrokerFieldsExtension
+     */
+    public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
+            final LogicalDatastoreType store, final YangInstanceIdentifier path, @Nullable final Integer depth,
+            @Nullable final List<Set<QName>> fields) {
         switch (store) {
         case CONFIGURATION: {
-            return readConfigurationData(path);
+            return readConfigurationData(path, depth, fields);
         }
         case OPERATIONAL: {
-            return readOperationalData(path);
+            return readOperationalData(path, depth, fields);
         }
         }
 
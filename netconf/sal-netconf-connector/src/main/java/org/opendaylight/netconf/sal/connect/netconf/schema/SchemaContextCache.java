@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseSchema;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessageTransformer;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of schema contexts and message transformers shared by all devices using the same schema resources.
+ * Schema contexts are keyed by the set of source identifiers they are assembled from, so devices advertising
+ * an identical module set, regardless of the order, share a single context, which is built only once. Concurrent
+ * requests for the same set wait for the same build. Failed builds are not cached.
+ *
+ * <p>
+ * Message transformers are immutable once constructed and are shared by devices using the same schema context.
+ */
+public final class SchemaContextCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaContextCache.class);
+
+    private final SchemaContextFactory schemaContextFactory;
+
+    // Values are soft, so contexts no longer used by any device can be reclaimed under memory pressure
+    private final Cache<Set<SourceIdentifier>, CheckedFuture<SchemaContext, SchemaResolutionException>> contexts =
+            CacheBuilder.newBuilder().softValues().recordStats().build();
+
+    // Keys are weak and compared by identity, transformers go away with their schema context
+    private final Cache<SchemaContext, ConcurrentMap<TransformerKey, NetconfMessageTransformer>> transformers =
+            CacheBuilder.newBuilder().weakKeys().build();
+
+    public SchemaContextCache(final SchemaContextFactory schemaContextFactory) {
+        this.schemaContextFactory = Preconditions.checkNotNull(schemaContextFactory);
+    }
+
+    /**
+     * Get the schema context assembled from the specified sources, building it if it is not present in the cache.
+     *
+     * @param requiredSources sources the schema context consists of
+     * @return future schema context
+     */
+    public CheckedFuture<SchemaContext, SchemaResolutionException> createSchemaContext(
+            final Collection<SourceIdentifier> requiredSources) {
+        final Set<SourceIdentifier> key = ImmutableSet.copyOf(requiredSources);
+        final CheckedFuture<SchemaContext, SchemaResolutionException> future;
+        try {
+            future = contexts.get(key, () -> {
+                LOG.debug("Building schema context from {}", key);
+                return schemaContextFactory.createSchemaContext(key);
+            });
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Failed to start building schema context from " + key, e.getCause());
+        }
+
+        // Attached only once the future is in the cache, so that even immediate failures get evicted
+        Futures.addCallback(future, new FutureCallback<SchemaContext>() {
+            @Override
+            public void onSuccess(final SchemaContext result) {
+                // Nothing to do
+            }
+
+            @Override
+            public void onFailure(final Throwable cause) {
+                // Sources may become available later, allow the next attempt to retry
+                contexts.asMap().remove(key, future);
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    /**
+     * Get a message transformer for a schema context.
+     *
+     * @param schemaContext schema context of the device
+     * @param strictParsing whether the transformer parses strictly
+     * @param baseSchema base netconf schema
+     * @return shared message transformer instance
+     */
+    public NetconfMessageTransformer getMessageTransformer(final SchemaContext schemaContext,
+            final boolean strictParsing, final BaseSchema baseSchema) {
+        final ConcurrentMap<TransformerKey, NetconfMessageTransformer> forContext;
+        try {
+            forContext = transformers.get(schemaContext, ConcurrentHashMap::new);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Failed to look up transformers for " + schemaContext, e.getCause());
+        }
+
+        return forContext.computeIfAbsent(new TransformerKey(strictParsing, baseSchema),
+            key -> new NetconfMessageTransformer(schemaContext, strictParsing, baseSchema));
+    }
+
+    /**
+     * Get statistics of schema context lookups. Each miss corresponds to a schema context being built.
+     *
+     * @return schema context cache statistics
+     */
+    public CacheStats getStats() {
+        return contexts.stats();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("contexts", contexts.size()).add("stats", contexts.stats())
+                .toString();
+    }
+
+    private static final class TransformerKey {
+        private final boolean strictParsing;
+        private final BaseSchema baseSchema;
+
+        TransformerKey(final boolean strictParsing, final BaseSchema baseSchema) {
+            this.strictParsing = strictParsing;
+            this.baseSchema = baseSchema;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(strictParsing, baseSchema);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TransformerKey)) {
+                return false;
+            }
+            final TransformerKey other = (TransformerKey) obj;
+            return strictParsing == other.strictParsing && baseSchema == other.baseSchema;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
@@ -53,6 +54,10 @@ import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+/**
+ * Transformer between {@link NetconfMessage}s and normalized nodes of a particular device. Instances are thread-safe
+ * and do not serialize parsing, so replies and notifications of a single device can be transformed concurrently.
+ */
 public class NetconfMessageTransformer implements MessageTransformer<NetconfMessage> {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageTransformer.class);
@@ -66,7 +71,10 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     private final MessageCounter counter;
     private final Map<QName, RpcDefinition> mappedRpcs;
     private final Multimap<QName, NotificationDefinition> mappedNotifications;
-    private final DomToNormalizedNodeParserFactory parserFactory;
+    private final Map<QName, ContainerSchemaNode> notificationSchemas;
+    private final ContainerSchemaNode schemaForDataRead;
+    // Parsers are not guaranteed to be thread-safe, give each thread its own set instead of locking
+    private final ThreadLocal<DomToNormalizedNodeParserFactory> parserFactory;
 
     public NetconfMessageTransformer(final SchemaContext schemaContext, final boolean strictParsing) {
         this(schemaContext, strictParsing, BaseSchema.BASE_NETCONF_CTX);
@@ -75,14 +83,19 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     public NetconfMessageTransformer(final SchemaContext schemaContext, final boolean strictParsing, final BaseSchema baseSchema) {
         this.counter = new MessageCounter();
         this.schemaContext = schemaContext;
-        parserFactory = DomToNormalizedNodeParserFactory.getInstance(XmlUtils.DEFAULT_XML_CODEC_PROVIDER, schemaContext, strictParsing);
+        parserFactory = ThreadLocal.withInitial(() -> DomToNormalizedNodeParserFactory.getInstance(
+            XmlUtils.DEFAULT_XML_CODEC_PROVIDER, schemaContext, strictParsing));
         mappedRpcs = Maps.uniqueIndex(schemaContext.getOperations(), QNAME_FUNCTION);
         mappedNotifications = Multimaps.index(schemaContext.getNotifications(), QNAME_NOREV_FUNCTION);
+        notificationSchemas = ImmutableMap.copyOf(Maps.transformValues(mappedNotifications.asMap(),
+            definitions -> NetconfMessageTransformUtil.createSchemaForNotification(
+                getMostRecentNotification(definitions))));
+        schemaForDataRead = NetconfMessageTransformUtil.createSchemaForDataRead(schemaContext);
         this.baseSchema = baseSchema;
     }
 
     @Override
-    public synchronized DOMNotification toNotification(final NetconfMessage message) {
+    public DOMNotification toNotification(final NetconfMessage message) {
         final Map.Entry<Date, XmlElement> stripped = NetconfMessageTransformUtil.stripNotification(message);
         final QName notificationNoRev;
         try {
@@ -90,18 +103,14 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
         } catch (final MissingNameSpaceException e) {
             throw new IllegalArgumentException("Unable to parse notification " + message + ", cannot find namespace", e);
         }
-        final Collection<NotificationDefinition> notificationDefinitions = mappedNotifications.get(notificationNoRev);
-        Preconditions.checkArgument(notificationDefinitions.size() > 0,
-                "Unable to parse notification %s, unknown notification. Available notifications: %s", notificationDefinitions, mappedNotifications.keySet());
-
-        final NotificationDefinition mostRecentNotification = getMostRecentNotification(notificationDefinitions);
-
-        final ContainerSchemaNode notificationAsContainerSchemaNode = NetconfMessageTransformUtil.createSchemaForNotification(mostRecentNotification);
+        final ContainerSchemaNode notificationAsContainerSchemaNode = notificationSchemas.get(notificationNoRev);
+        Preconditions.checkArgument(notificationAsContainerSchemaNode != null,
+                "Unable to parse notification %s, unknown notification. Available notifications: %s", notificationNoRev, mappedNotifications.keySet());
 
         final Element element = stripped.getValue().getDomElement();
         final ContainerNode content;
         try {
-            content = parserFactory.getContainerNodeParser().parse(Collections.singleton(element),
+            content = parserFactory.get().getContainerNodeParser().parse(Collections.singleton(element),
                 notificationAsContainerSchemaNode);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException(String.format("Failed to parse notification %s", element), e);
@@ -163,16 +172,15 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
 
 
     @Override
-    public synchronized DOMRpcResult toRpcResult(final NetconfMessage message, final SchemaPath rpc) {
+    public DOMRpcResult toRpcResult(final NetconfMessage message, final SchemaPath rpc) {
         final NormalizedNode<?, ?> normalizedNode;
         final QName rpcQName = rpc.getLastComponent();
         if (NetconfMessageTransformUtil.isDataRetrievalOperation(rpcQName)) {
             final Element xmlData = NetconfMessageTransformUtil.getDataSubtree(message.getDocument());
-            final ContainerSchemaNode schemaForDataRead = NetconfMessageTransformUtil.createSchemaForDataRead(schemaContext);
             final ContainerNode dataNode;
 
             try {
-                dataNode = parserFactory.getContainerNodeParser().parse(Collections.singleton(xmlData), schemaForDataRead);
+                dataNode = parserFactory.get().getContainerNodeParser().parse(Collections.singleton(xmlData), schemaForDataRead);
             } catch (IllegalArgumentException e) {
                 throw new IllegalArgumentException(String.format("Failed to parse data response %s", xmlData), e);
             }
@@ -202,7 +210,7 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
             } else {
                 final Element element = message.getDocument().getDocumentElement();
                 try {
-                    normalizedNode = parserFactory.getContainerNodeParser().parse(Collections.singleton(element),
+                    normalizedNode = parserFactory.get().getContainerNodeParser().parse(Collections.singleton(element),
                         rpcDefinition.getOutput());
                 } catch (IllegalArgumentException e) {
                     throw new IllegalArgumentException(String.format("Failed to parse RPC response %s", element), e);
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Appends child nodes selected by depth and fields to subtree filter created for a path. Levels of child nodes are
+ * counted the same way as by RESTCONF writers, child nodes of the node identified by path are at level 1.
+ *
+ * <p>
+ * Selected leaves are selection nodes. Containers and lists become containment nodes with their selected child
+ * nodes, list entries below depth limit contain only keys. Containers below depth limit are written without child
+ * nodes, which cannot be expressed by subtree filter, so they are selection nodes with all their descendants.
+ */
+final class FieldsFilterBuilder {
+
+    // Filters are built from schema, so depth with many levels could produce filter larger than the data
+    private static final int MAX_FILTER_ELEMENTS = 1000;
+
+    private final Integer depth;
+    private final List<Set<QName>> fields;
+    private int elementCount;
+
+    FieldsFilterBuilder(@Nullable final Integer depth, @Nullable final List<Set<QName>> fields) {
+        this.depth = depth;
+        this.fields = fields;
+    }
+
+    /**
+     * Appends selected child nodes to element of the node identified by path in filter. Filter is left untouched,
+     * if selected child nodes cannot be determined or there are too many of them.
+     *
+     * @param filter filter element created for path
+     * @param path path to the data
+     * @param ctx schema context
+     */
+    void appendSelectedChildren(final Element filter, final YangInstanceIdentifier path, final SchemaContext ctx) {
+        DataSchemaContextNode<?> schemaNode = DataSchemaContextTree.from(ctx).getRoot();
+        Element target = filter;
+        for (final PathArgument pathArgument : path.getPathArguments()) {
+            schemaNode = schemaNode.getChild(pathArgument);
+            if (schemaNode == null) {
+                return;
+            }
+            // mixin nodes have no element in filter
+            if (!schemaNode.isMixin()) {
+                target = findChildElement(target, pathArgument.getNodeType());
+                if (target == null) {
+                    return;
+                }
+            }
+        }
+
+        if (schemaNode.isMixin() || !(schemaNode.getDataSchemaNode() instanceof DataNodeContainer)) {
+            return;
+        }
+
+        final Node lastChild = target.getLastChild();
+        if (!appendSelectedChildren(target, (DataNodeContainer) schemaNode.getDataSchemaNode(), 1)) {
+            // revert to filter selecting all data under path
+            while (target.getLastChild() != lastChild) {
+                target.removeChild(target.getLastChild());
+            }
+        }
+    }
+
+    private boolean appendSelectedChildren(final Element parent, final DataNodeContainer schemaNode,
+            final int level) {
+        for (final DataSchemaNode child : getDataChildren(schemaNode)) {
+            if (!isSelected(child.getQName(), level)) {
+                continue;
+            }
+            final Element childElement = appendChildElement(parent, child.getQName());
+            if (childElement == null) {
+                continue;
+            }
+            if (++elementCount > MAX_FILTER_ELEMENTS) {
+                return false;
+            }
+            if (!(child instanceof DataNodeContainer)) {
+                continue;
+            }
+
+            final int childLevel = level + 1;
+            if (fields != null && childLevel <= fields.size()) {
+                appendKeys(childElement, child);
+                if (!appendSelectedChildren(childElement, (DataNodeContainer) child, childLevel)) {
+                    return false;
+                }
+            } else if (depth != null) {
+                if (childLevel < depth) {
+                    // empty presence containers would not match containment node
+                    if (!(child instanceof ContainerSchemaNode && ((ContainerSchemaNode) child).isPresenceContainer())
+                            && !appendSelectedChildren(childElement, (DataNodeContainer) child, childLevel)) {
+                        return false;
+                    }
+                } else {
+                    appendKeys(childElement, child);
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isSelected(final QName qname, final int level) {
+        if (fields != null && level <= fields.size()) {
+            return fields.get(level - 1).contains(qname);
+        }
+        return depth == null || level < depth;
+    }
+
+    private void appendKeys(final Element listElement, final DataSchemaNode schemaNode) {
+        // keys are needed to create list entries from the reply
+        if (schemaNode instanceof ListSchemaNode) {
+            for (final QName key : ((ListSchemaNode) schemaNode).getKeyDefinition()) {
+                if (appendChildElement(listElement, key) != null) {
+                    elementCount++;
+                }
+            }
+        }
+    }
+
+    private static List<DataSchemaNode> getDataChildren(final DataNodeContainer schemaNode) {
+        final List<DataSchemaNode> children = new ArrayList<>();
+        for (final DataSchemaNode child : schemaNode.getChildNodes()) {
+            if (child instanceof ChoiceSchemaNode) {
+                // choices and cases have no elements in xml
+                for (final ChoiceCaseNode caseNode : ((ChoiceSchemaNode) child).getCases()) {
+                    children.addAll(getDataChildren(caseNode));
+                }
+            } else {
+                children.add(child);
+            }
+        }
+        return children;
+    }
+
+    @Nullable
+    private static Element findChildElement(final Element parent, final QName qname) {
+        final NodeList children = parent.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            final Node child = children.item(i);
+            if (child instanceof Element && qname.getLocalName().equals(child.getLocalName())
+                    && qname.getNamespace().toString().equals(child.getNamespaceURI())) {
+                return (Element) child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Appends empty child element, unless parent already contains element with the same name, e.g. key leaf used
+     * as content match node.
+     *
+     * @return appended element or {@code null} if it already existed
+     */
+    @Nullable
+    private static Element appendChildElement(final Element parent, final QName qname) {
+        if (findChildElement(parent, qname) != null) {
+            return null;
+        }
+        final Element child = parent.getOwnerDocument().createElementNS(qname.getNamespace().toString(),
+                qname.getLocalName());
+        parent.appendChild(child);
+        return child;
+    }
+}
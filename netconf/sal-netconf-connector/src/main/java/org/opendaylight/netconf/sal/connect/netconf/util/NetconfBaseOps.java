@@ -33,6 +33,9 @@ import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.sal.connect.netconf.sal.SchemalessNetconfDeviceRpc;
@@ -162,12 +165,26 @@ public final class NetconfBaseOps {
     }
 
     public ListenableFuture<DOMRpcResult> getConfig(final FutureCallback<DOMRpcResult> callback, final QName datastore, final Optional<YangInstanceIdentifier> filterPath) {
+        return getConfig(callback, datastore, filterPath, null, null);
+    }
+
+    /**
+     * Invokes get-config with filter selecting only child nodes of data in filter path limited by depth and fields.
+     *
+     * @see NetconfMessageTransformUtil#toFilterStructure(YangInstanceIdentifier, Integer, List, SchemaContext)
+     */
+    public ListenableFuture<DOMRpcResult> getConfig(final FutureCallback<DOMRpcResult> callback, final QName datastore,
+                                                    final Optional<YangInstanceIdentifier> filterPath,
+                                                    @Nullable final Integer depth,
+                                                    @Nullable final List<Set<QName>> fields) {
         Preconditions.checkNotNull(callback);
         Preconditions.checkNotNull(datastore);
 
         final ListenableFuture<DOMRpcResult> future;
         if (isFilterPresent(filterPath)) {
-            final DataContainerChild<?, ?> node = transformer.toFilterStructure(filterPath.get());
+            final DataContainerChild<?, ?> node = isLimited(depth, fields)
+                    ? transformer.toFilterStructure(filterPath.get(), depth, fields)
+                    : transformer.toFilterStructure(filterPath.get());
             future = rpc.invokeRpc(toPath(NETCONF_GET_CONFIG_QNAME),
                             NetconfMessageTransformUtil.wrap(NETCONF_GET_CONFIG_QNAME, getSourceNode(datastore), node));
         } else {
@@ -181,13 +198,28 @@ public final class NetconfBaseOps {
 
     public ListenableFuture<Optional<NormalizedNode<?, ?>>> getConfigRunningData(final FutureCallback<DOMRpcResult> callback,
                                                                                  final Optional<YangInstanceIdentifier> filterPath) {
-        final ListenableFuture<DOMRpcResult> configRunning = getConfigRunning(callback, filterPath);
+        return getConfigRunningData(callback, filterPath, null, null);
+    }
+
+    public ListenableFuture<Optional<NormalizedNode<?, ?>>> getConfigRunningData(final FutureCallback<DOMRpcResult> callback,
+                                                                                 final Optional<YangInstanceIdentifier> filterPath,
+                                                                                 @Nullable final Integer depth,
+                                                                                 @Nullable final List<Set<QName>> fields) {
+        final ListenableFuture<DOMRpcResult> configRunning = getConfig(callback, NETCONF_RUNNING_QNAME, filterPath,
+                depth, fields);
         return extractData(filterPath, configRunning);
     }
 
     public ListenableFuture<Optional<NormalizedNode<?, ?>>> getData(final FutureCallback<DOMRpcResult> callback,
                                                                     final Optional<YangInstanceIdentifier> filterPath) {
-        final ListenableFuture<DOMRpcResult> configRunning = get(callback, filterPath);
+        return getData(callback, filterPath, null, null);
+    }
+
+    public ListenableFuture<Optional<NormalizedNode<?, ?>>> getData(final FutureCallback<DOMRpcResult> callback,
+                                                                    final Optional<YangInstanceIdentifier> filterPath,
+                                                                    @Nullable final Integer depth,
+                                                                    @Nullable final List<Set<QName>> fields) {
+        final ListenableFuture<DOMRpcResult> configRunning = get(callback, filterPath, depth, fields);
         return extractData(filterPath, configRunning);
     }
 
@@ -210,18 +242,39 @@ public final class NetconfBaseOps {
     }
 
     public ListenableFuture<DOMRpcResult> get(final FutureCallback<DOMRpcResult> callback, final Optional<YangInstanceIdentifier> filterPath) {
+        return get(callback, filterPath, null, null);
+    }
+
+    /**
+     * Invokes get with filter selecting only child nodes of data in filter path limited by depth and fields.
+     *
+     * @see NetconfMessageTransformUtil#toFilterStructure(YangInstanceIdentifier, Integer, List, SchemaContext)
+     */
+    public ListenableFuture<DOMRpcResult> get(final FutureCallback<DOMRpcResult> callback,
+                                              final Optional<YangInstanceIdentifier> filterPath,
+                                              @Nullable final Integer depth,
+                                              @Nullable final List<Set<QName>> fields) {
         Preconditions.checkNotNull(callback);
 
         final ListenableFuture<DOMRpcResult> future;
 
-        future = isFilterPresent(filterPath) ?
-                rpc.invokeRpc(toPath(NETCONF_GET_QNAME), NetconfMessageTransformUtil.wrap(NETCONF_GET_QNAME, toFilterStructure(filterPath.get(), schemaContext))) :
-                rpc.invokeRpc(toPath(NETCONF_GET_QNAME), NetconfMessageTransformUtil.GET_RPC_CONTENT);
+        if (isFilterPresent(filterPath)) {
+            final DataContainerChild<?, ?> node = isLimited(depth, fields)
+                    ? transformer.toFilterStructure(filterPath.get(), depth, fields)
+                    : toFilterStructure(filterPath.get(), schemaContext);
+            future = rpc.invokeRpc(toPath(NETCONF_GET_QNAME), NetconfMessageTransformUtil.wrap(NETCONF_GET_QNAME, node));
+        } else {
+            future = rpc.invokeRpc(toPath(NETCONF_GET_QNAME), NetconfMessageTransformUtil.GET_RPC_CONTENT);
+        }
 
         Futures.addCallback(future, callback);
         return future;
     }
 
+    private static boolean isLimited(final Integer depth, final List<Set<QName>> fields) {
+        return depth != null || fields != null;
+    }
+
     private static boolean isFilterPresent(final Optional<YangInstanceIdentifier> filterPath) {
         return filterPath.isPresent() && !filterPath.get().isEmpty();
     }
@@ -21,6 +21,8 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import javax.annotation.Nullable;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.dom.DOMResult;
@@ -30,6 +32,7 @@ import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.dom.NetconfDOMDataBrokerFieldsExtension;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.sal.connect.util.MessageCounter;
 import org.opendaylight.netconf.util.NetconfUtil;
@@ -164,9 +167,30 @@ public class NetconfMessageTransformUtil {
     }
 
     public static DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier identifier, final SchemaContext ctx) {
-        final NormalizedNodeAttrBuilder<NodeIdentifier, DOMSource, AnyXmlNode> anyXmlBuilder = Builders.anyXmlBuilder().withNodeIdentifier(toId(NETCONF_FILTER_QNAME));
-        anyXmlBuilder.withAttributes(Collections.singletonMap(NETCONF_TYPE_QNAME, SUBTREE));
+        return toFilterAnyxml(createFilterElement(identifier, ctx));
+    }
+
+    /**
+     * Creates subtree filter for data under identifier, which selects only child nodes limited by depth and fields
+     * as described in {@link NetconfDOMDataBrokerFieldsExtension}. Nodes whose selection cannot be expressed by
+     * subtree filter are selected with all their descendants.
+     *
+     * @param identifier path to the data
+     * @param depth maximal depth of selected child nodes, {@code null} if not limited
+     * @param fields selected child nodes for each level, {@code null} if not limited
+     * @param ctx schema context
+     * @return filter structure
+     */
+    public static DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier identifier,
+            @Nullable final Integer depth, @Nullable final List<Set<QName>> fields, final SchemaContext ctx) {
+        final Element element = createFilterElement(identifier, ctx);
+        if (depth != null || fields != null) {
+            new FieldsFilterBuilder(depth, fields).appendSelectedChildren(element, identifier, ctx);
+        }
+        return toFilterAnyxml(element);
+    }
 
+    private static Element createFilterElement(final YangInstanceIdentifier identifier, final SchemaContext ctx) {
         final NormalizedNode<?, ?> filterContent = ImmutableNodes.fromInstanceId(ctx, identifier);
 
         final Element element = XmlUtil.createElement(BLANK_DOCUMENT, NETCONF_FILTER_QNAME.getLocalName(), Optional.of(NETCONF_FILTER_QNAME.getNamespace().toString()));
@@ -177,8 +201,13 @@ public class NetconfMessageTransformUtil {
         } catch (IOException | XMLStreamException e) {
             throw new IllegalStateException("Unable to serialize filter element for path " + identifier, e);
         }
-        anyXmlBuilder.withValue(new DOMSource(element));
+        return element;
+    }
 
+    private static DataContainerChild<?, ?> toFilterAnyxml(final Element element) {
+        final NormalizedNodeAttrBuilder<NodeIdentifier, DOMSource, AnyXmlNode> anyXmlBuilder = Builders.anyXmlBuilder().withNodeIdentifier(toId(NETCONF_FILTER_QNAME));
+        anyXmlBuilder.withAttributes(Collections.singletonMap(NETCONF_TYPE_QNAME, SUBTREE));
+        anyXmlBuilder.withValue(new DOMSource(element));
         return anyXmlBuilder.build();
     }
 
@@ -8,6 +8,9 @@
 package org.opendaylight.netconf.sal.connect.netconf.util;
 
 import com.google.common.base.Optional;
+import java.util.List;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.ModifyAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
@@ -37,6 +40,15 @@ interface RpcStructureTransformer {
      */
     DataContainerChild<?,?> toFilterStructure(YangInstanceIdentifier path);
 
+    /**
+     * Transforms path to filter structure, which selects only child nodes limited by depth and fields.
+     * @param path path
+     * @param depth maximal depth of selected child nodes, null if not limited
+     * @param fields selected child nodes for each level, null if not limited
+     * @return filter structure
+     */
+    DataContainerChild<?,?> toFilterStructure(YangInstanceIdentifier path, Integer depth, List<Set<QName>> fields);
+
     /**
      * Selects data specified by path from data node. Data must be product of get-config rpc with filter created by
      * {@link #toFilterStructure(YangInstanceIdentifier)} with same path.
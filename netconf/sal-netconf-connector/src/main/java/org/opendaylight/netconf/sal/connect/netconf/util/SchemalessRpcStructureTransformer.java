@@ -14,6 +14,7 @@ import com.google.common.base.Preconditions;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
@@ -127,6 +128,17 @@ class SchemalessRpcStructureTransformer implements RpcStructureTransformer {
                 .build();
     }
 
+    /**
+     * Without schema, child nodes selected by depth and fields cannot be resolved, so the filter selects all data
+     * in path.
+     * @see RpcStructureTransformer#toFilterStructure(YangInstanceIdentifier, Integer, List)
+     */
+    @Override
+    public DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier path, final Integer depth,
+                                                      final List<Set<QName>> fields) {
+        return toFilterStructure(path);
+    }
+
     private static void checkDataValidForPath(final YangInstanceIdentifier dataPath, final Element dataNode) {
         //if datapath is empty, consider dataNode to be a root node
         if (dataPath.equals(YangInstanceIdentifier.EMPTY)) {
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.util;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed wheel timer used for keepalives and request timeouts of netconf devices. Scheduling and cancelling
+ * a timeout is O(1) and does not contend on a shared delay queue, so a single instance can be shared by thousands
+ * of mounted devices. Expired tasks are handed off to an {@link Executor}, the timer thread itself only does
+ * the bookkeeping.
+ *
+ * <p>
+ * The timer keeps track of the number of pending timeouts and of how late the tasks start running compared to
+ * their deadline, which is bounded by the tick duration and the backlog of the executor. The counters are meant
+ * for diagnostics, {@link #toString()} includes all of them and is logged by users of the timer when they stop.
+ *
+ * <p>
+ * The {@link #getShared() shared instance} lives as long as the JVM (or the bundle class loader) and is never
+ * stopped. This is deliberate: devices come and go with mounts and topologies, none of which owns the timer, and
+ * an idle wheel costs a single daemon thread waking up once per tick. Netty also warns when many wheel timers are
+ * created, so a timer per device or per topology is not an option. Components which need a timer with a bounded
+ * lifecycle, like tests, create their own instance and stop the underlying {@link Timer} themselves.
+ */
+public final class NetconfTimer {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfTimer.class);
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private static final NetconfTimer SHARED = new NetconfTimer(new HashedWheelTimer(
+        new ThreadFactoryBuilder().setNameFormat("netconf-timer-%d").setDaemon(true).build(),
+        DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL));
+
+    private final Timer timer;
+
+    private final LongAdder pendingTimeouts = new LongAdder();
+    private final LongAdder expiredTimeouts = new LongAdder();
+    private final LongAdder totalLatenessNanos = new LongAdder();
+    private final AtomicLong maxLatenessNanos = new AtomicLong();
+
+    public NetconfTimer(final Timer timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Get the timer shared by all netconf devices. The shared timer runs on a daemon thread and is never stopped.
+     *
+     * @return shared timer instance
+     */
+    public static NetconfTimer getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Schedule a task to be run once after the specified delay.
+     *
+     * @param task task to run
+     * @param delay delay after which the task is run
+     * @param unit time unit of delay
+     * @param executor executor which runs the task once it expires
+     * @return handle which can be used to cancel the task
+     */
+    public Timeout newTimeout(final Runnable task, final long delay, final TimeUnit unit, final Executor executor) {
+        final long deadline = System.nanoTime() + unit.toNanos(delay);
+        pendingTimeouts.increment();
+        try {
+            return new CountingTimeout(timer.newTimeout(new ExpiredTask(task, deadline, executor), delay, unit));
+        } catch (final RuntimeException e) {
+            pendingTimeouts.decrement();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of tasks which have been scheduled, but neither expired nor were cancelled.
+     *
+     * @return number of pending timeouts
+     */
+    public long getPendingTimeouts() {
+        return pendingTimeouts.sum();
+    }
+
+    /**
+     * Get the number of tasks which have been run.
+     *
+     * @return number of expired timeouts
+     */
+    public long getExpiredTimeouts() {
+        return expiredTimeouts.sum();
+    }
+
+    /**
+     * Get the average time between task deadline and the task actually starting to run.
+     *
+     * @param unit time unit of the result
+     * @return average lateness
+     */
+    public long getAverageLateness(final TimeUnit unit) {
+        final long expired = expiredTimeouts.sum();
+        return expired == 0 ? 0 : unit.convert(totalLatenessNanos.sum() / expired, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the longest time between task deadline and the task actually starting to run.
+     *
+     * @param unit time unit of the result
+     * @return maximum lateness
+     */
+    public long getMaxLateness(final TimeUnit unit) {
+        return unit.convert(maxLatenessNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("pending", getPendingTimeouts())
+                .add("expired", getExpiredTimeouts())
+                .add("averageLatenessMicros", getAverageLateness(TimeUnit.MICROSECONDS))
+                .add("maxLatenessMicros", getMaxLateness(TimeUnit.MICROSECONDS))
+                .toString();
+    }
+
+    private void recordLateness(final long deadline) {
+        final long lateness = Math.max(0, System.nanoTime() - deadline);
+        expiredTimeouts.increment();
+        totalLatenessNanos.add(lateness);
+        maxLatenessNanos.accumulateAndGet(lateness, Math::max);
+    }
+
+    private final class ExpiredTask implements TimerTask {
+        private final Runnable task;
+        private final long deadline;
+        private final Executor executor;
+
+        ExpiredTask(final Runnable task, final long deadline, final Executor executor) {
+            this.task = task;
+            this.deadline = deadline;
+            this.executor = executor;
+        }
+
+        @Override
+        public void run(final Timeout timeout) {
+            pendingTimeouts.decrement();
+            try {
+                executor.execute(() -> {
+                    recordLateness(deadline);
+                    task.run();
+                });
+            } catch (final RejectedExecutionException e) {
+                LOG.debug("Executor {} rejected expired task {}", executor, task, e);
+            }
+        }
+    }
+
+    /**
+     * Timeout handle which keeps the pending timeout count in sync when a task is cancelled.
+     */
+    private final class CountingTimeout implements Timeout {
+        private final Timeout delegate;
+
+        CountingTimeout(final Timeout delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Timer timer() {
+            return delegate.timer();
+        }
+
+        @Override
+        public TimerTask task() {
+            return delegate.task();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public boolean cancel() {
+            if (delegate.cancel()) {
+                pendingTimeouts.decrement();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -314,8 +314,9 @@ public class NetconfDeviceTest {
 
         device.onRemoteSessionUp(sessionCaps, listener);
 
-        verify(schemaContextProviderFactory, timeout(5000).times(2)).createSchemaContext(any(Collection.class));
+        // Schema context built during the first connection is reused
         verify(facade, timeout(5000).times(2)).onDeviceConnected(any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
+        verify(schemaContextProviderFactory, times(1)).createSchemaContext(any(Collection.class));
     }
 
     @Test
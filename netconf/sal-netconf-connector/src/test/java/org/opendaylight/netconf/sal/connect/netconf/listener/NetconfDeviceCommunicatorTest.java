@@ -11,6 +11,7 @@ package org.opendaylight.netconf.sal.connect.netconf.listener;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
@@ -312,6 +313,22 @@ public class NetconfDeviceCommunicatorTest {
         communicator.onMessage( mockSession, createSuccessResponseMessage( messageID3 ) );
 
         verifyResponseMessage( resultFuture3.get(), messageID3 );
+
+        // unanswered requests are left to the RPC timeout and tear down
+        assertFalse( "Request 1 should still be pending", resultFuture1.isDone() );
+        assertFalse( "Request 2 should still be pending", resultFuture2.isDone() );
+    }
+
+    @Test
+    public void testSendRequestWhileSessionClosing() throws Exception {
+        setupSession();
+
+        communicator.disconnect();
+        final ListenableFuture<RpcResult<NetconfMessage>> resultFuture =
+                sendRequest( UUID.randomUUID().toString(), false );
+
+        assertTrue( "Request should be failed", resultFuture.isDone() );
+        verifyErrorRpcResult( resultFuture.get(), RpcError.ErrorType.TRANSPORT, "operation-failed" );
     }
 
     @Test
@@ -331,6 +348,26 @@ public class NetconfDeviceCommunicatorTest {
         verifyResponseMessage( resultFuture2.get(), messageID2 );
     }
 
+    @Test
+    public void testOnOutOfOrderResponseMessages() throws Exception {
+        setupSession();
+
+        String messageID1 = UUID.randomUUID().toString();
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture1 = sendRequest( messageID1, true );
+
+        String messageID2 = UUID.randomUUID().toString();
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture2 = sendRequest( messageID2, true );
+
+        communicator.onMessage( mockSession, createSuccessResponseMessage( messageID2 ) );
+
+        verifyResponseMessage( resultFuture2.get(), messageID2 );
+        assertEquals( "Request 1 should still be pending", false, resultFuture1.isDone() );
+
+        communicator.onMessage( mockSession, createSuccessResponseMessage( messageID1 ) );
+
+        verifyResponseMessage( resultFuture1.get(), messageID1 );
+    }
+
     @Test
     public void testOnResponseMessageWithError() throws Exception {
         setupSession();
@@ -7,27 +7,32 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.util.concurrent.Futures;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
 import java.net.InetSocketAddress;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.Matchers;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -38,6 +43,7 @@ import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.netconf.sal.connect.util.NetconfTimer;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -52,9 +58,8 @@ public class KeepaliveSalFacadeTest {
 
     @Mock
     private RemoteDeviceHandler<NetconfSessionPreferences> underlyingSalFacade;
-
-    private ScheduledExecutorService executorServiceSpy;
-
+    @Mock
+    private ScheduledExecutorService executor;
     @Mock
     private NetconfDeviceCommunicator listener;
     @Mock
@@ -62,13 +67,11 @@ public class KeepaliveSalFacadeTest {
 
     private DOMRpcService proxyRpc;
 
-    @Mock
-    private ScheduledFuture currentKeepalive;
+    private ManualTimer wheel;
+    private NetconfTimer timer;
 
     @Before
     public void setUp() throws Exception {
-        executorServiceSpy = Executors.newScheduledThreadPool(1);
-
         MockitoAnnotations.initMocks(this);
 
         doNothing().when(listener).disconnect();
@@ -76,24 +79,17 @@ public class KeepaliveSalFacadeTest {
         doNothing().when(underlyingSalFacade).onDeviceConnected(
                 any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
 
-        ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
-        executorServiceSpy = Mockito.spy(executorService);
-        doAnswer(new Answer<ScheduledFuture>() {
+        // Expired timer tasks run in the test thread
+        doAnswer(new Answer<Void>() {
             @Override
-            public ScheduledFuture answer(InvocationOnMock invocationOnMock)
-                    throws Throwable {
-                invocationOnMock.callRealMethod();
-                return currentKeepalive;
+            public Void answer(final InvocationOnMock invocationOnMock) throws Throwable {
+                ((Runnable) invocationOnMock.getArguments()[0]).run();
+                return null;
             }
-        }).when(executorServiceSpy).schedule(Mockito.<Runnable> any(),
-                Mockito.anyLong(), Matchers.<TimeUnit> any());
+        }).when(executor).execute(any(Runnable.class));
 
-        Mockito.when(currentKeepalive.isDone()).thenReturn(true);
-    }
-
-    @After
-    public void tearDown() throws Exception {
-        executorServiceSpy.shutdownNow();
+        wheel = new ManualTimer();
+        timer = new NetconfTimer(wheel);
     }
 
     @Test
@@ -104,7 +100,7 @@ public class KeepaliveSalFacadeTest {
         doReturn(Futures.immediateCheckedFuture(result)).when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
         final KeepaliveSalFacade keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 1L, 1L);
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executor, timer, 1L, 1L);
         keepaliveSalFacade.setListener(listener);
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
@@ -112,7 +108,15 @@ public class KeepaliveSalFacadeTest {
         verify(underlyingSalFacade).onDeviceConnected(
                 any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
 
-        verify(deviceRpc, timeout(15000).times(5)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        for (int i = 0; i < 5; i++) {
+            wheel.expireLatest();
+        }
+
+        verify(deviceRpc, times(5)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        verify(listener, never()).disconnect();
+        // Next keepalive is waiting in the timer
+        assertEquals(1, timer.getPendingTimeouts());
+        assertEquals(5, timer.getExpiredTimeouts());
     }
 
     @Test
@@ -131,7 +135,7 @@ public class KeepaliveSalFacadeTest {
                 .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
         final KeepaliveSalFacade keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 1L, 1L);
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executor, timer, 1L, 1L);
         keepaliveSalFacade.setListener(listener);
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
@@ -139,10 +143,16 @@ public class KeepaliveSalFacadeTest {
         verify(underlyingSalFacade).onDeviceConnected(
                 any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
 
+        wheel.expireLatest();
+        wheel.expireLatest();
+        wheel.expireLatest();
+
         // 1 failed that results in disconnect
-        verify(listener, timeout(15000).times(1)).disconnect();
+        verify(listener, times(1)).disconnect();
         // 3 attempts total
         verify(deviceRpc, times(3)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        // No further keepalive is scheduled after a failure
+        assertEquals(0, timer.getPendingTimeouts());
 
         // Reconnect with same keepalive responses
         doReturn(Futures.immediateCheckedFuture(result))
@@ -152,8 +162,12 @@ public class KeepaliveSalFacadeTest {
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
 
+        wheel.expireLatest();
+        wheel.expireLatest();
+        wheel.expireLatest();
+
         // 1 failed that results in disconnect, 2 total with previous fail
-        verify(listener, timeout(15000).times(2)).disconnect();
+        verify(listener, times(2)).disconnect();
         // 6 attempts now total
         verify(deviceRpc, times(3 * 2)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
@@ -163,15 +177,32 @@ public class KeepaliveSalFacadeTest {
                 .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+        wheel.expireLatest();
 
         // 1 failed that results in disconnect, 3 total with previous fail
-        verify(listener, timeout(15000).times(3)).disconnect();
+        verify(listener, times(3)).disconnect();
+        verify(deviceRpc, times(3 * 2 + 1)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+    }
 
+    @Test
+    public void testPreviousKeepalivePending() throws Exception {
+        final KeepaliveSalFacade keepaliveSalFacade =
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executor, timer, 1L, 1L);
+        keepaliveSalFacade.setListener(listener);
 
-        Mockito.when(currentKeepalive.isDone()).thenReturn(false);
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
-        // 1 failed that results in disconnect, 4 total with previous fail
-        verify(listener, timeout(15000).times(4)).disconnect();
+        final ManualTimeout previous = wheel.latest();
+        // Second keepalive is scheduled while the first one neither expired nor was cancelled
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+        assertEquals(2, timer.getPendingTimeouts());
+
+        wheel.expireLatest();
+
+        // Previous keepalive counts as timed out, session is reconnected without sending another keepalive
+        verify(listener, times(1)).disconnect();
+        verify(deviceRpc, never()).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        assertFalse(previous.isExpired());
+        assertEquals(1, timer.getExpiredTimeouts());
     }
 
     @Test
@@ -188,7 +219,7 @@ public class KeepaliveSalFacadeTest {
                 .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
         final KeepaliveSalFacade keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 100L, 1L);
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executor, timer, 100L, 1L);
         keepaliveSalFacade.setListener(listener);
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
@@ -196,5 +227,90 @@ public class KeepaliveSalFacadeTest {
         proxyRpc.invokeRpc(mock(SchemaPath.class), mock(NormalizedNode.class));
 
         verify(listener, times(1)).disconnect();
+        // Request timeout of the completed RPC is cancelled right away, as is the keepalive
+        assertTrue(wheel.latest().isCancelled());
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    /**
+     * Timer whose timeouts expire only when the test says so.
+     */
+    private static final class ManualTimer implements Timer {
+        private final List<ManualTimeout> timeouts = new ArrayList<>();
+
+        @Override
+        public Timeout newTimeout(final TimerTask task, final long delay, final TimeUnit unit) {
+            final ManualTimeout timeout = new ManualTimeout(this, task);
+            timeouts.add(timeout);
+            return timeout;
+        }
+
+        @Override
+        public Set<Timeout> stop() {
+            final Set<Timeout> pending = new HashSet<>();
+            for (final ManualTimeout timeout : timeouts) {
+                if (!timeout.isExpired() && !timeout.isCancelled()) {
+                    pending.add(timeout);
+                }
+            }
+            timeouts.clear();
+            return pending;
+        }
+
+        ManualTimeout latest() {
+            return timeouts.get(timeouts.size() - 1);
+        }
+
+        void expireLatest() throws Exception {
+            final ManualTimeout timeout = latest();
+            assertFalse("No pending timeout", timeout.isExpired() || timeout.isCancelled());
+            timeout.expire();
+        }
+    }
+
+    private static final class ManualTimeout implements Timeout {
+        private final Timer timer;
+        private final TimerTask task;
+        private boolean expired;
+        private boolean cancelled;
+
+        ManualTimeout(final Timer timer, final TimerTask task) {
+            this.timer = timer;
+            this.task = task;
+        }
+
+        void expire() throws Exception {
+            expired = true;
+            task.run(this);
+        }
+
+        @Override
+        public Timer timer() {
+            return timer;
+        }
+
+        @Override
+        public TimerTask task() {
+            return task;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return expired;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (expired || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            return true;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseSchema;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+public class SchemaContextCacheTest {
+
+    private static final SourceIdentifier SOURCE_A = RevisionSourceIdentifier.create("a", Optional.of("2017-01-01"));
+    private static final SourceIdentifier SOURCE_B = RevisionSourceIdentifier.create("b", Optional.of("2017-01-01"));
+
+    private SchemaContextFactory factory;
+    private SchemaContextCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        factory = mock(SchemaContextFactory.class);
+        cache = new SchemaContextCache(factory);
+    }
+
+    @Test
+    public void testSameSourcesShareContext() throws Exception {
+        final SchemaContext schemaContext = mock(SchemaContext.class);
+        doReturn(Futures.immediateCheckedFuture(schemaContext)).when(factory)
+                .createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+
+        assertSame(schemaContext, cache.createSchemaContext(ImmutableList.of(SOURCE_A, SOURCE_B)).checkedGet());
+        assertSame(schemaContext, cache.createSchemaContext(ImmutableList.of(SOURCE_B, SOURCE_A)).checkedGet());
+
+        verify(factory, times(1)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    @Test
+    public void testFailureNotCached() throws Exception {
+        final SchemaContext schemaContext = mock(SchemaContext.class);
+        doReturn(Futures.immediateFailedCheckedFuture(new SchemaResolutionException("fail")))
+                .doReturn(Futures.immediateCheckedFuture(schemaContext))
+                .when(factory).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+
+        try {
+            cache.createSchemaContext(ImmutableList.of(SOURCE_A)).checkedGet();
+            fail("Schema context build should have failed");
+        } catch (final SchemaResolutionException e) {
+            assertEquals("fail", e.getMessage());
+        }
+        assertSame(schemaContext, cache.createSchemaContext(ImmutableList.of(SOURCE_A)).checkedGet());
+
+        verify(factory, times(2)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+    }
+
+    @Test
+    public void testSharedMessageTransformer() throws Exception {
+        final SchemaContext schemaContext = BaseSchema.BASE_NETCONF_CTX.getSchemaContext();
+
+        assertSame(cache.getMessageTransformer(schemaContext, true, BaseSchema.BASE_NETCONF_CTX),
+                cache.getMessageTransformer(schemaContext, true, BaseSchema.BASE_NETCONF_CTX));
+        assertNotSame(cache.getMessageTransformer(schemaContext, true, BaseSchema.BASE_NETCONF_CTX),
+                cache.getMessageTransformer(schemaContext, false, BaseSchema.BASE_NETCONF_CTX));
+    }
+}
@@ -38,6 +38,11 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.xml.transform.dom.DOMSource;
 import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.ElementNameAndAttributeQualifier;
@@ -208,6 +213,40 @@ public class NetconfMessageTransformerTest {
         assertEquals(schemaNode, schemaParent.getValue().iterator().next());
     }
 
+    @Test
+    public void testConcurrentGetConfigResponse() throws Exception {
+        final String reply = "<rpc-reply message-id=\"101\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n" +
+                "<data>\n" +
+                "<netconf-state xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">\n" +
+                "<schemas>\n" +
+                "<schema>\n" +
+                "<identifier>module</identifier>\n" +
+                "<version>2012-12-12</version>\n" +
+                "<format xmlns:x=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">x:yang</format>\n" +
+                "</schema>\n" +
+                "</schemas>\n" +
+                "</netconf-state>\n" +
+                "</data>\n" +
+                "</rpc-reply>";
+        final NormalizedNode<?, ?> expected = netconfMessageTransformer.toRpcResult(
+                new NetconfMessage(XmlUtil.readXmlToDocument(reply)), toPath(NETCONF_GET_CONFIG_QNAME)).getResult();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<DOMRpcResult>> results = Lists.newArrayList();
+            for (int i = 0; i < 100; i++) {
+                final NetconfMessage response = new NetconfMessage(XmlUtil.readXmlToDocument(reply));
+                results.add(executor.submit(
+                    () -> netconfMessageTransformer.toRpcResult(response, toPath(NETCONF_GET_CONFIG_QNAME))));
+            }
+            for (final Future<DOMRpcResult> result : results) {
+                assertEquals(expected, result.get(10, TimeUnit.SECONDS).getResult());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testGetConfigRequest() throws Exception {
         final DataContainerChild<?, ?> filter = toFilterStructure(
@@ -232,6 +271,63 @@ public class NetconfMessageTransformerTest {
                 "</rpc>");
     }
 
+    @Test
+    public void testGetConfigRequestWithFields() throws Exception {
+        final List<Set<QName>> fields = Lists.newArrayList(Collections.singleton(Schemas.QNAME),
+                Collections.singleton(Schema.QNAME), Collections.singleton(QName.create(Schema.QNAME, "identifier")));
+        final DataContainerChild<?, ?> filter = toFilterStructure(YangInstanceIdentifier.create(toId(NetconfState.QNAME)),
+                null, fields, schema);
+
+        final DataContainerChild<?, ?> source = NetconfBaseOps.getSourceNode(NETCONF_RUNNING_QNAME);
+
+        final NetconfMessage netconfMessage = netconfMessageTransformer.toRpcRequest(toPath(NETCONF_GET_CONFIG_QNAME),
+                NetconfMessageTransformUtil.wrap(NETCONF_GET_CONFIG_QNAME, source, filter));
+
+        assertSimilarXml(netconfMessage, "<rpc message-id=\"m-0\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n" +
+                "<get-config xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n" +
+                "<filter xmlns:ns0=\"urn:ietf:params:xml:ns:netconf:base:1.0\" ns0:type=\"subtree\">\n" +
+                "<netconf-state xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">\n" +
+                "<schemas>\n" +
+                "<schema>\n" +
+                "<identifier/>\n" +
+                "<version/>\n" +
+                "<format/>\n" +
+                "</schema>\n" +
+                "</schemas>\n" +
+                "</netconf-state>" +
+                "</filter>\n" +
+                "<source>\n" +
+                "<running/>\n" +
+                "</source>\n" +
+                "</get-config>" +
+                "</rpc>");
+    }
+
+    @Test
+    public void testGetRequestWithDepth() throws Exception {
+        final DataContainerChild<?, ?> filter = toFilterStructure(
+                YangInstanceIdentifier.create(toId(NetconfState.QNAME), toId(Schemas.QNAME)), 2, null, schema);
+
+        final NetconfMessage netconfMessage = netconfMessageTransformer.toRpcRequest(toPath(NETCONF_GET_QNAME),
+                NetconfMessageTransformUtil.wrap(NETCONF_GET_QNAME, filter));
+
+        assertSimilarXml(netconfMessage, "<rpc message-id=\"m-0\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">" +
+                "<get xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n" +
+                "<filter xmlns:ns0=\"urn:ietf:params:xml:ns:netconf:base:1.0\" ns0:type=\"subtree\">\n" +
+                "<netconf-state xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">\n" +
+                "<schemas>\n" +
+                "<schema>\n" +
+                "<identifier/>\n" +
+                "<version/>\n" +
+                "<format/>\n" +
+                "</schema>\n" +
+                "</schemas>\n" +
+                "</netconf-state>" +
+                "</filter>\n" +
+                "</get>" +
+                "</rpc>");
+    }
+
     @Test
     public void testEditConfigRequest() throws Exception {
         final List<DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?>> values = Lists.newArrayList(
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NetconfTimerTest {
+
+    private HashedWheelTimer wheel;
+    private NetconfTimer timer;
+
+    @Before
+    public void setUp() throws Exception {
+        wheel = new HashedWheelTimer(1, TimeUnit.MILLISECONDS);
+        timer = new NetconfTimer(wheel);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        wheel.stop();
+    }
+
+    @Test
+    public void testExpiredTimeout() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        timer.newTimeout(latch::countDown, 10, TimeUnit.MILLISECONDS, MoreExecutors.directExecutor());
+        assertEquals(1, timer.getPendingTimeouts());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, timer.getPendingTimeouts());
+        assertEquals(1, timer.getExpiredTimeouts());
+        assertTrue(timer.getMaxLateness(TimeUnit.NANOSECONDS) >= timer.getAverageLateness(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testCancelledTimeout() throws Exception {
+        final Timeout timeout = timer.newTimeout(() -> { }, 1, TimeUnit.MINUTES, MoreExecutors.directExecutor());
+        assertEquals(1, timer.getPendingTimeouts());
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, timer.getPendingTimeouts());
+        assertEquals(0, timer.getExpiredTimeouts());
+        assertEquals(0, timer.getAverageLateness(TimeUnit.NANOSECONDS));
+    }
+}
@@ -11,6 +11,8 @@ package org.opendaylight.netconf.sal.rest.impl;
 import static org.opendaylight.netconf.sal.restconf.impl.PATCHEditOperation.isPatchOperationWithValue;
 
 import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import java.io.IOException;
@@ -214,7 +216,7 @@ public class JsonToPATCHBodyReader extends AbstractIdentifierAwareJaxRsProvider
     private void readEditDefinition(@Nonnull final PatchEdit edit, @Nonnull final JsonReader in,
                                     @Nonnull final InstanceIdentifierContext path,
                                     @Nonnull final StringModuleInstanceIdentifierCodec codec) throws IOException {
-        final StringBuffer value = new StringBuffer();
+        JsonElement deferredValue = null;
         in.beginObject();
 
         while (in.hasNext()) {
@@ -241,9 +243,14 @@ public class JsonToPATCHBodyReader extends AbstractIdentifierAwareJaxRsProvider
 
                     break;
                 case "value" :
-                    // save data defined in value node for next (later) processing, because target needs to be read
-                    // always first and there is no ordering in Json input
-                    readValueNode(value, in);
+                    if (edit.getTargetSchemaNode() != null) {
+                        // target is already known, parse data directly from the input
+                        edit.setData(readEditData(in, edit.getTargetSchemaNode(), path));
+                    } else {
+                        // save data defined in value node for later processing, because target needs to be read
+                        // always first and there is no ordering in Json input, whole value is buffered in memory
+                        deferredValue = new JsonParser().parse(in);
+                    }
                     break;
                 default:
                     break;
@@ -252,99 +259,12 @@ public class JsonToPATCHBodyReader extends AbstractIdentifierAwareJaxRsProvider
 
         in.endObject();
 
-        // read saved data to normalized node when target schema is already known
-        edit.setData(readEditData(new JsonReader(new StringReader(value.toString())), edit.getTargetSchemaNode(), path));
-    }
-
-    /**
-     * Parse data defined in value node and saves it to buffer
-     * @param value Buffer to read value node
-     * @param in JsonReader reader
-     * @throws IOException
-     */
-    private void readValueNode(@Nonnull final StringBuffer value, @Nonnull final JsonReader in) throws IOException {
-        in.beginObject();
-        value.append("{");
-
-        value.append("\"" + in.nextName() + "\"" + ":");
-
-        if (in.peek() == JsonToken.BEGIN_ARRAY) {
-            in.beginArray();
-            value.append("[");
-
-            while (in.hasNext()) {
-                if (in.peek() == JsonToken.STRING) {
-                    value.append("\"" + in.nextString() + "\"");
-                } else {
-                    readValueObject(value, in);
-                }
-                if (in.peek() != JsonToken.END_ARRAY) {
-                    value.append(",");
-                }
-            }
-
-            in.endArray();
-            value.append("]");
-        } else {
-            readValueObject(value, in);
+        // read saved data to normalized node when target schema is already known, parser needs JsonReader so value
+        // is serialized to JSON text and read again
+        if (deferredValue != null) {
+            edit.setData(readEditData(new JsonReader(new StringReader(deferredValue.toString())),
+                    edit.getTargetSchemaNode(), path));
         }
-
-        in.endObject();
-        value.append("}");
-    }
-
-    /**
-     * Parse one value object of data and saves it to buffer
-     * @param value Buffer to read value object
-     * @param in JsonReader reader
-     * @throws IOException
-     */
-    private void readValueObject(@Nonnull final StringBuffer value, @Nonnull final JsonReader in) throws IOException {
-        // read simple leaf value
-        if (in.peek() == JsonToken.STRING) {
-            value.append("\"" + in.nextString() + "\"");
-            return;
-        }
-
-        in.beginObject();
-        value.append("{");
-
-        while (in.hasNext()) {
-            value.append("\"" + in.nextName() + "\"");
-            value.append(":");
-
-            if (in.peek() == JsonToken.STRING) {
-                value.append("\"" + in.nextString() + "\"");
-            } else {
-                if (in.peek() == JsonToken.BEGIN_ARRAY) {
-                    in.beginArray();
-                    value.append("[");
-
-                    while (in.hasNext()) {
-                        if (in.peek() == JsonToken.STRING) {
-                            value.append("\"" + in.nextString() + "\"");
-                        } else {
-                            readValueObject(value, in);
-                        }
-                        if (in.peek() != JsonToken.END_ARRAY) {
-                            value.append(",");
-                        }
-                    }
-
-                    in.endArray();
-                    value.append("]");
-                } else {
-                    readValueObject(value, in);
-                }
-            }
-
-            if (in.peek() != JsonToken.END_OBJECT) {
-                value.append(",");
-            }
-        }
-
-        in.endObject();
-        value.append("}");
     }
 
     /**
@@ -12,10 +12,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.net.URISyntaxException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import javax.ws.rs.Consumes;
@@ -24,6 +24,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.Provider;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.opendaylight.netconf.sal.rest.api.Draft02;
 import org.opendaylight.netconf.sal.rest.api.RestconfService;
 import org.opendaylight.netconf.sal.restconf.impl.InstanceIdentifierContext;
@@ -32,12 +35,11 @@ import org.opendaylight.netconf.sal.restconf.impl.RestconfDocumentedException;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfError.ErrorTag;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfError.ErrorType;
 import org.opendaylight.restconf.utils.RestconfConstants;
-import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.restconf.utils.parser.XmlStreamUtil;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
-import org.opendaylight.yangtools.yang.data.impl.codec.xml.XmlUtils;
 import org.opendaylight.yangtools.yang.data.impl.schema.SchemaUtils;
-import org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.parser.DomToNormalizedNodeParserFactory;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
 import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
 import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
@@ -50,8 +52,6 @@ import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 
 @Provider
@@ -91,7 +91,8 @@ public class XmlNormalizedNodeBodyReader extends AbstractIdentifierAwareJaxRsPro
         }
     }
 
-    private NormalizedNodeContext readFrom(final InputStream entityStream) throws IOException, SAXException {
+    private NormalizedNodeContext readFrom(final InputStream entityStream) throws XMLStreamException,
+            URISyntaxException, IOException, ParserConfigurationException, SAXException {
         final InstanceIdentifierContext<?> path = getInstanceIdentifierContext();
 
         if (entityStream.available() < 1) {
@@ -99,13 +100,18 @@ public class XmlNormalizedNodeBodyReader extends AbstractIdentifierAwareJaxRsPro
             return new NormalizedNodeContext(path, null);
         }
 
-        final Document doc = UntrustedXML.newDocumentBuilder().parse(entityStream);
-        return parse(path, doc);
+        final XMLStreamReader reader = XmlStreamUtil.createXMLStreamReader(entityStream);
+        try {
+            reader.nextTag();
+            return parse(path, reader);
+        } finally {
+            reader.close();
+        }
     }
 
-    private NormalizedNodeContext parse(final InstanceIdentifierContext<?> pathContext,final Document doc) {
-
-        final List<Element> elements = Collections.singletonList(doc.getDocumentElement());
+    private NormalizedNodeContext parse(final InstanceIdentifierContext<?> pathContext,
+            final XMLStreamReader reader) throws XMLStreamException, URISyntaxException, IOException,
+            ParserConfigurationException, SAXException {
         final SchemaNode schemaNodeContext = pathContext.getSchemaNode();
         DataSchemaNode schemaNode;
         boolean isRpc = false;
@@ -118,16 +124,12 @@ public class XmlNormalizedNodeBodyReader extends AbstractIdentifierAwareJaxRsPro
             throw new IllegalStateException("Unknown SchemaNode");
         }
 
-        final String docRootElm = doc.getDocumentElement().getLocalName();
-        final String docRootNamespace = doc.getDocumentElement().getNamespaceURI();
+        final String docRootElm = reader.getLocalName();
+        final String docRootNamespace = reader.getNamespaceURI();
         final List<YangInstanceIdentifier.PathArgument> iiToDataList = new ArrayList<>();
         InstanceIdentifierContext<? extends SchemaNode> outIIContext;
 
 
-        // FIXME the factory instance should be cached if the schema context is the same
-        final DomToNormalizedNodeParserFactory parserFactory =
-                DomToNormalizedNodeParserFactory.getInstance(XmlUtils.DEFAULT_XML_CODEC_PROVIDER, pathContext.getSchemaContext());
-
         if (isPost() && !isRpc) {
             final Deque<Object> foundSchemaNodes = findPathToSchemaNodeByName(schemaNode, docRootElm, docRootNamespace);
             if (foundSchemaNodes.isEmpty()) {
@@ -148,12 +150,13 @@ public class XmlNormalizedNodeBodyReader extends AbstractIdentifierAwareJaxRsPro
 
         NormalizedNode<?, ?> parsed = null;
 
-        if (schemaNode instanceof ContainerSchemaNode) {
-            parsed = parserFactory.getContainerNodeParser().parse(Collections.singletonList(doc.getDocumentElement()), (ContainerSchemaNode) schemaNode);
-        } else if(schemaNode instanceof ListSchemaNode) {
-            final ListSchemaNode casted = (ListSchemaNode) schemaNode;
-            parsed = parserFactory.getMapEntryNodeParser().parse(elements, casted);
-            if (isPost()) {
+        if ((schemaNode instanceof ContainerSchemaNode) || (schemaNode instanceof ListSchemaNode)) {
+            parsed = XmlStreamUtil.parse(reader, pathContext.getSchemaContext(), schemaNode);
+            // list entry is parsed as map node with single entry
+            if (parsed instanceof MapNode) {
+                parsed = Iterables.getOnlyElement(((MapNode) parsed).getValue());
+            }
+            if ((schemaNode instanceof ListSchemaNode) && isPost()) {
                 iiToDataList.add(parsed.getIdentifier());
             }
         }
@@ -11,6 +11,8 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import java.io.UnsupportedEncodingException;
@@ -89,6 +91,9 @@ public class ControllerContext implements SchemaContextListener {
 
     private final AtomicReference<Map<QName, RpcDefinition>> qnameToRpc = new AtomicReference<>(Collections.emptyMap());
 
+    private final InstanceIdentifierContextCache identifierCache = new InstanceIdentifierContextCache();
+    private final InstanceIdentifierContextCache mountPointIdentifierCache = new InstanceIdentifierContextCache();
+
     // FIXME; these three should be final
     private volatile SchemaContext globalSchema;
     private volatile DOMMountPointService mountService;
@@ -98,6 +103,8 @@ public class ControllerContext implements SchemaContextListener {
     public void setGlobalSchema(final SchemaContext globalSchema) {
         this.globalSchema = globalSchema;
         this.dataNormalizer = new DataNormalizer(globalSchema);
+        this.identifierCache.invalidate();
+        this.mountPointIdentifierCache.invalidate();
     }
 
     public void setMountService(final DOMMountPointService mountService) {
@@ -125,6 +132,16 @@ public class ControllerContext implements SchemaContextListener {
         return toIdentifier(restconfInstance, false);
     }
 
+    /**
+     * Get statistics of lookups of parsed URIs.
+     *
+     * @return {@link CacheStats}
+     */
+    public CacheStats getIdentifierCacheStats() {
+        final CacheStats stats = this.identifierCache.getStats();
+        return stats.plus(this.mountPointIdentifierCache.getStats());
+    }
+
     public SchemaContext getGlobalSchema() {
         return this.globalSchema;
     }
@@ -147,6 +164,15 @@ public class ControllerContext implements SchemaContextListener {
             return null;
         }
 
+        // decoded path arguments are the normalized form of the URI
+        final InstanceIdentifierContextCache cache = toMountPointIdentifier ? this.mountPointIdentifierCache
+                : this.identifierCache;
+        return cache.get(this.globalSchema, ImmutableList.copyOf(pathArgs), this.mountService,
+            () -> toIdentifier(pathArgs, toMountPointIdentifier));
+    }
+
+    private InstanceIdentifierContext<?> toIdentifier(final List<String> pathArgs,
+            final boolean toMountPointIdentifier) {
         final String first = pathArgs.iterator().next();
         final String startModule = toModuleName(first);
         if (startModule == null) {
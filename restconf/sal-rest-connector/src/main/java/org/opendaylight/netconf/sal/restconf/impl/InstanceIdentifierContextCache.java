@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.restconf.impl;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Objects;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
+import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Bounded cache of {@link InstanceIdentifierContext}s parsed from RESTCONF URIs. Entries are keyed by the schema
+ * context the URI was parsed with, compared by identity, so contexts parsed with an older schema are never returned,
+ * and are dropped by {@link #invalidate()} when the global schema context changes.
+ *
+ * <p>
+ * Contexts of data behind mount points are returned only if the mount point is still registered in the mount point
+ * service under the same identifier and its schema context did not change, otherwise the URI is parsed again.
+ * Failed parsing is not cached.
+ */
+public final class InstanceIdentifierContextCache {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final Cache<CacheKey, InstanceIdentifierContext<?>> cache;
+
+    public InstanceIdentifierContextCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public InstanceIdentifierContextCache(final int maximumSize) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Get context of identifier, parsing it if it is not cached.
+     *
+     * @param schemaContext
+     *            - global schema context used for parsing
+     * @param identifier
+     *            - normalized identifier, either a string or a list of decoded path arguments
+     * @param mountPointService
+     *            - mount point service used for parsing
+     * @param parser
+     *            - parser of the identifier
+     * @return {@link InstanceIdentifierContext}
+     */
+    public InstanceIdentifierContext<?> get(final SchemaContext schemaContext, final Object identifier,
+            @Nullable final DOMMountPointService mountPointService,
+            final Supplier<InstanceIdentifierContext<?>> parser) {
+        final CacheKey key = new CacheKey(schemaContext, identifier);
+        final InstanceIdentifierContext<?> cached = this.cache.getIfPresent(key);
+        if ((cached != null) && isValid(cached, mountPointService)) {
+            return cached;
+        }
+
+        final InstanceIdentifierContext<?> parsed = parser.get();
+        if (parsed != null) {
+            this.cache.put(key, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Remove all cached contexts.
+     */
+    public void invalidate() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Get statistics of cache lookups. Hits of contexts which were not valid anymore are counted as hits, too.
+     *
+     * @return {@link CacheStats}
+     */
+    public CacheStats getStats() {
+        return this.cache.stats();
+    }
+
+    private static boolean isValid(final InstanceIdentifierContext<?> context,
+            @Nullable final DOMMountPointService mountPointService) {
+        final DOMMountPoint mountPoint = context.getMountPoint();
+        if (mountPoint == null) {
+            return true;
+        }
+        if ((mountPointService == null) || (mountPoint.getIdentifier() == null)) {
+            return false;
+        }
+        final Optional<DOMMountPoint> current = mountPointService.getMountPoint(mountPoint.getIdentifier());
+        return (current != null) && current.isPresent() && (current.get() == mountPoint)
+                && (mountPoint.getSchemaContext() == context.getSchemaContext());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("size", this.cache.size()).add("stats", this.cache.stats())
+                .toString();
+    }
+
+    private static final class CacheKey {
+        private final SchemaContext schemaContext;
+        private final Object identifier;
+
+        CacheKey(final SchemaContext schemaContext, final Object identifier) {
+            this.schemaContext = schemaContext;
+            this.identifier = identifier;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * System.identityHashCode(this.schemaContext)) + Objects.hashCode(this.identifier);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return (this.schemaContext == other.schemaContext) && Objects.equals(this.identifier, other.identifier);
+        }
+    }
+}
@@ -9,6 +9,7 @@ package org.opendaylight.netconf.sal.streams.listeners;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
 import java.io.StringReader;
 import java.time.Instant;
 import java.util.Optional;
@@ -90,13 +91,14 @@ abstract class AbstractQueryParams extends AbstractNotificationsData {
      * Checking query parameters on specific notification
      *
      * @param xml
-     *            - data of notification
+     *            - data of notification, only computed if a filter is used
      * @param listener
      *            - listener of notification
      * @return true if notification meets the requirements of query parameters,
      *         false otherwise
      */
-    protected <T extends BaseListenerInterface> boolean checkQueryParams(final String xml, final T listener) {
+    protected <T extends BaseListenerInterface> boolean checkQueryParams(final Supplier<String> xml,
+            final T listener) {
         final Instant now = Instant.now();
         if (this.stop != null) {
             if ((this.start.compareTo(now) < 0) && (this.stop.compareTo(now) > 0)) {
@@ -126,13 +128,13 @@ abstract class AbstractQueryParams extends AbstractNotificationsData {
      * @param change
      *            - data of notification
      */
-    private boolean checkFilter(final String xml) {
+    private boolean checkFilter(final Supplier<String> xml) {
         if (this.filter == null) {
             return true;
         }
 
         try {
-            return parseFilterParam(xml);
+            return parseFilterParam(xml.get());
         } catch (final Exception e) {
             throw new RestconfDocumentedException("Problem while parsing filter.", e);
         }
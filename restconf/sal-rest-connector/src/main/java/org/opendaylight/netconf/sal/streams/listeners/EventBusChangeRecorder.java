@@ -8,8 +8,11 @@
 package org.opendaylight.netconf.sal.streams.listeners;
 
 import com.google.common.eventbus.Subscribe;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.util.CharsetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,14 +42,20 @@ class EventBusChangeRecorder<T extends BaseListenerInterface> {
             this.listener.getSubscribers().remove(event.getSubscriber());
             Notificator.removeListenerIfNoSubscriberExists(this.listener);
         } else if (event.getType() == EventType.NOTIFY) {
-            for (final Channel subscriber : this.listener.getSubscribers()) {
-                if (subscriber.isActive()) {
-                    LOG.debug("Data are sent to subscriber {}:", subscriber.remoteAddress());
-                    subscriber.writeAndFlush(new TextWebSocketFrame(event.getData()));
-                } else {
-                    LOG.debug("Subscriber {} is removed - channel is not active yet.", subscriber.remoteAddress());
-                    this.listener.getSubscribers().remove(subscriber);
+            // Encode the data once, all subscribers get a view of the same buffer
+            final ByteBuf data = Unpooled.copiedBuffer(event.getData(), CharsetUtil.UTF_8);
+            try {
+                for (final Channel subscriber : this.listener.getSubscribers()) {
+                    if (subscriber.isActive()) {
+                        LOG.debug("Data are sent to subscriber {}:", subscriber.remoteAddress());
+                        subscriber.writeAndFlush(new TextWebSocketFrame(data.retainedDuplicate()));
+                    } else {
+                        LOG.debug("Subscriber {} is removed - channel is not active yet.", subscriber.remoteAddress());
+                        this.listener.getSubscribers().remove(subscriber);
+                    }
                 }
+            } finally {
+                data.release();
             }
         }
     }
@@ -7,22 +7,28 @@
  */
 package org.opendaylight.netconf.sal.streams.listeners;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.dom.DOMResult;
-import org.json.JSONObject;
-import org.json.XML;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataChangeListener;
 import org.opendaylight.netconf.sal.restconf.impl.ControllerContext;
+import org.opendaylight.netconf.sal.restconf.impl.RestconfDocumentedException;
 import org.opendaylight.restconf.parser.builder.YangInstanceIdentifierDeserializer;
 import org.opendaylight.yang.gen.v1.urn.sal.restconf.event.subscription.rev140708.NotificationOutputTypeGrouping.NotificationOutputType;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -30,6 +36,12 @@ import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONCodecFactory;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.codec.gson.JsonWriterFactory;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -47,6 +59,8 @@ import org.w3c.dom.Node;
 public class ListenerAdapter extends AbstractCommonSubscriber implements DOMDataChangeListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(ListenerAdapter.class);
+    private static final String NOTIFICATION_NAMESPACE = "urn:ietf:params:xml:ns:netconf:notification:1.0";
+    private static final String REMOTE_NAMESPACE = "urn:opendaylight:params:xml:ns:yang:controller:md:sal:remote";
 
     private final YangInstanceIdentifier path;
     private final String streamName;
@@ -54,6 +68,10 @@ public class ListenerAdapter extends AbstractCommonSubscriber implements DOMData
 
     private AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change;
 
+    // JSON codecs are expensive to create, keep them while the global schema does not change
+    private SchemaContext codecSchemaContext;
+    private JSONCodecFactory codecFactory;
+
     /**
      * Creates new {@link ListenerAdapter} listener specified by path and stream
      * name and register for subscribing
@@ -80,7 +98,8 @@ public class ListenerAdapter extends AbstractCommonSubscriber implements DOMData
     @Override
     public void onDataChanged(final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change) {
         this.change = change;
-        final String xml = prepareXml();
+        // XML is needed only for XML output or for evaluating the filter, build it at most once
+        final Supplier<String> xml = Suppliers.memoize(this::prepareXml);
         if (checkQueryParams(xml, this)) {
             prepareAndPostData(xml);
         }
@@ -115,17 +134,123 @@ public class ListenerAdapter extends AbstractCommonSubscriber implements DOMData
      *
      * @param xml
      */
-    private void prepareAndPostData(final String xml) {
+    private void prepareAndPostData(final Supplier<String> xml) {
         final Event event = new Event(EventType.NOTIFY);
         if (this.outputType.equals(NotificationOutputType.JSON)) {
-            final JSONObject jsonObject = XML.toJSONObject(xml);
-            event.setData(jsonObject.toString());
+            event.setData(prepareJson());
         } else {
-            event.setData(xml);
+            event.setData(xml.get());
         }
         post(event);
     }
 
+    /**
+     * Prepare data in JSON form. Data is written directly from normalized nodes, layout of the notification follows
+     * the XML form.
+     *
+     * @return Data in JSON form.
+     */
+    @VisibleForTesting
+    String prepareJson() {
+        final SchemaContext schemaContext = ControllerContext.getInstance().getGlobalSchema();
+        final DataSchemaContextTree dataContextTree = DataSchemaContextTree.from(schemaContext);
+        final JSONCodecFactory codecs = getCodecFactory(schemaContext);
+        final StringWriter writer = new StringWriter();
+        final JsonWriter jsonWriter = JsonWriterFactory.createJsonWriter(writer);
+
+        try {
+            jsonWriter.beginObject().name("notification").beginObject();
+            jsonWriter.name("xmlns").value(NOTIFICATION_NAMESPACE);
+            jsonWriter.name("eventTime").value(toRFC3339(Instant.now()));
+            jsonWriter.name("data-changed-notification").beginObject();
+            jsonWriter.name("xmlns").value(REMOTE_NAMESPACE);
+            jsonWriter.name("data-change-event").beginArray();
+
+            writeCreatedChangedValuesToJson(jsonWriter, this.change.getCreatedData().entrySet(), Operation.CREATED,
+                    codecs, dataContextTree);
+            writeCreatedChangedValuesToJson(jsonWriter, this.change.getUpdatedData().entrySet(), Operation.UPDATED,
+                    codecs, dataContextTree);
+            writeValuesToJson(jsonWriter, this.change.getRemovedPaths(), Operation.DELETED);
+
+            jsonWriter.endArray().endObject().endObject().endObject();
+            jsonWriter.close();
+        } catch (final IOException e) {
+            throw new RestconfDocumentedException("Problem while writing data change event to JSON.", e);
+        }
+
+        return writer.toString();
+    }
+
+    @VisibleForTesting
+    void setChange(final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change) {
+        this.change = Preconditions.checkNotNull(change);
+    }
+
+    private JSONCodecFactory getCodecFactory(final SchemaContext schemaContext) {
+        if (schemaContext != this.codecSchemaContext) {
+            this.codecFactory = JSONCodecFactory.create(schemaContext);
+            this.codecSchemaContext = schemaContext;
+        }
+        return this.codecFactory;
+    }
+
+    private static void writeValuesToJson(final JsonWriter jsonWriter, final Set<YangInstanceIdentifier> data,
+            final Operation operation) throws IOException {
+        if ((data == null) || data.isEmpty()) {
+            return;
+        }
+        for (final YangInstanceIdentifier path : data) {
+            if (!ControllerContext.getInstance().isNodeMixin(path)) {
+                jsonWriter.beginObject();
+                jsonWriter.name("path").value(createPathValue(path));
+                jsonWriter.name("operation").value(operation.value);
+                jsonWriter.endObject();
+            }
+        }
+    }
+
+    private void writeCreatedChangedValuesToJson(final JsonWriter jsonWriter,
+            final Set<Entry<YangInstanceIdentifier, NormalizedNode<?, ?>>> data, final Operation operation,
+            final JSONCodecFactory codecs, final DataSchemaContextTree dataSchemaContextTree) throws IOException {
+        if ((data == null) || data.isEmpty()) {
+            return;
+        }
+        for (final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry : data) {
+            if (!ControllerContext.getInstance().isNodeMixin(entry.getKey()) &&
+                                                            (!getLeafNodesOnly() || entry.getValue() instanceof LeafNode)) {
+                jsonWriter.beginObject();
+                jsonWriter.name("path").value(createPathValue(entry.getKey()));
+                jsonWriter.name("operation").value(operation.value);
+                jsonWriter.name("data").beginObject();
+                writeNormalizedNodeToJson(jsonWriter, entry.getKey(), entry.getValue(), codecs,
+                        dataSchemaContextTree);
+                jsonWriter.endObject();
+                jsonWriter.endObject();
+            }
+        }
+    }
+
+    private static void writeNormalizedNodeToJson(final JsonWriter jsonWriter, final YangInstanceIdentifier path,
+            final NormalizedNode<?, ?> normalized, final JSONCodecFactory codecs,
+            final DataSchemaContextTree dataSchemaContextTree) throws IOException {
+        // List entries cannot be written as an object member, wrap them in their list
+        final NormalizedNode<?, ?> data;
+        if (normalized instanceof MapEntryNode) {
+            data = ImmutableNodes.mapNodeBuilder(normalized.getNodeType()).withChild((MapEntryNode) normalized).build();
+        } else if (normalized instanceof UnkeyedListEntryNode) {
+            data = Builders.unkeyedListBuilder().withNodeIdentifier(new NodeIdentifier(normalized.getNodeType()))
+                    .withChild((UnkeyedListEntryNode) normalized).build();
+        } else {
+            data = normalized;
+        }
+
+        final SchemaPath nodePath = dataSchemaContextTree.getChild(path).getDataSchemaNode().getPath().getParent();
+        final NormalizedNodeWriter nodeWriter = NormalizedNodeWriter.forStreamWriter(
+                JSONNormalizedNodeStreamWriter.createNestedWriter(codecs, nodePath, null, jsonWriter));
+        nodeWriter.write(data);
+        nodeWriter.flush();
+    }
+
     /**
      * Tracks events of data change by customer.
      */
@@ -144,7 +269,7 @@ public class ListenerAdapter extends AbstractCommonSubscriber implements DOMData
         final Element notificationElement = basePartDoc(doc);
 
         final Element dataChangedNotificationEventElement = doc.createElementNS(
-                "urn:opendaylight:params:xml:ns:yang:controller:md:sal:remote", "data-changed-notification");
+                REMOTE_NAMESPACE, "data-changed-notification");
 
         addValuesToDataChangedNotificationEventElement(doc, dataChangedNotificationEventElement, this.change,
                 schemaContext, dataContextTree);
@@ -287,8 +412,18 @@ public class ListenerAdapter extends AbstractCommonSubscriber implements DOMData
      * @param element
      *            {@link Element}
      */
-    @SuppressWarnings("rawtypes")
-    private void addPathAsValueToElement(final YangInstanceIdentifier path, final Element element) {
+    private static void addPathAsValueToElement(final YangInstanceIdentifier path, final Element element) {
+        element.setTextContent(createPathValue(path));
+    }
+
+    /**
+     * Creates textual representation of path, with module names used as prefixes.
+     *
+     * @param path
+     *            Path to data in data store.
+     * @return Path as {@link String}
+     */
+    private static String createPathValue(final YangInstanceIdentifier path) {
         final YangInstanceIdentifier normalizedPath = ControllerContext.getInstance().toXpathRepresentation(path);
         final StringBuilder textContent = new StringBuilder();
 
@@ -297,13 +432,13 @@ public class ListenerAdapter extends AbstractCommonSubscriber implements DOMData
                 continue;
             }
             textContent.append("/");
-            writeIdentifierWithNamespacePrefix(element, textContent, pathArgument.getNodeType());
+            writeIdentifierWithNamespacePrefix(textContent, pathArgument.getNodeType());
             if (pathArgument instanceof NodeIdentifierWithPredicates) {
                 final Map<QName, Object> predicates = ((NodeIdentifierWithPredicates) pathArgument).getKeyValues();
                 for (final QName keyValue : predicates.keySet()) {
                     final String predicateValue = String.valueOf(predicates.get(keyValue));
                     textContent.append("[");
-                    writeIdentifierWithNamespacePrefix(element, textContent, keyValue);
+                    writeIdentifierWithNamespacePrefix(textContent, keyValue);
                     textContent.append("='");
                     textContent.append(predicateValue);
                     textContent.append("'");
@@ -316,21 +451,18 @@ public class ListenerAdapter extends AbstractCommonSubscriber implements DOMData
                 textContent.append("]");
             }
         }
-        element.setTextContent(textContent.toString());
+        return textContent.toString();
     }
 
     /**
      * Writes identifier that consists of prefix and QName.
      *
-     * @param element
-     *            {@link Element}
      * @param textContent
      *            StringBuilder
      * @param qName
      *            QName
      */
-    private static void writeIdentifierWithNamespacePrefix(final Element element, final StringBuilder textContent,
-            final QName qName) {
+    private static void writeIdentifierWithNamespacePrefix(final StringBuilder textContent, final QName qName) {
         final Module module = ControllerContext.getInstance().getGlobalSchema()
                 .findModuleByNamespaceAndRevision(qName.getNamespace(), qName.getRevision());
 
@@ -9,6 +9,8 @@ package org.opendaylight.netconf.sal.streams.listeners;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -90,7 +92,8 @@ public class NotificationListenerAdapter extends AbstractCommonSubscriber implem
         this.schemaContext = ControllerContext.getInstance().getGlobalSchema();
         this.notification = notification;
 
-        final String xml = prepareXml();
+        // XML is needed only for XML output or for evaluating the filter, build it at most once
+        final Supplier<String> xml = Suppliers.memoize(this::prepareXml);
         if (checkQueryParams(xml, this)) {
             prepareAndPostData(xml);
         }
@@ -120,12 +123,12 @@ public class NotificationListenerAdapter extends AbstractCommonSubscriber implem
      *
      * @param xml
      */
-    private void prepareAndPostData(final String xml) {
+    private void prepareAndPostData(final Supplier<String> xml) {
         final Event event = new Event(EventType.NOTIFY);
         if (this.outputType.equals("JSON")) {
             event.setData(prepareJson());
         } else {
-            event.setData(xml);
+            event.setData(xml.get());
         }
         post(event);
     }
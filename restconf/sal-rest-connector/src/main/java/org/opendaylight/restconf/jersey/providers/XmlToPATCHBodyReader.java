@@ -16,8 +16,10 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.WebApplicationException;
@@ -25,6 +27,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.Provider;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.opendaylight.netconf.sal.restconf.impl.InstanceIdentifierContext;
 import org.opendaylight.netconf.sal.restconf.impl.PATCHContext;
 import org.opendaylight.netconf.sal.restconf.impl.PATCHEditOperation;
@@ -34,6 +39,7 @@ import org.opendaylight.netconf.sal.restconf.impl.RestconfError.ErrorTag;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfError.ErrorType;
 import org.opendaylight.restconf.Rfc8040;
 import org.opendaylight.restconf.utils.RestconfConstants;
+import org.opendaylight.restconf.utils.parser.XmlStreamUtil;
 import org.opendaylight.yangtools.util.xml.UntrustedXML;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -81,8 +87,13 @@ public class XmlToPATCHBodyReader extends AbstractIdentifierAwareJaxRsProvider i
                 return new PATCHContext(path, null, null);
             }
 
-            final Document doc = UntrustedXML.newDocumentBuilder().parse(entityStream);
-            return parse(path, doc);
+            final XMLStreamReader reader = XmlStreamUtil.createXMLStreamReader(entityStream);
+            try {
+                reader.nextTag();
+                return parse(path, reader);
+            } finally {
+                reader.close();
+            }
         } catch (final RestconfDocumentedException e) {
             throw e;
         } catch (final Exception e) {
@@ -93,81 +104,109 @@ public class XmlToPATCHBodyReader extends AbstractIdentifierAwareJaxRsProvider i
         }
     }
 
-    private static PATCHContext parse(final InstanceIdentifierContext<?> pathContext, final Document doc) {
+    /**
+     * Read patch from reader positioned at root element. The body is not parsed into one DOM document, but each edit
+     * is still built as DOM element before it is parsed, because path to target list entries is completed from values
+     * of edits. Only one edit at a time is held in memory this way.
+     */
+    private static PATCHContext parse(final InstanceIdentifierContext<?> pathContext, final XMLStreamReader reader)
+            throws XMLStreamException, ParserConfigurationException {
         final List<PATCHEntity> resultCollection = new ArrayList<>();
-        final String patchId = doc.getElementsByTagName("patch-id").item(0).getFirstChild().getNodeValue();
-        final NodeList editNodes = doc.getElementsByTagName("edit");
         final DomToNormalizedNodeParserFactory parserFactory =
                 DomToNormalizedNodeParserFactory.getInstance(XmlUtils.DEFAULT_XML_CODEC_PROVIDER,
                         pathContext.getSchemaContext());
+        final Document document = UntrustedXML.newDocumentBuilder().newDocument();
+        final Map<String, String> namespaces = new HashMap<>();
+        XmlStreamUtil.putNamespaces(reader, namespaces);
+
+        String patchId = null;
+        while (XmlStreamUtil.nextStartElement(reader)) {
+            if ("patch-id".equals(reader.getLocalName())) {
+                patchId = reader.getElementText();
+            } else if ("edit".equals(reader.getLocalName())) {
+                resultCollection.add(parseEdit(pathContext, XmlStreamUtil.readElement(reader, document, namespaces),
+                        parserFactory));
+            }
+        }
 
-        for (int i = 0; i < editNodes.getLength(); i++) {
-            DataSchemaNode schemaNode = (DataSchemaNode) pathContext.getSchemaNode();
-            final Element element = (Element) editNodes.item(i);
-            final String operation = element.getElementsByTagName("operation").item(0).getFirstChild().getNodeValue();
-            final String editId = element.getElementsByTagName("edit-id").item(0).getFirstChild().getNodeValue();
-            final String target = element.getElementsByTagName("target").item(0).getFirstChild().getNodeValue();
-            final List<Element> values = readValueNodes(element, operation);
-            final Element firstValueElement = values != null ? values.get(0) : null;
-
-            // get namespace according to schema node from path context or value
-            final String namespace = (firstValueElement == null) ?
-                    schemaNode.getQName().getNamespace().toString() : firstValueElement.getNamespaceURI();
-
-            // find module according to namespace
-            final Module module = pathContext.getSchemaContext().findModuleByNamespace(
-                    URI.create(namespace)).iterator().next();
-
-            // initialize codec + set default prefix derived from module name
-            final StringModuleInstanceIdentifierCodec codec = new StringModuleInstanceIdentifierCodec(
-                    pathContext.getSchemaContext(), module.getName());
-
-            // find complete path to target and target schema node
-            // target can be also empty (only slash)
-            YangInstanceIdentifier targetII;
-            final SchemaNode targetNode;
-            if (target.equals("/")) {
-                targetII = pathContext.getInstanceIdentifier();
-                targetNode = pathContext.getSchemaContext();
-            } else {
-                targetII = codec.deserialize(codec.serialize(pathContext.getInstanceIdentifier())
-                        .concat(prepareNonCondXpath(schemaNode, target.replaceFirst("/", ""), firstValueElement,
-                                namespace, module.getQNameModule().getFormattedRevision())));
+        if (patchId == null) {
+            throw new IllegalStateException("Missing patch-id");
+        }
 
-                targetNode = SchemaContextUtil.findDataSchemaNode(pathContext.getSchemaContext(),
-                        codec.getDataContextTree().getChild(targetII).getDataSchemaNode().getPath().getParent());
+        return new PATCHContext(pathContext, ImmutableList.copyOf(resultCollection), patchId);
+    }
 
-                // move schema node
-                schemaNode = (DataSchemaNode) SchemaContextUtil.findDataSchemaNode(pathContext.getSchemaContext(),
-                        codec.getDataContextTree().getChild(targetII).getDataSchemaNode().getPath());
-            }
+    /**
+     * Parse edit operation
+     * @param pathContext Path context of request
+     * @param element Element of edit operation
+     * @param parserFactory Factory of parsers of values
+     * @return Edit operation
+     */
+    private static PATCHEntity parseEdit(final InstanceIdentifierContext<?> pathContext, final Element element,
+            final DomToNormalizedNodeParserFactory parserFactory) {
+        DataSchemaNode schemaNode = (DataSchemaNode) pathContext.getSchemaNode();
+        final String operation = element.getElementsByTagName("operation").item(0).getFirstChild().getNodeValue();
+        final String editId = element.getElementsByTagName("edit-id").item(0).getFirstChild().getNodeValue();
+        final String target = element.getElementsByTagName("target").item(0).getFirstChild().getNodeValue();
+        final List<Element> values = readValueNodes(element, operation);
+        final Element firstValueElement = values != null ? values.get(0) : null;
+
+        // get namespace according to schema node from path context or value
+        final String namespace = (firstValueElement == null) ?
+                schemaNode.getQName().getNamespace().toString() : firstValueElement.getNamespaceURI();
+
+        // find module according to namespace
+        final Module module = pathContext.getSchemaContext().findModuleByNamespace(
+                URI.create(namespace)).iterator().next();
+
+        // initialize codec + set default prefix derived from module name
+        final StringModuleInstanceIdentifierCodec codec = new StringModuleInstanceIdentifierCodec(
+                pathContext.getSchemaContext(), module.getName());
+
+        // find complete path to target and target schema node
+        // target can be also empty (only slash)
+        YangInstanceIdentifier targetII;
+        final SchemaNode targetNode;
+        if (target.equals("/")) {
+            targetII = pathContext.getInstanceIdentifier();
+            targetNode = pathContext.getSchemaContext();
+        } else {
+            targetII = codec.deserialize(codec.serialize(pathContext.getInstanceIdentifier())
+                    .concat(prepareNonCondXpath(schemaNode, target.replaceFirst("/", ""), firstValueElement,
+                            namespace, module.getQNameModule().getFormattedRevision())));
+
+            targetNode = SchemaContextUtil.findDataSchemaNode(pathContext.getSchemaContext(),
+                    codec.getDataContextTree().getChild(targetII).getDataSchemaNode().getPath().getParent());
+
+            // move schema node
+            schemaNode = (DataSchemaNode) SchemaContextUtil.findDataSchemaNode(pathContext.getSchemaContext(),
+                    codec.getDataContextTree().getChild(targetII).getDataSchemaNode().getPath());
+        }
 
-            if (targetNode == null) {
-                LOG.debug("Target node {} not found in path {} ", target, pathContext.getSchemaNode());
-                throw new RestconfDocumentedException("Error parsing input", ErrorType.PROTOCOL,
-                        ErrorTag.MALFORMED_MESSAGE);
-            } else {
-                if (PATCHEditOperation.isPatchOperationWithValue(operation)) {
-                    NormalizedNode<?, ?> parsed = null;
-                    if (schemaNode instanceof ContainerSchemaNode) {
-                        parsed = parserFactory.getContainerNodeParser().parse(values, (ContainerSchemaNode) schemaNode);
-                    } else if (schemaNode instanceof ListSchemaNode) {
-                        parsed = parserFactory.getMapNodeParser().parse(values, (ListSchemaNode) schemaNode);
-                    }
-
-                    // for lists allow to manipulate with list items through their parent
-                    if (targetII.getLastPathArgument() instanceof NodeIdentifierWithPredicates) {
-                        targetII = targetII.getParent();
-                    }
-
-                    resultCollection.add(new PATCHEntity(editId, operation, targetII, parsed));
-                } else {
-                    resultCollection.add(new PATCHEntity(editId, operation, targetII));
+        if (targetNode == null) {
+            LOG.debug("Target node {} not found in path {} ", target, pathContext.getSchemaNode());
+            throw new RestconfDocumentedException("Error parsing input", ErrorType.PROTOCOL,
+                    ErrorTag.MALFORMED_MESSAGE);
+        } else {
+            if (PATCHEditOperation.isPatchOperationWithValue(operation)) {
+                NormalizedNode<?, ?> parsed = null;
+                if (schemaNode instanceof ContainerSchemaNode) {
+                    parsed = parserFactory.getContainerNodeParser().parse(values, (ContainerSchemaNode) schemaNode);
+                } else if (schemaNode instanceof ListSchemaNode) {
+                    parsed = parserFactory.getMapNodeParser().parse(values, (ListSchemaNode) schemaNode);
+                }
+
+                // for lists allow to manipulate with list items through their parent
+                if (targetII.getLastPathArgument() instanceof NodeIdentifierWithPredicates) {
+                    targetII = targetII.getParent();
                 }
+
+                return new PATCHEntity(editId, operation, targetII, parsed);
+            } else {
+                return new PATCHEntity(editId, operation, targetII);
             }
         }
-
-        return new PATCHContext(pathContext, ImmutableList.copyOf(resultCollection), patchId);
     }
 
     /**
@@ -129,7 +129,7 @@ public class RestconfDataServiceImpl implements RestconfDataService {
                 instanceIdentifier, mountPoint, transactionChain);
         final NormalizedNode<?, ?> node =
                 ReadDataTransactionUtil.readData(identifier, parameters.getContent(), transactionNode, withDefa,
-                        schemaContextRef, uriInfo);
+                        schemaContextRef, uriInfo, parameters);
         if (identifier.contains(STREAM_PATH) && identifier.contains(STREAM_ACCESS_PATH_PART)
                 && identifier.contains(STREAM_LOCATION_PATH_PART)) {
             final String value = (String) node.getValue();
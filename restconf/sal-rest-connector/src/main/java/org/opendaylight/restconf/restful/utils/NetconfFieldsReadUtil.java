@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.restconf.restful.utils;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBrokerExtension;
+import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
+import org.opendaylight.netconf.api.dom.NetconfDOMDataBrokerFieldsExtension;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Util class for reading data of mount points limited by depth and fields parameters, so that only selected data
+ * are sent by the device. Only mount points whose data broker supports {@link NetconfDOMDataBrokerFieldsExtension}
+ * can do that.
+ */
+final class NetconfFieldsReadUtil {
+
+    private NetconfFieldsReadUtil() {
+        throw new UnsupportedOperationException("Util class.");
+    }
+
+    /**
+     * Read data of mount point limited by depth and fields.
+     *
+     * @param mountPoint
+     *            - mount point
+     * @param store
+     *            - datastore type
+     * @param path
+     *            - path to the data
+     * @param depth
+     *            - value of depth parameter
+     * @param fields
+     *            - parsed value of fields parameter
+     * @return future with data or null if data broker of mount point does not support the extension
+     */
+    static @Nullable CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
+            @Nonnull final DOMMountPoint mountPoint, @Nonnull final LogicalDatastoreType store,
+            @Nonnull final YangInstanceIdentifier path, @Nullable final Integer depth,
+            @Nullable final List<Set<QName>> fields) {
+        final Optional<DOMDataBroker> dataBroker = mountPoint.getService(DOMDataBroker.class);
+        if (!dataBroker.isPresent()) {
+            return null;
+        }
+        final DOMDataBrokerExtension extension = dataBroker.get().getSupportedExtensions()
+                .get(NetconfDOMDataBrokerFieldsExtension.class);
+        if (extension == null) {
+            return null;
+        }
+        return ((NetconfDOMDataBrokerFieldsExtension) extension).read(store, path, depth, fields);
+    }
+}
@@ -16,15 +16,15 @@ import com.google.common.util.concurrent.CheckedFuture;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.UriInfo;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.opendaylight.netconf.sal.restconf.impl.ControllerContext;
 import org.opendaylight.netconf.sal.restconf.impl.InstanceIdentifierContext;
@@ -215,21 +215,41 @@ public final class ReadDataTransactionUtil {
      */
     public static @Nullable NormalizedNode<?, ?> readData(@Nonnull final String valueOfContent,
             @Nonnull final TransactionVarsWrapper transactionNode, final String withDefa) {
+        return readData(valueOfContent, transactionNode, withDefa, null);
+    }
+
+    /**
+     * Read specific type of data from data store via transaction. Data of netconf mount points are limited by depth
+     * and fields of parameters already when read from the device, other data are read whole.
+     *
+     * @param valueOfContent
+     *            - type of data to read (config, state, all)
+     * @param transactionNode
+     *            - {@link TransactionVarsWrapper} - wrapper for variables
+     * @param withDefa
+     *            - vaule of with-defaults parameter
+     * @param parameters
+     *            - {@link WriterParameters} with depth and fields of the response
+     * @return {@link NormalizedNode}
+     */
+    public static @Nullable NormalizedNode<?, ?> readData(@Nonnull final String valueOfContent,
+            @Nonnull final TransactionVarsWrapper transactionNode, final String withDefa,
+            @Nullable final WriterParameters parameters) {
         switch (valueOfContent) {
             case RestconfDataServiceConstant.ReadData.CONFIG:
                 transactionNode.setLogicalDatastoreType(LogicalDatastoreType.CONFIGURATION);
                 if (withDefa == null) {
-                    return readDataViaTransaction(transactionNode);
+                    return readDataViaTransaction(transactionNode, parameters);
                 } else {
-                    return prepareDataByParamWithDef(readDataViaTransaction(transactionNode),
+                    return prepareDataByParamWithDef(readDataViaTransaction(transactionNode, parameters),
                             transactionNode.getInstanceIdentifier().getInstanceIdentifier(), withDefa);
                 }
             case RestconfDataServiceConstant.ReadData.NONCONFIG:
                 transactionNode.setLogicalDatastoreType(LogicalDatastoreType.OPERATIONAL);
-                return readDataViaTransaction(transactionNode);
+                return readDataViaTransaction(transactionNode, parameters);
 
             case RestconfDataServiceConstant.ReadData.ALL:
-                return readAllData(transactionNode, withDefa);
+                return readAllData(transactionNode, withDefa, parameters);
 
             default:
                 throw new RestconfDocumentedException(
@@ -370,13 +390,57 @@ public final class ReadDataTransactionUtil {
      *
      * @param transactionNode
      *            - {@link TransactionVarsWrapper} - wrapper for variables
+     * @param parameters
+     *            - {@link WriterParameters} with depth and fields of the response
      * @return {@link NormalizedNode}
      */
     private static @Nullable NormalizedNode<?, ?> readDataViaTransaction(
-            @Nonnull final TransactionVarsWrapper transactionNode) {
-        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> listenableFuture = transactionNode
-                .getTransactionChain().newReadOnlyTransaction().read(transactionNode.getLogicalDatastoreType(),
-                        transactionNode.getInstanceIdentifier().getInstanceIdentifier());
+            @Nonnull final TransactionVarsWrapper transactionNode, @Nullable final WriterParameters parameters) {
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> listenableFuture = read(
+                transactionNode.getTransactionChain().newReadOnlyTransaction(), transactionNode,
+                transactionNode.getLogicalDatastoreType(), parameters);
+        return waitForData(listenableFuture);
+    }
+
+    /**
+     * Read data of datastore. Mount points supporting it read only data selected by depth and fields, otherwise
+     * data are read by transaction.
+     *
+     * @param readTx
+     *            - read transaction
+     * @param transactionNode
+     *            - {@link TransactionVarsWrapper} - wrapper for variables
+     * @param store
+     *            - datastore type
+     * @param parameters
+     *            - {@link WriterParameters} with depth and fields of the response
+     * @return future of read operation
+     */
+    private static CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
+            @Nonnull final DOMDataReadOnlyTransaction readTx, @Nonnull final TransactionVarsWrapper transactionNode,
+            @Nonnull final LogicalDatastoreType store, @Nullable final WriterParameters parameters) {
+        final YangInstanceIdentifier path = transactionNode.getInstanceIdentifier().getInstanceIdentifier();
+        if (transactionNode.getMountPoint() != null && parameters != null
+                && (parameters.getDepth() != null || parameters.getFields() != null)) {
+            final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> future =
+                    NetconfFieldsReadUtil.read(transactionNode.getMountPoint(), store, path, parameters.getDepth(),
+                            parameters.getFields());
+            if (future != null) {
+                return future;
+            }
+        }
+        return readTx.read(store, path);
+    }
+
+    /**
+     * Wait for result of read operation.
+     *
+     * @param listenableFuture
+     *            - future of read operation
+     * @return {@link NormalizedNode}
+     */
+    private static @Nullable NormalizedNode<?, ?> waitForData(
+            @Nonnull final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> listenableFuture) {
         final NormalizedNodeFactory dataFactory = new NormalizedNodeFactory();
         FutureCallbackTx.addCallback(listenableFuture, RestconfDataServiceConstant.ReadData.READ_TYPE_TX,
                 dataFactory);
@@ -384,27 +448,36 @@ public final class ReadDataTransactionUtil {
     }
 
     /**
-     * Read config and state data, then map them.
+     * Read config and state data, then map them. Both reads are issued before waiting for any of them, so
+     * for mount points both requests are on the way to the device at the same time.
      *
      * @param transactionNode
      *            - {@link TransactionVarsWrapper} - wrapper for variables
      * @param withDefa
+     *            - vaule of with-defaults parameter
+     * @param parameters
+     *            - {@link WriterParameters} with depth and fields of the response
      * @return {@link NormalizedNode}
      */
     private static @Nullable NormalizedNode<?, ?> readAllData(@Nonnull final TransactionVarsWrapper transactionNode,
-            final String withDefa) {
+            final String withDefa, @Nullable final WriterParameters parameters) {
+        final YangInstanceIdentifier path = transactionNode.getInstanceIdentifier().getInstanceIdentifier();
+        final DOMDataReadOnlyTransaction readTx = transactionNode.getTransactionChain().newReadOnlyTransaction();
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> stateFuture =
+                read(readTx, transactionNode, LogicalDatastoreType.OPERATIONAL, parameters);
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> configFuture =
+                read(readTx, transactionNode, LogicalDatastoreType.CONFIGURATION, parameters);
+
         // PREPARE STATE DATA NODE
-        transactionNode.setLogicalDatastoreType(LogicalDatastoreType.OPERATIONAL);
-        final NormalizedNode<?, ?> stateDataNode = readDataViaTransaction(transactionNode);
+        final NormalizedNode<?, ?> stateDataNode = waitForData(stateFuture);
 
         // PREPARE CONFIG DATA NODE
-        transactionNode.setLogicalDatastoreType(LogicalDatastoreType.CONFIGURATION);
         final NormalizedNode<?, ?> configDataNode;
         if (withDefa == null) {
-            configDataNode = readDataViaTransaction(transactionNode);
+            configDataNode = waitForData(configFuture);
         } else {
-            configDataNode = prepareDataByParamWithDef(readDataViaTransaction(transactionNode),
-                    transactionNode.getInstanceIdentifier().getInstanceIdentifier(), withDefa);
+            final NormalizedNode<?, ?> readData = waitForData(configFuture);
+            configDataNode = readData == null ? null : prepareDataByParamWithDef(readData, path, withDefa);
         }
 
         // if no data exists
@@ -551,14 +624,17 @@ public final class ReadDataTransactionUtil {
 
             return builder.build();
         } else if (configDataNode instanceof LeafNode) {
-            return ImmutableNodes.leafNode(configDataNode.getNodeType(), configDataNode.getValue());
+            // leaf nodes are immutable, no need to copy them
+            return configDataNode;
         } else {
             throw new RestconfDocumentedException("Bad type of node.");
         }
     }
 
     /**
-     * Map value from container node to builder.
+     * Map value from container node to builder. Children present only in config or only in state data are added
+     * to the builder as they are, only children present in both are merged one level down with
+     * {@code prepareData} method.
      *
      * @param configData
      *            - collection of config data nodes
@@ -567,67 +643,57 @@ public final class ReadDataTransactionUtil {
      * @param builder
      *            - builder
      */
+    @SuppressWarnings("unchecked")
     private static <T extends NormalizedNode<? extends PathArgument, ?>> void mapValueToBuilder(
             @Nonnull final Collection<T> configData,
             @Nonnull final Collection<T> stateData,
             @Nonnull final NormalizedNodeContainerBuilder<?, PathArgument, T, ?> builder) {
-        final Map<PathArgument, T> configMap = configData.stream().collect(
-                Collectors.toMap(NormalizedNode::getIdentifier, Function.identity()));
-        final Map<PathArgument, T> stateMap = stateData.stream().collect(
-                Collectors.toMap(NormalizedNode::getIdentifier, Function.identity()));
-
-        // merge config and state data of children with different identifiers
-        mapDataToBuilder(configMap, stateMap, builder);
+        final Map<PathArgument, T> stateMap = new LinkedHashMap<>(stateData.size() * 4 / 3 + 1);
+        for (final T stateChild : stateData) {
+            stateMap.put(stateChild.getIdentifier(), stateChild);
+        }
 
-        // merge config and state data of children with the same identifiers
-        mergeDataToBuilder(configMap, stateMap, builder);
-    }
+        for (final T configChild : configData) {
+            final T stateChild = stateMap.remove(configChild.getIdentifier());
+            if (stateChild == null) {
+                builder.addChild(configChild);
+            } else {
+                builder.addChild((T) prepareData(configChild, stateChild));
+            }
+        }
 
-    /**
-     * Map data with different identifiers to builder. Data with different identifiers can be just added
-     * as childs to parent node.
-     *
-     * @param configMap
-     *            - map of config data nodes
-     * @param stateMap
-     *            - map of state data nodes
-     * @param builder
-     *           - builder
-     */
-    private static <T extends NormalizedNode<? extends PathArgument, ?>> void mapDataToBuilder(
-            @Nonnull final Map<PathArgument, T> configMap,
-            @Nonnull final Map<PathArgument, T> stateMap,
-            @Nonnull final NormalizedNodeContainerBuilder<?, PathArgument, T, ?> builder) {
-        configMap.entrySet().stream().filter(x -> !stateMap.containsKey(x.getKey())).forEach(
-                y -> builder.addChild(y.getValue()));
-        stateMap.entrySet().stream().filter(x -> !configMap.containsKey(x.getKey())).forEach(
-                y -> builder.addChild(y.getValue()));
+        // remaining state data have no config counterpart
+        stateMap.values().forEach(builder::addChild);
     }
 
     /**
-     * Map data with the same identifiers to builder. Data with the same identifiers cannot be just added but we need to
-     * go one level down with {@code prepareData} method.
+     * Read specific type of data from data store via transaction and if identifier read data from
+     * streams then put streams from actual schema context to datastore.
      *
-     * @param configMap
-     *            - immutable config data
-     * @param stateMap
-     *            - immutable state data
-     * @param builder
-     *           - builder
+     * @param identifier
+     *            - identifier of data to read
+     * @param content
+     *            - type of data to read (config, state, all)
+     * @param transactionNode
+     *            - {@link TransactionVarsWrapper} - wrapper for variables
+     * @param withDefa
+     *            - vaule of with-defaults parameter
+     * @param schemaContextRef
+     *            - schema context
+     * @param uriInfo
+     *            - uri info
+     * @return {@link NormalizedNode}
      */
-    @SuppressWarnings("unchecked")
-    private static <T extends NormalizedNode<? extends PathArgument, ?>> void mergeDataToBuilder(
-            @Nonnull final Map<PathArgument, T> configMap,
-            @Nonnull final Map<PathArgument, T> stateMap,
-            @Nonnull final NormalizedNodeContainerBuilder<?, PathArgument, T, ?> builder) {
-        // it is enough to process only config data because operational contains the same data
-        configMap.entrySet().stream().filter(x -> stateMap.containsKey(x.getKey())).forEach(
-                y -> builder.addChild((T) prepareData(y.getValue(), stateMap.get(y.getKey()))));
+    public static NormalizedNode<?, ?> readData(final String identifier, final String content,
+            final TransactionVarsWrapper transactionNode, final String withDefa,
+            final SchemaContextRef schemaContextRef, final UriInfo uriInfo) {
+        return readData(identifier, content, transactionNode, withDefa, schemaContextRef, uriInfo, null);
     }
 
     /**
      * Read specific type of data from data store via transaction and if identifier read data from
-     * streams then put streams from actual schema context to datastore.
+     * streams then put streams from actual schema context to datastore. Data of netconf mount points are limited
+     * by depth and fields of parameters already when read from the device.
      *
      * @param identifier
      *            - identifier of data to read
@@ -641,11 +707,13 @@ public final class ReadDataTransactionUtil {
      *            - schema context
      * @param uriInfo
      *            - uri info
+     * @param parameters
+     *            - {@link WriterParameters} with depth and fields of the response
      * @return {@link NormalizedNode}
      */
     public static NormalizedNode<?, ?> readData(final String identifier, final String content,
             final TransactionVarsWrapper transactionNode, final String withDefa,
-            final SchemaContextRef schemaContextRef, final UriInfo uriInfo) {
+            final SchemaContextRef schemaContextRef, final UriInfo uriInfo, final WriterParameters parameters) {
         if (identifier.contains(STREAMS_PATH) && !identifier.contains(STREAM_PATH_PART)) {
             final DOMDataReadWriteTransaction wTx = transactionNode.getTransactionChain().newReadWriteTransaction();
             final SchemaContext schemaContext = schemaContextRef.get();
@@ -674,6 +742,6 @@ public final class ReadDataTransactionUtil {
             }
             SubscribeToStreamUtil.submitData(wTx);
         }
-        return readData(content, transactionNode, withDefa);
+        return readData(content, transactionNode, withDefa, parameters);
     }
 }
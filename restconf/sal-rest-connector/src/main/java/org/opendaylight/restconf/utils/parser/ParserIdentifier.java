@@ -9,6 +9,7 @@ package org.opendaylight.restconf.utils.parser;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Splitter;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Iterables;
 import java.text.ParseException;
 import java.util.Date;
@@ -18,6 +19,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
 import org.opendaylight.netconf.md.sal.rest.schema.SchemaExportContext;
 import org.opendaylight.netconf.sal.restconf.impl.InstanceIdentifierContext;
+import org.opendaylight.netconf.sal.restconf.impl.InstanceIdentifierContextCache;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfDocumentedException;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfError.ErrorTag;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfError.ErrorType;
@@ -44,6 +46,8 @@ public final class ParserIdentifier {
 
     private static final Logger LOG = LoggerFactory.getLogger(ParserIdentifier.class);
 
+    private static final InstanceIdentifierContextCache IDENTIFIER_CACHE = new InstanceIdentifierContextCache();
+
     private ParserIdentifier() {
         throw new UnsupportedOperationException("Util class.");
     }
@@ -71,6 +75,31 @@ public final class ParserIdentifier {
             final String identifier,
             final SchemaContext schemaContext,
             final Optional<DOMMountPointService> mountPointService) {
+        if ((identifier == null) || (schemaContext == null)) {
+            return parseInstanceIdentifier(identifier, schemaContext, mountPointService);
+        }
+        return IDENTIFIER_CACHE.get(schemaContext, identifier, mountPointService.orNull(),
+            () -> parseInstanceIdentifier(identifier, schemaContext, mountPointService));
+    }
+
+    /**
+     * Remove all parsed identifiers from cache. To be called when global schema context changes.
+     */
+    public static void invalidateIdentifierCache() {
+        IDENTIFIER_CACHE.invalidate();
+    }
+
+    /**
+     * Get statistics of lookups of parsed identifiers.
+     *
+     * @return {@link CacheStats}
+     */
+    public static CacheStats getIdentifierCacheStats() {
+        return IDENTIFIER_CACHE.getStats();
+    }
+
+    private static InstanceIdentifierContext<?> parseInstanceIdentifier(final String identifier,
+            final SchemaContext schemaContext, final Optional<DOMMountPointService> mountPointService) {
         if ((identifier != null) && identifier.contains(RestconfConstants.MOUNT)) {
             if (!mountPointService.isPresent()) {
                 throw new RestconfDocumentedException("Mount point service is not available");
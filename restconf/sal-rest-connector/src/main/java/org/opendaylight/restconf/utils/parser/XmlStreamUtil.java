@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.restconf.utils.parser;
+
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlParserStream;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Util class for reading XML request bodies with StAX, without parsing the whole body into a DOM document first.
+ *
+ */
+public final class XmlStreamUtil {
+
+    private static final XMLInputFactory INPUT_FACTORY;
+
+    static {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        // request bodies are untrusted
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        INPUT_FACTORY = factory;
+    }
+
+    private XmlStreamUtil() {
+        throw new UnsupportedOperationException("Util class.");
+    }
+
+    /**
+     * Create reader of untrusted XML input.
+     *
+     * @param inputStream
+     *            - XML input
+     * @return {@link XMLStreamReader}
+     * @throws XMLStreamException
+     *             if reader cannot be created
+     */
+    public static XMLStreamReader createXMLStreamReader(final InputStream inputStream) throws XMLStreamException {
+        return INPUT_FACTORY.createXMLStreamReader(inputStream);
+    }
+
+    /**
+     * Move reader to the next start element.
+     *
+     * @param reader
+     *            - XML reader
+     * @return true if start element was found, false at the end of input
+     * @throws XMLStreamException
+     *             if input is not well-formed
+     */
+    public static boolean nextStartElement(final XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse element at current position of reader directly to {@link NormalizedNode}. The element is parsed as data
+     * of schema node, lists are returned as map node with single entry.
+     *
+     * @param reader
+     *            - XML reader positioned at start element
+     * @param schemaContext
+     *            - schema context
+     * @param schemaNode
+     *            - schema node of the element
+     * @return {@link NormalizedNode}
+     */
+    public static NormalizedNode<?, ?> parse(final XMLStreamReader reader, final SchemaContext schemaContext,
+            final SchemaNode schemaNode) throws XMLStreamException, URISyntaxException, IOException,
+            ParserConfigurationException, SAXException {
+        final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
+        XmlParserStream.create(writer, schemaContext, schemaNode).parse(new CurrentElementReader(reader));
+        return resultHolder.getResult();
+    }
+
+    /**
+     * Read element at current position of reader with all its descendants to DOM element. Reader is left at the end
+     * element. Element is not appended to the document, so it can be released as soon as it was processed.
+     *
+     * @param reader
+     *            - XML reader positioned at start element
+     * @param document
+     *            - owner document of created nodes
+     * @param namespaces
+     *            - namespace declarations of ancestors of the element, keyed by prefix
+     * @return {@link Element}
+     * @throws XMLStreamException
+     *             if input is not well-formed
+     */
+    public static Element readElement(final XMLStreamReader reader, final Document document,
+            final Map<String, String> namespaces) throws XMLStreamException {
+        final Element root = createElement(reader, document);
+        // values like identityrefs can use prefixes declared by ancestors
+        for (final Entry<String, String> namespace : namespaces.entrySet()) {
+            final String attribute = toXmlnsAttribute(namespace.getKey());
+            if (!root.hasAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attributeLocalName(namespace.getKey()))) {
+                root.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attribute, namespace.getValue());
+            }
+        }
+
+        Node current = root;
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final Element child = createElement(reader, document);
+                    current.appendChild(child);
+                    current = child;
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    current = current.getParentNode();
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    current.appendChild(document.createTextNode(reader.getText()));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Put namespace declarations of element at current position of reader to map.
+     *
+     * @param reader
+     *            - XML reader positioned at start element
+     * @param namespaces
+     *            - namespace declarations keyed by prefix
+     */
+    public static void putNamespaces(final XMLStreamReader reader, final Map<String, String> namespaces) {
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            namespaces.put(Strings.nullToEmpty(reader.getNamespacePrefix(i)),
+                    Strings.nullToEmpty(reader.getNamespaceURI(i)));
+        }
+    }
+
+    private static Element createElement(final XMLStreamReader reader, final Document document) {
+        final Element element = document.createElementNS(Strings.emptyToNull(reader.getNamespaceURI()),
+                toQualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, toXmlnsAttribute(reader.getNamespacePrefix(i)),
+                    Strings.nullToEmpty(reader.getNamespaceURI(i)));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(Strings.emptyToNull(reader.getAttributeNamespace(i)),
+                    toQualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String toQualifiedName(final String prefix, final String localName) {
+        return Strings.isNullOrEmpty(prefix) ? localName : prefix + ":" + localName;
+    }
+
+    private static String toXmlnsAttribute(final String prefix) {
+        return Strings.isNullOrEmpty(prefix) ? XMLConstants.XMLNS_ATTRIBUTE
+                : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+    }
+
+    private static String attributeLocalName(final String prefix) {
+        return Strings.isNullOrEmpty(prefix) ? XMLConstants.XMLNS_ATTRIBUTE : prefix;
+    }
+
+    /**
+     * Reader which reports the start element it is positioned at as the next event, so that it can be handed over
+     * to parsers expecting to read the element themselves.
+     */
+    private static final class CurrentElementReader extends StreamReaderDelegate {
+        private boolean atCurrent = true;
+
+        CurrentElementReader(final XMLStreamReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            if (atCurrent) {
+                atCurrent = false;
+                return getEventType();
+            }
+            return super.next();
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            if (atCurrent) {
+                atCurrent = false;
+                return getEventType();
+            }
+            return super.nextTag();
+        }
+
+        @Override
+        public boolean hasNext() throws XMLStreamException {
+            return atCurrent || super.hasNext();
+        }
+    }
+}
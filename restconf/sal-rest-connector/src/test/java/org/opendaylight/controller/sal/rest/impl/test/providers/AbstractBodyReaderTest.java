@@ -8,13 +8,16 @@
 
 package org.opendaylight.controller.sal.rest.impl.test.providers;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.util.Collections;
+import java.util.List;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
@@ -26,10 +29,21 @@ import org.opendaylight.netconf.sal.rest.impl.AbstractIdentifierAwareJaxRsProvid
 import org.opendaylight.netconf.sal.restconf.impl.ControllerContext;
 import org.opendaylight.netconf.sal.restconf.impl.NormalizedNodeContext;
 import org.opendaylight.netconf.sal.restconf.impl.PATCHContext;
+import org.opendaylight.netconf.sal.restconf.impl.PATCHEntity;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 public abstract class AbstractBodyReaderTest {
 
+    private static final QName PATCH_LIST = QName.create("instance:identifier:patch:module", "2015-11-21",
+            "my-list2");
+    private static final QName PATCH_LIST_KEY = QName.create(PATCH_LIST, "name");
+    private static final QName PATCH_LIST_LEAF = QName.create(PATCH_LIST, "my-leaf21");
+
     protected final static ControllerContext controllerContext = ControllerContext.getInstance();
     protected final MediaType mediaType;
     private static Field uriField;
@@ -106,4 +120,35 @@ public abstract class AbstractBodyReaderTest {
         assertNotNull(patchContext.getInstanceIdentifierContext().getMountPoint());
         assertNotNull(patchContext.getInstanceIdentifierContext().getMountPoint().getSchemaContext());
     }
+
+    protected static void checkMultipleEditsPATCHContext(final PATCHContext patchContext) {
+        checkPATCHContext(patchContext);
+        assertEquals("test-patch", patchContext.getPatchId());
+        final List<PATCHEntity> edits = patchContext.getData();
+        assertEquals(3, edits.size());
+
+        // every edit has its own value, even when it is read before the target
+        checkListEntryEdit(edits.get(0), "edit1", "replace", "my-leaf20", "I am leaf21-0");
+        checkListEntryEdit(edits.get(1), "edit2", "merge", "my-leaf21", "I am leaf21-1");
+
+        final PATCHEntity delete = edits.get(2);
+        assertEquals("edit3", delete.getEditId());
+        assertEquals("delete", delete.getOperation());
+        assertNull(delete.getNode());
+        assertEquals(Collections.singletonMap(PATCH_LIST_KEY, "my-leaf20"),
+                ((NodeIdentifierWithPredicates) delete.getTargetNode().getLastPathArgument()).getKeyValues());
+    }
+
+    private static void checkListEntryEdit(final PATCHEntity edit, final String editId, final String operation,
+            final String key, final String leafValue) {
+        assertEquals(editId, edit.getEditId());
+        assertEquals(operation, edit.getOperation());
+        assertEquals(PATCH_LIST, edit.getTargetNode().getLastPathArgument().getNodeType());
+
+        final MapNode list = (MapNode) edit.getNode();
+        assertEquals(1, list.getValue().size());
+        final MapEntryNode entry = list.getValue().iterator().next();
+        assertEquals(Collections.singletonMap(PATCH_LIST_KEY, key), entry.getIdentifier().getKeyValues());
+        assertEquals(leafValue, entry.getChild(new NodeIdentifier(PATCH_LIST_LEAF)).get().getValue());
+    }
 }
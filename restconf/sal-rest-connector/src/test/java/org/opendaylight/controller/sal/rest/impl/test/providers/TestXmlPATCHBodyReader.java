@@ -52,6 +52,20 @@ public class TestXmlPATCHBodyReader extends AbstractBodyReaderTest {
         checkPATCHContext(returnValue);
     }
 
+    /**
+     * Test of PATCH with several edits, every edit has to be read with its own value.
+     */
+    @Test
+    public void moduleDataMultipleEditsTest() throws Exception {
+        final String uri = "instance-identifier-patch-module:patch-cont/my-list1/leaf1";
+        mockBodyReader(uri, xmlPATCHBodyReader, false);
+        final InputStream inputStream = TestXmlBodyReader.class
+                .getResourceAsStream("/instanceidentifier/xml/xmlPATCHdataMultipleEdits.xml");
+        final PATCHContext returnValue = xmlPATCHBodyReader
+                .readFrom(null, null, null, mediaType, null, inputStream);
+        checkMultipleEditsPATCHContext(returnValue);
+    }
+
     /**
      * Test trying to use PATCH create operation which requires value without value. Error code 400 should be returned.
      */
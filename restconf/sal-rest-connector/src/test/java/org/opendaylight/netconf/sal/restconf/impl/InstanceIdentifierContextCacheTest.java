@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.restconf.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
+import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Unit tests for {@link InstanceIdentifierContextCache}.
+ */
+public class InstanceIdentifierContextCacheTest {
+
+    private static final String IDENTIFIER = "module:container/list/key";
+    private static final YangInstanceIdentifier MOUNT_PATH =
+            YangInstanceIdentifier.of(QName.create("mount:point", "2017-01-01", "mount"));
+
+    private final AtomicInteger parsed = new AtomicInteger();
+    private InstanceIdentifierContextCache cache;
+    private SchemaContext schemaContext;
+
+    @Before
+    public void setUp() {
+        this.cache = new InstanceIdentifierContextCache(2);
+        this.schemaContext = mock(SchemaContext.class);
+    }
+
+    /**
+     * Identifier parsed with the same schema context is parsed only once.
+     */
+    @Test
+    public void cachedIdentifierTest() {
+        final InstanceIdentifierContext<?> first = this.cache.get(this.schemaContext, IDENTIFIER, null,
+                parser(null, this.schemaContext));
+        final InstanceIdentifierContext<?> second = this.cache.get(this.schemaContext, IDENTIFIER, null,
+                parser(null, this.schemaContext));
+
+        assertSame(first, second);
+        assertEquals(1, this.parsed.get());
+        assertEquals(1, this.cache.getStats().hitCount());
+        assertEquals(1, this.cache.getStats().missCount());
+    }
+
+    /**
+     * Identifier is parsed again with new schema context and after invalidation.
+     */
+    @Test
+    public void schemaContextChangeTest() {
+        final InstanceIdentifierContext<?> first = this.cache.get(this.schemaContext, IDENTIFIER, null,
+                parser(null, this.schemaContext));
+        final SchemaContext newSchemaContext = mock(SchemaContext.class);
+        final InstanceIdentifierContext<?> second = this.cache.get(newSchemaContext, IDENTIFIER, null,
+                parser(null, newSchemaContext));
+        assertNotSame(first, second);
+
+        this.cache.invalidate();
+        final InstanceIdentifierContext<?> third = this.cache.get(newSchemaContext, IDENTIFIER, null,
+                parser(null, newSchemaContext));
+        assertNotSame(second, third);
+        assertEquals(3, this.parsed.get());
+    }
+
+    /**
+     * Identifier behind mount point is returned from cache only while the mount point is registered.
+     */
+    @Test
+    public void mountPointTest() {
+        final SchemaContext mountSchemaContext = mock(SchemaContext.class);
+        final DOMMountPoint mountPoint = mock(DOMMountPoint.class);
+        when(mountPoint.getIdentifier()).thenReturn(MOUNT_PATH);
+        when(mountPoint.getSchemaContext()).thenReturn(mountSchemaContext);
+        final DOMMountPointService mountPointService = mock(DOMMountPointService.class);
+        when(mountPointService.getMountPoint(MOUNT_PATH)).thenReturn(Optional.of(mountPoint));
+
+        final InstanceIdentifierContext<?> first = this.cache.get(this.schemaContext, IDENTIFIER, mountPointService,
+                parser(mountPoint, mountSchemaContext));
+        assertSame(first, this.cache.get(this.schemaContext, IDENTIFIER, mountPointService,
+                parser(mountPoint, mountSchemaContext)));
+        assertEquals(1, this.parsed.get());
+
+        // mount point re-registered with another schema
+        final SchemaContext newMountSchemaContext = mock(SchemaContext.class);
+        when(mountPoint.getSchemaContext()).thenReturn(newMountSchemaContext);
+        this.cache.get(this.schemaContext, IDENTIFIER, mountPointService, parser(mountPoint, newMountSchemaContext));
+        assertEquals(2, this.parsed.get());
+
+        // mount point removed
+        when(mountPointService.getMountPoint(MOUNT_PATH)).thenReturn(Optional.absent());
+        this.cache.get(this.schemaContext, IDENTIFIER, mountPointService, parser(mountPoint, newMountSchemaContext));
+        assertEquals(3, this.parsed.get());
+
+        // no mount point service
+        this.cache.get(this.schemaContext, IDENTIFIER, null, parser(mountPoint, newMountSchemaContext));
+        assertEquals(4, this.parsed.get());
+    }
+
+    /**
+     * Cache does not grow over its maximum size.
+     */
+    @Test
+    public void maximumSizeTest() {
+        for (int i = 0; i < 10; i++) {
+            this.cache.get(this.schemaContext, IDENTIFIER + i, null, parser(null, this.schemaContext));
+        }
+        this.cache.get(this.schemaContext, IDENTIFIER + 0, null, parser(null, this.schemaContext));
+
+        assertEquals(11, this.parsed.get());
+        assertEquals(0, this.cache.getStats().hitCount());
+    }
+
+    private Supplier<InstanceIdentifierContext<?>> parser(final DOMMountPoint mountPoint,
+            final SchemaContext context) {
+        return () -> {
+            this.parsed.incrementAndGet();
+            return new InstanceIdentifierContext<>(YangInstanceIdentifier.EMPTY, null, mountPoint, context);
+        };
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.streams.listeners;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
+import org.opendaylight.controller.sal.restconf.impl.test.TestUtils;
+import org.opendaylight.netconf.sal.restconf.impl.ControllerContext;
+import org.opendaylight.yang.gen.v1.urn.sal.restconf.event.subscription.rev140708.NotificationOutputTypeGrouping.NotificationOutputType;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ListenerAdapterTest {
+
+    private static final QName TOASTER = QName.create("http://netconfcentral.org/ns/toaster", "2009-11-20", "toaster");
+    private static final QName MANUFACTURER = QName.create(TOASTER, "toasterManufacturer");
+    private static final QName DARKNESS = QName.create(TOASTER, "darknessFactor");
+    private static final YangInstanceIdentifier TOASTER_PATH = YangInstanceIdentifier.of(TOASTER);
+
+    private ListenerAdapter listener;
+
+    @Before
+    public void setUp() throws Exception {
+        ControllerContext.getInstance().setGlobalSchema(TestUtils.loadSchemaContext("/notifications"));
+        listener = new ListenerAdapter(TOASTER_PATH, "toaster-stream", NotificationOutputType.JSON);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testPrepareJson() throws Exception {
+        final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change =
+                mock(AsyncDataChangeEvent.class);
+        when(change.getCreatedData()).thenReturn(ImmutableMap.of(TOASTER_PATH.node(MANUFACTURER),
+                ImmutableNodes.leafNode(MANUFACTURER, "Acme")));
+        when(change.getUpdatedData()).thenReturn(ImmutableMap.of());
+        when(change.getRemovedPaths()).thenReturn(ImmutableSet.of(TOASTER_PATH.node(DARKNESS)));
+        listener.setChange(change);
+
+        final JSONObject notification = new JSONObject(listener.prepareJson()).getJSONObject("notification");
+        assertFalse(notification.getString("eventTime").isEmpty());
+
+        final JSONArray events = notification.getJSONObject("data-changed-notification")
+                .getJSONArray("data-change-event");
+        assertEquals(2, events.length());
+
+        final JSONObject created = events.getJSONObject(0);
+        assertEquals("/toaster:toaster/toaster:toasterManufacturer", created.getString("path"));
+        assertEquals("created", created.getString("operation"));
+        assertEquals("Acme", created.getJSONObject("data").getString("toaster:toasterManufacturer"));
+
+        final JSONObject deleted = events.getJSONObject(1);
+        assertEquals("/toaster:toaster/toaster:darknessFactor", deleted.getString("path"));
+        assertEquals("deleted", deleted.getString("operation"));
+        assertFalse(deleted.has("data"));
+    }
+}
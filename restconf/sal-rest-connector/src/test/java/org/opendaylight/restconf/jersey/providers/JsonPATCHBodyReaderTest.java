@@ -59,6 +59,23 @@ public class JsonPATCHBodyReaderTest extends AbstractBodyReaderTest {
         checkPATCHContext(returnValue);
     }
 
+    /**
+     * Test of PATCH with several edits, every edit has to be read with its own value. Value of the first edit is
+     * placed before its target.
+     */
+    @Test
+    public void modulePATCHMultipleEditsTest() throws Exception {
+        final String uri = "instance-identifier-patch-module:patch-cont/my-list1=leaf1";
+        mockBodyReader(uri, jsonPATCHBodyReader, false);
+
+        final InputStream inputStream = TestJsonBodyReader.class
+                .getResourceAsStream("/instanceidentifier/json/jsonPATCHdataMultipleEdits.json");
+
+        final PATCHContext returnValue = jsonPATCHBodyReader
+                .readFrom(null, null, null, mediaType, null, inputStream);
+        checkMultipleEditsPATCHContext(returnValue);
+    }
+
     /**
      * Test of successful PATCH consisting of create and delete PATCH operations.
      */
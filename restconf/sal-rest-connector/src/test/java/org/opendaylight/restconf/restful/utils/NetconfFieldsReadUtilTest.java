@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.restconf.restful.utils;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
+import org.opendaylight.netconf.api.dom.NetconfDOMDataBrokerFieldsExtension;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class NetconfFieldsReadUtilTest {
+
+    private static final TestData DATA = new TestData();
+    private static final List<Set<QName>> FIELDS = Collections.singletonList(
+            ImmutableSet.of(QName.create("ns", "2016-02-28", "leaf")));
+
+    @Mock
+    private DOMMountPoint mountPoint;
+    @Mock
+    private DOMDataBroker dataBroker;
+    @Mock
+    private NetconfDOMDataBrokerFieldsExtension extension;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(Optional.of(dataBroker)).when(mountPoint).getService(DOMDataBroker.class);
+    }
+
+    @Test
+    public void readWithExtensionTest() {
+        doReturn(ImmutableMap.of(NetconfDOMDataBrokerFieldsExtension.class, extension)).when(dataBroker)
+                .getSupportedExtensions();
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> future =
+                Futures.immediateCheckedFuture(Optional.of(DATA.data3));
+        doReturn(future).when(extension).read(LogicalDatastoreType.CONFIGURATION, DATA.path, 2, FIELDS);
+
+        assertSame(future, NetconfFieldsReadUtil.read(mountPoint, LogicalDatastoreType.CONFIGURATION, DATA.path, 2,
+                FIELDS));
+        verify(extension).read(LogicalDatastoreType.CONFIGURATION, DATA.path, 2, FIELDS);
+    }
+
+    @Test
+    public void readWithoutExtensionTest() {
+        doReturn(Collections.emptyMap()).when(dataBroker).getSupportedExtensions();
+        assertNull(NetconfFieldsReadUtil.read(mountPoint, LogicalDatastoreType.CONFIGURATION, DATA.path, 2, FIELDS));
+    }
+
+    @Test
+    public void readWithoutDataBrokerTest() {
+        doReturn(Optional.absent()).when(mountPoint).getService(DOMDataBroker.class);
+        assertNull(NetconfFieldsReadUtil.read(mountPoint, LogicalDatastoreType.OPERATIONAL,
+                YangInstanceIdentifier.EMPTY, null, FIELDS));
+    }
+}
@@ -11,11 +11,17 @@ package org.opendaylight.restconf.restful.utils;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.Futures;
 import java.util.Collections;
 import javax.ws.rs.core.MultivaluedHashMap;
@@ -26,8 +32,11 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
+import org.opendaylight.netconf.api.dom.NetconfDOMDataBrokerFieldsExtension;
 import org.opendaylight.netconf.sal.restconf.impl.InstanceIdentifierContext;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfDocumentedException;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfError.ErrorTag;
@@ -37,9 +46,11 @@ import org.opendaylight.restconf.restful.transaction.TransactionVarsWrapper;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -125,6 +136,35 @@ public class ReadDataTransactionUtilTest {
         assertEquals(DATA.data2, normalizedNode);
     }
 
+    @Test
+    public void readMountPointDataWithDepthTest() {
+        final NetconfDOMDataBrokerFieldsExtension extension = mockMountPointWithFieldsExtension();
+        doReturn(Futures.immediateCheckedFuture(Optional.of(DATA.data3))).when(extension)
+                .read(LogicalDatastoreType.CONFIGURATION, DATA.path, 1, null);
+        doReturn(DATA.path).when(context).getInstanceIdentifier();
+
+        final WriterParameters parameters = new WriterParameters.WriterParametersBuilder().setDepth(1).build();
+        final NormalizedNode<?, ?> normalizedNode = ReadDataTransactionUtil.readData(
+                RestconfDataServiceConstant.ReadData.CONFIG, wrapper, null, parameters);
+        assertEquals(DATA.data3, normalizedNode);
+        verify(read, never()).read(any(LogicalDatastoreType.class), any(YangInstanceIdentifier.class));
+    }
+
+    @Test
+    public void readMountPointDataWithoutDepthTest() {
+        final NetconfDOMDataBrokerFieldsExtension extension = mockMountPointWithFieldsExtension();
+        doReturn(Futures.immediateCheckedFuture(Optional.of(DATA.data3))).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, DATA.path);
+        doReturn(DATA.path).when(context).getInstanceIdentifier();
+
+        final WriterParameters parameters = new WriterParameters.WriterParametersBuilder().build();
+        final NormalizedNode<?, ?> normalizedNode = ReadDataTransactionUtil.readData(
+                RestconfDataServiceConstant.ReadData.CONFIG, wrapper, null, parameters);
+        assertEquals(DATA.data3, normalizedNode);
+        verify(extension, never()).read(any(LogicalDatastoreType.class), any(YangInstanceIdentifier.class), any(),
+                any());
+    }
+
     @Test
     public void readContainerDataAllTest() {
         doReturn(Futures.immediateCheckedFuture(Optional.of(DATA.data3))).when(read)
@@ -178,6 +218,97 @@ public class ReadDataTransactionUtilTest {
         assertEquals(checkingData, normalizedNode);
     }
 
+    /**
+     * Test of merging config and state data for content=all, where some subtrees are present only in config data,
+     * some only in state data and some in both.
+     */
+    @Test
+    public void readAllOverlappingDataTest() {
+        final QName base = QName.create("ns", "2016-02-28", "top");
+        final QName listQName = QName.create(base, "list");
+        final QName keyQName = QName.create(base, "key");
+        final YangInstanceIdentifier.NodeIdentifierWithPredicates firstEntryId =
+                new YangInstanceIdentifier.NodeIdentifierWithPredicates(listQName, keyQName, "first");
+        final YangInstanceIdentifier.NodeIdentifierWithPredicates secondEntryId =
+                new YangInstanceIdentifier.NodeIdentifierWithPredicates(listQName, keyQName, "second");
+        final YangInstanceIdentifier path = YangInstanceIdentifier.of(base);
+
+        final ContainerNode configOnly = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(QName.create(base, "config-only")))
+                .withChild(ImmutableNodes.leafNode(QName.create(base, "config-leaf"), "config"))
+                .build();
+        final ContainerNode stateOnly = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(QName.create(base, "state-only")))
+                .withChild(ImmutableNodes.leafNode(QName.create(base, "state-leaf"), "state"))
+                .build();
+        final MapEntryNode secondStateEntry = Builders.mapEntryBuilder()
+                .withNodeIdentifier(secondEntryId)
+                .withChild(ImmutableNodes.leafNode(keyQName, "second"))
+                .build();
+
+        final ContainerNode configData = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(base))
+                .withChild(ImmutableNodes.leafNode(QName.create(base, "common-leaf"), "config"))
+                .withChild(configOnly)
+                .withChild(Builders.mapBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(listQName))
+                        .withChild(Builders.mapEntryBuilder()
+                                .withNodeIdentifier(firstEntryId)
+                                .withChild(ImmutableNodes.leafNode(keyQName, "first"))
+                                .withChild(ImmutableNodes.leafNode(QName.create(base, "config-value"), "config"))
+                                .build())
+                        .build())
+                .build();
+        final ContainerNode stateData = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(base))
+                .withChild(ImmutableNodes.leafNode(QName.create(base, "common-leaf"), "state"))
+                .withChild(stateOnly)
+                .withChild(Builders.mapBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(listQName))
+                        .withChild(Builders.mapEntryBuilder()
+                                .withNodeIdentifier(firstEntryId)
+                                .withChild(ImmutableNodes.leafNode(keyQName, "first"))
+                                .withChild(ImmutableNodes.leafNode(QName.create(base, "state-value"), "state"))
+                                .build())
+                        .withChild(secondStateEntry)
+                        .build())
+                .build();
+
+        doReturn(Futures.immediateCheckedFuture(Optional.of(configData))).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, path);
+        doReturn(Futures.immediateCheckedFuture(Optional.of(stateData))).when(read)
+                .read(LogicalDatastoreType.OPERATIONAL, path);
+        doReturn(path).when(context).getInstanceIdentifier();
+
+        final NormalizedNode<?, ?> normalizedNode = ReadDataTransactionUtil.readData(
+                RestconfDataServiceConstant.ReadData.ALL, wrapper);
+
+        final ContainerNode checkingData = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(base))
+                .withChild(ImmutableNodes.leafNode(QName.create(base, "common-leaf"), "config"))
+                .withChild(configOnly)
+                .withChild(stateOnly)
+                .withChild(Builders.mapBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(listQName))
+                        .withChild(Builders.mapEntryBuilder()
+                                .withNodeIdentifier(firstEntryId)
+                                .withChild(ImmutableNodes.leafNode(keyQName, "first"))
+                                .withChild(ImmutableNodes.leafNode(QName.create(base, "config-value"), "config"))
+                                .withChild(ImmutableNodes.leafNode(QName.create(base, "state-value"), "state"))
+                                .build())
+                        .withChild(secondStateEntry)
+                        .build())
+                .build();
+        assertEquals(checkingData, normalizedNode);
+
+        // subtrees present in a single datastore are not copied
+        final ContainerNode result = (ContainerNode) normalizedNode;
+        assertSame(configOnly, result.getChild(configOnly.getIdentifier()).get());
+        assertSame(stateOnly, result.getChild(stateOnly.getIdentifier()).get());
+        assertSame(secondStateEntry, ((MapNode) result.getChild(new YangInstanceIdentifier.NodeIdentifier(listQName))
+                .get()).getChild(secondEntryId).get());
+    }
+
     @Test
     public void readDataWrongPathOrNoContentTest() {
         doReturn(Futures.immediateCheckedFuture(Optional.absent())).when(read)
@@ -327,6 +458,18 @@ public class ReadDataTransactionUtilTest {
         }
     }
 
+    private NetconfDOMDataBrokerFieldsExtension mockMountPointWithFieldsExtension() {
+        final NetconfDOMDataBrokerFieldsExtension extension = mock(NetconfDOMDataBrokerFieldsExtension.class);
+        final DOMDataBroker dataBroker = mock(DOMDataBroker.class);
+        doReturn(ImmutableMap.of(NetconfDOMDataBrokerFieldsExtension.class, extension)).when(dataBroker)
+                .getSupportedExtensions();
+        final DOMMountPoint mountPoint = mock(DOMMountPoint.class);
+        doReturn(Optional.of(dataBroker)).when(mountPoint).getService(DOMDataBroker.class);
+
+        wrapper = new TransactionVarsWrapper(this.context, mountPoint, this.transactionChain);
+        return extension;
+    }
+
     /**
      * Negative test of parsing request URI parameters when depth parameter has not allowed value (more than maximum).
      */
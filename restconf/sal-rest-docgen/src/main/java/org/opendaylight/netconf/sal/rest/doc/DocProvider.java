@@ -19,6 +19,7 @@ import org.opendaylight.controller.sal.core.api.mount.MountProvisionListener;
 import org.opendaylight.netconf.sal.rest.doc.impl.ApiDocGenerator;
 import org.opendaylight.netconf.sal.rest.doc.mountpoints.MountPointSwagger;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceReference;
@@ -47,16 +48,21 @@ public class DocProvider implements BundleActivator, ServiceTrackerCustomizer<Br
     public void onSessionInitiated(final Broker.ProviderSession providerSession) {
         final SchemaService schemaService = providerSession.getService(SchemaService.class);
         ApiDocGenerator.getInstance().setSchemaService(schemaService);
+        // cached documents are regenerated in background on every schema change
+        final ListenerRegistration<SchemaContextListener> schemaRegistration = schemaService
+                .registerSchemaContextListener(ApiDocGenerator.getInstance());
 
         final DOMMountPointService mountService = providerSession
                 .getService(DOMMountPointService.class);
+        // both services are needed to generate documents of mount points once they are created
+        MountPointSwagger.getInstance().setGlobalSchema(schemaService);
+        MountPointSwagger.getInstance().setMountService(mountService);
         final ListenerRegistration<MountProvisionListener> registration = mountService
                 .registerProvisionListener(MountPointSwagger.getInstance());
-        MountPointSwagger.getInstance().setGlobalSchema(schemaService);
         synchronized (toClose) {
+            toClose.add(schemaRegistration);
             toClose.add(registration);
         }
-        MountPointSwagger.getInstance().setMountService(mountService);
 
         LOG.debug("Restconf API Explorer started");
     }
@@ -8,17 +8,20 @@
 package org.opendaylight.netconf.sal.rest.doc.impl;
 
 import com.google.common.base.Preconditions;
+import java.util.function.BooleanSupplier;
 import javax.ws.rs.core.UriInfo;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.netconf.sal.rest.doc.swagger.ApiDeclaration;
 import org.opendaylight.netconf.sal.rest.doc.swagger.ResourceList;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
 
 /**
  * This class gathers all YANG-defined {@link org.opendaylight.yangtools.yang.model.api.Module}s and
- * generates Swagger compliant documentation.
+ * generates Swagger compliant documentation. Documents are regenerated only
+ * when global schema context changes.
  */
-public class ApiDocGenerator extends BaseYangSwaggerGenerator {
+public class ApiDocGenerator extends BaseYangSwaggerGenerator implements SchemaContextListener {
 
     private static final ApiDocGenerator INSTANCE = new ApiDocGenerator();
     private SchemaService schemaService;
@@ -50,4 +53,14 @@ public class ApiDocGenerator extends BaseYangSwaggerGenerator {
     public void setSchemaService(final SchemaService schemaService) {
         this.schemaService = schemaService;
     }
+
+    @Override
+    public void onGlobalContextUpdated(final SchemaContext context) {
+        // documents of previous schema context are never served again
+        invalidateCache();
+        final BooleanSupplier isCurrent =
+                () -> this.schemaService == null || this.schemaService.getGlobalContext() == context;
+        ApiDocServiceImpl.precomputeDocs(this, context, false, isCurrent);
+        ApiDocServiceImpl.precomputeDocs(this, context, true, isCurrent);
+    }
 }
@@ -7,10 +7,14 @@
  */
 package org.opendaylight.netconf.sal.rest.doc.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import org.json.JSONWriter;
@@ -18,6 +22,10 @@ import org.opendaylight.netconf.sal.rest.doc.api.ApiDocService;
 import org.opendaylight.netconf.sal.rest.doc.mountpoints.MountPointSwagger;
 import org.opendaylight.netconf.sal.rest.doc.swagger.ApiDeclaration;
 import org.opendaylight.netconf.sal.rest.doc.swagger.ResourceList;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This service generates swagger (See
@@ -31,15 +39,52 @@ import org.opendaylight.netconf.sal.rest.doc.swagger.ResourceList;
  * missing definitions without this synchronization. There are likely otherways
  * to work around this limitation, but given that this API is a dev only tool
  * and not dependent UI, this was the fastest work around.
+ *
+ * <p>
+ * Generated documents are cached by generators, they are precomputed in
+ * background whenever global or mount point schema context changes.
  */
 public class ApiDocServiceImpl implements ApiDocService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ApiDocServiceImpl.class);
     private static final ApiDocService INSTANCE = new ApiDocServiceImpl();
+    private static final ExecutorService PRECOMPUTE_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("apidoc-precompute-%d").setDaemon(true).build());
 
     public static ApiDocService getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Generates documents of all modules of schema context in background, so that requests are served from cache.
+     * Generators share draft setting with requests, so lock of this service is held while generating documents
+     * of single module, which lets requests proceed in between.
+     *
+     * @param generator generator caching the documents
+     * @param schemaContext schema context
+     * @param draft whether documents are generated for RESTCONF draft 18
+     * @param isCurrent tells whether schema context is still in use, precomputing stops once it is not
+     */
+    public static void precomputeDocs(final BaseYangSwaggerGenerator generator, final SchemaContext schemaContext,
+            final boolean draft, final BooleanSupplier isCurrent) {
+        PRECOMPUTE_EXECUTOR.execute(() -> {
+            LOG.debug("Precomputing API docs of {} modules, draft {}", schemaContext.getModules().size(), draft);
+            for (final Module module : schemaContext.getModules()) {
+                if (!isCurrent.getAsBoolean()) {
+                    LOG.debug("Schema context replaced, precomputing stopped");
+                    return;
+                }
+                try {
+                    synchronized (INSTANCE) {
+                        generator.precomputeApiDeclaration(module, schemaContext, draft);
+                    }
+                } catch (final RuntimeException e) {
+                    LOG.warn("Failed to precompute API doc of module {}", module.getName(), e);
+                }
+            }
+        });
+    }
+
     /**
      * Generates index document for Swagger UI. This document lists out all
      * modules with link to get APIs for each module. The API for each module is
@@ -118,10 +163,10 @@ public class ApiDocServiceImpl implements ApiDocService {
         final ApiDeclaration api;
         if (isNew(uriInfo)) {
             api = MountPointSwagger.getInstanceDraft18().getMountPointApi(uriInfo, Long.parseLong(instanceNum), module,
-                    revision);
+                    revision, true);
         } else {
             api = MountPointSwagger.getInstance().getMountPointApi(uriInfo, Long.parseLong(instanceNum), module,
-                    revision);
+                    revision, false);
         }
         return Response.ok(api).build();
     }
@@ -12,7 +12,10 @@ import static org.opendaylight.netconf.sal.rest.doc.util.RestDocgenUtil.resolveP
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsonorg.JsonOrgModule;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
 import java.net.URI;
 import java.text.ParseException;
@@ -24,9 +27,12 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.ws.rs.core.UriInfo;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -65,9 +71,18 @@ public class BaseYangSwaggerGenerator {
     private static final String RESTCONF_DRAFT = "18";
 
     static final String MODULE_NAME_SUFFIX = "_module";
+    // Not valid in YANG identifiers, so it cannot clash with any other part of API paths
+    private static final String CONTEXT_PLACEHOLDER = "<context>";
     private final ModelGenerator jsonConverter = new ModelGenerator();
 
-    // private Map<String, ApiDeclaration> MODULE_DOC_CACHE = new HashMap<>()
+    /*
+     * Generated documents without base path and with CONTEXT_PLACEHOLDER in place of context, which are the only
+     * request specific parts of them. Mount points sharing a schema context therefore share the documents as well.
+     * Schema contexts are compared by identity and referenced weakly, so documents are regenerated only for a new
+     * schema context and documents of a replaced schema context are released together with it.
+     */
+    private final Cache<SchemaContext, ConcurrentMap<DocKey, Optional<ApiDeclaration>>> docCache =
+            CacheBuilder.newBuilder().weakKeys().build();
     private final ObjectMapper mapper = new ObjectMapper();
     private static boolean newDraft;
 
@@ -81,6 +96,15 @@ public class BaseYangSwaggerGenerator {
      */
     public ResourceList getResourceListing(final UriInfo uriInfo, final SchemaContext schemaContext,
             final String context) {
+        return getResourceListing(uriInfo, schemaContext, context, newDraft);
+    }
+
+    /**
+     * Return list of modules converted to swagger compliant resource list, using documents generated for
+     * RESTCONF draft.
+     */
+    public ResourceList getResourceListing(final UriInfo uriInfo, final SchemaContext schemaContext,
+            final String context, final boolean draft) {
 
         final ResourceList resourceList = createResourceList();
 
@@ -95,7 +119,7 @@ public class BaseYangSwaggerGenerator {
             final Resource resource = new Resource();
             LOG.debug("Working on [{},{}]...", module.getName(), revisionString);
             final ApiDeclaration doc =
-                    getApiDeclaration(module.getName(), revisionString, uriInfo, schemaContext, context);
+                    getApiDeclaration(module.getName(), revisionString, uriInfo, schemaContext, context, draft);
 
             if (doc != null) {
                 resource.setPath(generatePath(uriInfo, module.getName(), revisionString));
@@ -124,6 +148,11 @@ public class BaseYangSwaggerGenerator {
 
     public ApiDeclaration getApiDeclaration(final String moduleName, final String revision, final UriInfo uriInfo,
             final SchemaContext schemaContext, final String context) {
+        return getApiDeclaration(moduleName, revision, uriInfo, schemaContext, context, newDraft);
+    }
+
+    public ApiDeclaration getApiDeclaration(final String moduleName, final String revision, final UriInfo uriInfo,
+            final SchemaContext schemaContext, final String context, final boolean draft) {
         Date rev = null;
 
         try {
@@ -148,20 +177,91 @@ public class BaseYangSwaggerGenerator {
         Preconditions.checkArgument(module != null,
                 "Could not find module by name,revision: " + moduleName + "," + revision);
 
-        return getApiDeclaration(module, rev, uriInfo, context, schemaContext);
+        return getApiDeclaration(module, rev, uriInfo, context, schemaContext, draft);
     }
 
     public ApiDeclaration getApiDeclaration(final Module module, final Date revision, final UriInfo uriInfo,
             final String context, final SchemaContext schemaContext) {
-        final String basePath = createBasePathFromUriInfo(uriInfo);
+        return getApiDeclaration(module, revision, uriInfo, context, schemaContext, newDraft);
+    }
 
-        final ApiDeclaration doc = getSwaggerDocSpec(module, basePath, context, schemaContext);
+    public ApiDeclaration getApiDeclaration(final Module module, final Date revision, final UriInfo uriInfo,
+            final String context, final SchemaContext schemaContext, final boolean draft) {
+        final ApiDeclaration doc = getCachedSwaggerDocSpec(module, schemaContext, draft);
         if (doc != null) {
-            return doc;
+            return withRequestParts(doc, createBasePathFromUriInfo(uriInfo), context);
         }
         return null;
     }
 
+    /**
+     * Generate document of module for RESTCONF draft, unless it was already generated, so that subsequent requests
+     * are served from cache. Generation temporarily switches the draft setting shared with requests, caller has to
+     * make sure that no other document is generated concurrently.
+     */
+    public void precomputeApiDeclaration(final Module module, final SchemaContext schemaContext,
+            final boolean draft) {
+        getCachedSwaggerDocSpec(module, schemaContext, draft);
+    }
+
+    /**
+     * Drop all cached documents.
+     */
+    public void invalidateCache() {
+        this.docCache.invalidateAll();
+    }
+
+    private ApiDeclaration getCachedSwaggerDocSpec(final Module module, final SchemaContext schemaContext,
+            final boolean draft) {
+        final ConcurrentMap<DocKey, Optional<ApiDeclaration>> docs =
+                this.docCache.asMap().computeIfAbsent(schemaContext, key -> new ConcurrentHashMap<>());
+        final DocKey key = new DocKey(module, draft);
+        Optional<ApiDeclaration> doc = docs.get(key);
+        if (doc == null) {
+            // generated outside of the map, concurrent requests for different modules must not block each other
+            doc = Optional.fromNullable(generateSwaggerDocSpec(module, schemaContext, draft));
+            final Optional<ApiDeclaration> existing = docs.putIfAbsent(key, doc);
+            if (existing != null) {
+                doc = existing;
+            }
+        }
+        return doc.orNull();
+    }
+
+    private ApiDeclaration generateSwaggerDocSpec(final Module module, final SchemaContext schemaContext,
+            final boolean draft) {
+        // paths are generated according to the shared draft setting, which may differ from the requested draft
+        final boolean currentDraft = newDraft;
+        BaseYangSwaggerGenerator.newDraft = draft;
+        try {
+            return getSwaggerDocSpec(module, null, CONTEXT_PLACEHOLDER, schemaContext);
+        } finally {
+            BaseYangSwaggerGenerator.newDraft = currentDraft;
+        }
+    }
+
+    private static ApiDeclaration withRequestParts(final ApiDeclaration cached, final String basePath,
+            final String context) {
+        final ApiDeclaration doc = new ApiDeclaration();
+        doc.setApiVersion(cached.getApiVersion());
+        doc.setSwaggerVersion(cached.getSwaggerVersion());
+        doc.setBasePath(basePath);
+        doc.setResourcePath(cached.getResourcePath());
+        doc.setProduces(cached.getProduces());
+        doc.setModels(cached.getModels());
+
+        // operations do not refer to context, they are shared
+        final List<Api> apis = new ArrayList<>(cached.getApis().size());
+        for (final Api cachedApi : cached.getApis()) {
+            final Api api = new Api();
+            api.setPath(cachedApi.getPath().replace(CONTEXT_PLACEHOLDER, context));
+            api.setOperations(cachedApi.getOperations());
+            apis.add(api);
+        }
+        doc.setApis(apis);
+        return doc;
+    }
+
     protected String createBasePathFromUriInfo(final UriInfo uriInfo) {
         String portPart = "";
         final int port = uriInfo.getBaseUri().getPort();
@@ -465,4 +565,37 @@ public class BaseYangSwaggerGenerator {
     public void setDraft(final boolean draft) {
         BaseYangSwaggerGenerator.newDraft = draft;
     }
+
+    /**
+     * Identifies document of module within schema context.
+     */
+    private static final class DocKey {
+        private final String moduleName;
+        private final Date revision;
+        private final boolean draft;
+
+        DocKey(final Module module, final boolean draft) {
+            this.moduleName = module.getName();
+            this.revision = module.getRevision();
+            this.draft = draft;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.moduleName, this.revision, this.draft);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DocKey)) {
+                return false;
+            }
+            final DocKey other = (DocKey) obj;
+            return this.draft == other.draft && this.moduleName.equals(other.moduleName)
+                    && Objects.equals(this.revision, other.revision);
+        }
+    }
 }
@@ -17,11 +17,13 @@ import java.util.Map.Entry;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 import javax.ws.rs.core.UriInfo;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.controller.sal.core.api.mount.MountProvisionListener;
+import org.opendaylight.netconf.sal.rest.doc.impl.ApiDocServiceImpl;
 import org.opendaylight.netconf.sal.rest.doc.impl.BaseYangSwaggerGenerator;
 import org.opendaylight.netconf.sal.rest.doc.swagger.Api;
 import org.opendaylight.netconf.sal.rest.doc.swagger.ApiDeclaration;
@@ -80,6 +82,11 @@ public class MountPointSwagger extends BaseYangSwaggerGenerator implements Mount
     }
 
     private String generateUrlPrefixFromInstanceID(final YangInstanceIdentifier key, final String moduleName) {
+        return generateUrlPrefixFromInstanceID(key, moduleName, newDraft);
+    }
+
+    private static String generateUrlPrefixFromInstanceID(final YangInstanceIdentifier key, final String moduleName,
+            final boolean draft) {
         final StringBuilder builder = new StringBuilder();
         builder.append("/");
         if (moduleName != null) {
@@ -90,7 +97,7 @@ public class MountPointSwagger extends BaseYangSwaggerGenerator implements Mount
             if (arg instanceof YangInstanceIdentifier.NodeIdentifierWithPredicates) {
                 final NodeIdentifierWithPredicates nodeId = (NodeIdentifierWithPredicates) arg;
                 for (final Entry<QName, Object> entry : nodeId.getKeyValues().entrySet()) {
-                    if (newDraft) {
+                    if (draft) {
                         builder.deleteCharAt(builder.length() - 1).append("=").append(entry.getValue()).append('/');
                     } else {
                         builder.append(entry.getValue()).append('/');
@@ -104,8 +111,12 @@ public class MountPointSwagger extends BaseYangSwaggerGenerator implements Mount
     }
 
     private String getYangMountUrl(final YangInstanceIdentifier key) {
+        return getYangMountUrl(key, newDraft);
+    }
+
+    private String getYangMountUrl(final YangInstanceIdentifier key, final boolean draft) {
         final String modName = findModuleName(key, this.globalSchema.getGlobalContext());
-        return generateUrlPrefixFromInstanceID(key, modName) + "yang-ext:mount";
+        return generateUrlPrefixFromInstanceID(key, modName, draft) + "yang-ext:mount";
     }
 
     public ResourceList getResourceList(final UriInfo uriInfo, final Long id) {
@@ -123,7 +134,7 @@ public class MountPointSwagger extends BaseYangSwaggerGenerator implements Mount
         dataStores.setPath(generatePath(uriInfo, DATASTORES_LABEL, DATASTORES_REVISION));
         resources.add(dataStores);
         final String urlPrefix = getYangMountUrl(iid);
-        final ResourceList list = super.getResourceListing(uriInfo, context, urlPrefix);
+        final ResourceList list = super.getResourceListing(uriInfo, context, urlPrefix, newDraft);
         resources.addAll(list.getApis());
         list.setApis(resources);
         return list;
@@ -157,9 +168,17 @@ public class MountPointSwagger extends BaseYangSwaggerGenerator implements Mount
 
     public ApiDeclaration getMountPointApi(final UriInfo uriInfo, final Long id, final String module,
             final String revision) {
+        return getMountPointApi(uriInfo, id, module, revision, newDraft);
+    }
+
+    /**
+     * Return document of mount point module generated for RESTCONF draft.
+     */
+    public ApiDeclaration getMountPointApi(final UriInfo uriInfo, final Long id, final String module,
+            final String revision, final boolean draft) {
         final YangInstanceIdentifier iid = getInstanceId(id);
         final SchemaContext context = getSchemaContext(iid);
-        final String urlPrefix = getYangMountUrl(iid);
+        final String urlPrefix = getYangMountUrl(iid, draft);
         if (context == null) {
             return null;
         }
@@ -167,7 +186,7 @@ public class MountPointSwagger extends BaseYangSwaggerGenerator implements Mount
         if (DATASTORES_LABEL.equals(module) && DATASTORES_REVISION.equals(revision)) {
             return generateDataStoreApiDoc(uriInfo, urlPrefix);
         }
-        return super.getApiDeclaration(module, revision, uriInfo, context, urlPrefix);
+        return super.getApiDeclaration(module, revision, uriInfo, context, urlPrefix, draft);
     }
 
     private ApiDeclaration generateDataStoreApiDoc(final UriInfo uriInfo, final String context) {
@@ -208,6 +227,7 @@ public class MountPointSwagger extends BaseYangSwaggerGenerator implements Mount
             this.instanceIdToLongId.put(path, idLong);
             this.longIdToInstanceId.put(idLong, path);
         }
+        precomputeDocs(path);
     }
 
     @Override
@@ -216,6 +236,23 @@ public class MountPointSwagger extends BaseYangSwaggerGenerator implements Mount
             final Long id = this.instanceIdToLongId.remove(path);
             this.longIdToInstanceId.remove(id);
         }
+        // Cached documents are shared by all mount points with the same schema context, they are released together
+        // with the schema context
+    }
+
+    private void precomputeDocs(final YangInstanceIdentifier path) {
+        if (this.mountService == null) {
+            return;
+        }
+        final SchemaContext context = getSchemaContext(path);
+        if (context == null) {
+            return;
+        }
+        // stops when mount point is removed or its schema changes, documents already generated for another mount point
+        // with the same schema context are reused
+        final BooleanSupplier isCurrent = () -> getSchemaContext(path) == context;
+        ApiDocServiceImpl.precomputeDocs(this, context, false, isCurrent);
+        ApiDocServiceImpl.precomputeDocs(this, context, true, isCurrent);
     }
 
     public static MountPointSwagger getInstance() {
@@ -10,6 +10,8 @@ package org.opendaylight.controller.sal.rest.doc.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -352,6 +354,37 @@ public class ApiDocGeneratorTest {
         assertEquals(HTTP_HOST + "/toaster2(2009-11-20)", toaster2.getPath());
     }
 
+    /**
+     * Documents are generated once per schema context, only base path is specific to request.
+     */
+    @Test
+    public void testCachedModuleDoc() throws Exception {
+        this.generator.setSchemaService(this.helper.createMockSchemaService(this.schemaContext));
+
+        final ApiDeclaration doc = this.generator.getApiDeclaration("toaster2", STRING_DATE,
+                this.helper.createMockUriInfo(HTTP_HOST));
+        final ApiDeclaration cachedDoc = this.generator.getApiDeclaration("toaster2", STRING_DATE,
+                this.helper.createMockUriInfo("http://otherhost:8181"));
+
+        assertNotSame(doc, cachedDoc);
+        assertSame(doc.getApis().get(0).getOperations(), cachedDoc.getApis().get(0).getOperations());
+        assertSame(doc.getModels(), cachedDoc.getModels());
+        assertEquals("http://host/restconf", doc.getBasePath());
+        assertEquals("http://otherhost:8181/restconf", cachedDoc.getBasePath());
+
+        this.generator.setDraft(true);
+        final ApiDeclaration draftDoc = this.generator.getApiDeclaration("toaster2", STRING_DATE,
+                this.helper.createMockUriInfo(HTTP_HOST));
+        assertNotSame(doc.getModels(), draftDoc.getModels());
+
+        this.generator.setDraft(false);
+        this.generator.invalidateCache();
+        final ApiDeclaration regeneratedDoc = this.generator.getApiDeclaration("toaster2", STRING_DATE,
+                this.helper.createMockUriInfo(HTTP_HOST));
+        assertNotSame(doc.getModels(), regeneratedDoc.getModels());
+        assertEquals(doc.getApis().size(), regeneratedDoc.getApis().size());
+    }
+
     private void validateTosterDocContainsModulePrefixes(final ApiDeclaration doc) {
         final JSONObject topLevelJson = doc.getModels();
         try {
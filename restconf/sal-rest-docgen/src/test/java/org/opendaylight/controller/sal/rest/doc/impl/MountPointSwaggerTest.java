@@ -9,6 +9,9 @@ package org.opendaylight.controller.sal.rest.doc.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -24,6 +27,7 @@ import org.junit.Test;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
+import org.opendaylight.netconf.sal.rest.doc.impl.ApiDocServiceImpl;
 import org.opendaylight.netconf.sal.rest.doc.mountpoints.MountPointSwagger;
 import org.opendaylight.netconf.sal.rest.doc.swagger.Api;
 import org.opendaylight.netconf.sal.rest.doc.swagger.ApiDeclaration;
@@ -45,6 +49,8 @@ public class MountPointSwaggerTest {
     private MountPointSwagger swagger;
     private DocGenTestHelper helper;
     private SchemaContext schemaContext;
+    private SchemaContext mountSchemaContext;
+    private DOMMountPointService mountService;
 
     @Before
     public void setUp() throws Exception {
@@ -122,6 +128,62 @@ public class MountPointSwaggerTest {
         assertEquals(expectedApis, actualApis);
     }
 
+    /**
+     * Documents of mount point are cached separately for each draft, regardless of draft of the global documents.
+     */
+    @Test
+    public void testCachedMountPointApi() throws Exception {
+        final UriInfo mockInfo = setUpSwaggerForDocGeneration();
+        this.swagger.onMountPointCreated(instanceId); // add this ID into the list of
+                                                 // mount points
+        // second mount point with the same schema context
+        final YangInstanceIdentifier otherInstanceId = YangInstanceIdentifier.builder()
+                .node(QName.create("nodes"))
+                .node(QName.create("node"))
+                .nodeWithKey(QName.create("node"), QName.create("id"), "456").build();
+        final DOMMountPoint otherMountPoint = mock(DOMMountPoint.class);
+        when(otherMountPoint.getSchemaContext()).thenReturn(this.mountSchemaContext);
+        when(this.mountService.getMountPoint(otherInstanceId)).thenReturn(Optional.of(otherMountPoint));
+        this.swagger.onMountPointCreated(otherInstanceId);
+
+        // requests are served under lock of the service, which also keeps precomputing from switching the draft
+        synchronized (ApiDocServiceImpl.getInstance()) {
+            this.swagger.setDraft(true);
+            final ApiDeclaration doc = this.swagger.getMountPointApi(mockInfo, 1L, "toaster2", "2009-11-20", false);
+            final ApiDeclaration cachedDoc =
+                    this.swagger.getMountPointApi(mockInfo, 1L, "toaster2", "2009-11-20", false);
+            assertNotSame(doc, cachedDoc);
+            assertSame(doc.getModels(), cachedDoc.getModels());
+            for (final Api api : doc.getApis()) {
+                assertTrue(api.getPath(), api.getPath().startsWith("/config" + INSTANCE_URL + "yang-ext:mount")
+                        || api.getPath().startsWith("/operational" + INSTANCE_URL + "yang-ext:mount")
+                        || api.getPath().startsWith("/operations" + INSTANCE_URL + "yang-ext:mount"));
+            }
+
+            // documents are shared by mount points with the same schema context, only paths differ
+            final ApiDeclaration otherDoc =
+                    this.swagger.getMountPointApi(mockInfo, 2L, "toaster2", "2009-11-20", false);
+            assertSame(doc.getModels(), otherDoc.getModels());
+            assertSame(doc.getApis().get(0).getOperations(), otherDoc.getApis().get(0).getOperations());
+            assertEquals(doc.getApis().get(0).getPath().replace("/123/", "/456/"),
+                    otherDoc.getApis().get(0).getPath());
+
+            this.swagger.setDraft(false);
+            final ApiDeclaration draftDoc =
+                    this.swagger.getMountPointApi(mockInfo, 1L, "toaster2", "2009-11-20", true);
+            assertNotSame(doc.getModels(), draftDoc.getModels());
+            for (final Api api : draftDoc.getApis()) {
+                assertTrue(api.getPath(), api.getPath().startsWith("/18/data/nodes/node=123/yang-ext:mount")
+                        || api.getPath().startsWith("/18/operations/nodes/node=123/yang-ext:mount"));
+            }
+            assertSame(draftDoc.getModels(),
+                    this.swagger.getMountPointApi(mockInfo, 1L, "toaster2", "2009-11-20", true).getModels());
+        }
+
+        this.swagger.onMountPointRemoved(instanceId);
+        this.swagger.onMountPointRemoved(otherInstanceId);
+    }
+
     protected UriInfo setUpSwaggerForDocGeneration() throws URISyntaxException {
         final UriInfo mockInfo = this.helper.createMockUriInfo(HTTP_URL);
         // We are sharing the global schema service and the mount schema service
@@ -136,6 +198,8 @@ public class MountPointSwaggerTest {
         final DOMMountPointService service = mock(DOMMountPointService.class);
         when(service.getMountPoint(instanceId)).thenReturn(Optional.of(mountPoint));
         this.swagger.setMountService(service);
+        this.mountSchemaContext = context;
+        this.mountService = service;
         this.swagger.setGlobalSchema(schemaService);
 
         return mockInfo;